@@ -3,6 +3,7 @@ plugins {
     application
     pmd
     id("com.gradleup.shadow") version "8.3.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.sanyavertolet.interview"
@@ -38,3 +39,8 @@ pmd {
     toolVersion = "6.55.0"
     ruleSetFiles("pmd.xml")
 }
+
+jmh {
+    jmhVersion = "1.37"
+    profilers = listOf("gc")
+}
@@ -0,0 +1,64 @@
+package com.sanyavertolet.interview.benchmarks;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.manager.DataManager;
+import com.sanyavertolet.interview.data.manager.SimpleDataManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks setting {@link #CELLS} numeric cells that all feed a shared {@code SUM} total,
+ * one {@link DataManager#setData(int, int, String)} call at a time and in a single {@link DataManager#batch(Runnable)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchUpdateBenchmark {
+    private static final int CELLS = 10_000;
+
+    private DataManager dataManager;
+
+    /**
+     * Creates an empty sheet with the total in {@code B1}.
+     */
+    @Setup(Level.Invocation)
+    public void setUp() {
+        dataManager = new SimpleDataManager(CELLS, 2, (row, column) -> { }, () -> { });
+        dataManager.setData(0, 2, "=SUM(A1:A" + CELLS + ")");
+    }
+
+    /**
+     * Sets the cells one by one, recomputing the total after every cell.
+     *
+     * @return the total.
+     */
+    @Benchmark
+    public Data setOneByOne() {
+        fill();
+        return dataManager.getData(0, 2);
+    }
+
+    /**
+     * Sets the cells in a single batch, computing the total once.
+     *
+     * @return the total.
+     */
+    @Benchmark
+    public Data setInBatch() {
+        dataManager.batch(this::fill);
+        return dataManager.getData(0, 2);
+    }
+
+    /**
+     * Fills column {@code A} with numbers.
+     */
+    private void fill() {
+        for (int row = 0; row < CELLS; row++) {
+            dataManager.setData(row, 1, Integer.toString(row));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.sanyavertolet.interview.benchmarks;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.accessor.ContainerBasedDataAccessor;
+import com.sanyavertolet.interview.data.accessor.DataAccessor;
+import com.sanyavertolet.interview.data.container.DataContainer;
+import com.sanyavertolet.interview.data.container.TiledDataContainer;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionParsingException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.evaluator.ColumnKernel;
+import com.sanyavertolet.interview.math.expressions.evaluator.ExpressionEvaluator;
+import com.sanyavertolet.interview.math.expressions.evaluator.SimpleExpressionEvaluator;
+import com.sanyavertolet.interview.parser.CachingExpressionParser;
+import com.sanyavertolet.interview.parser.ShuntingYardParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks recalculating a formula filled down {@link #ROWS} rows, {@code =A1 * B1 + 0.5}, ...,
+ * cell by cell with a {@link SimpleExpressionEvaluator} and as a single pass of a {@link ColumnKernel}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ColumnKernelBenchmark {
+    private static final int ROWS = 100_000;
+
+    @Param({"true", "false"})
+    private boolean columnar;
+
+    private final Data[] formulas = new Data[ROWS];
+    private DataAccessor dataAccessor;
+    private ExpressionEvaluator evaluator;
+    private ColumnKernel kernel;
+
+    /**
+     * Fills columns {@code A} and {@code B} with numbers and column {@code C} with a shared formula.
+     *
+     * @throws CellReferenceException if a cell reference cannot be created.
+     * @throws ExpressionParsingException if a formula cannot be parsed.
+     */
+    @Setup
+    public void setUp() throws CellReferenceException, ExpressionParsingException {
+        DataContainer container = new TiledDataContainer(ROWS, 3);
+        CachingExpressionParser parser = new CachingExpressionParser(new ShuntingYardParser());
+        for (int row = 0; row < ROWS; row++) {
+            String suffix = Integer.toString(row + 1);
+            String formula = "=A" + suffix + " * B" + suffix + " + 0.5";
+            CellReference reference = CellReference.of(row, 3);
+            container.put(CellReference.of(row, 1), new Data(Integer.toString(row), row));
+            container.put(CellReference.of(row, 2), new Data("1.5", 1.5));
+            formulas[row] = new Data(formula, null, parser.parse(formula, reference));
+            container.put(reference, formulas[row]);
+        }
+        dataAccessor = new ContainerBasedDataAccessor(container);
+        evaluator = new SimpleExpressionEvaluator(dataAccessor);
+        kernel = ColumnKernel.compile(formulas[0].getExpressionTree());
+    }
+
+    /**
+     * Recalculates the whole column {@code C}.
+     *
+     * @return the value of the last cell.
+     */
+    @Benchmark
+    public Value recalculateColumn() {
+        if (columnar) {
+            Value[] values = kernel.evaluate(dataAccessor, 0, 0, ROWS);
+            for (int row = 0; row < ROWS; row++) {
+                formulas[row].setValue(values[row]);
+            }
+        } else {
+            for (Data formula : formulas) {
+                formula.recalculateValue(evaluator);
+            }
+        }
+        return formulas[ROWS - 1].getValue();
+    }
+}
@@ -0,0 +1,75 @@
+package com.sanyavertolet.interview.benchmarks;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.accessor.ContainerBasedDataAccessor;
+import com.sanyavertolet.interview.data.container.DataContainer;
+import com.sanyavertolet.interview.data.container.TiledDataContainer;
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionParsingException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.evaluator.ClosureExpressionEvaluator;
+import com.sanyavertolet.interview.math.expressions.evaluator.ExpressionEvaluator;
+import com.sanyavertolet.interview.parser.ShuntingYardParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks recalculating a sheet of comparison-heavy formulas over small integers,
+ * such as {@code =A1 > A2} and {@code =A1 - A2 == 1}. Meant to be run with the {@code gc} profiler:
+ * the results of the formulas are canonical {@code BooleanValue}s and cached {@code IntegerValue}s,
+ * so {@code gc.alloc.rate.norm} shows how much is still allocated per recalculation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ComparisonSheetBenchmark {
+    private static final int ROWS = 1_000;
+
+    @Param({"1000000"})
+    private int formulaCount;
+
+    private ExpressionEvaluator evaluator;
+    private final List<Data> formulas = new ArrayList<>();
+
+    /**
+     * Fills column {@code A} with small integers and creates {@link #formulaCount} comparisons over them.
+     *
+     * @throws CellReferenceException if a cell reference cannot be created.
+     * @throws ExpressionParsingException if a formula cannot be parsed.
+     */
+    @Setup
+    public void setUp() throws CellReferenceException, ExpressionParsingException {
+        DataContainer container = new TiledDataContainer(ROWS + 1, 1);
+        for (int row = 0; row <= ROWS; row++) {
+            container.put(CellReference.of(row, 1), new Data(Integer.toString(row % 100), row % 100));
+        }
+        evaluator = new ClosureExpressionEvaluator(new ContainerBasedDataAccessor(container));
+        ShuntingYardParser parser = new ShuntingYardParser();
+        String[] templates = { "=A%d > A%d", "=A%d - A%d == 1", "=A%d <= A%d", "=A%d * 2 != A%d" };
+        for (int i = 0; i < formulaCount; i++) {
+            int row = i % ROWS + 1;
+            String formula = String.format(templates[i % templates.length], row, row + 1);
+            formulas.add(new Data(formula, null, parser.parse(formula)));
+        }
+    }
+
+    /**
+     * Recalculates every formula once.
+     *
+     * @param blackhole the sink for the values.
+     */
+    @Benchmark
+    public void recalculate(Blackhole blackhole) {
+        for (Data formula : formulas) {
+            formula.recalculateValue(evaluator);
+            blackhole.consume(formula.getValue());
+        }
+    }
+}
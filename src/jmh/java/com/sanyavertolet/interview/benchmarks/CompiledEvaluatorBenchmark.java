@@ -0,0 +1,83 @@
+package com.sanyavertolet.interview.benchmarks;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.accessor.ContainerBasedDataAccessor;
+import com.sanyavertolet.interview.data.accessor.DataAccessor;
+import com.sanyavertolet.interview.data.container.DataContainer;
+import com.sanyavertolet.interview.data.container.TiledDataContainer;
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionParsingException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.evaluator.ClosureExpressionEvaluator;
+import com.sanyavertolet.interview.math.expressions.evaluator.CompilingExpressionEvaluator;
+import com.sanyavertolet.interview.math.expressions.evaluator.ExpressionEvaluator;
+import com.sanyavertolet.interview.math.expressions.evaluator.SimpleExpressionEvaluator;
+import com.sanyavertolet.interview.parser.ShuntingYardParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks recalculating {@link #FORMULAS} arithmetic-heavy formulas over numeric cells
+ * with the tree walking {@link SimpleExpressionEvaluator}, with {@link ClosureExpressionEvaluator}
+ * and with {@link CompilingExpressionEvaluator}. The formulas are recalculated through {@link Data#recalculateValue},
+ * so the compiled forms are cached the same way as in a sheet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledEvaluatorBenchmark {
+    private static final int FORMULAS = 1_000;
+
+    @Param({"simple", "closure", "compiling"})
+    private String evaluatorType;
+
+    private ExpressionEvaluator evaluator;
+    private final List<Data> formulas = new ArrayList<>();
+
+    /**
+     * Fills column {@code A} with numbers and parses a formula over them for every row.
+     *
+     * @throws CellReferenceException if a cell reference cannot be created.
+     * @throws ExpressionParsingException if a formula cannot be parsed.
+     */
+    @Setup
+    public void setUp() throws CellReferenceException, ExpressionParsingException {
+        DataContainer container = new TiledDataContainer(FORMULAS + 1, 1);
+        for (int row = 0; row <= FORMULAS; row++) {
+            container.put(CellReference.of(row, 1), row % 2 == 0 ? new Data(Integer.toString(row), row) : new Data(row + ".5", row + 0.5));
+        }
+        DataAccessor accessor = new ContainerBasedDataAccessor(container);
+        evaluator = switch (evaluatorType) {
+            case "closure" -> new ClosureExpressionEvaluator(accessor);
+            case "compiling" -> new CompilingExpressionEvaluator(accessor);
+            default -> new SimpleExpressionEvaluator(accessor);
+        };
+        ShuntingYardParser parser = new ShuntingYardParser();
+        for (int row = 1; row <= FORMULAS; row++) {
+            String current = "A" + row;
+            String next = "A" + (row + 1);
+            String formula = "=" + current + " * 2.5 + " + next + " / 3 - (" + current + " - 1) ^ 2 + " + current + " * " + next + " > 100";
+            formulas.add(new Data(formula, null, parser.parse(formula)));
+        }
+    }
+
+    /**
+     * Recalculates every formula once.
+     *
+     * @param blackhole the sink for the values.
+     */
+    @Benchmark
+    public void recalculate(Blackhole blackhole) {
+        for (Data formula : formulas) {
+            formula.recalculateValue(evaluator);
+            blackhole.consume(formula.getValue());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.sanyavertolet.interview.benchmarks;
+
+import com.sanyavertolet.interview.data.dependencies.DependencyGraph;
+import com.sanyavertolet.interview.data.dependencies.TopologicallySortedDependencyGraph;
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.exceptions.data.DataDependencyException;
+import com.sanyavertolet.interview.math.CellReference;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link DependencyGraph#getUpdateList(CellReference)} on three topologies of {@link #CELLS} cells:
+ * a chain ({@code A2=A1+1, A3=A2+1, ...}), a fan-out (every cell depends on {@code A1})
+ * and a stack of diamonds (two cells depend on a cell, which both feed the next one).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DependencyGraphBenchmark {
+    private static final int CELLS = 100_000;
+
+    private final DependencyGraph chain = new TopologicallySortedDependencyGraph();
+    private final DependencyGraph fanOut = new TopologicallySortedDependencyGraph();
+    private final DependencyGraph diamonds = new TopologicallySortedDependencyGraph();
+    private CellReference root;
+
+    /**
+     * Builds the three graphs.
+     *
+     * @throws DataDependencyException if a dependency cannot be added.
+     * @throws CellReferenceException if a cell reference cannot be created.
+     */
+    @Setup
+    public void setUp() throws DataDependencyException, CellReferenceException {
+        root = CellReference.of(0, 1);
+        for (int row = 1; row < CELLS; row++) {
+            chain.addDependency(CellReference.of(row - 1, 1), CellReference.of(row, 1));
+            fanOut.addDependency(root, CellReference.of(row, 1));
+        }
+        for (int row = 1; row < CELLS / 3; row++) {
+            CellReference top = CellReference.of(row - 1, 1);
+            CellReference left = CellReference.of(row, 2);
+            CellReference right = CellReference.of(row, 3);
+            CellReference bottom = CellReference.of(row, 1);
+            diamonds.addDependency(top, left);
+            diamonds.addDependency(top, right);
+            diamonds.addDependency(left, bottom);
+            diamonds.addDependency(right, bottom);
+        }
+    }
+
+    /**
+     * Sorts a chain that is {@link #CELLS} cells deep.
+     *
+     * @return the update list.
+     * @throws DataDependencyException if a cyclic dependency is detected.
+     */
+    @Benchmark
+    public List<CellReference> chain() throws DataDependencyException {
+        return chain.getUpdateList(root);
+    }
+
+    /**
+     * Sorts {@link #CELLS} cells that all depend on the same cell.
+     *
+     * @return the update list.
+     * @throws DataDependencyException if a cyclic dependency is detected.
+     */
+    @Benchmark
+    public List<CellReference> fanOut() throws DataDependencyException {
+        return fanOut.getUpdateList(root);
+    }
+
+    /**
+     * Sorts a stack of diamonds where every cell is reached along two paths.
+     *
+     * @return the update list.
+     * @throws DataDependencyException if a cyclic dependency is detected.
+     */
+    @Benchmark
+    public List<CellReference> diamonds() throws DataDependencyException {
+        return diamonds.getUpdateList(root);
+    }
+}
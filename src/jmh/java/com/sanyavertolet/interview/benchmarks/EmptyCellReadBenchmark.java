@@ -0,0 +1,86 @@
+package com.sanyavertolet.interview.benchmarks;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.accessor.ContainerBasedDataAccessor;
+import com.sanyavertolet.interview.data.accessor.DataAccessor;
+import com.sanyavertolet.interview.data.container.DataContainer;
+import com.sanyavertolet.interview.data.container.TiledDataContainer;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionParsingException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.Expression;
+import com.sanyavertolet.interview.math.expressions.evaluator.ExpressionEvaluator;
+import com.sanyavertolet.interview.math.expressions.evaluator.SimpleExpressionEvaluator;
+import com.sanyavertolet.interview.parser.ShuntingYardParser;
+import com.sanyavertolet.interview.ui.table.SpreadsheetTableModel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks reading empty cells: a repaint of a mostly empty viewport through {@link SpreadsheetTableModel}
+ * and {@code SUM} over a large sparse range. Run with the {@code gc} profiler to see the allocation rate
+ * ({@code gc.alloc.rate.norm}) per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmptyCellReadBenchmark {
+    private static final int ROWS = 100_000;
+    private static final int COLUMNS = 26;
+    private static final int VIEWPORT_ROWS = 50;
+
+    private SpreadsheetTableModel tableModel;
+    private ExpressionEvaluator evaluator;
+    private Expression rangeSum;
+
+    /**
+     * Fills one cell in every hundred rows of column {@code A} and prepares {@code SUM(A1:Z100000)}.
+     *
+     * @throws CellReferenceException if a cell reference cannot be created.
+     * @throws ExpressionParsingException if the benchmarked formula cannot be parsed.
+     */
+    @Setup
+    public void setUp() throws CellReferenceException, ExpressionParsingException {
+        tableModel = new SpreadsheetTableModel(ROWS, COLUMNS);
+        DataContainer container = new TiledDataContainer(ROWS, COLUMNS);
+        for (int row = 0; row < ROWS; row += 100) {
+            tableModel.setValueAt(Integer.toString(row), row, 1);
+            container.put(CellReference.of(row, 1), new Data(Integer.toString(row), row));
+        }
+        DataAccessor accessor = new ContainerBasedDataAccessor(container);
+        evaluator = new SimpleExpressionEvaluator(accessor);
+        rangeSum = new ShuntingYardParser().parse("=SUM(A1:Z100000)");
+    }
+
+    /**
+     * Reads every cell of a viewport the way a table repaint does.
+     *
+     * @param blackhole the sink for the read values.
+     */
+    @Benchmark
+    public void repaintViewport(Blackhole blackhole) {
+        for (int row = 0; row < VIEWPORT_ROWS; row++) {
+            for (int column = 0; column <= COLUMNS; column++) {
+                blackhole.consume(tableModel.getValueAt(row, column));
+            }
+        }
+    }
+
+    /**
+     * Evaluates {@code SUM} over a range that is 99.96% empty.
+     *
+     * @return the sum.
+     * @throws ExpressionEvaluationException if the expression cannot be evaluated.
+     */
+    @Benchmark
+    public Value sparseRangeSum() throws ExpressionEvaluationException {
+        return evaluator.evaluate(rangeSum);
+    }
+}
@@ -0,0 +1,64 @@
+package com.sanyavertolet.interview.benchmarks;
+
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionParsingException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.Expression;
+import com.sanyavertolet.interview.parser.CachingExpressionParser;
+import com.sanyavertolet.interview.parser.ExpressionParser;
+import com.sanyavertolet.interview.parser.ShuntingYardParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing a formula filled down {@link #ROWS} rows, {@code =A1 * 2 + B1 - SUM(A1:B1) / 3}, ...,
+ * with a plain {@link ShuntingYardParser} and with a {@link CachingExpressionParser} that shares the tree
+ * of the first row with all the others, see {@link com.sanyavertolet.interview.math.expressions.AnchoredExpression}.
+ * Run with {@code -prof gc} to compare the memory allocated for the trees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FillDownBenchmark {
+    private static final int ROWS = 100_000;
+
+    @Param({"true", "false"})
+    private boolean shared;
+
+    private final String[] formulas = new String[ROWS];
+    private final CellReference[] cells = new CellReference[ROWS];
+
+    /**
+     * Creates the formulas of column {@code C}.
+     *
+     * @throws CellReferenceException if a cell reference cannot be created.
+     */
+    @Setup
+    public void setUp() throws CellReferenceException {
+        for (int row = 0; row < ROWS; row++) {
+            String suffix = Integer.toString(row + 1);
+            formulas[row] = "=A" + suffix + " * 2 + B" + suffix + " - SUM(A" + suffix + ":B" + suffix + ") / 3";
+            cells[row] = CellReference.of(row, 3);
+        }
+    }
+
+    /**
+     * Parses the whole column with a new parser, so that nothing is cached between iterations.
+     *
+     * @return the parsed expressions.
+     * @throws ExpressionParsingException if a formula cannot be parsed.
+     */
+    @Benchmark
+    public Expression[] parseColumn() throws ExpressionParsingException {
+        ExpressionParser parser = shared ? new CachingExpressionParser(new ShuntingYardParser()) : new ShuntingYardParser();
+        Expression[] expressions = new Expression[ROWS];
+        for (int row = 0; row < ROWS; row++) {
+            expressions[row] = parser.parse(formulas[row], cells[row]);
+        }
+        return expressions;
+    }
+}
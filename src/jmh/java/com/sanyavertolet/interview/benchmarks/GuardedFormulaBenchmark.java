@@ -0,0 +1,82 @@
+package com.sanyavertolet.interview.benchmarks;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.accessor.ContainerBasedDataAccessor;
+import com.sanyavertolet.interview.data.accessor.DataAccessor;
+import com.sanyavertolet.interview.data.container.DataContainer;
+import com.sanyavertolet.interview.data.container.TiledDataContainer;
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionParsingException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.evaluator.ClosureExpressionEvaluator;
+import com.sanyavertolet.interview.math.expressions.evaluator.CompilingExpressionEvaluator;
+import com.sanyavertolet.interview.math.expressions.evaluator.ExpressionEvaluator;
+import com.sanyavertolet.interview.math.expressions.evaluator.SimpleExpressionEvaluator;
+import com.sanyavertolet.interview.parser.ShuntingYardParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks recalculating {@link #FORMULAS} guarded formulas {@code IF(AND(An > 0, An < 10^6), An * 2, SUM(B1:B1000) / An)}
+ * whose guard always holds. As {@code IF} and {@code AND} evaluate only the arguments they need,
+ * the range of the fallback branch is never scanned.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GuardedFormulaBenchmark {
+    private static final int FORMULAS = 1_000;
+
+    @Param({"simple", "closure", "compiling"})
+    private String evaluatorType;
+
+    private ExpressionEvaluator evaluator;
+    private final List<Data> formulas = new ArrayList<>();
+
+    /**
+     * Fills columns {@code A} and {@code B} with numbers and parses a guarded formula for every row.
+     *
+     * @throws CellReferenceException if a cell reference cannot be created.
+     * @throws ExpressionParsingException if a formula cannot be parsed.
+     */
+    @Setup
+    public void setUp() throws CellReferenceException, ExpressionParsingException {
+        DataContainer container = new TiledDataContainer(FORMULAS, 2);
+        for (int row = 0; row < FORMULAS; row++) {
+            container.put(CellReference.of(row, 1), new Data(Integer.toString(row + 1), row + 1));
+            container.put(CellReference.of(row, 2), new Data(row + ".5", row + 0.5));
+        }
+        DataAccessor accessor = new ContainerBasedDataAccessor(container);
+        evaluator = switch (evaluatorType) {
+            case "closure" -> new ClosureExpressionEvaluator(accessor);
+            case "compiling" -> new CompilingExpressionEvaluator(accessor);
+            default -> new SimpleExpressionEvaluator(accessor);
+        };
+        ShuntingYardParser parser = new ShuntingYardParser();
+        for (int row = 1; row <= FORMULAS; row++) {
+            String cell = "A" + row;
+            String formula = "=IF(AND(" + cell + " > 0, " + cell + " < 10 ^ 6), " + cell + " * 2, SUM(B1:B" + FORMULAS + ") / " + cell + ")";
+            formulas.add(new Data(formula, null, parser.parse(formula)));
+        }
+    }
+
+    /**
+     * Recalculates every formula once.
+     *
+     * @param blackhole the sink for the values.
+     */
+    @Benchmark
+    public void recalculate(Blackhole blackhole) {
+        for (Data formula : formulas) {
+            formula.recalculateValue(evaluator);
+            blackhole.consume(formula.getValue());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.sanyavertolet.interview.benchmarks;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.container.TiledDataContainer;
+import com.sanyavertolet.interview.data.manager.DataManager;
+import com.sanyavertolet.interview.data.manager.SimpleDataManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a single edit of a cell inside {@code SUM(A1:A100000)}, {@code COUNT(A1:A100000)}
+ * and {@code AVERAGE(A1:A100000)}. The aggregates are updated with the difference between the old
+ * and the new value of the cell, so the cost of an edit should not depend on the size of the range.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncrementalAggregateBenchmark {
+    private static final int ROWS = 100_000;
+
+    private DataManager dataManager;
+    private int edit;
+
+    /**
+     * Fills column {@code A} with numbers and sets the totals in column {@code B}.
+     */
+    @Setup
+    public void setUp() {
+        dataManager = new SimpleDataManager(new TiledDataContainer(ROWS, 2), (row, column) -> { }, () -> { });
+        dataManager.batch(() -> {
+            for (int row = 0; row < ROWS; row++) {
+                dataManager.setData(row, 1, Integer.toString(row % 100));
+            }
+            dataManager.setData(0, 2, "=SUM(A1:A" + ROWS + ")");
+            dataManager.setData(1, 2, "=COUNT(A1:A" + ROWS + ")");
+            dataManager.setData(2, 2, "=AVERAGE(A1:A" + ROWS + ")");
+        });
+    }
+
+    /**
+     * Changes one cell of the range and reads the updated sum.
+     *
+     * @return the {@code Data} of the sum.
+     */
+    @Benchmark
+    public Data edit() {
+        edit++;
+        dataManager.setData(edit % ROWS, 1, Integer.toString(edit % 1000));
+        return dataManager.getData(0, 2);
+    }
+}
@@ -0,0 +1,108 @@
+package com.sanyavertolet.interview.benchmarks;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.container.MappedDataContainer;
+import com.sanyavertolet.interview.data.manager.DataManager;
+import com.sanyavertolet.interview.data.manager.SimpleDataManager;
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.math.CellReference;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a 50M-cell numeric sheet stored in a {@link MappedDataContainer} with a 512 MB heap:
+ * opening it (filling every cell) and scrolling through it one viewport at a time.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+public class LargeSheetBenchmark {
+    private static final int ROWS = 500_000;
+    private static final int COLUMNS = 100;
+    private static final int VIEWPORT_ROWS = 50;
+    private static final int VIEWPORT_COLUMNS = 26;
+    private static final int SCROLL_STEP = 997;
+
+    private MappedDataContainer container;
+    private DataManager dataManager;
+    private int top;
+
+    /**
+     * Opens the sheet that is scrolled by {@link #scrollViewport(Blackhole)}.
+     *
+     * @throws IOException if the backing file cannot be created.
+     * @throws CellReferenceException if a cell reference cannot be created.
+     */
+    @Setup
+    public void setUp() throws IOException, CellReferenceException {
+        container = open();
+        dataManager = new SimpleDataManager(container, (row, column) -> { }, () -> { });
+    }
+
+    /**
+     * Closes the backing file.
+     *
+     * @throws IOException if the backing file cannot be closed.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        container.close();
+    }
+
+    /**
+     * Fills a new {@link MappedDataContainer} with {@code ROWS x COLUMNS} integer cells.
+     *
+     * @return the filled container.
+     * @throws IOException if the backing file cannot be created.
+     * @throws CellReferenceException if a cell reference cannot be created.
+     */
+    private static MappedDataContainer open() throws IOException, CellReferenceException {
+        MappedDataContainer sheet = new MappedDataContainer(ROWS, COLUMNS);
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 1; column <= COLUMNS; column++) {
+                int value = row * 7 + column;
+                sheet.put(CellReference.of(row, column), new Data(Integer.toString(value), value));
+            }
+        }
+        return sheet;
+    }
+
+    /**
+     * Measures opening the whole sheet.
+     *
+     * @return the number of cells in the opened sheet.
+     * @throws IOException if the backing file cannot be created or closed.
+     * @throws CellReferenceException if a cell reference cannot be created.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public int openSheet() throws IOException, CellReferenceException {
+        try (MappedDataContainer sheet = open()) {
+            return sheet.size();
+        }
+    }
+
+    /**
+     * Measures reading one viewport, moving the viewport down the sheet on every invocation.
+     *
+     * @param blackhole the sink for the read values.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public void scrollViewport(Blackhole blackhole) {
+        for (int row = top; row < top + VIEWPORT_ROWS; row++) {
+            for (int column = 1; column <= VIEWPORT_COLUMNS; column++) {
+                blackhole.consume(dataManager.getData(row, column));
+            }
+        }
+        top = (top + SCROLL_STEP) % (ROWS - VIEWPORT_ROWS);
+    }
+}
@@ -0,0 +1,82 @@
+package com.sanyavertolet.interview.benchmarks;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.container.TiledDataContainer;
+import com.sanyavertolet.interview.data.manager.DataManager;
+import com.sanyavertolet.interview.data.manager.SimpleDataManager;
+import com.sanyavertolet.interview.data.recalculation.ForkJoinRecalculationStrategy;
+import com.sanyavertolet.interview.data.recalculation.RecalculationStrategy;
+import com.sanyavertolet.interview.data.recalculation.SerialRecalculationStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks recalculating a wide model: {@link #COLUMNS} x {@link #ROWS} independent formulas that all depend
+ * on {@code A1}, summed up by a single total. Changing {@code A1} produces a level of
+ * {@code COLUMNS * ROWS} cells followed by a level with the total. The {@link #threads} parameter selects
+ * the size of the {@link ForkJoinPool}, {@code 0} stands for {@link SerialRecalculationStrategy}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelRecalculationBenchmark {
+    private static final int ROWS = 10_000;
+    private static final int COLUMNS = 4;
+
+    @Param({"0", "1", "2", "4", "8", "16"})
+    private int threads;
+
+    private ForkJoinPool pool;
+    private DataManager dataManager;
+    private int input;
+
+    /**
+     * Builds the model.
+     */
+    @Setup
+    public void setUp() {
+        RecalculationStrategy strategy;
+        if (threads == 0) {
+            strategy = new SerialRecalculationStrategy();
+        } else {
+            pool = new ForkJoinPool(threads);
+            strategy = new ForkJoinRecalculationStrategy(pool, ForkJoinRecalculationStrategy.DEFAULT_THRESHOLD);
+        }
+        dataManager = new SimpleDataManager(new TiledDataContainer(ROWS, COLUMNS + 2), strategy, (row, column) -> { }, () -> { });
+        dataManager.batch(() -> {
+            dataManager.setData(0, 1, "1");
+            for (int column = 2; column <= COLUMNS + 1; column++) {
+                for (int row = 0; row < ROWS; row++) {
+                    dataManager.setData(row, column, "=A1 * " + (row + column) + " + A1 / " + (row + 1) + " - A1 ^ 2");
+                }
+            }
+            dataManager.setData(0, COLUMNS + 2, "=SUM(B1:E" + ROWS + ")");
+        });
+    }
+
+    /**
+     * Shuts the pool down.
+     */
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Changes {@code A1}, which recalculates every formula of the model.
+     *
+     * @return the total.
+     */
+    @Benchmark
+    public Data recalculate() {
+        dataManager.setData(0, 1, Integer.toString(++input % 100));
+        return dataManager.getData(0, COLUMNS + 2);
+    }
+}
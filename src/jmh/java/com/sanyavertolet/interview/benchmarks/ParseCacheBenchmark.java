@@ -0,0 +1,57 @@
+package com.sanyavertolet.interview.benchmarks;
+
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionParsingException;
+import com.sanyavertolet.interview.parser.CachingExpressionParser;
+import com.sanyavertolet.interview.parser.ExpressionParser;
+import com.sanyavertolet.interview.parser.ShuntingYardParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing {@link #CELLS} formulas, of which only {@link #DISTINCT} are different,
+ * as in a sheet loaded from a file with summary formulas repeated in many cells,
+ * with and without a {@link CachingExpressionParser}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseCacheBenchmark {
+    private static final int CELLS = 10_000;
+    private static final int DISTINCT = 100;
+
+    @Param({"true", "false"})
+    private boolean cached;
+
+    private ExpressionParser parser;
+    private final String[] formulas = new String[CELLS];
+
+    /**
+     * Creates the parser and the formulas.
+     */
+    @Setup
+    public void setUp() {
+        parser = cached ? new CachingExpressionParser(new ShuntingYardParser()) : new ShuntingYardParser();
+        for (int cell = 0; cell < CELLS; cell++) {
+            int row = cell % DISTINCT + 1;
+            formulas[cell] = "=IF(A" + row + " > 0, SUM(B1:B" + (row + 500) + ") / A" + row + ", (C" + row + " - 1) * 2.5)";
+        }
+    }
+
+    /**
+     * Parses every formula once.
+     *
+     * @param blackhole the sink for the expressions.
+     * @throws ExpressionParsingException if a formula cannot be parsed.
+     */
+    @Benchmark
+    public void parse(Blackhole blackhole) throws ExpressionParsingException {
+        for (String formula : formulas) {
+            blackhole.consume(parser.parse(formula));
+        }
+    }
+}
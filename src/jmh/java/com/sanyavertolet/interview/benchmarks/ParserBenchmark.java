@@ -0,0 +1,58 @@
+package com.sanyavertolet.interview.benchmarks;
+
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionParsingException;
+import com.sanyavertolet.interview.math.expressions.Expression;
+import com.sanyavertolet.interview.parser.ExpressionParser;
+import com.sanyavertolet.interview.parser.PrattParser;
+import com.sanyavertolet.interview.parser.ShuntingYardParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing a long formula of {@link #TERMS} terms, each mixing references, a function call,
+ * a range, a unary minus, a power and a comparison, with {@link ShuntingYardParser} and {@link PrattParser}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+    private static final int TERMS = 200;
+
+    @Param({"pratt", "shunting-yard"})
+    private String algorithm;
+
+    private ExpressionParser parser;
+    private String formula;
+
+    /**
+     * Creates the parser and the formula.
+     */
+    @Setup
+    public void setUp() {
+        parser = "pratt".equals(algorithm) ? new PrattParser() : new ShuntingYardParser();
+        StringBuilder builder = new StringBuilder("=");
+        for (int term = 1; term <= TERMS; term++) {
+            if (term > 1) {
+                builder.append(" + ");
+            }
+            builder.append("(A").append(term).append(" * -2.5 - SUM(B").append(term).append(":C").append(term + 10)
+                    .append(") / 2 ^ 2 >= POW(D").append(term).append(", 2))");
+        }
+        formula = builder.toString();
+    }
+
+    /**
+     * Parses the formula once.
+     *
+     * @return the parsed expression.
+     * @throws ExpressionParsingException if the formula cannot be parsed.
+     */
+    @Benchmark
+    public Expression parse() throws ExpressionParsingException {
+        return parser.parse(formula);
+    }
+}
@@ -0,0 +1,63 @@
+package com.sanyavertolet.interview.benchmarks;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.accessor.ContainerBasedDataAccessor;
+import com.sanyavertolet.interview.data.container.DataContainer;
+import com.sanyavertolet.interview.data.container.TiledDataContainer;
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionParsingException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.evaluator.ClosureExpressionEvaluator;
+import com.sanyavertolet.interview.math.expressions.evaluator.CompiledExpression;
+import com.sanyavertolet.interview.parser.ShuntingYardParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@code SUM(A1:A1000000)} over a column filled with numbers in every {@link #step}-th row.
+ * Meant to be run with the {@code gc} profiler: the range is streamed from the container,
+ * so {@code gc.alloc.rate.norm} should not depend on the number of cells.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RangeAggregationBenchmark {
+    private static final int ROWS = 1_000_000;
+
+    @Param({"1", "1000"})
+    private int step;
+
+    private CompiledExpression sum;
+
+    /**
+     * Fills column {@code A} and compiles the formula.
+     *
+     * @throws CellReferenceException if a cell reference cannot be created.
+     * @throws ExpressionParsingException if the formula cannot be parsed.
+     */
+    @Setup
+    public void setUp() throws CellReferenceException, ExpressionParsingException {
+        DataContainer container = new TiledDataContainer(ROWS, 1);
+        for (int row = 0; row < ROWS; row += step) {
+            container.put(CellReference.of(row, 1), row % 2 == 0 ? new Data(Integer.toString(row), row) : new Data(row + ".5", row + 0.5));
+        }
+        ClosureExpressionEvaluator evaluator = new ClosureExpressionEvaluator(new ContainerBasedDataAccessor(container));
+        sum = evaluator.compile(new ShuntingYardParser().parse("=SUM(A1:A" + ROWS + ")"));
+    }
+
+    /**
+     * Evaluates the sum once.
+     *
+     * @return the sum.
+     * @throws ExpressionEvaluationException if the sum cannot be evaluated.
+     */
+    @Benchmark
+    public Object sum() throws ExpressionEvaluationException {
+        return sum.evaluate();
+    }
+}
@@ -0,0 +1,74 @@
+package com.sanyavertolet.interview.benchmarks;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.accessor.AggregatingDataAccessor;
+import com.sanyavertolet.interview.data.accessor.ContainerBasedDataAccessor;
+import com.sanyavertolet.interview.data.aggregate.AggregateCache;
+import com.sanyavertolet.interview.data.container.DataContainer;
+import com.sanyavertolet.interview.data.container.TiledDataContainer;
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionParsingException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.evaluator.ClosureExpressionEvaluator;
+import com.sanyavertolet.interview.math.expressions.evaluator.CompiledExpression;
+import com.sanyavertolet.interview.parser.ShuntingYardParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks evaluating the running totals {@code SUM(A1:A2)}, ..., {@code SUM(A1:A20000)} of a column,
+ * with and without the column index of {@link AggregateCache}. Without the index, every total scans its range.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RunningTotalsBenchmark {
+    private static final int ROWS = 20_000;
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private CompiledExpression[] totals;
+
+    /**
+     * Fills column {@code A} and compiles the running totals.
+     *
+     * @throws CellReferenceException if a cell reference cannot be created.
+     * @throws ExpressionParsingException if a formula cannot be parsed.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() throws CellReferenceException, ExpressionParsingException {
+        DataContainer container = new TiledDataContainer(ROWS, 1);
+        for (int row = 0; row < ROWS; row++) {
+            container.put(CellReference.of(row, 1), new Data(Integer.toString(row % 100), row % 100));
+        }
+        AggregateCache aggregateCache = new AggregateCache(AggregateCache.DEFAULT_CAPACITY, indexed ? ROWS : 0);
+        ContainerBasedDataAccessor containerAccessor = new ContainerBasedDataAccessor(container);
+        ClosureExpressionEvaluator evaluator = new ClosureExpressionEvaluator(new AggregatingDataAccessor(containerAccessor, aggregateCache));
+        ShuntingYardParser parser = new ShuntingYardParser();
+        totals = new CompiledExpression[ROWS - 1];
+        for (int row = 1; row < ROWS; row++) {
+            totals[row - 1] = evaluator.compile(parser.parse("=SUM(A1:A" + (row + 1) + ")"));
+        }
+    }
+
+    /**
+     * Evaluates every running total once.
+     *
+     * @return the last total.
+     * @throws ExpressionEvaluationException if a total cannot be evaluated.
+     */
+    @Benchmark
+    public Object evaluateAll() throws ExpressionEvaluationException {
+        Object last = null;
+        for (CompiledExpression total : totals) {
+            last = total.evaluate();
+        }
+        return last;
+    }
+}
@@ -0,0 +1,59 @@
+package com.sanyavertolet.interview.benchmarks;
+
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionParsingException;
+import com.sanyavertolet.interview.parser.tokenizer.CompactTokenizer;
+import com.sanyavertolet.interview.parser.tokenizer.SimpleTokenizer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks tokenizing the valid formulas of {@code ShuntingYardParserTest} with {@link SimpleTokenizer},
+ * which creates a {@link com.sanyavertolet.interview.parser.tokenizer.Token} with a copy of the text for every token,
+ * and with {@link CompactTokenizer}, which fills a single {@code int} array per formula.
+ * Run with {@code -prof gc} to compare the memory allocated per formula.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenizerBenchmark {
+    private static final String[] FORMULAS = {
+            "=1 + 2",
+            "=PI() + E()",
+            "=POW(2.0, 2.0)",
+            "=2 ^ 5 + (3 * E()) / (4 - 7)",
+            "=POW(PI(), 2)",
+            "=-5 + 10",
+            "=2 + 3 * 4 - 5 / 2",
+            "=((2 + 3) * (4 - 1)) / 5",
+            "=(POW(2, 3) + 4) * PI()",
+            "=A1 * 2",
+            "=pow(-2, A1 - 3) * (42 + B2)",
+            "=sum(A1:F4) * (42 + B2)",
+            "=sum(A1:F4) < 5",
+            "=CONCAT(\"2\", \"3\")",
+    };
+
+    @Param({"true", "false"})
+    private boolean compact;
+
+    private final CompactTokenizer compactTokenizer = new CompactTokenizer();
+    private final SimpleTokenizer simpleTokenizer = new SimpleTokenizer();
+
+    /**
+     * Tokenizes every formula once.
+     *
+     * @param blackhole the sink for the tokens.
+     * @throws ExpressionParsingException if a formula cannot be tokenized.
+     */
+    @Benchmark
+    public void tokenize(Blackhole blackhole) throws ExpressionParsingException {
+        for (String formula : FORMULAS) {
+            blackhole.consume(compact ? compactTokenizer.scan(formula) : simpleTokenizer.tokenize(formula));
+        }
+    }
+}
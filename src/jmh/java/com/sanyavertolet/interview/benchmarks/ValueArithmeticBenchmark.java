@@ -0,0 +1,64 @@
+package com.sanyavertolet.interview.benchmarks;
+
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the arithmetic and comparison operations of {@link Value} on a mix of integers and doubles.
+ * Meant to be run with the {@code gc} profiler: {@code gc.alloc.rate.norm} shows the bytes allocated per operation,
+ * which should be the result objects only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueArithmeticBenchmark {
+    private static final int VALUES = 1_000;
+
+    private final Value[] values = new Value[VALUES];
+
+    /**
+     * Fills the operands with integers and doubles in turn.
+     */
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = i % 2 == 0 ? Value.of(i + 1) : Value.of(i + 0.25);
+        }
+    }
+
+    /**
+     * Computes {@code (a * 2.5 + b) / b - a} for every pair of neighbouring operands.
+     *
+     * @param blackhole the sink for the results.
+     * @throws ExpressionEvaluationException if an operation fails.
+     */
+    @Benchmark
+    public void arithmetic(Blackhole blackhole) throws ExpressionEvaluationException {
+        Value factor = values[1];
+        for (int i = 0; i + 1 < VALUES; i++) {
+            Value a = values[i];
+            Value b = values[i + 1];
+            blackhole.consume(a.multiply(factor).plus(b).divide(b).minus(a));
+        }
+    }
+
+    /**
+     * Compares every pair of neighbouring operands.
+     *
+     * @param blackhole the sink for the results.
+     * @throws ExpressionEvaluationException if a comparison fails.
+     */
+    @Benchmark
+    public void comparison(Blackhole blackhole) throws ExpressionEvaluationException {
+        for (int i = 0; i + 1 < VALUES; i++) {
+            blackhole.consume(values[i].lt(values[i + 1]));
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.sanyavertolet.interview.data;
 
 import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
 import com.sanyavertolet.interview.math.expressions.Expression;
+import com.sanyavertolet.interview.math.expressions.evaluator.CompiledExpression;
 import com.sanyavertolet.interview.math.expressions.evaluator.ExpressionEvaluator;
 
 /**
@@ -9,12 +11,23 @@ import com.sanyavertolet.interview.math.expressions.evaluator.ExpressionEvaluato
  * its evaluated value, and an optional expression tree for cells containing formulas.
  * The {@code Data} class supports recalculating its value based on an expression and marking the cell
  * as erroneous if an evaluation fails.
+ * <p>
+ * The expression tree is compiled with {@link ExpressionEvaluator#compile(Expression)} on the first recalculation,
+ * and the {@link CompiledExpression} is kept for the following recalculations with the same evaluator.
  */
 @SuppressWarnings("PMD.NullAssignment")
 public class Data {
-    private final String text;
+    /**
+     * Shared {@code Data} instance representing an empty cell. It has empty text and no expression tree,
+     * so neither {@link #recalculateValue(ExpressionEvaluator)} nor {@link #markAsError()} can modify it.
+     */
+    public static final Data EMPTY = new Data("");
+
+    private String text;
     private Value value;
     private final Expression expressionTree;
+    private ExpressionEvaluator compiledBy;
+    private CompiledExpression compiledExpression;
 
     /**
      * Constructs a {@code Data} object with the specified text, value, and expression tree.
@@ -81,12 +94,40 @@ public class Data {
     }
 
     /**
-     * Returns the text representation of the data.
+     * Creates the {@code Data} of a numeric literal, whose text is the string representation of its value.
+     * The text is only built when it is first requested, so a cell that is only read for its value
+     * does not create a string.
+     *
+     * @param value the {@link com.sanyavertolet.interview.data.value.IntegerValue}
+     *              or {@link com.sanyavertolet.interview.data.value.DoubleValue} of the literal.
+     * @return a new {@code Data} holding the value.
+     */
+    public static Data ofNumber(Value value) {
+        return new Data(null, value, null);
+    }
+
+    /**
+     * Returns the text representation of the data. The text of a numeric literal created with
+     * {@link #ofNumber(Value)} is built from its value on the first call.
      *
      * @return the text of the data.
      */
     public String getText() {
-        return text;
+        String current = text;
+        if (current == null && value != null && expressionTree == null) {
+            current = value.toString();
+            text = current;
+        }
+        return current;
+    }
+
+    /**
+     * Checks whether the data represents an empty cell, i.e. has empty text and no expression tree.
+     *
+     * @return {@code true} if the cell is empty; {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return expressionTree == null && text != null && text.isEmpty();
     }
 
     /**
@@ -108,7 +149,28 @@ public class Data {
         if (expressionTree == null) {
             return;
         }
-        value = expressionEvaluator.evaluateOrNull(expressionTree);
+        if (compiledBy != expressionEvaluator) {
+            compiledExpression = expressionEvaluator.compile(expressionTree);
+            compiledBy = expressionEvaluator;
+        }
+        try {
+            value = compiledExpression.evaluate();
+        } catch (ExpressionEvaluationException exception) {
+            value = null;
+        }
+    }
+
+    /**
+     * Stores a value of the expression tree that was computed without {@link #recalculateValue(ExpressionEvaluator)},
+     * e.g. for a whole column at once by a {@link com.sanyavertolet.interview.math.expressions.evaluator.ColumnKernel}.
+     * Does nothing if no expression is associated with the data.
+     *
+     * @param value the value of the expression tree.
+     */
+    public void setValue(Value value) {
+        if (expressionTree != null) {
+            this.value = value;
+        }
     }
 
     /**
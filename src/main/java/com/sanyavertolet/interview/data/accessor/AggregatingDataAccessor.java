@@ -0,0 +1,90 @@
+package com.sanyavertolet.interview.data.accessor;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.aggregate.AggregateCache;
+import com.sanyavertolet.interview.data.aggregate.RangeAggregate;
+import com.sanyavertolet.interview.data.container.RangeVisitor;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
+
+import java.util.function.Consumer;
+
+/**
+ * An implementation of the {@link DataAccessor} interface that reads aggregates of ranges from an {@link AggregateCache}
+ * instead of scanning the ranges every time. All other reads are passed to the wrapped {@link DataAccessor},
+ * which is also used to scan the ranges that are not cached yet.
+ * <p>
+ * The cache must be notified of every change of a cell value, see
+ * {@link com.sanyavertolet.interview.data.watcher.SimpleDataWatcher#setCellValueListener}.
+ */
+public class AggregatingDataAccessor implements DataAccessor {
+    private final DataAccessor delegate;
+    private final AggregateCache aggregateCache;
+
+    /**
+     * Constructs a new {@code AggregatingDataAccessor} that wraps the given {@link DataAccessor}.
+     *
+     * @param delegate the accessor to read the data from.
+     * @param aggregateCache the cache of the aggregates of ranges.
+     */
+    public AggregatingDataAccessor(DataAccessor delegate, AggregateCache aggregateCache) {
+        this.delegate = delegate;
+        this.aggregateCache = aggregateCache;
+    }
+
+    /**
+     * Retrieves the {@link Data} associated with the specified {@link CellReference} from the wrapped accessor.
+     *
+     * @param reference the reference to the cell.
+     * @return the {@link Data} at the cell identified by the provided reference.
+     */
+    @Override
+    public Data getData(CellReference reference) {
+        return delegate.getData(reference);
+    }
+
+    /**
+     * Retrieves the value of the cell from the wrapped accessor.
+     *
+     * @param reference the reference to the cell.
+     * @return the value of the cell identified by the provided reference.
+     */
+    @Override
+    public Value getValue(CellReference reference) {
+        return delegate.getValue(reference);
+    }
+
+    /**
+     * Performs the given action for every non-empty cell of the range using the wrapped accessor.
+     *
+     * @param range the range of cells to iterate over.
+     * @param action the action to perform for each non-empty {@link Data}.
+     */
+    @Override
+    public void forEachNonEmpty(RangeExpression range, Consumer<Data> action) {
+        delegate.forEachNonEmpty(range, action);
+    }
+
+    /**
+     * Passes every non-empty cell of the range to the visitor using the wrapped accessor.
+     *
+     * @param range the range of cells to iterate over.
+     * @param visitor the visitor of the non-empty cells.
+     */
+    @Override
+    public void visitNonEmpty(RangeExpression range, RangeVisitor visitor) {
+        delegate.visitNonEmpty(range, visitor);
+    }
+
+    /**
+     * Returns the aggregate of the range from the cache, scanning the range only if it is not cached yet.
+     *
+     * @param range the range of cells.
+     * @return the aggregate of the range.
+     */
+    @Override
+    public RangeAggregate aggregate(RangeExpression range) {
+        return aggregateCache.get(range, delegate);
+    }
+}
@@ -2,7 +2,12 @@ package com.sanyavertolet.interview.data.accessor;
 
 import com.sanyavertolet.interview.data.Data;
 import com.sanyavertolet.interview.data.container.DataContainer;
+import com.sanyavertolet.interview.data.container.RangeVisitor;
+import com.sanyavertolet.interview.data.value.Value;
 import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
+
+import java.util.function.Consumer;
 
 /**
  * A simple implementation of the {@link DataAccessor} interface that acts as a wrapper around a {@link DataContainer}.
@@ -30,4 +35,40 @@ public class ContainerBasedDataAccessor implements DataAccessor {
     public Data getData(CellReference reference) {
         return container.get(reference);
     }
+
+    /**
+     * Retrieves the value of the cell from the wrapped {@link DataContainer}, which reads numeric literals
+     * without creating {@link Data} objects.
+     *
+     * @param reference the reference to the cell.
+     * @return the value of the cell identified by the provided reference.
+     */
+    @Override
+    public Value getValue(CellReference reference) {
+        return container.getValue(reference);
+    }
+
+    /**
+     * Performs the given action for every non-empty cell of the range by delegating to the wrapped
+     * {@link DataContainer}, which skips unallocated regions of the range.
+     *
+     * @param range the range of cells to iterate over.
+     * @param action the action to perform for each non-empty {@link Data}.
+     */
+    @Override
+    public void forEachNonEmpty(RangeExpression range, Consumer<Data> action) {
+        container.forEachNonEmpty(range, action);
+    }
+
+    /**
+     * Passes every non-empty cell of the range to the visitor by delegating to the wrapped {@link DataContainer},
+     * which passes numeric literals as primitive numbers.
+     *
+     * @param range the range of cells to iterate over.
+     * @param visitor the visitor of the non-empty cells.
+     */
+    @Override
+    public void visitNonEmpty(RangeExpression range, RangeVisitor visitor) {
+        container.visitNonEmpty(range, visitor);
+    }
 }
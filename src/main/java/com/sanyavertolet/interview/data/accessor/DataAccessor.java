@@ -1,7 +1,13 @@
 package com.sanyavertolet.interview.data.accessor;
 
 import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.aggregate.RangeAggregate;
+import com.sanyavertolet.interview.data.container.RangeVisitor;
+import com.sanyavertolet.interview.data.value.Value;
 import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
+
+import java.util.function.Consumer;
 
 /**
  * Interface for accessing {@link Data} by a {@link CellReference}.
@@ -15,4 +21,67 @@ public interface DataAccessor {
      * @return the {@link Data} at the cell identified by the provided reference.
      */
     Data getData(CellReference reference);
+
+    /**
+     * Retrieves the value of the cell identified by the specified {@link CellReference}.
+     * Accessors backed by a {@link com.sanyavertolet.interview.data.container.DataContainer} read numeric literals
+     * without creating {@link Data} objects for them.
+     * <p>
+     * The default implementation returns the value of {@link #getData(CellReference)}.
+     *
+     * @param reference the reference to the cell.
+     * @return the value of the cell identified by the provided reference.
+     */
+    default Value getValue(CellReference reference) {
+        return getData(reference).getValue();
+    }
+
+    /**
+     * Performs the given action for every non-empty cell of the range, in row-major order.
+     * Empty cells are skipped without being passed to the action.
+     * <p>
+     * The default implementation looks up every cell of the range; implementations backed by sparse storage
+     * should override it to skip empty regions without visiting them.
+     *
+     * @param range the range of cells to iterate over.
+     * @param action the action to perform for each non-empty {@link Data}.
+     */
+    default void forEachNonEmpty(RangeExpression range, Consumer<Data> action) {
+        for (CellReference reference : range.getCellReferences()) {
+            Data data = getData(reference);
+            if (data != null && !data.isEmpty()) {
+                action.accept(data);
+            }
+        }
+    }
+
+    /**
+     * Passes every non-empty cell of the range to the visitor, in row-major order.
+     * Accessors backed by a {@link com.sanyavertolet.interview.data.container.DataContainer} pass numeric literals
+     * to {@link RangeVisitor#visitNumber(double)} without creating {@link Data} objects for them.
+     * <p>
+     * The default implementation passes every non-empty cell to {@link RangeVisitor#visitData(Data)}
+     * using {@link #forEachNonEmpty(RangeExpression, Consumer)}.
+     *
+     * @param range the range of cells to iterate over.
+     * @param visitor the visitor of the non-empty cells.
+     */
+    default void visitNonEmpty(RangeExpression range, RangeVisitor visitor) {
+        forEachNonEmpty(range, visitor::visitData);
+    }
+
+    /**
+     * Computes the sum and the count of the numbers of the range.
+     * <p>
+     * The default implementation scans the range with {@link #visitNonEmpty(RangeExpression, RangeVisitor)},
+     * see {@link AggregatingDataAccessor} for one that keeps the aggregates of ranges up to date instead.
+     *
+     * @param range the range of cells.
+     * @return the aggregate of the range, owned by the caller.
+     */
+    default RangeAggregate aggregate(RangeExpression range) {
+        RangeAggregate aggregate = new RangeAggregate();
+        visitNonEmpty(range, aggregate);
+        return aggregate;
+    }
 }
@@ -0,0 +1,114 @@
+package com.sanyavertolet.interview.data.accessor;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.aggregate.RangeAggregate;
+import com.sanyavertolet.interview.data.container.RangeVisitor;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.data.watcher.DataWatcher;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
+
+import java.util.function.Consumer;
+
+/**
+ * An implementation of the {@link DataAccessor} interface for lazy recalculation. Before a cell or a range
+ * is read from the wrapped {@link DataAccessor}, the {@link DataWatcher} is asked to recalculate its dirty cells,
+ * so the values that are read are always up to date.
+ * <p>
+ * The watcher itself evaluates expressions that read through this accessor, so it is attached after construction
+ * with {@link #setDataWatcher(DataWatcher)}. Until then, reads are passed through unchanged.
+ */
+public class LazyDataAccessor implements DataAccessor {
+    private final DataAccessor delegate;
+    private DataWatcher dataWatcher;
+
+    /**
+     * Constructs a new {@code LazyDataAccessor} that wraps the given {@link DataAccessor}.
+     *
+     * @param delegate the accessor to read the data from.
+     */
+    public LazyDataAccessor(DataAccessor delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Attaches the {@link DataWatcher} that recalculates dirty cells before they are read.
+     *
+     * @param dataWatcher the watcher that tracks the dirty cells.
+     */
+    public void setDataWatcher(DataWatcher dataWatcher) {
+        this.dataWatcher = dataWatcher;
+    }
+
+    /**
+     * Recalculates the cell if it is dirty, then retrieves its {@link Data} from the wrapped accessor.
+     *
+     * @param reference the reference to the cell.
+     * @return the {@link Data} at the cell identified by the provided reference.
+     */
+    @Override
+    public Data getData(CellReference reference) {
+        if (dataWatcher != null) {
+            dataWatcher.resolve(reference);
+        }
+        return delegate.getData(reference);
+    }
+
+    /**
+     * Recalculates the cell if it is dirty, then retrieves its value from the wrapped accessor.
+     *
+     * @param reference the reference to the cell.
+     * @return the value of the cell identified by the provided reference.
+     */
+    @Override
+    public Value getValue(CellReference reference) {
+        if (dataWatcher != null) {
+            dataWatcher.resolve(reference);
+        }
+        return delegate.getValue(reference);
+    }
+
+    /**
+     * Recalculates the dirty cells of the range, then performs the given action for every non-empty cell
+     * of the range using the wrapped accessor.
+     *
+     * @param range the range of cells to iterate over.
+     * @param action the action to perform for each non-empty {@link Data}.
+     */
+    @Override
+    public void forEachNonEmpty(RangeExpression range, Consumer<Data> action) {
+        if (dataWatcher != null) {
+            dataWatcher.resolve(range);
+        }
+        delegate.forEachNonEmpty(range, action);
+    }
+
+    /**
+     * Recalculates the dirty cells of the range, then passes every non-empty cell of the range
+     * to the visitor using the wrapped accessor.
+     *
+     * @param range the range of cells to iterate over.
+     * @param visitor the visitor of the non-empty cells.
+     */
+    @Override
+    public void visitNonEmpty(RangeExpression range, RangeVisitor visitor) {
+        if (dataWatcher != null) {
+            dataWatcher.resolve(range);
+        }
+        delegate.visitNonEmpty(range, visitor);
+    }
+
+    /**
+     * Recalculates the dirty cells of the range, then computes the aggregate of the range using the wrapped accessor.
+     *
+     * @param range the range of cells.
+     * @return the aggregate of the range.
+     */
+    @Override
+    public RangeAggregate aggregate(RangeExpression range) {
+        if (dataWatcher != null) {
+            dataWatcher.resolve(range);
+        }
+        return delegate.aggregate(range);
+    }
+}
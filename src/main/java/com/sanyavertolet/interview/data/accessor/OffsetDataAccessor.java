@@ -0,0 +1,102 @@
+package com.sanyavertolet.interview.data.accessor;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.aggregate.RangeAggregate;
+import com.sanyavertolet.interview.data.container.RangeVisitor;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.AnchoredExpression;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
+
+import java.util.function.Consumer;
+
+/**
+ * An implementation of the {@link DataAccessor} interface that shifts every cell reference and range
+ * by a fixed offset before passing it to the wrapped {@link DataAccessor}. Evaluators read the cells
+ * of the shared template of an {@link AnchoredExpression} through it, so that the template is evaluated
+ * as if it was written in the cell of the anchored expression.
+ */
+public class OffsetDataAccessor implements DataAccessor {
+    private final DataAccessor delegate;
+    private final int rowOffset;
+    private final int columnOffset;
+
+    /**
+     * Constructs a new {@code OffsetDataAccessor} that wraps the given {@link DataAccessor}.
+     *
+     * @param delegate the accessor to read the data from.
+     * @param rowOffset the number of rows to shift the references by.
+     * @param columnOffset the number of columns to shift the references by.
+     */
+    public OffsetDataAccessor(DataAccessor delegate, int rowOffset, int columnOffset) {
+        this.delegate = delegate;
+        this.rowOffset = rowOffset;
+        this.columnOffset = columnOffset;
+    }
+
+    /**
+     * Constructs a new {@code OffsetDataAccessor} that reads the template of the given expression
+     * at the position of the expression.
+     *
+     * @param delegate the accessor to read the data from.
+     * @param expression the anchored expression.
+     */
+    public OffsetDataAccessor(DataAccessor delegate, AnchoredExpression expression) {
+        this(delegate, expression.getRowOffset(), expression.getColumnOffset());
+    }
+
+    /**
+     * Retrieves the {@link Data} of the shifted cell from the wrapped accessor.
+     *
+     * @param reference the reference to the cell.
+     * @return the {@link Data} at the shifted cell.
+     */
+    @Override
+    public Data getData(CellReference reference) {
+        return delegate.getData(AnchoredExpression.shift(reference, rowOffset, columnOffset));
+    }
+
+    /**
+     * Retrieves the value of the shifted cell from the wrapped accessor.
+     *
+     * @param reference the reference to the cell.
+     * @return the value of the shifted cell.
+     */
+    @Override
+    public Value getValue(CellReference reference) {
+        return delegate.getValue(AnchoredExpression.shift(reference, rowOffset, columnOffset));
+    }
+
+    /**
+     * Performs the given action for every non-empty cell of the shifted range using the wrapped accessor.
+     *
+     * @param range the range of cells to iterate over.
+     * @param action the action to perform for each non-empty {@link Data}.
+     */
+    @Override
+    public void forEachNonEmpty(RangeExpression range, Consumer<Data> action) {
+        delegate.forEachNonEmpty(AnchoredExpression.shift(range, rowOffset, columnOffset), action);
+    }
+
+    /**
+     * Passes every non-empty cell of the shifted range to the visitor using the wrapped accessor.
+     *
+     * @param range the range of cells to iterate over.
+     * @param visitor the visitor of the non-empty cells.
+     */
+    @Override
+    public void visitNonEmpty(RangeExpression range, RangeVisitor visitor) {
+        delegate.visitNonEmpty(AnchoredExpression.shift(range, rowOffset, columnOffset), visitor);
+    }
+
+    /**
+     * Computes the aggregate of the shifted range using the wrapped accessor.
+     *
+     * @param range the range of cells.
+     * @return the aggregate of the shifted range.
+     */
+    @Override
+    public RangeAggregate aggregate(RangeExpression range) {
+        return delegate.aggregate(AnchoredExpression.shift(range, rowOffset, columnOffset));
+    }
+}
@@ -0,0 +1,266 @@
+package com.sanyavertolet.interview.data.aggregate;
+
+import com.sanyavertolet.interview.data.accessor.DataAccessor;
+import com.sanyavertolet.interview.data.dependencies.RangeIndex;
+import com.sanyavertolet.interview.data.value.DoubleValue;
+import com.sanyavertolet.interview.data.value.IntegerValue;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.data.watcher.CellValueListener;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
+import com.sanyavertolet.interview.utils.collections.LongArrayList;
+import com.sanyavertolet.interview.utils.collections.LongObjectHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of the {@link RangeAggregate}s of the ranges read by {@code SUM}, {@code COUNT} and {@code AVERAGE}.
+ * The aggregate of a range is computed by a full scan the first time it is requested. Afterwards, it is kept
+ * up to date by {@link #valueChanged(CellReference, Value, Value)}: the old value of a changed cell is removed
+ * from the aggregates of all cached ranges containing it and the new value is added, so a recalculation
+ * triggered by a single edit costs the same however large the ranges are. The cached ranges containing a cell
+ * are found with a {@link RangeIndex}.
+ * <p>
+ * Optionally, ranges within a single column are answered by a {@link ColumnIndex} instead, which is kept up to date
+ * the same way. Many overlapping ranges of a column, such as running totals, then share a single index
+ * and cost a logarithmic time each, instead of being cached, scanned and updated one by one.
+ * <p>
+ * The cache must be notified of every change of a cell value, otherwise its aggregates become stale.
+ * Structural changes, such as clearing the whole sheet, are handled by {@link #clear()}, after which
+ * the aggregates are scanned again. At most {@code capacity} ranges are cached, the least recently read
+ * ones are evicted first, so ranges no longer used by any formula stop costing anything on edits.
+ * <p>
+ * The cache is thread-safe, as cells may be recalculated concurrently. The first scan of a range is done
+ * outside the lock of the cache, so that formulas of the same recalculation level reading different ranges are
+ * not serialized by it. While the range is scanned, it is registered as pending: a change of a cell inside it
+ * marks the scan as stale, and a stale scan is repeated under the lock instead of being cached.
+ */
+public class AggregateCache implements CellValueListener {
+    private final static Logger logger = LoggerFactory.getLogger(AggregateCache.class);
+
+    /**
+     * The default maximal number of cached ranges.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final Map<Bounds, Entry> entries;
+    private final LongObjectHashMap<Entry> entriesById = new LongObjectHashMap<>();
+    private final RangeIndex index = new RangeIndex();
+    private final LongArrayList containing = new LongArrayList();
+    private final ColumnIndex columnIndex;
+    private long sequence;
+    private long scanCount;
+
+    /**
+     * Constructs an {@code AggregateCache} holding at most {@link #DEFAULT_CAPACITY} ranges, without a column index.
+     */
+    public AggregateCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an {@code AggregateCache} holding at most the given number of ranges, without a column index.
+     *
+     * @param capacity the maximal number of cached ranges.
+     */
+    public AggregateCache(int capacity) {
+        this(capacity, 0);
+    }
+
+    /**
+     * Constructs an {@code AggregateCache} holding at most the given number of ranges. Ranges within a single column
+     * of the first {@code indexedRows} rows are answered by a {@link ColumnIndex}.
+     *
+     * @param capacity the maximal number of cached ranges.
+     * @param indexedRows the number of rows covered by the column index, {@code 0} to disable it.
+     */
+    public AggregateCache(int capacity, int indexedRows) {
+        columnIndex = indexedRows > 0 ? new ColumnIndex(indexedRows) : null;
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Bounds, Entry> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                index.removeAll(eldest.getValue().id);
+                entriesById.remove(eldest.getValue().id);
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the aggregate of the range, scanning the range with the given accessor if it is not cached yet.
+     *
+     * @param range the range of cells.
+     * @param source the accessor to scan the range with, should read the container directly.
+     * @return a copy of the aggregate of the range.
+     */
+    public RangeAggregate get(RangeExpression range, DataAccessor source) {
+        Bounds bounds = new Bounds(range.getFrom(), range.getTo());
+        Entry pending;
+        synchronized (this) {
+            if (columnIndex != null && columnIndex.covers(range)) {
+                return columnIndex.aggregate(range, source);
+            }
+            Entry entry = entries.get(bounds);
+            if (entry != null) {
+                return new RangeAggregate(entry.aggregate);
+            }
+            pending = new Entry(sequence++);
+            index.add(bounds.from.row(), bounds.from.column(), bounds.to.row(), bounds.to.column(), pending.id);
+            entriesById.put(pending.id, pending);
+        }
+        logger.debug("Scanning range {}", range);
+        RangeAggregate aggregate = new RangeAggregate();
+        source.visitNonEmpty(range, aggregate);
+        return install(bounds, pending, aggregate, range, source);
+    }
+
+    /**
+     * Caches the aggregate scanned for a pending entry, unless another thread has cached the range meanwhile.
+     * If a cell of the range has changed during the scan, or the cache has been cleared, the range is scanned
+     * again under the lock.
+     *
+     * @param bounds the bounds of the range.
+     * @param pending the pending entry registered for the scan.
+     * @param scanned the aggregate scanned outside the lock.
+     * @param range the range of cells.
+     * @param source the accessor the range was scanned with.
+     * @return a copy of the cached aggregate of the range.
+     */
+    private synchronized RangeAggregate install(
+            Bounds bounds,
+            Entry pending,
+            RangeAggregate scanned,
+            RangeExpression range,
+            DataAccessor source
+    ) {
+        boolean registered = entriesById.containsKey(pending.id);
+        Entry entry = entries.get(bounds);
+        if (entry != null) {
+            if (registered) {
+                index.removeAll(pending.id);
+                entriesById.remove(pending.id);
+            }
+            return new RangeAggregate(entry.aggregate);
+        }
+        if (!registered) {
+            index.add(bounds.from.row(), bounds.from.column(), bounds.to.row(), bounds.to.column(), pending.id);
+            entriesById.put(pending.id, pending);
+        }
+        RangeAggregate aggregate = scanned;
+        if (!registered || pending.stale) {
+            logger.debug("Rescanning range {} changed while scanned", range);
+            aggregate = new RangeAggregate();
+            source.visitNonEmpty(range, aggregate);
+            scanCount++;
+        }
+        pending.aggregate = aggregate;
+        scanCount++;
+        entries.put(bounds, pending);
+        return new RangeAggregate(aggregate);
+    }
+
+    /**
+     * Applies the change of a cell value to the aggregates of all cached ranges containing the cell
+     * and to the column index.
+     *
+     * @param reference the reference to the cell.
+     * @param previous the previous value of the cell, {@code null} if it was empty or an error.
+     * @param current the current value of the cell, {@code null} if it is empty or an error.
+     */
+    @Override
+    public synchronized void valueChanged(CellReference reference, Value previous, Value current) {
+        if (!isNumber(previous) && !isNumber(current) || isSameNumber(previous, current)) {
+            return;
+        }
+        if (columnIndex != null) {
+            columnIndex.valueChanged(reference, previous, current);
+        }
+        containing.clear();
+        index.collectDependents(reference.key(), containing);
+        for (int i = 0; i < containing.size(); i++) {
+            Entry entry = entriesById.get(containing.get(i));
+            if (entry.aggregate == null) {
+                entry.stale = true;
+            } else {
+                entry.aggregate.remove(previous);
+                entry.aggregate.add(current);
+            }
+        }
+    }
+
+    /**
+     * Drops all cached aggregates, so that they are scanned again when requested.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        entriesById.clear();
+        index.clear();
+        if (columnIndex != null) {
+            columnIndex.clear();
+        }
+    }
+
+    /**
+     * Returns the number of full scans of cached ranges performed since the cache was created.
+     *
+     * @return the number of scans.
+     */
+    public synchronized long getScanCount() {
+        return scanCount;
+    }
+
+    /**
+     * Checks whether the value contributes to aggregates.
+     *
+     * @param value the value, may be {@code null}.
+     * @return {@code true} if the value is an {@link IntegerValue} or a {@link DoubleValue}.
+     */
+    private static boolean isNumber(Value value) {
+        return value instanceof IntegerValue || value instanceof DoubleValue;
+    }
+
+    /**
+     * Checks whether both values are numbers that contribute the same to aggregates.
+     *
+     * @param previous the previous value.
+     * @param current the current value.
+     * @return {@code true} if replacing the previous value with the current one changes no aggregate.
+     */
+    private static boolean isSameNumber(Value previous, Value current) {
+        return isNumber(previous) && isNumber(current) && previous.equals(current);
+    }
+
+    /**
+     * The bounds of a cached range.
+     *
+     * @param from the top-left cell of the range.
+     * @param to the bottom-right cell of the range.
+     */
+    private record Bounds(CellReference from, CellReference to) { }
+
+    /**
+     * A cached range: its aggregate and the identifier it is registered with in the {@link RangeIndex}.
+     * While the range is being scanned, the aggregate is {@code null} and changes inside the range
+     * only mark the entry as stale. Both fields are guarded by the lock of the cache.
+     */
+    private static final class Entry {
+        private final long id;
+        private RangeAggregate aggregate;
+        private boolean stale;
+
+        /**
+         * Constructs a pending {@code Entry}.
+         *
+         * @param id the identifier of the entry.
+         */
+        Entry(long id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.sanyavertolet.interview.data.aggregate;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.accessor.DataAccessor;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.exceptions.expressions.RangeParsingException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+/**
+ * The {@code ColumnIndex} class answers aggregates of single-column ranges, such as the running totals
+ * {@code SUM(B$1:B1)}, {@code SUM(B$1:B2)}, ..., in logarithmic time, however many of them overlap.
+ * <p>
+ * The rows of a column are split into blocks of {@link #BLOCK_ROWS} rows, and a Fenwick tree (binary indexed tree)
+ * keeps a {@link RangeAggregate} for every power-of-two run of blocks. The full blocks of a range are answered
+ * as the difference of two prefix aggregates, and the at most {@code 2 * BLOCK_ROWS} rows of its partial blocks
+ * are scanned. The tree of a column is built by a single scan the first time the column is queried,
+ * and is then kept up to date by {@link #valueChanged(CellReference, Value, Value)} in logarithmic time.
+ * <p>
+ * The difference of two prefix sums is exact up to the rounding of the prefix sums, so sums of ranges far down a column
+ * of large numbers may differ from a scan in the last bits.
+ */
+final class ColumnIndex {
+    private final static Logger logger = LoggerFactory.getLogger(ColumnIndex.class);
+
+    /**
+     * Number of rows in a block, the leaves of the Fenwick trees.
+     */
+    static final int BLOCK_ROWS = 64;
+
+    private final int rowCount;
+    private final int blockCount;
+    private RangeAggregate[][] trees = new RangeAggregate[0][];
+
+    /**
+     * Constructs an empty {@code ColumnIndex} for columns of the given number of rows.
+     *
+     * @param rowCount the number of rows of the sheet.
+     */
+    ColumnIndex(int rowCount) {
+        this.rowCount = rowCount;
+        this.blockCount = (rowCount + BLOCK_ROWS - 1) / BLOCK_ROWS;
+    }
+
+    /**
+     * Checks whether the range is answered by this index: it should lie in a single column
+     * and span more than a single block.
+     *
+     * @param range the range of cells.
+     * @return {@code true} if the range should be aggregated with {@link #aggregate(RangeExpression, DataAccessor)}.
+     */
+    boolean covers(RangeExpression range) {
+        CellReference from = range.getFrom();
+        CellReference to = range.getTo();
+        return from.column() == to.column() && to.row() - from.row() >= BLOCK_ROWS && to.row() < rowCount;
+    }
+
+    /**
+     * Computes the aggregate of a range covered by this index, building the tree of its column if needed.
+     *
+     * @param range the range of cells, see {@link #covers(RangeExpression)}.
+     * @param source the accessor to scan the cells with, should read the container directly.
+     * @return the aggregate of the range, owned by the caller.
+     */
+    RangeAggregate aggregate(RangeExpression range, DataAccessor source) {
+        int column = range.getFrom().column();
+        int fromRow = range.getFrom().row();
+        int toRow = range.getTo().row();
+        RangeAggregate[] tree = treeOf(column, source);
+        int firstBlock = (fromRow + BLOCK_ROWS - 1) / BLOCK_ROWS;
+        int endBlock = (toRow + 1) / BLOCK_ROWS;
+        RangeAggregate aggregate = new RangeAggregate();
+        if (firstBlock >= endBlock) {
+            scan(column, fromRow, toRow, source, aggregate);
+            return aggregate;
+        }
+        addPrefix(tree, endBlock, aggregate, true);
+        addPrefix(tree, firstBlock, aggregate, false);
+        scan(column, fromRow, firstBlock * BLOCK_ROWS - 1, source, aggregate);
+        scan(column, endBlock * BLOCK_ROWS, toRow, source, aggregate);
+        return aggregate;
+    }
+
+    /**
+     * Applies the change of a cell value to the tree of its column, if the column is indexed.
+     *
+     * @param reference the reference to the cell.
+     * @param previous the previous value of the cell.
+     * @param current the current value of the cell.
+     */
+    void valueChanged(CellReference reference, Value previous, Value current) {
+        int column = reference.column();
+        if (column >= trees.length || trees[column] == null || reference.row() >= rowCount) {
+            return;
+        }
+        RangeAggregate[] tree = trees[column];
+        for (int node = reference.row() / BLOCK_ROWS + 1; node <= blockCount; node += node & -node) {
+            tree[node].remove(previous);
+            tree[node].add(current);
+        }
+    }
+
+    /**
+     * Drops the trees of all columns.
+     */
+    void clear() {
+        trees = new RangeAggregate[0][];
+    }
+
+    /**
+     * Returns the tree of the column, building it if the column has not been indexed yet.
+     * Every block is scanned into its leaf, and then every node is added to its parent.
+     *
+     * @param column the column.
+     * @param source the accessor to scan the column with.
+     * @return the Fenwick tree of the column, indexed from {@code 1}.
+     */
+    private RangeAggregate[] treeOf(int column, DataAccessor source) {
+        if (column >= trees.length) {
+            trees = Arrays.copyOf(trees, Math.max(column + 1, trees.length * 2));
+        }
+        if (trees[column] != null) {
+            return trees[column];
+        }
+        logger.debug("Indexing column {}", column);
+        RangeAggregate[] tree = new RangeAggregate[blockCount + 1];
+        for (int block = 0; block < blockCount; block++) {
+            tree[block + 1] = new RangeAggregate();
+            scan(column, block * BLOCK_ROWS, Math.min(rowCount, (block + 1) * BLOCK_ROWS) - 1, source, tree[block + 1]);
+        }
+        for (int node = 1; node <= blockCount; node++) {
+            int parent = node + (node & -node);
+            if (parent <= blockCount) {
+                tree[parent].addAll(tree[node]);
+            }
+        }
+        trees[column] = tree;
+        return tree;
+    }
+
+    /**
+     * Adds or removes the aggregate of the first blocks of a column.
+     *
+     * @param tree the tree of the column.
+     * @param blocks the number of blocks.
+     * @param aggregate the aggregate to update.
+     * @param add {@code true} to add the prefix, {@code false} to remove it.
+     */
+    private static void addPrefix(RangeAggregate[] tree, int blocks, RangeAggregate aggregate, boolean add) {
+        for (int node = blocks; node > 0; node -= node & -node) {
+            if (add) {
+                aggregate.addAll(tree[node]);
+            } else {
+                aggregate.removeAll(tree[node]);
+            }
+        }
+    }
+
+    /**
+     * Adds the numbers of consecutive rows of a column to an aggregate.
+     *
+     * @param column the column.
+     * @param fromRow the first row.
+     * @param toRow the last row, inclusive; nothing is added if it precedes {@code fromRow}.
+     * @param source the accessor to read the cells with.
+     * @param aggregate the aggregate to add the numbers to.
+     */
+    private static void scan(int column, int fromRow, int toRow, DataAccessor source, RangeAggregate aggregate) {
+        try {
+            if (fromRow == toRow) {
+                Data data = source.getData(CellReference.of(fromRow, column));
+                if (data != null) {
+                    aggregate.add(data.getValue());
+                }
+            } else if (fromRow < toRow) {
+                source.visitNonEmpty(new RangeExpression(CellReference.of(fromRow, column), CellReference.of(toRow, column)), aggregate);
+            }
+        } catch (CellReferenceException | RangeParsingException exception) {
+            throw new RuntimeException("Internal error: access to cell that does not exist.", exception);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.sanyavertolet.interview.data.aggregate;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.container.RangeVisitor;
+import com.sanyavertolet.interview.data.value.DoubleValue;
+import com.sanyavertolet.interview.data.value.IntegerValue;
+import com.sanyavertolet.interview.data.value.Value;
+
+/**
+ * The running sum and count of the numbers of a range, as used by {@code SUM}, {@code COUNT} and {@code AVERAGE}.
+ * Values other than {@link IntegerValue} and {@link DoubleValue} are skipped.
+ * <p>
+ * Numbers can be both added and removed, so the aggregate of a range can be kept up to date by applying
+ * the difference between the old and the new value of a changed cell, see {@link AggregateCache}.
+ * The sum is compensated (Kahan-Babuska-Neumaier summation): the rounding error of every addition is
+ * accumulated in a separate term, so removing a number undoes its addition and the result does not drift
+ * however many changes are applied. Infinite and NaN numbers cannot be subtracted back, so they are counted
+ * separately and only decide the result while any of them is present.
+ */
+public final class RangeAggregate implements RangeVisitor {
+    private double sum;
+    private double compensation;
+    private int count;
+    private int positiveInfinityCount;
+    private int negativeInfinityCount;
+    private int nanCount;
+
+    /**
+     * Constructs an empty {@code RangeAggregate}.
+     */
+    public RangeAggregate() { }
+
+    /**
+     * Constructs a copy of the given {@code RangeAggregate}.
+     *
+     * @param other the aggregate to copy.
+     */
+    public RangeAggregate(RangeAggregate other) {
+        sum = other.sum;
+        compensation = other.compensation;
+        count = other.count;
+        positiveInfinityCount = other.positiveInfinityCount;
+        negativeInfinityCount = other.negativeInfinityCount;
+        nanCount = other.nanCount;
+    }
+
+    /**
+     * Returns the sum of the numbers.
+     *
+     * @return the compensated sum, {@code 0} if there are no numbers.
+     */
+    public double getSum() {
+        if (nanCount > 0 || positiveInfinityCount > 0 && negativeInfinityCount > 0) {
+            return Double.NaN;
+        } else if (positiveInfinityCount > 0) {
+            return Double.POSITIVE_INFINITY;
+        } else if (negativeInfinityCount > 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return sum + compensation;
+    }
+
+    /**
+     * Returns the number of numbers.
+     *
+     * @return the count.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Adds a value if it is a number.
+     *
+     * @param value the value, may be {@code null}.
+     */
+    public void add(Value value) {
+        if (value instanceof IntegerValue integerValue) {
+            add(integerValue.intValue());
+        } else if (value instanceof DoubleValue doubleValue) {
+            add(doubleValue.doubleValue());
+        }
+    }
+
+    /**
+     * Removes a value that has previously been added, if it is a number.
+     *
+     * @param value the value, may be {@code null}.
+     */
+    public void remove(Value value) {
+        if (value instanceof IntegerValue integerValue) {
+            remove(integerValue.intValue());
+        } else if (value instanceof DoubleValue doubleValue) {
+            remove(doubleValue.doubleValue());
+        }
+    }
+
+    /**
+     * Adds all numbers of another aggregate.
+     *
+     * @param other the aggregate to add.
+     */
+    public void addAll(RangeAggregate other) {
+        combine(other, 1);
+    }
+
+    /**
+     * Removes all numbers of another aggregate, whose numbers have previously been added.
+     *
+     * @param other the aggregate to remove.
+     */
+    public void removeAll(RangeAggregate other) {
+        combine(other, -1);
+        if (count == 0) {
+            sum = 0;
+            compensation = 0;
+        }
+    }
+
+    /**
+     * Adds a number to the sum and counts it.
+     *
+     * @param number the number.
+     */
+    public void add(double number) {
+        count++;
+        if (!countNonFinite(number, 1)) {
+            accumulate(number);
+        }
+    }
+
+    /**
+     * Removes a number that has previously been added. Once no numbers are left, the sum is reset to exactly zero.
+     *
+     * @param number the number.
+     */
+    public void remove(double number) {
+        count--;
+        if (!countNonFinite(number, -1)) {
+            accumulate(-number);
+        }
+        if (count == 0) {
+            sum = 0;
+            compensation = 0;
+        }
+    }
+
+    /**
+     * Adds the number of a cell.
+     *
+     * @param number the value of the cell.
+     */
+    @Override
+    public void visitNumber(double number) {
+        add(number);
+    }
+
+    /**
+     * Adds the value of a cell if it is a number.
+     *
+     * @param data the {@code Data} of the cell.
+     */
+    @Override
+    public void visitData(Data data) {
+        add(data.getValue());
+    }
+
+    /**
+     * Adds a finite number to the sum, keeping the rounding error in the compensation term.
+     *
+     * @param number the number to add.
+     */
+    private void accumulate(double number) {
+        double total = sum + number;
+        if (Math.abs(sum) >= Math.abs(number)) {
+            compensation += (sum - total) + number;
+        } else {
+            compensation += (number - total) + sum;
+        }
+        sum = total;
+    }
+
+    /**
+     * Adds or subtracts the sum and the counts of another aggregate.
+     *
+     * @param other the other aggregate.
+     * @param sign {@code 1} to add the other aggregate, {@code -1} to subtract it.
+     */
+    private void combine(RangeAggregate other, int sign) {
+        accumulate(sign * other.sum);
+        accumulate(sign * other.compensation);
+        count += sign * other.count;
+        positiveInfinityCount += sign * other.positiveInfinityCount;
+        negativeInfinityCount += sign * other.negativeInfinityCount;
+        nanCount += sign * other.nanCount;
+    }
+
+    /**
+     * Counts an infinite or NaN number.
+     *
+     * @param number the number.
+     * @param delta {@code 1} if the number is added, {@code -1} if it is removed.
+     * @return {@code true} if the number is not finite and has been counted.
+     */
+    private boolean countNonFinite(double number, int delta) {
+        if (Double.isNaN(number)) {
+            nanCount += delta;
+        } else if (number == Double.POSITIVE_INFINITY) {
+            positiveInfinityCount += delta;
+        } else if (number == Double.NEGATIVE_INFINITY) {
+            negativeInfinityCount += delta;
+        } else {
+            return false;
+        }
+        return true;
+    }
+}
@@ -1,46 +1,53 @@
 package com.sanyavertolet.interview.data.container;
 
 import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.value.Value;
 import com.sanyavertolet.interview.math.CellReference;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
 
-import java.util.*;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
- * The {@code DataContainer} class manages a table-like structure for storing and retrieving data
- * associated with specific {@link CellReference} instances. It also tracks the maximum row and
- * column sizes dynamically as data is added.
+ * Interface for storage of {@link Data} associated with specific {@link CellReference} instances.
+ * Implementations also track the maximum row and column sizes dynamically as data is added.
  */
-public class DataContainer {
-    private final static Logger logger = LoggerFactory.getLogger(DataContainer.class);
-    private final Map<CellReference, Data> container;
-    private int maxRow;
-    private int maxCol;
+public interface DataContainer {
 
     /**
-     * Constructs a {@code DataContainer} with specified initial row and column sizes.
+     * Retrieves the {@code Data} associated with the specified {@link CellReference}.
+     * If no data exists for the provided reference, the shared {@link Data#EMPTY} instance is returned.
      *
-     * @param row the initial maximum number of rows in the container.
-     * @param col the initial maximum number of columns in the container.
+     * @param cellReference the reference of the cell to retrieve data from.
+     * @return the {@code Data} associated with the given {@link CellReference}, or {@link Data#EMPTY} if none exists.
      */
-    public DataContainer(int row, int col) {
-        maxRow = row;
-        maxCol = col + 1;
-        logger.debug("Creating container for {} x {} table", row, col);
-        this.container = new HashMap<>();
-    }
+    Data get(CellReference cellReference);
 
     /**
-     * Retrieves the {@code Data} associated with the specified {@link CellReference}.
-     * If no data exists for the provided reference, an empty {@code Data} object is returned.
+     * Retrieves the value of the cell identified by the specified {@link CellReference}, which is the value
+     * of its {@code Data}. Cells stored as primitive numbers return their value without creating a {@code Data} object.
      *
-     * @param cellReference the reference of the cell to retrieve data from.
-     * @return the {@code Data} associated with the given {@link CellReference}, or an empty {@code Data} object if none exists.
+     * @param cellReference the reference of the cell.
+     * @return the value of the cell, or the value of {@link Data#EMPTY} if the cell is empty.
+     */
+    Value getValue(CellReference cellReference);
+
+    /**
+     * Performs the given action for every non-empty cell of the range, in row-major order.
+     *
+     * @param range the range of cells to iterate over.
+     * @param action the action to perform for each non-empty {@code Data}.
+     */
+    void forEachNonEmpty(RangeExpression range, Consumer<Data> action);
+
+    /**
+     * Passes every non-empty cell of the range to the visitor, in row-major order. Cells stored
+     * as primitive numbers are passed to {@link RangeVisitor#visitNumber(double)} without creating a {@code Data} object.
+     *
+     * @param range the range of cells to iterate over.
+     * @param visitor the visitor of the non-empty cells.
      */
-    public Data get(CellReference cellReference) {
-        return container.getOrDefault(cellReference, new Data(""));
-    }
+    void visitNonEmpty(RangeExpression range, RangeVisitor visitor);
 
     /**
      * Stores the specified {@code Data} in the container, associated with the provided {@link CellReference}.
@@ -51,13 +58,7 @@ public class DataContainer {
      * @return the previous {@code Data} associated with the cell reference, or {@code null} if there was none.
      */
     @SuppressWarnings("UnusedReturnValue")
-    public Data put(CellReference cellReference, Data data) {
-        maxRow = Math.max(cellReference.row(), maxRow);
-        maxCol = Math.max(cellReference.column(), maxCol);
-        logger.trace("Updated maxRow: {} maxCol: {}", maxRow, maxCol);
-        logger.trace("Added data {} for reference {}", data, cellReference);
-        return container.put(cellReference, data);
-    }
+    Data put(CellReference cellReference, Data data);
 
     /**
      * Removes the {@code Data} associated with the provided {@link CellReference} from the container.
@@ -66,36 +67,28 @@ public class DataContainer {
      * @return the removed {@code Data} associated with the cell reference, or {@code null} if there was none.
      */
     @SuppressWarnings("UnusedReturnValue")
-    public Data remove(CellReference cellReference) {
-        return container.remove(cellReference);
-    }
+    Data remove(CellReference cellReference);
 
     /**
      * Returns the number of entries in the container.
      *
      * @return the size of the container.
      */
-    public int size() {
-        return container.size();
-    }
+    int size();
 
     /**
      * Returns the current maximum row index in the container.
      *
      * @return the maximum row index.
      */
-    public int getRowCount() {
-        return maxRow;
-    }
+    int getRowCount();
 
     /**
      * Returns the current maximum column index in the container.
      *
      * @return the maximum column index.
      */
-    public int getColumnCount() {
-        return maxCol;
-    }
+    int getColumnCount();
 
     /**
      * Exports the data map as a list of {@link CellReference.WithText} objects, which contain
@@ -104,29 +97,10 @@ public class DataContainer {
      *
      * @return a list of {@link CellReference.WithText} representing the exported data.
      */
-    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
-    public List<CellReference.WithText> exportDataMap() {
-        logger.debug("Exporting data map...");
-        List<CellReference.WithText> dataList = new ArrayList<>();
-        List<CellReference.WithText> primitiveDataList = new ArrayList<>();
-        for (Map.Entry<CellReference, Data> entry : container.entrySet()) {
-            CellReference.WithText referencedData = new CellReference.WithText(entry.getKey(), entry.getValue().getText());
-            if (entry.getValue().getExpressionTree() == null) {
-                dataList.add(referencedData);
-            } else {
-                primitiveDataList.add(referencedData);
-            }
-        }
-        dataList.addAll(primitiveDataList);
-        logger.debug("Exported {} records", dataList.size());
-        return dataList;
-    }
+    List<CellReference.WithText> exportDataMap();
 
     /**
      * Clears all data from the container.
      */
-    public void clearDataMap() {
-        logger.debug("Clearing data map...");
-        container.clear();
-    }
+    void clearDataMap();
 }
@@ -0,0 +1,520 @@
+package com.sanyavertolet.interview.data.container;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
+import com.sanyavertolet.interview.utils.collections.LongArrayList;
+import com.sanyavertolet.interview.utils.collections.LongObjectHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * The {@code MappedDataContainer} class is a {@link DataContainer} implementation for sheets that do not fit
+ * into the heap. Cells are split into tiles the same way as in {@link TiledDataContainer}, but the
+ * {@link NumericBlock}s of the tiles, which hold all numeric literal cells, live in a memory-mapped file.
+ * <p>
+ * Only a bounded number of recently used blocks is kept on the heap; when a block is evicted it is written
+ * back to the file if it was modified. Formulas, strings and booleans always stay on the heap, as they
+ * are referenced by the evaluator and the dependency tracking.
+ * <p>
+ * The backing file is mapped in chunks of several hundred tiles, which are added as the sheet grows.
+ * Slots of tiles that become empty are reused.
+ * <p>
+ * Even reads move blocks in and out of the heap, so all public methods are synchronized,
+ * which lets cells be evaluated concurrently, see
+ * {@link com.sanyavertolet.interview.data.recalculation.ForkJoinRecalculationStrategy}.
+ */
+public class MappedDataContainer implements DataContainer, Closeable {
+    /**
+     * Default number of numeric blocks kept on the heap.
+     */
+    public static final int DEFAULT_HOT_TILES = 256;
+
+    private final static Logger logger = LoggerFactory.getLogger(MappedDataContainer.class);
+    private static final int CHUNK_TILES = 256;
+    private static final int CHUNK_BYTES = CHUNK_TILES * NumericBlock.BYTES;
+
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> chunks = new ArrayList<>();
+    private final LongObjectHashMap<MappedTile> tiles = new LongObjectHashMap<>();
+    private final LinkedHashMap<Long, MappedTile> hotTiles;
+    private final LongArrayList freeSlots = new LongArrayList();
+    private MappedTile lastUsedTile;
+    private int nextSlot;
+    private int size;
+    private int maxRow;
+    private int maxCol;
+
+    /**
+     * Constructs a {@code MappedDataContainer} backed by the given file, which is created or truncated.
+     *
+     * @param row the initial maximum number of rows in the container.
+     * @param col the initial maximum number of columns in the container.
+     * @param file the file to keep the numeric blocks in.
+     * @param hotTileCapacity the maximum number of numeric blocks kept on the heap.
+     * @throws IOException if the file cannot be opened.
+     */
+    public MappedDataContainer(int row, int col, Path file, int hotTileCapacity) throws IOException {
+        maxRow = row;
+        maxCol = col + 1;
+        logger.debug("Creating mapped container for {} x {} table in {}", row, col, file);
+        channel = FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+        );
+        hotTiles = new LinkedHashMap<>(hotTileCapacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, MappedTile> eldest) {
+                if (size() <= hotTileCapacity) {
+                    return false;
+                }
+                evict(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Constructs a {@code MappedDataContainer} backed by a temporary file that is deleted on exit.
+     *
+     * @param row the initial maximum number of rows in the container.
+     * @param col the initial maximum number of columns in the container.
+     * @throws IOException if the temporary file cannot be created.
+     */
+    public MappedDataContainer(int row, int col) throws IOException {
+        this(row, col, createTemporaryFile(), DEFAULT_HOT_TILES);
+    }
+
+    /**
+     * Retrieves the {@code Data} associated with the specified {@link CellReference}.
+     * If no data exists for the provided reference, the shared {@link Data#EMPTY} instance is returned.
+     *
+     * @param cellReference the reference of the cell to retrieve data from.
+     * @return the {@code Data} associated with the given {@link CellReference}, or {@link Data#EMPTY} if none exists.
+     */
+    @Override
+    public synchronized Data get(CellReference cellReference) {
+        int row = cellReference.row();
+        int column = cellReference.column();
+        long key = Tile.keyOf(row, column);
+        MappedTile tile = tiles.get(key);
+        Data data = tile == null ? null : get(tile, key, Tile.indexOf(row, column));
+        return data == null ? Data.EMPTY : data;
+    }
+
+    /**
+     * Retrieves the value of the cell. Numeric literals are read from the {@link NumericBlock} of their tile,
+     * which is loaded if needed, without creating a {@code Data} object.
+     *
+     * @param cellReference the reference of the cell.
+     * @return the value of the cell, or the value of {@link Data#EMPTY} if the cell is empty.
+     */
+    @Override
+    public synchronized Value getValue(CellReference cellReference) {
+        int row = cellReference.row();
+        int column = cellReference.column();
+        long key = Tile.keyOf(row, column);
+        MappedTile tile = tiles.get(key);
+        if (tile == null) {
+            return Data.EMPTY.getValue();
+        }
+        int index = Tile.indexOf(row, column);
+        Data data = tile.getObject(index);
+        if (data != null) {
+            return data.getValue();
+        }
+        NumericBlock block = load(tile, key);
+        return block.isNumeric(index) ? block.value(index) : Data.EMPTY.getValue();
+    }
+
+    /**
+     * Performs the given action for every non-empty cell of the range, in row-major order.
+     * Tiles that have not been allocated are skipped without visiting their cells.
+     *
+     * @param range the range of cells to iterate over.
+     * @param action the action to perform for each non-empty {@code Data}.
+     */
+    @Override
+    public synchronized void forEachNonEmpty(RangeExpression range, Consumer<Data> action) {
+        forEachCell(range, (tile, key, index) -> {
+            Data data = get(tile, key, index);
+            if (data != null) {
+                action.accept(data);
+            }
+        });
+    }
+
+    /**
+     * Passes every non-empty cell of the range to the visitor, in row-major order.
+     * Tiles that have not been allocated are skipped without visiting their cells,
+     * and numeric literals are passed as numbers without creating {@code Data} objects.
+     *
+     * @param range the range of cells to iterate over.
+     * @param visitor the visitor of the non-empty cells.
+     */
+    @Override
+    public synchronized void visitNonEmpty(RangeExpression range, RangeVisitor visitor) {
+        forEachCell(range, (tile, key, index) -> {
+            Data data = tile.getObject(index);
+            if (data != null) {
+                visitor.visitData(data);
+                return;
+            }
+            NumericBlock block = load(tile, key);
+            if (block.isNumeric(index)) {
+                visitor.visitNumber(block.get(index));
+            }
+        });
+    }
+
+    /**
+     * Performs the given action for every cell of the range that lies in an allocated tile, in row-major order.
+     * If none of the tiles of a row is allocated, the rest of the tiles' rows is skipped.
+     *
+     * @param range the range of cells to iterate over.
+     * @param action the action to perform for each cell, given its tile, the key of the tile and its index inside the tile.
+     */
+    private void forEachCell(RangeExpression range, CellAction action) {
+        int fromColumn = range.getFrom().column();
+        int toColumn = range.getTo().column();
+        for (int row = range.getFrom().row(); row <= range.getTo().row(); row++) {
+            boolean allocated = false;
+            for (int column = fromColumn; column <= toColumn; column++) {
+                long key = Tile.keyOf(row, column);
+                MappedTile tile = tiles.get(key);
+                if (tile == null) {
+                    column |= Tile.COLUMNS - 1;
+                    continue;
+                }
+                allocated = true;
+                action.accept(tile, key, Tile.indexOf(row, column));
+            }
+            if (!allocated) {
+                row |= Tile.ROWS - 1;
+            }
+        }
+    }
+
+    /**
+     * Stores the specified {@code Data} in the container, associated with the provided {@link CellReference}.
+     * This method also updates the maximum row and column indices based on the provided cell reference.
+     *
+     * @param cellReference the reference of the cell to store data in.
+     * @param data the {@code Data} to be stored.
+     * @return the previous {@code Data} associated with the cell reference, or {@code null} if there was none.
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    @Override
+    public synchronized Data put(CellReference cellReference, Data data) {
+        int row = cellReference.row();
+        int column = cellReference.column();
+        maxRow = Math.max(row, maxRow);
+        maxCol = Math.max(column, maxCol);
+        long key = Tile.keyOf(row, column);
+        int index = Tile.indexOf(row, column);
+        MappedTile tile = tiles.get(key);
+        if (tile == null) {
+            tile = allocate(key);
+        }
+        Data previous = get(tile, key, index);
+        NumericBlock block = load(tile, key);
+        if (NumericBlock.isNumericLiteral(data)) {
+            block.store(index, data.getValue());
+            tile.setObject(index, null);
+        } else {
+            block.clear(index);
+            tile.setObject(index, data);
+        }
+        tile.markDirty();
+        if (previous == null) {
+            tile.addToSize(1);
+            size++;
+        }
+        return previous;
+    }
+
+    /**
+     * Removes the {@code Data} associated with the provided {@link CellReference} from the container.
+     *
+     * @param cellReference the reference of the cell to remove data from.
+     * @return the removed {@code Data} associated with the cell reference, or {@code null} if there was none.
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    @Override
+    public synchronized Data remove(CellReference cellReference) {
+        int row = cellReference.row();
+        int column = cellReference.column();
+        long key = Tile.keyOf(row, column);
+        int index = Tile.indexOf(row, column);
+        MappedTile tile = tiles.get(key);
+        if (tile == null) {
+            return null;
+        }
+        Data previous = get(tile, key, index);
+        if (previous != null) {
+            load(tile, key).clear(index);
+            tile.setObject(index, null);
+            tile.markDirty();
+            tile.addToSize(-1);
+            size--;
+            if (tile.size() == 0) {
+                release(tile, key);
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Returns the number of entries in the container.
+     *
+     * @return the size of the container.
+     */
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the current maximum row index in the container.
+     *
+     * @return the maximum row index.
+     */
+    @Override
+    public synchronized int getRowCount() {
+        return maxRow;
+    }
+
+    /**
+     * Returns the current maximum column index in the container.
+     *
+     * @return the maximum column index.
+     */
+    @Override
+    public synchronized int getColumnCount() {
+        return maxCol;
+    }
+
+    /**
+     * Exports the data map as a list of {@link CellReference.WithText} objects, which contain
+     * the cell reference and associated text. The export process prioritizes cells with primitive
+     * data over those with expressions.
+     *
+     * @return a list of {@link CellReference.WithText} representing the exported data.
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    @Override
+    public synchronized List<CellReference.WithText> exportDataMap() {
+        logger.debug("Exporting data map...");
+        List<CellReference.WithText> dataList = new ArrayList<>();
+        List<CellReference.WithText> primitiveDataList = new ArrayList<>();
+        LongArrayList keys = new LongArrayList();
+        tiles.forEach((key, tile) -> keys.add(key));
+        for (int i = 0; i < keys.size(); i++) {
+            long key = keys.get(i);
+            MappedTile tile = tiles.get(key);
+            for (int index = 0; index < Tile.CELLS; index++) {
+                Data data = get(tile, key, index);
+                if (data == null) {
+                    continue;
+                }
+                int row = (CellReference.rowOf(key) << Tile.ROW_SHIFT) + index % Tile.ROWS;
+                int column = (CellReference.columnOf(key) << Tile.COLUMN_SHIFT) + index / Tile.ROWS;
+                CellReference.WithText referencedData = new CellReference.WithText(reference(row, column), data.getText());
+                if (data.getExpressionTree() == null) {
+                    dataList.add(referencedData);
+                } else {
+                    primitiveDataList.add(referencedData);
+                }
+            }
+        }
+        dataList.addAll(primitiveDataList);
+        logger.debug("Exported {} records", dataList.size());
+        return dataList;
+    }
+
+    /**
+     * Clears all data from the container. The backing file keeps its size and its slots are reused.
+     */
+    @Override
+    public synchronized void clearDataMap() {
+        logger.debug("Clearing data map...");
+        tiles.clear();
+        hotTiles.clear();
+        lastUsedTile = null;
+        freeSlots.clear();
+        nextSlot = 0;
+        size = 0;
+    }
+
+    /**
+     * Closes the backing file. The container must not be used afterwards.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        hotTiles.clear();
+        lastUsedTile = null;
+        chunks.clear();
+        channel.close();
+    }
+
+    /**
+     * Retrieves the {@code Data} stored in a tile. Non-numeric cells are served from the heap,
+     * numeric cells are materialized from the tile's {@link NumericBlock}, which is loaded if needed.
+     *
+     * @param tile the tile containing the cell.
+     * @param key the key of the tile.
+     * @param index the index of the cell inside the tile.
+     * @return the stored {@code Data}, or {@code null} if the cell is empty.
+     */
+    private Data get(MappedTile tile, long key, int index) {
+        Data data = tile.getObject(index);
+        if (data != null) {
+            return data;
+        }
+        NumericBlock block = load(tile, key);
+        return block.isNumeric(index) ? block.materialize(index) : null;
+    }
+
+    /**
+     * Returns the {@link NumericBlock} of a tile, reading it from the backing file if it is not hot.
+     *
+     * @param tile the tile whose block is needed.
+     * @param key the key of the tile.
+     * @return the loaded numeric block.
+     */
+    private NumericBlock load(MappedTile tile, long key) {
+        NumericBlock block = tile.getBlock();
+        if (block != null) {
+            if (tile != lastUsedTile) {
+                hotTiles.get(key);
+                lastUsedTile = tile;
+            }
+            return block;
+        }
+        int slot = tile.getSlot();
+        block = NumericBlock.readFrom(chunks.get(slot / CHUNK_TILES), slot % CHUNK_TILES * NumericBlock.BYTES);
+        tile.setBlock(block, false);
+        hotTiles.put(key, tile);
+        lastUsedTile = tile;
+        return block;
+    }
+
+    /**
+     * Writes the block of an evicted tile back to the backing file if it was modified, and detaches it.
+     *
+     * @param tile the tile being evicted.
+     */
+    private void evict(MappedTile tile) {
+        if (tile.isDirty()) {
+            int slot = tile.getSlot();
+            tile.getBlock().writeTo(chunks.get(slot / CHUNK_TILES), slot % CHUNK_TILES * NumericBlock.BYTES);
+        }
+        tile.setBlock(null, false);
+    }
+
+    /**
+     * Allocates a new tile with an empty, hot {@link NumericBlock}, reusing a free slot of the backing file
+     * or growing the file by a chunk.
+     *
+     * @param key the key of the tile.
+     * @return the allocated tile.
+     */
+    private MappedTile allocate(long key) {
+        int slot;
+        if (freeSlots.isEmpty()) {
+            slot = nextSlot++;
+            if (slot / CHUNK_TILES >= chunks.size()) {
+                mapChunk();
+            }
+        } else {
+            slot = (int) freeSlots.removeLast();
+        }
+        MappedTile tile = new MappedTile(slot);
+        tile.setBlock(new NumericBlock(), true);
+        tiles.put(key, tile);
+        hotTiles.put(key, tile);
+        return tile;
+    }
+
+    /**
+     * Releases an empty tile and makes its slot available for reuse.
+     *
+     * @param tile the tile to release.
+     * @param key the key of the tile.
+     */
+    private void release(MappedTile tile, long key) {
+        tiles.remove(key);
+        hotTiles.remove(key);
+        if (tile == lastUsedTile) {
+            lastUsedTile = null;
+        }
+        tile.setBlock(null, false);
+        freeSlots.add(tile.getSlot());
+    }
+
+    /**
+     * Maps the next chunk of the backing file, extending the file.
+     */
+    private void mapChunk() {
+        long position = (long) chunks.size() * CHUNK_BYTES;
+        try {
+            chunks.add(channel.map(FileChannel.MapMode.READ_WRITE, position, CHUNK_BYTES));
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not map tile storage at " + position, exception);
+        }
+        logger.debug("Mapped chunk {} of tile storage", chunks.size());
+    }
+
+    /**
+     * Creates a temporary file for the tile storage that is deleted when the JVM exits.
+     *
+     * @return the path of the temporary file.
+     * @throws IOException if the file cannot be created.
+     */
+    private static Path createTemporaryFile() throws IOException {
+        Path file = Files.createTempFile("spreadsheet", ".tiles");
+        file.toFile().deleteOnExit();
+        return file;
+    }
+
+    /**
+     * Creates a {@link CellReference} for coordinates of a cell that is stored in the container.
+     *
+     * @param row the row index.
+     * @param column the column index.
+     * @return the {@link CellReference} corresponding to the specified row and column.
+     */
+    private static CellReference reference(int row, int column) {
+        try {
+            return CellReference.of(row, column);
+        } catch (CellReferenceException exception) {
+            throw new IllegalStateException("Internal error: stored cell has invalid coordinates.", exception);
+        }
+    }
+
+    /**
+     * An action performed on a cell of a tile.
+     */
+    @FunctionalInterface
+    private interface CellAction {
+        void accept(MappedTile tile, long key, int index);
+    }
+}
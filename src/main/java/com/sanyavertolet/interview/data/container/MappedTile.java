@@ -0,0 +1,114 @@
+package com.sanyavertolet.interview.data.container;
+
+import com.sanyavertolet.interview.data.Data;
+
+/**
+ * The {@code MappedTile} class holds the heap-resident part of a tile of {@link MappedDataContainer}:
+ * the slot of its {@link NumericBlock} in the backing file, the {@link Data} objects of its non-numeric cells
+ * and, while the tile is hot, the loaded {@code NumericBlock} itself.
+ */
+final class MappedTile {
+    private final int slot;
+    private Data[] objects;
+    private NumericBlock block;
+    private boolean dirty;
+    private int count;
+
+    /**
+     * Constructs a {@code MappedTile} stored at the given slot of the backing file.
+     *
+     * @param slot the index of the slot in the backing file.
+     */
+    MappedTile(int slot) {
+        this.slot = slot;
+    }
+
+    /**
+     * Returns the index of the slot of the tile in the backing file.
+     *
+     * @return the slot index.
+     */
+    int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Retrieves the non-numeric {@code Data} stored at the given index.
+     *
+     * @param index the index of the cell inside the tile.
+     * @return the stored {@code Data}, or {@code null} if there is none.
+     */
+    Data getObject(int index) {
+        return objects == null ? null : objects[index];
+    }
+
+    /**
+     * Stores non-numeric {@code Data} at the given index.
+     *
+     * @param index the index of the cell inside the tile.
+     * @param data the {@code Data} to store, or {@code null} to clear the cell.
+     */
+    void setObject(int index, Data data) {
+        if (objects == null) {
+            if (data == null) {
+                return;
+            }
+            objects = new Data[Tile.CELLS];
+        }
+        objects[index] = data;
+    }
+
+    /**
+     * Returns the loaded {@link NumericBlock} of the tile.
+     *
+     * @return the numeric block, or {@code null} if the tile is not hot.
+     */
+    NumericBlock getBlock() {
+        return block;
+    }
+
+    /**
+     * Attaches a loaded {@link NumericBlock} to the tile, or detaches it when the tile is evicted.
+     *
+     * @param block the numeric block, or {@code null} to detach it.
+     * @param dirty whether the block differs from its copy in the backing file.
+     */
+    void setBlock(NumericBlock block, boolean dirty) {
+        this.block = block;
+        this.dirty = dirty;
+    }
+
+    /**
+     * Checks whether the loaded block differs from its copy in the backing file.
+     *
+     * @return {@code true} if the block has to be written back before eviction.
+     */
+    boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Marks the loaded block as modified.
+     */
+    void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Returns the number of non-empty cells in the tile.
+     *
+     * @return the number of non-empty cells.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Updates the number of non-empty cells in the tile.
+     *
+     * @param delta the change of the number of non-empty cells.
+     */
+    void addToSize(int delta) {
+        count += delta;
+    }
+}
@@ -0,0 +1,154 @@
+package com.sanyavertolet.interview.data.container;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.value.DoubleValue;
+import com.sanyavertolet.interview.data.value.IntegerValue;
+import com.sanyavertolet.interview.data.value.Value;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * The {@code NumericBlock} class holds the numeric literal cells of one {@link Tile}-sized block
+ * (see {@link #isNumericLiteral(Data)}). Their values are stored in a dense {@code double[]} and tracked
+ * by two bitmaps, one marking the cells stored this way and one marking which of them hold integers.
+ * Their values are read with {@link #value(int)}, and a {@link Data} object is only materialized for a cell
+ * whose {@code Data} is requested.
+ * <p>
+ * A block has a fixed binary layout of {@link #BYTES} bytes in native byte order, so that it can be paged
+ * in and out of a file by {@link MappedDataContainer} with bulk copies.
+ */
+final class NumericBlock {
+    /**
+     * Number of bytes taken by a block in its binary form: the numbers followed by both bitmaps.
+     */
+    static final int BYTES = Tile.CELLS * Double.BYTES + 2 * (Tile.CELLS / Long.SIZE) * Long.BYTES;
+
+    private static final int NUMBERS_BYTES = Tile.CELLS * Double.BYTES;
+
+    private final double[] numbers = new double[Tile.CELLS];
+    private final long[] numeric = new long[Tile.CELLS / Long.SIZE];
+    private final long[] integral = new long[Tile.CELLS / Long.SIZE];
+
+    /**
+     * Checks whether the {@code Data} can be stored as a primitive number without losing information,
+     * i.e. it has no expression, its value is an {@link IntegerValue} or a {@link DoubleValue},
+     * and its text is exactly the string representation of that value.
+     *
+     * @param data the {@code Data} to check.
+     * @return {@code true} if the {@code Data} can be stored as a primitive number.
+     */
+    static boolean isNumericLiteral(Data data) {
+        Value value = data.getValue();
+        return data.getExpressionTree() == null
+                && (value instanceof IntegerValue || value instanceof DoubleValue)
+                && value.toString().equals(data.getText());
+    }
+
+    /**
+     * Checks whether the cell at the given index is stored as a primitive number.
+     *
+     * @param index the index of the cell inside the block.
+     * @return {@code true} if the cell holds a numeric literal.
+     */
+    boolean isNumeric(int index) {
+        return (numeric[index >> 6] & 1L << index) != 0;
+    }
+
+    /**
+     * Returns the number stored at the given index.
+     *
+     * @param index the index of the cell inside the block, must hold a numeric literal.
+     * @return the stored number.
+     */
+    double get(int index) {
+        return numbers[index];
+    }
+
+    /**
+     * Stores a numeric value at the given index and updates the bitmaps.
+     *
+     * @param index the index of the cell inside the block.
+     * @param value the {@link IntegerValue} or {@link DoubleValue} to store.
+     */
+    void store(int index, Value value) {
+        long bit = 1L << index;
+        numeric[index >> 6] |= bit;
+        if (value instanceof IntegerValue integerValue) {
+            numbers[index] = integerValue.intValue();
+            integral[index >> 6] |= bit;
+        } else if (value instanceof DoubleValue doubleValue) {
+            numbers[index] = doubleValue.doubleValue();
+            integral[index >> 6] &= ~bit;
+        }
+    }
+
+    /**
+     * Clears the numeric value at the given index.
+     *
+     * @param index the index of the cell inside the block.
+     */
+    void clear(int index) {
+        long mask = ~(1L << index);
+        numeric[index >> 6] &= mask;
+        integral[index >> 6] &= mask;
+        numbers[index] = 0;
+    }
+
+    /**
+     * Returns the value of a cell stored as a primitive number, without creating a {@code Data} object.
+     *
+     * @param index the index of the cell inside the block, must hold a numeric literal.
+     * @return the {@link IntegerValue} or {@link DoubleValue} of the cell.
+     */
+    Value value(int index) {
+        return (integral[index >> 6] & 1L << index) != 0
+                ? IntegerValue.valueOf((int) numbers[index])
+                : new DoubleValue(numbers[index]);
+    }
+
+    /**
+     * Creates a {@code Data} object for a cell stored as a primitive number. Its text is built from the value
+     * only if it is requested, see {@link Data#ofNumber(Value)}.
+     *
+     * @param index the index of the cell inside the block, must hold a numeric literal.
+     * @return the materialized {@code Data}.
+     */
+    Data materialize(int index) {
+        return Data.ofNumber(value(index));
+    }
+
+    /**
+     * Writes the block in its binary form into the buffer.
+     *
+     * @param buffer the buffer to write to.
+     * @param offset the absolute position in the buffer to write at.
+     */
+    void writeTo(ByteBuffer buffer, int offset) {
+        ByteBuffer slice = buffer.slice(offset, BYTES).order(ByteOrder.nativeOrder());
+        slice.asDoubleBuffer().put(numbers);
+        slice.position(NUMBERS_BYTES);
+        LongBuffer words = slice.asLongBuffer();
+        words.put(numeric);
+        words.put(integral);
+    }
+
+    /**
+     * Reads a block in its binary form from the buffer.
+     *
+     * @param buffer the buffer to read from.
+     * @param offset the absolute position in the buffer to read at.
+     * @return the block read from the buffer.
+     */
+    static NumericBlock readFrom(ByteBuffer buffer, int offset) {
+        NumericBlock block = new NumericBlock();
+        ByteBuffer slice = buffer.slice(offset, BYTES).order(ByteOrder.nativeOrder());
+        slice.asDoubleBuffer().get(block.numbers);
+        slice.position(NUMBERS_BYTES);
+        LongBuffer words = slice.asLongBuffer();
+        words.get(block.numeric);
+        words.get(block.integral);
+        return block;
+    }
+}
@@ -0,0 +1,26 @@
+package com.sanyavertolet.interview.data.container;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
+
+/**
+ * A visitor of the non-empty cells of a range, see {@link DataContainer#visitNonEmpty(RangeExpression, RangeVisitor)}.
+ * Cells that a container stores as primitive numbers are passed to {@link #visitNumber(double)},
+ * so aggregating a range does not create a {@link Data} object for each of them.
+ */
+public interface RangeVisitor {
+
+    /**
+     * Visits a cell that holds a numeric literal.
+     *
+     * @param number the value of the cell.
+     */
+    void visitNumber(double number);
+
+    /**
+     * Visits a non-empty cell that is not passed as a number.
+     *
+     * @param data the {@code Data} of the cell.
+     */
+    void visitData(Data data);
+}
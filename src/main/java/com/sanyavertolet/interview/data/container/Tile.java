@@ -0,0 +1,164 @@
+package com.sanyavertolet.interview.data.container;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.value.Value;
+
+/**
+ * The {@code Tile} class is a fixed-size block of cells used by {@link TiledDataContainer}.
+ * Cells are laid out column by column, so that scanning a column range inside one tile touches consecutive memory.
+ * <p>
+ * Numeric literal cells are not kept as {@link Data} objects but in a {@link NumericBlock}.
+ * Formulas, strings and booleans are kept as {@code Data} objects in an array that is allocated on first use.
+ */
+final class Tile {
+    /**
+     * Number of rows covered by a single tile, must be a power of two and a multiple of {@link Long#SIZE}.
+     */
+    static final int ROWS = 64;
+
+    /**
+     * Number of columns covered by a single tile, must be a power of two.
+     */
+    static final int COLUMNS = 16;
+
+    /**
+     * Number of bits to shift a row index by to get the index of its tile.
+     */
+    static final int ROW_SHIFT = Integer.numberOfTrailingZeros(ROWS);
+
+    /**
+     * Number of bits to shift a column index by to get the index of its tile.
+     */
+    static final int COLUMN_SHIFT = Integer.numberOfTrailingZeros(COLUMNS);
+
+    /**
+     * Number of cells in a tile.
+     */
+    static final int CELLS = ROWS * COLUMNS;
+
+    private final NumericBlock numbers = new NumericBlock();
+    private Data[] cells;
+    private int count;
+
+    /**
+     * Computes the index of a cell inside a tile.
+     *
+     * @param row the absolute row index of the cell.
+     * @param column the absolute column index of the cell.
+     * @return the index of the cell in the tile.
+     */
+    static int indexOf(int row, int column) {
+        return (column & (COLUMNS - 1)) * ROWS + (row & (ROWS - 1));
+    }
+
+    /**
+     * Computes the key of the tile containing a cell, packing tile row and tile column like
+     * {@link com.sanyavertolet.interview.math.CellReference#key()} does for cells.
+     *
+     * @param row the absolute row index of the cell.
+     * @param column the absolute column index of the cell.
+     * @return the key of the tile.
+     */
+    static long keyOf(int row, int column) {
+        return (long) (row >> ROW_SHIFT) << 32 | column >> COLUMN_SHIFT;
+    }
+
+    /**
+     * Retrieves the {@code Data} stored at the given index, materializing it for numeric cells.
+     *
+     * @param index the index of the cell inside the tile.
+     * @return the stored {@code Data}, or {@code null} if the cell is empty.
+     */
+    Data get(int index) {
+        if (numbers.isNumeric(index)) {
+            return numbers.materialize(index);
+        }
+        return cells == null ? null : cells[index];
+    }
+
+    /**
+     * Retrieves the value of the cell at the given index. Numeric cells are read from the {@link NumericBlock}
+     * without materializing their {@code Data}.
+     *
+     * @param index the index of the cell inside the tile.
+     * @return the value of the cell, or the value of {@link Data#EMPTY} if the cell is empty.
+     */
+    Value getValue(int index) {
+        if (numbers.isNumeric(index)) {
+            return numbers.value(index);
+        }
+        Data data = cells == null ? null : cells[index];
+        return data == null ? Data.EMPTY.getValue() : data.getValue();
+    }
+
+    /**
+     * Passes the cell at the given index to the visitor, as a number if it is stored in the {@link NumericBlock}.
+     * Empty cells are not passed.
+     *
+     * @param index the index of the cell inside the tile.
+     * @param visitor the visitor of the cell.
+     */
+    void visit(int index, RangeVisitor visitor) {
+        if (numbers.isNumeric(index)) {
+            visitor.visitNumber(numbers.get(index));
+        } else if (cells != null && cells[index] != null) {
+            visitor.visitData(cells[index]);
+        }
+    }
+
+    /**
+     * Stores {@code Data} at the given index.
+     *
+     * @param index the index of the cell inside the tile.
+     * @param data the {@code Data} to store, must not be {@code null}.
+     * @return the previously stored {@code Data}, or {@code null} if the cell was empty.
+     */
+    @SuppressWarnings("PMD.NullAssignment")
+    Data put(int index, Data data) {
+        Data previous = get(index);
+        if (NumericBlock.isNumericLiteral(data)) {
+            numbers.store(index, data.getValue());
+            if (cells != null) {
+                cells[index] = null;
+            }
+        } else {
+            numbers.clear(index);
+            if (cells == null) {
+                cells = new Data[CELLS];
+            }
+            cells[index] = data;
+        }
+        if (previous == null) {
+            count++;
+        }
+        return previous;
+    }
+
+    /**
+     * Removes {@code Data} stored at the given index.
+     *
+     * @param index the index of the cell inside the tile.
+     * @return the removed {@code Data}, or {@code null} if the cell was empty.
+     */
+    @SuppressWarnings("PMD.NullAssignment")
+    Data remove(int index) {
+        Data previous = get(index);
+        if (previous != null) {
+            numbers.clear(index);
+            if (cells != null) {
+                cells[index] = null;
+            }
+            count--;
+        }
+        return previous;
+    }
+
+    /**
+     * Returns the number of non-empty cells in the tile.
+     *
+     * @return the number of non-empty cells.
+     */
+    int size() {
+        return count;
+    }
+}
@@ -0,0 +1,332 @@
+package com.sanyavertolet.interview.data.container;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * The {@code TiledDataContainer} class is a heap-based {@link DataContainer} implementation that manages
+ * a table-like structure for storing and retrieving data associated with specific {@link CellReference} instances.
+ * It also tracks the maximum row and column sizes dynamically as data is added.
+ * <p>
+ * Cells are stored in fixed-size {@link Tile}s of {@link Tile#ROWS} x {@link Tile#COLUMNS} cells.
+ * Tiles are kept in a two-level directory indexed by tile row and tile column and are allocated
+ * only when a cell inside them is first written. A tile that becomes empty is released.
+ * <p>
+ * Reads do not modify the container, so it can be read from several threads at once while nothing is written.
+ */
+public class TiledDataContainer implements DataContainer {
+    private final static Logger logger = LoggerFactory.getLogger(TiledDataContainer.class);
+    private Tile[][] tiles;
+    private int size;
+    private int maxRow;
+    private int maxCol;
+
+    /**
+     * Constructs a {@code TiledDataContainer} with specified initial row and column sizes.
+     *
+     * @param row the initial maximum number of rows in the container.
+     * @param col the initial maximum number of columns in the container.
+     */
+    public TiledDataContainer(int row, int col) {
+        maxRow = row;
+        maxCol = col + 1;
+        logger.debug("Creating container for {} x {} table", row, col);
+        this.tiles = new Tile[(row >> Tile.ROW_SHIFT) + 1][];
+    }
+
+    /**
+     * Retrieves the {@code Data} associated with the specified {@link CellReference}.
+     * If no data exists for the provided reference, the shared {@link Data#EMPTY} instance is returned.
+     *
+     * @param cellReference the reference of the cell to retrieve data from.
+     * @return the {@code Data} associated with the given {@link CellReference}, or {@link Data#EMPTY} if none exists.
+     */
+    @Override
+    public Data get(CellReference cellReference) {
+        Tile tile = tileOf(cellReference.row(), cellReference.column());
+        Data data = tile == null ? null : tile.get(Tile.indexOf(cellReference.row(), cellReference.column()));
+        return data == null ? Data.EMPTY : data;
+    }
+
+    /**
+     * Retrieves the value of the cell. Numeric literals are read from the primitive arrays of their tile
+     * without creating a {@code Data} object.
+     *
+     * @param cellReference the reference of the cell.
+     * @return the value of the cell, or the value of {@link Data#EMPTY} if the cell is empty.
+     */
+    @Override
+    public Value getValue(CellReference cellReference) {
+        Tile tile = tileOf(cellReference.row(), cellReference.column());
+        return tile == null ? Data.EMPTY.getValue() : tile.getValue(Tile.indexOf(cellReference.row(), cellReference.column()));
+    }
+
+    /**
+     * Performs the given action for every non-empty cell of the range, in row-major order.
+     * Tiles that have not been allocated are skipped without visiting their cells.
+     *
+     * @param range the range of cells to iterate over.
+     * @param action the action to perform for each non-empty {@code Data}.
+     */
+    @Override
+    public void forEachNonEmpty(RangeExpression range, Consumer<Data> action) {
+        forEachCell(range, (tile, index) -> {
+            Data data = tile.get(index);
+            if (data != null) {
+                action.accept(data);
+            }
+        });
+    }
+
+    /**
+     * Passes every non-empty cell of the range to the visitor, in row-major order.
+     * Tiles that have not been allocated are skipped without visiting their cells,
+     * and numeric literals are passed as numbers without creating {@code Data} objects.
+     *
+     * @param range the range of cells to iterate over.
+     * @param visitor the visitor of the non-empty cells.
+     */
+    @Override
+    public void visitNonEmpty(RangeExpression range, RangeVisitor visitor) {
+        forEachCell(range, (tile, index) -> tile.visit(index, visitor));
+    }
+
+    /**
+     * Performs the given action for every cell of the range that lies in an allocated tile, in row-major order.
+     *
+     * @param range the range of cells to iterate over.
+     * @param action the action to perform for each cell, given its tile and its index inside the tile.
+     */
+    private void forEachCell(RangeExpression range, CellAction action) {
+        int fromRow = range.getFrom().row();
+        int toRow = Math.min(range.getTo().row(), (tiles.length << Tile.ROW_SHIFT) - 1);
+        int fromColumn = range.getFrom().column();
+        int toColumn = range.getTo().column();
+        for (int row = fromRow; row <= toRow; row++) {
+            Tile[] tileRowArray = tiles[row >> Tile.ROW_SHIFT];
+            if (tileRowArray == null) {
+                row |= Tile.ROWS - 1;
+                continue;
+            }
+            int lastColumn = Math.min(toColumn, (tileRowArray.length << Tile.COLUMN_SHIFT) - 1);
+            for (int column = fromColumn; column <= lastColumn; column++) {
+                Tile tile = tileRowArray[column >> Tile.COLUMN_SHIFT];
+                if (tile == null) {
+                    column |= Tile.COLUMNS - 1;
+                    continue;
+                }
+                action.accept(tile, Tile.indexOf(row, column));
+            }
+        }
+    }
+
+    /**
+     * Stores the specified {@code Data} in the container, associated with the provided {@link CellReference}.
+     * This method also updates the maximum row and column indices based on the provided cell reference.
+     *
+     * @param cellReference the reference of the cell to store data in.
+     * @param data the {@code Data} to be stored.
+     * @return the previous {@code Data} associated with the cell reference, or {@code null} if there was none.
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    @Override
+    public Data put(CellReference cellReference, Data data) {
+        maxRow = Math.max(cellReference.row(), maxRow);
+        maxCol = Math.max(cellReference.column(), maxCol);
+        logger.trace("Updated maxRow: {} maxCol: {}", maxRow, maxCol);
+        logger.trace("Added data {} for reference {}", data, cellReference);
+        int row = cellReference.row();
+        int column = cellReference.column();
+        Data previous = getOrCreateTile(row, column).put(Tile.indexOf(row, column), data);
+        if (previous == null) {
+            size++;
+        }
+        return previous;
+    }
+
+    /**
+     * Removes the {@code Data} associated with the provided {@link CellReference} from the container.
+     *
+     * @param cellReference the reference of the cell to remove data from.
+     * @return the removed {@code Data} associated with the cell reference, or {@code null} if there was none.
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    @Override
+    public Data remove(CellReference cellReference) {
+        int row = cellReference.row();
+        int column = cellReference.column();
+        Tile tile = tileOf(row, column);
+        if (tile == null) {
+            return null;
+        }
+        Data previous = tile.remove(Tile.indexOf(row, column));
+        if (previous != null) {
+            size--;
+            if (tile.size() == 0) {
+                tiles[row >> Tile.ROW_SHIFT][column >> Tile.COLUMN_SHIFT] = null;
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Returns the number of entries in the container.
+     *
+     * @return the size of the container.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the current maximum row index in the container.
+     *
+     * @return the maximum row index.
+     */
+    @Override
+    public int getRowCount() {
+        return maxRow;
+    }
+
+    /**
+     * Returns the current maximum column index in the container.
+     *
+     * @return the maximum column index.
+     */
+    @Override
+    public int getColumnCount() {
+        return maxCol;
+    }
+
+    /**
+     * Exports the data map as a list of {@link CellReference.WithText} objects, which contain
+     * the cell reference and associated text. The export process prioritizes cells with primitive
+     * data over those with expressions.
+     *
+     * @return a list of {@link CellReference.WithText} representing the exported data.
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    @Override
+    public List<CellReference.WithText> exportDataMap() {
+        logger.debug("Exporting data map...");
+        List<CellReference.WithText> dataList = new ArrayList<>();
+        List<CellReference.WithText> primitiveDataList = new ArrayList<>();
+        for (int tileRow = 0; tileRow < tiles.length; tileRow++) {
+            Tile[] tileRowArray = tiles[tileRow];
+            if (tileRowArray == null) {
+                continue;
+            }
+            for (int tileColumn = 0; tileColumn < tileRowArray.length; tileColumn++) {
+                Tile tile = tileRowArray[tileColumn];
+                if (tile == null) {
+                    continue;
+                }
+                for (int index = 0; index < Tile.CELLS; index++) {
+                    Data data = tile.get(index);
+                    if (data == null) {
+                        continue;
+                    }
+                    int row = (tileRow << Tile.ROW_SHIFT) + index % Tile.ROWS;
+                    int column = (tileColumn << Tile.COLUMN_SHIFT) + index / Tile.ROWS;
+                    CellReference.WithText referencedData = new CellReference.WithText(reference(row, column), data.getText());
+                    if (data.getExpressionTree() == null) {
+                        dataList.add(referencedData);
+                    } else {
+                        primitiveDataList.add(referencedData);
+                    }
+                }
+            }
+        }
+        dataList.addAll(primitiveDataList);
+        logger.debug("Exported {} records", dataList.size());
+        return dataList;
+    }
+
+    /**
+     * Clears all data from the container.
+     */
+    @Override
+    public void clearDataMap() {
+        logger.debug("Clearing data map...");
+        tiles = new Tile[tiles.length][];
+        size = 0;
+    }
+
+    /**
+     * Retrieves the tile containing the given cell.
+     *
+     * @param row the row index of the cell.
+     * @param column the column index of the cell.
+     * @return the {@link Tile} containing the cell, or {@code null} if it has not been allocated.
+     */
+    private Tile tileOf(int row, int column) {
+        int tileRow = row >> Tile.ROW_SHIFT;
+        int tileColumn = column >> Tile.COLUMN_SHIFT;
+        if (tileRow >= tiles.length) {
+            return null;
+        }
+        Tile[] tileRowArray = tiles[tileRow];
+        return tileRowArray == null || tileColumn >= tileRowArray.length ? null : tileRowArray[tileColumn];
+    }
+
+    /**
+     * Retrieves the tile containing the given cell, growing the directory and allocating the tile if needed.
+     *
+     * @param row the row index of the cell.
+     * @param column the column index of the cell.
+     * @return the {@link Tile} containing the cell.
+     */
+    private Tile getOrCreateTile(int row, int column) {
+        int tileRow = row >> Tile.ROW_SHIFT;
+        int tileColumn = column >> Tile.COLUMN_SHIFT;
+        if (tileRow >= tiles.length) {
+            tiles = Arrays.copyOf(tiles, Math.max(tileRow + 1, tiles.length * 2));
+        }
+        Tile[] tileRowArray = tiles[tileRow];
+        if (tileRowArray == null) {
+            tileRowArray = new Tile[Math.max(tileColumn + 1, (maxCol >> Tile.COLUMN_SHIFT) + 1)];
+            tiles[tileRow] = tileRowArray;
+        } else if (tileColumn >= tileRowArray.length) {
+            tileRowArray = Arrays.copyOf(tileRowArray, tileColumn + 1);
+            tiles[tileRow] = tileRowArray;
+        }
+        Tile tile = tileRowArray[tileColumn];
+        if (tile == null) {
+            tile = new Tile();
+            tileRowArray[tileColumn] = tile;
+        }
+        return tile;
+    }
+
+    /**
+     * Creates a {@link CellReference} for coordinates of a cell that is stored in the container.
+     *
+     * @param row the row index.
+     * @param column the column index.
+     * @return the {@link CellReference} corresponding to the specified row and column.
+     */
+    private static CellReference reference(int row, int column) {
+        try {
+            return CellReference.of(row, column);
+        } catch (CellReferenceException exception) {
+            throw new IllegalStateException("Internal error: stored cell has invalid coordinates.", exception);
+        }
+    }
+
+    /**
+     * An action performed on a cell of a tile.
+     */
+    @FunctionalInterface
+    private interface CellAction {
+        void accept(Tile tile, int index);
+    }
+}
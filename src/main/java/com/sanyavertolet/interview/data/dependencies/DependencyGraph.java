@@ -3,7 +3,9 @@ package com.sanyavertolet.interview.data.dependencies;
 import com.sanyavertolet.interview.exceptions.data.DataDependencyException;
 import com.sanyavertolet.interview.exceptions.data.DataSelfReferenceException;
 import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -25,7 +27,17 @@ public interface DependencyGraph {
     void addDependency(CellReference before, CellReference after) throws DataSelfReferenceException;
 
     /**
-     * Clears all dependencies related to the specified {@link CellReference}.
+     * Adds a dependency of a cell on every cell of a {@link RangeExpression}. Changes to any cell inside the range
+     * may affect the cell identified by {@code after}. Implementations should not expand the range cell by cell.
+     *
+     * @param range the range of cells that the cell depends on.
+     * @param after the reference to the cell that depends on {@code range}.
+     * @throws DataSelfReferenceException if the cell lies inside the range it depends on.
+     */
+    void addRangeDependency(RangeExpression range, CellReference after) throws DataSelfReferenceException;
+
+    /**
+     * Clears all dependencies related to the specified {@link CellReference}, as well as its dirty mark.
      *
      * @param reference the reference to the cell whose dependencies should be cleared.
      */
@@ -41,6 +53,93 @@ public interface DependencyGraph {
      */
     List<CellReference> getUpdateList(CellReference reference) throws DataDependencyException;
 
+    /**
+     * Retrieves a list of {@link CellReference} instances that need to be updated when all the specified
+     * cells are modified at once. Unlike {@link #getUpdateList(CellReference)}, the modified cells are included
+     * themselves, and every cell appears in the list only once, even if it depends on several modified cells.
+     *
+     * @param references the references to the cells that were modified.
+     * @return a list of {@link CellReference} instances that should be updated, in the sequence the updates should occur.
+     * @throws DataDependencyException if a circular dependency or other error is detected in the graph.
+     */
+    List<CellReference> getUpdateList(Collection<CellReference> references) throws DataDependencyException;
+
+    /**
+     * Splits an update list into dependency levels. A cell of a level depends only on cells of earlier levels
+     * or on cells outside the list, so the cells of the same level can be updated in any order, or concurrently.
+     *
+     * @param updateList an update list returned by {@link #getUpdateList(CellReference)}
+     *                   or {@link #getUpdateList(Collection)}.
+     * @return the levels, in the sequence they should be updated.
+     */
+    List<List<CellReference>> getUpdateLevels(List<CellReference> updateList);
+
+    /**
+     * Retrieves the cells that depend directly on the specified cell, either through a cell reference or a range.
+     * This method does not modify the graph, so it may be called concurrently as long as the graph is not modified.
+     *
+     * @param reference the reference to the cell whose dependents are to be retrieved.
+     * @return the direct dependents of the cell, in no particular order.
+     */
+    List<CellReference> getDependents(CellReference reference);
+
+    /**
+     * Marks all cells that depend on the specified cell as dirty, i.e. needing recalculation before their values
+     * are read. Cells are only marked, their values are computed on demand, see {@link #takeDirtyCells(CellReference)}.
+     *
+     * @param reference the reference to the cell that was modified.
+     * @throws DataDependencyException if a circular dependency or other error is detected in the graph.
+     */
+    void markDependentsDirty(CellReference reference) throws DataDependencyException;
+
+    /**
+     * Marks the specified cells and all cells that depend on them as dirty. The specified cells that depend
+     * on no other cells may be left unmarked, so they should be recalculated right away.
+     *
+     * @param references the references to the cells that were modified.
+     * @throws DataDependencyException if a circular dependency or other error is detected in the graph.
+     */
+    void markDirty(Collection<CellReference> references) throws DataDependencyException;
+
+    /**
+     * Checks whether any cell is marked as dirty.
+     *
+     * @return {@code true} if there are dirty cells.
+     */
+    boolean hasDirtyCells();
+
+    /**
+     * Removes the dirty mark from the specified cell and from all dirty cells it depends on.
+     * The returned cells must be recalculated in the returned order before the value of the cell is read.
+     *
+     * @param reference the reference to the cell that is about to be read.
+     * @return the cells to recalculate, in topological order, empty if the cell is not dirty.
+     */
+    List<CellReference> takeDirtyCells(CellReference reference);
+
+    /**
+     * Removes the dirty mark from the specified cells and from all dirty cells they depend on.
+     *
+     * @param references the references to the cells that are about to be read.
+     * @return the cells to recalculate, in topological order, empty if none of the cells is dirty.
+     */
+    List<CellReference> takeDirtyCells(Collection<CellReference> references);
+
+    /**
+     * Removes the dirty mark from the dirty cells of a range and from all dirty cells they depend on.
+     *
+     * @param range the range of cells that is about to be read.
+     * @return the cells to recalculate, in topological order, empty if no cell of the range is dirty.
+     */
+    List<CellReference> takeDirtyCells(RangeExpression range);
+
+    /**
+     * Retrieves all dirty cells without removing their marks.
+     *
+     * @return the dirty cells, in topological order.
+     */
+    List<CellReference> getDirtyCells();
+
     /**
      * Retrieves a set of {@link CellReference} instances that have failed due to dependency issues, such as cycles.
      *
@@ -0,0 +1,265 @@
+package com.sanyavertolet.interview.data.dependencies;
+
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.utils.collections.LongArrayList;
+import com.sanyavertolet.interview.utils.collections.LongObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@code RangeIndex} class is a spatial index of range dependencies, i.e. of rectangles of cells
+ * that a cell depends on as a whole. It answers which cells depend on a given cell through a range
+ * without expanding ranges into individual cells.
+ * <p>
+ * The sheet is split into bands of {@link #BAND_COLUMNS} columns. Each band keeps an interval tree over
+ * the row spans of the rectangles that intersect it, so both the memory taken by a rectangle and the cost
+ * of a lookup are independent of the number of rows it covers.
+ * <p>
+ * Besides the {@link TopologicallySortedDependencyGraph}, it is used by
+ * {@link com.sanyavertolet.interview.data.aggregate.AggregateCache}, whose dependents are cached ranges.
+ */
+public final class RangeIndex {
+    /**
+     * Number of columns covered by a single band, must be a power of two.
+     */
+    static final int BAND_COLUMNS = 16;
+
+    private static final int BAND_SHIFT = Integer.numberOfTrailingZeros(BAND_COLUMNS);
+
+    private final LongObjectHashMap<List<Rectangle>> rectanglesByDependent = new LongObjectHashMap<>();
+    private IntervalTree[] bands = new IntervalTree[0];
+    private long sequence;
+
+    /**
+     * Registers a rectangle of cells that the dependent cell depends on.
+     *
+     * @param fromRow the first row of the rectangle.
+     * @param fromColumn the first column of the rectangle.
+     * @param toRow the last row of the rectangle, inclusive.
+     * @param toColumn the last column of the rectangle, inclusive.
+     * @param dependent the key of the cell that depends on the rectangle.
+     */
+    public void add(int fromRow, int fromColumn, int toRow, int toColumn, long dependent) {
+        Rectangle rectangle = new Rectangle(fromRow, fromColumn, toRow, toColumn, dependent, sequence++);
+        int lastBand = toColumn >> BAND_SHIFT;
+        if (lastBand >= bands.length) {
+            bands = Arrays.copyOf(bands, Math.max(lastBand + 1, bands.length * 2));
+        }
+        for (int band = fromColumn >> BAND_SHIFT; band <= lastBand; band++) {
+            if (bands[band] == null) {
+                bands[band] = new IntervalTree();
+            }
+            bands[band].insert(rectangle);
+        }
+        rectanglesByDependent.computeIfAbsent(dependent, k -> new ArrayList<>()).add(rectangle);
+    }
+
+    /**
+     * Removes all rectangles registered for the dependent cell.
+     *
+     * @param dependent the key of the cell whose range dependencies should be removed.
+     * @return the removed rectangles.
+     */
+    public List<Rectangle> removeAll(long dependent) {
+        List<Rectangle> rectangles = rectanglesByDependent.remove(dependent);
+        if (rectangles == null) {
+            return List.of();
+        }
+        for (Rectangle rectangle : rectangles) {
+            int lastBand = rectangle.toColumn >> BAND_SHIFT;
+            for (int band = rectangle.fromColumn >> BAND_SHIFT; band <= lastBand; band++) {
+                bands[band].delete(rectangle);
+            }
+        }
+        return rectangles;
+    }
+
+    /**
+     * Retrieves the rectangles registered for the dependent cell.
+     *
+     * @param dependent the key of the dependent cell.
+     * @return the rectangles the cell depends on, empty if there are none.
+     */
+    List<Rectangle> rectanglesOf(long dependent) {
+        List<Rectangle> rectangles = rectanglesByDependent.get(dependent);
+        return rectangles == null ? List.of() : rectangles;
+    }
+
+    /**
+     * Checks whether any rectangles are registered for the dependent cell.
+     *
+     * @param dependent the key of the cell.
+     * @return {@code true} if the cell depends on at least one range.
+     */
+    boolean hasRectangles(long dependent) {
+        return rectanglesByDependent.containsKey(dependent);
+    }
+
+    /**
+     * Appends the keys of all cells that depend on the given cell through a range. A key is appended once
+     * for every range of the dependent cell that contains the given cell.
+     *
+     * @param key the key of the cell, see {@link CellReference#key()}.
+     * @param dependents the list to append the keys of the dependent cells to.
+     */
+    public void collectDependents(long key, LongArrayList dependents) {
+        int column = CellReference.columnOf(key);
+        int band = column >> BAND_SHIFT;
+        if (band < bands.length && bands[band] != null) {
+            bands[band].collect(CellReference.rowOf(key), column, dependents);
+        }
+    }
+
+    /**
+     * Removes all rectangles from the index.
+     */
+    public void clear() {
+        rectanglesByDependent.clear();
+        bands = new IntervalTree[0];
+    }
+
+    /**
+     * A rectangle of cells together with the key of the cell that depends on it.
+     * The sequence number makes rectangles with equal bounds distinguishable inside the trees.
+     */
+    public record Rectangle(int fromRow, int fromColumn, int toRow, int toColumn, long dependent, long sequence) {
+        boolean contains(int row, int column) {
+            return row >= fromRow && row <= toRow && column >= fromColumn && column <= toColumn;
+        }
+
+        int compareTo(Rectangle other) {
+            int byRow = Integer.compare(fromRow, other.fromRow);
+            return byRow != 0 ? byRow : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * An augmented interval tree over the row spans of rectangles, balanced as a treap.
+     * Every node keeps the maximal last row in its subtree, so subtrees that end above the queried row are skipped.
+     */
+    private static final class IntervalTree {
+        private Node root;
+
+        void insert(Rectangle rectangle) {
+            root = insert(root, new Node(rectangle));
+        }
+
+        void delete(Rectangle rectangle) {
+            root = delete(root, rectangle);
+        }
+
+        void collect(int row, int column, LongArrayList dependents) {
+            collect(root, row, column, dependents);
+        }
+
+        private static Node insert(Node node, Node inserted) {
+            if (node == null) {
+                return inserted;
+            }
+            if (inserted.rectangle.compareTo(node.rectangle) < 0) {
+                node.left = insert(node.left, inserted);
+                if (node.left.priority > node.priority) {
+                    node = rotateRight(node);
+                }
+            } else {
+                node.right = insert(node.right, inserted);
+                if (node.right.priority > node.priority) {
+                    node = rotateLeft(node);
+                }
+            }
+            node.update();
+            return node;
+        }
+
+        private static Node delete(Node node, Rectangle rectangle) {
+            if (node == null) {
+                return null;
+            }
+            int comparison = rectangle.compareTo(node.rectangle);
+            if (comparison < 0) {
+                node.left = delete(node.left, rectangle);
+            } else if (comparison > 0) {
+                node.right = delete(node.right, rectangle);
+            } else {
+                return merge(node.left, node.right);
+            }
+            node.update();
+            return node;
+        }
+
+        private static Node merge(Node left, Node right) {
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+            if (left.priority > right.priority) {
+                left.right = merge(left.right, right);
+                left.update();
+                return left;
+            }
+            right.left = merge(left, right.left);
+            right.update();
+            return right;
+        }
+
+        private static void collect(Node node, int row, int column, LongArrayList dependents) {
+            while (node != null && node.maxToRow >= row) {
+                collect(node.left, row, column, dependents);
+                if (node.rectangle.fromRow > row) {
+                    return;
+                }
+                if (node.rectangle.contains(row, column)) {
+                    dependents.add(node.rectangle.dependent);
+                }
+                node = node.right;
+            }
+        }
+
+        private static Node rotateRight(Node node) {
+            Node left = node.left;
+            node.left = left.right;
+            left.right = node;
+            node.update();
+            return left;
+        }
+
+        private static Node rotateLeft(Node node) {
+            Node right = node.right;
+            node.right = right.left;
+            right.left = node;
+            node.update();
+            return right;
+        }
+    }
+
+    /**
+     * A node of {@link IntervalTree}.
+     */
+    private static final class Node {
+        private final Rectangle rectangle;
+        private final int priority;
+        private int maxToRow;
+        private Node left;
+        private Node right;
+
+        Node(Rectangle rectangle) {
+            this.rectangle = rectangle;
+            this.priority = Long.hashCode(rectangle.sequence * 0x9E3779B97F4A7C15L);
+            this.maxToRow = rectangle.toRow;
+        }
+
+        void update() {
+            maxToRow = rectangle.toRow;
+            if (left != null) {
+                maxToRow = Math.max(maxToRow, left.maxToRow);
+            }
+            if (right != null) {
+                maxToRow = Math.max(maxToRow, right.maxToRow);
+            }
+        }
+    }
+}
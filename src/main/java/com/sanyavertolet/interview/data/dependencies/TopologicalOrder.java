@@ -0,0 +1,242 @@
+package com.sanyavertolet.interview.data.dependencies;
+
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.utils.collections.LongArrayList;
+import com.sanyavertolet.interview.utils.collections.LongHashSet;
+import com.sanyavertolet.interview.utils.collections.LongIntHashMap;
+import com.sanyavertolet.interview.utils.collections.LongObjectHashMap;
+
+import java.util.Arrays;
+
+/**
+ * The {@code TopologicalOrder} class keeps the cells of a dependency graph in a sequence where every cell
+ * is placed after the cells it depends on. Every cell has a position in the sequence, which can grow at both ends.
+ * Positions of removed cells are left as holes and reclaimed when the sequence is rebuilt.
+ * <p>
+ * The order is maintained by {@link TopologicallySortedDependencyGraph} with the algorithm of Marchetti-Spaccamela,
+ * Nanni and Rohnert: when a new dependency contradicts the order, only the cells between the positions
+ * of its ends are shifted, see {@link #shift(int, int, LongHashSet)}.
+ * <p>
+ * Cells are also indexed by column, so the cells inside a rectangle can be listed without scanning the whole order.
+ */
+final class TopologicalOrder {
+    private static final int MIN_CAPACITY = 8;
+    private static final long HOLE = -1;
+
+    private final LongIntHashMap positions = new LongIntHashMap();
+    private final LongObjectHashMap<Column> columns = new LongObjectHashMap<>();
+    private long[] keys = new long[0];
+    private int head;
+    private int end;
+    private int holes;
+
+    /**
+     * Checks whether the cell has a position in the order.
+     *
+     * @param key the key of the cell, see {@link CellReference#key()}.
+     * @return {@code true} if the cell is in the order.
+     */
+    boolean contains(long key) {
+        return positions.containsKey(key);
+    }
+
+    /**
+     * Retrieves the position of a cell.
+     *
+     * @param key the key of the cell.
+     * @return the position of the cell, or {@code -1} if it is not in the order.
+     */
+    int positionOf(long key) {
+        return positions.getOrDefault(key, -1);
+    }
+
+    /**
+     * Retrieves the cell at a position.
+     *
+     * @param position the position, must hold a cell.
+     * @return the key of the cell.
+     */
+    long keyAt(int position) {
+        return keys[position];
+    }
+
+    /**
+     * Places a cell before all cells of the order. This is always valid for a cell that depends on no other cells.
+     *
+     * @param key the key of the cell, must not be in the order.
+     */
+    void addFirst(long key) {
+        if (head == 0) {
+            rebuild(Math.max(MIN_CAPACITY, end - head - holes), keys.length - end);
+        }
+        place(key, --head);
+        index(key);
+    }
+
+    /**
+     * Places a cell after all cells of the order.
+     *
+     * @param key the key of the cell, must not be in the order.
+     */
+    void addLast(long key) {
+        if (end == keys.length) {
+            rebuild(head, Math.max(MIN_CAPACITY, end - head - holes));
+        }
+        place(key, end++);
+        index(key);
+    }
+
+    /**
+     * Removes a cell from the order, leaving a hole at its position.
+     *
+     * @param key the key of the cell.
+     */
+    void remove(long key) {
+        int position = positions.getOrDefault(key, -1);
+        if (position < 0) {
+            return;
+        }
+        positions.remove(key);
+        keys[position] = HOLE;
+        holes++;
+        long column = CellReference.columnOf(key);
+        Column cells = columns.get(column);
+        cells.remove(CellReference.rowOf(key));
+        if (cells.size == 0) {
+            columns.remove(column);
+        }
+    }
+
+    /**
+     * Moves the {@code shifted} cells found between two positions after all other cells between these positions.
+     * The relative order inside both groups is preserved.
+     *
+     * @param from the first position of the affected interval.
+     * @param to the last position of the affected interval, inclusive.
+     * @param shifted the cells to move to the end of the interval.
+     */
+    void shift(int from, int to, LongHashSet shifted) {
+        LongArrayList moved = new LongArrayList();
+        int position = from;
+        for (int current = from; current <= to; current++) {
+            long key = keys[current];
+            if (key != HOLE && shifted.contains(key)) {
+                moved.add(key);
+            } else {
+                place(key, position++);
+            }
+        }
+        for (int i = 0; i < moved.size(); i++) {
+            place(moved.get(i), position++);
+        }
+    }
+
+    /**
+     * Appends the keys of all cells of the order that lie inside a rectangle.
+     *
+     * @param fromRow the first row of the rectangle.
+     * @param fromColumn the first column of the rectangle.
+     * @param toRow the last row of the rectangle, inclusive.
+     * @param toColumn the last column of the rectangle, inclusive.
+     * @param cells the list to append the keys to.
+     */
+    void collectInside(int fromRow, int fromColumn, int toRow, int toColumn, LongArrayList cells) {
+        for (int column = fromColumn; column <= toColumn; column++) {
+            Column rows = columns.get(column);
+            if (rows != null) {
+                rows.collect(fromRow, toRow, column, cells);
+            }
+        }
+    }
+
+    /**
+     * Removes all cells from the order.
+     */
+    void clear() {
+        positions.clear();
+        columns.clear();
+        keys = new long[0];
+        head = 0;
+        end = 0;
+        holes = 0;
+    }
+
+    /**
+     * Stores a cell (or a hole) at a position.
+     *
+     * @param key the key of the cell, or {@link #HOLE}.
+     * @param position the new position.
+     */
+    private void place(long key, int position) {
+        keys[position] = key;
+        if (key != HOLE) {
+            positions.put(key, position);
+        }
+    }
+
+    /**
+     * Registers a cell in the column index.
+     *
+     * @param key the key of the cell.
+     */
+    private void index(long key) {
+        columns.computeIfAbsent(CellReference.columnOf(key), k -> new Column()).add(CellReference.rowOf(key));
+    }
+
+    /**
+     * Moves all cells into a new array with free space on both sides, preserving their order and reclaiming the holes.
+     *
+     * @param front the number of free positions before the cells.
+     * @param back the number of free positions after the cells.
+     */
+    private void rebuild(int front, int back) {
+        long[] previousKeys = keys;
+        int previousEnd = end;
+        keys = new long[front + end - head - holes + back];
+        end = front;
+        for (int current = head; current < previousEnd; current++) {
+            if (previousKeys[current] != HOLE) {
+                place(previousKeys[current], end++);
+            }
+        }
+        head = front;
+        holes = 0;
+    }
+
+    /**
+     * The sorted rows of the cells of a single column.
+     */
+    private static final class Column {
+        private int[] rows = new int[MIN_CAPACITY];
+        private int size;
+
+        void add(int row) {
+            int index = Arrays.binarySearch(rows, 0, size, row);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            System.arraycopy(rows, index, rows, index + 1, size - index);
+            rows[index] = row;
+            size++;
+        }
+
+        void remove(int row) {
+            int index = Arrays.binarySearch(rows, 0, size, row);
+            if (index >= 0) {
+                System.arraycopy(rows, index + 1, rows, index, size - index - 1);
+                size--;
+            }
+        }
+
+        void collect(int fromRow, int toRow, int column, LongArrayList cells) {
+            int index = Arrays.binarySearch(rows, 0, size, fromRow);
+            for (int i = index >= 0 ? index : -index - 1; i < size && rows[i] <= toRow; i++) {
+                cells.add(CellReference.key(rows[i], column));
+            }
+        }
+    }
+}
@@ -3,6 +3,11 @@ package com.sanyavertolet.interview.data.dependencies;
 import com.sanyavertolet.interview.exceptions.data.DataDependencyException;
 import com.sanyavertolet.interview.exceptions.data.DataSelfReferenceException;
 import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
+import com.sanyavertolet.interview.utils.collections.LongArrayList;
+import com.sanyavertolet.interview.utils.collections.LongHashSet;
+import com.sanyavertolet.interview.utils.collections.LongIntHashMap;
+import com.sanyavertolet.interview.utils.collections.LongObjectHashMap;
 
 import java.util.*;
 
@@ -10,11 +15,28 @@ import java.util.*;
  * Implementation of the {@link DependencyGraph} interface that manages dependencies between {@link CellReference}
  * instances using a topological sorting approach. This implementation ensures that updates are processed in
  * a dependency-consistent order and detects cyclic dependencies.
+ * <p>
+ * Cells are stored by their packed {@link CellReference#key()}, so no {@link CellReference} objects
+ * are retained by the graph. Range dependencies are kept as rectangles in a {@link RangeIndex}, so their
+ * cost does not depend on the number of cells in the range.
+ * <p>
+ * The topological order is not recomputed on every update but maintained in a {@link TopologicalOrder} as
+ * dependencies are added and cleared, so {@link #getUpdateList(CellReference)} only has to collect the affected
+ * cells and sort them by their stored positions. A dependency that would close a cycle is detected when it is added:
+ * it is kept as pending instead of being reflected in the order, and is retried whenever dependencies are cleared.
+ * <p>
+ * For lazy recalculation, the graph also keeps the set of dirty cells. Every dependent of a dirty cell is dirty,
+ * so a clean cell only depends on clean cells, and the cells to recalculate before a read are found by following
+ * dirty dependencies backwards.
  */
 public class TopologicallySortedDependencyGraph implements DependencyGraph {
-    private final Map<CellReference, Set<CellReference>> previous = new HashMap<>();
-    private final Map<CellReference, Set<CellReference>> next = new HashMap<>();
-    private final Set<CellReference> failedCellReferences = new HashSet<>();
+    private final LongObjectHashMap<LongHashSet> previous = new LongObjectHashMap<>();
+    private final LongObjectHashMap<LongHashSet> next = new LongObjectHashMap<>();
+    private final LongObjectHashMap<LongHashSet> pending = new LongObjectHashMap<>();
+    private final LongHashSet failedCellReferences = new LongHashSet();
+    private final LongHashSet dirty = new LongHashSet();
+    private final RangeIndex ranges = new RangeIndex();
+    private final TopologicalOrder order = new TopologicalOrder();
 
     /**
      * Adds a dependency between two {@link CellReference} instances, ensuring that the cell identified by {@code before}
@@ -26,27 +48,78 @@ public class TopologicallySortedDependencyGraph implements DependencyGraph {
      */
     @Override
     public void addDependency(CellReference before, CellReference after) throws DataSelfReferenceException {
-        if (before.identifier().equals(after.identifier())) {
+        long beforeKey = before.key();
+        long afterKey = after.key();
+        if (beforeKey == afterKey) {
             throw new DataSelfReferenceException(after);
         }
-        previous.computeIfAbsent(after, k -> new HashSet<>()).add(before);
-        next.computeIfAbsent(before, k -> new HashSet<>()).add(after);
+        previous.computeIfAbsent(afterKey, k -> new LongHashSet()).add(beforeKey);
+        next.computeIfAbsent(beforeKey, k -> new LongHashSet()).add(afterKey);
+        addCell(beforeKey);
+        addCell(afterKey);
+        orderDependency(beforeKey, afterKey);
+    }
+
+    /**
+     * Adds a dependency of a cell on every cell of a {@link RangeExpression}. The range is stored as a single
+     * rectangle, cells inside of it are resolved by a lookup when the update list is computed.
+     *
+     * @param range the range of cells that the cell depends on.
+     * @param after the reference to the cell that depends on {@code range}.
+     * @throws DataSelfReferenceException if {@code after} lies inside the range, creating a self-dependency.
+     */
+    @Override
+    public void addRangeDependency(RangeExpression range, CellReference after) throws DataSelfReferenceException {
+        if (range.contains(after)) {
+            throw new DataSelfReferenceException(after);
+        }
+        CellReference from = range.getFrom();
+        CellReference to = range.getTo();
+        long afterKey = after.key();
+        ranges.add(from.row(), from.column(), to.row(), to.column(), afterKey);
+        addCell(afterKey);
+        LongArrayList inside = new LongArrayList();
+        order.collectInside(from.row(), from.column(), to.row(), to.column(), inside);
+        for (int i = 0; i < inside.size(); i++) {
+            orderDependency(inside.get(i), afterKey);
+        }
     }
 
     /**
      * Clears all dependencies for the specified {@link CellReference}. This removes the cell from any dependency chains.
+     * The cell is no longer dirty, as its data is being replaced.
      *
      * @param reference the reference to the cell whose dependencies should be cleared.
      */
-    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     @Override
     public void clearDependencies(CellReference reference) {
-        Set<CellReference> cellDependencies = previous.remove(reference);
+        long key = reference.key();
+        dirty.remove(key);
+        LongArrayList released = new LongArrayList();
+        released.add(key);
+        LongHashSet cellDependencies = previous.remove(key);
         if (cellDependencies != null) {
-            for (CellReference dependsOn : cellDependencies) {
-                next.getOrDefault(dependsOn, new HashSet<>()).remove(reference);
+            PrimitiveIterator.OfLong iterator = cellDependencies.iterator();
+            while (iterator.hasNext()) {
+                long dependsOn = iterator.nextLong();
+                LongHashSet dependents = next.get(dependsOn);
+                if (dependents != null) {
+                    dependents.remove(key);
+                    if (dependents.isEmpty()) {
+                        next.remove(dependsOn);
+                    }
+                }
+                released.add(dependsOn);
             }
         }
+        for (RangeIndex.Rectangle rectangle : ranges.removeAll(key)) {
+            order.collectInside(rectangle.fromRow(), rectangle.fromColumn(), rectangle.toRow(), rectangle.toColumn(), released);
+        }
+        removePendingDependencies(key);
+        for (int i = 0; i < released.size(); i++) {
+            removeCellIfUnused(released.get(i));
+        }
+        retryPendingDependencies();
     }
 
     /**
@@ -56,12 +129,19 @@ public class TopologicallySortedDependencyGraph implements DependencyGraph {
     public void clearAll() {
         previous.clear();
         next.clear();
+        pending.clear();
         failedCellReferences.clear();
+        dirty.clear();
+        ranges.clear();
+        order.clear();
     }
 
     /**
      * Retrieves a list of {@link CellReference} instances that need to be updated when the specified cell is modified,
      * sorted in topological order. If a cyclic dependency is detected, an exception is thrown.
+     * <p>
+     * The cells reachable from the modified one are collected and sorted by their positions in the maintained order.
+     * As every cycle contains a pending dependency, a cycle is detected when a pending dependency is reached.
      *
      * @param reference the reference to the cell that was modified.
      * @return a list of {@link CellReference} instances that should be updated, in topological order.
@@ -69,16 +149,215 @@ public class TopologicallySortedDependencyGraph implements DependencyGraph {
      */
     @Override
     public List<CellReference> getUpdateList(CellReference reference) throws DataDependencyException {
-        List<CellReference> sorted = new ArrayList<>();
-        Set<CellReference> visited = new HashSet<>();
-        Set<CellReference> visiting = new HashSet<>();
-        Stack<CellReference> visitingStack = new Stack<>();
+        LongHashSet affected = new LongHashSet();
+        LongArrayList stack = new LongArrayList();
+        stack.add(reference.key());
+        collectAffected(stack, affected);
+        return sortByPosition(affected);
+    }
 
-        topologicalSort(reference, visited, visiting, visitingStack, sorted);
-        sorted.remove(reference);
+    /**
+     * Retrieves a list of {@link CellReference} instances that need to be updated when all the specified cells
+     * are modified at once, including the modified cells, sorted in topological order. If a cyclic dependency
+     * is detected, an exception is thrown.
+     * <p>
+     * The cells reachable from any of the modified ones are collected into a single set, so a cell that depends
+     * on many of them is listed once. Modified cells that are not in the order have neither dependencies
+     * nor dependents, so they are listed first.
+     *
+     * @param references the references to the cells that were modified.
+     * @return a list of {@link CellReference} instances that should be updated, in topological order.
+     * @throws DataDependencyException if a cyclic dependency is detected in the graph.
+     */
+    @Override
+    public List<CellReference> getUpdateList(Collection<CellReference> references) throws DataDependencyException {
+        LongHashSet affected = new LongHashSet();
+        LongArrayList stack = new LongArrayList();
+        for (CellReference reference : references) {
+            long key = reference.key();
+            if (affected.add(key)) {
+                stack.add(key);
+            }
+        }
+        collectAffected(stack, affected);
+        return sortByPosition(affected);
+    }
+
+    /**
+     * Splits an update list into dependency levels. The level of a cell is one more than the highest level
+     * of the listed cells it depends on. As the list is in topological order, levels are assigned in a single pass
+     * that pushes the level of every cell to its dependents.
+     *
+     * @param updateList an update list in topological order.
+     * @return the levels, in the sequence they should be updated.
+     */
+    @Override
+    public List<List<CellReference>> getUpdateLevels(List<CellReference> updateList) {
+        LongIntHashMap levels = new LongIntHashMap();
+        for (CellReference reference : updateList) {
+            levels.put(reference.key(), 0);
+        }
+        List<List<CellReference>> sorted = new ArrayList<>();
+        LongArrayList dependents = new LongArrayList();
+        for (CellReference reference : updateList) {
+            long key = reference.key();
+            int level = levels.getOrDefault(key, 0);
+            if (level == sorted.size()) {
+                sorted.add(new ArrayList<>());
+            }
+            sorted.get(level).add(reference);
+            dependents.clear();
+            collectNext(key, dependents);
+            for (int i = 0; i < dependents.size(); i++) {
+                long dependent = dependents.get(i);
+                int dependentLevel = levels.getOrDefault(dependent, -1);
+                if (dependentLevel >= 0 && dependentLevel <= level) {
+                    levels.put(dependent, level + 1);
+                }
+            }
+        }
         return sorted;
     }
 
+    /**
+     * Retrieves the cells that depend directly on the specified cell, either through a cell reference or a range.
+     *
+     * @param reference the reference to the cell whose dependents are to be retrieved.
+     * @return the direct dependents of the cell, in no particular order.
+     */
+    @Override
+    public List<CellReference> getDependents(CellReference reference) {
+        LongArrayList dependents = new LongArrayList();
+        collectNext(reference.key(), dependents);
+        List<CellReference> references = new ArrayList<>(dependents.size());
+        for (int i = 0; i < dependents.size(); i++) {
+            references.add(CellReference.of(dependents.get(i)));
+        }
+        return references;
+    }
+
+    /**
+     * Marks all cells that depend on the specified cell as dirty, see {@link #markReachableDirty(LongArrayList)}.
+     *
+     * @param reference the reference to the cell that was modified.
+     * @throws DataDependencyException if a cyclic dependency is detected in the graph.
+     */
+    @Override
+    public void markDependentsDirty(CellReference reference) throws DataDependencyException {
+        LongArrayList stack = new LongArrayList();
+        stack.add(reference.key());
+        markReachableDirty(stack);
+    }
+
+    /**
+     * Marks the specified cells and all cells that depend on them as dirty. The specified cells that are not
+     * in the order depend on no other cells and are not marked.
+     *
+     * @param references the references to the cells that were modified.
+     * @throws DataDependencyException if a cyclic dependency is detected in the graph.
+     */
+    @Override
+    public void markDirty(Collection<CellReference> references) throws DataDependencyException {
+        LongHashSet started = new LongHashSet();
+        LongArrayList stack = new LongArrayList();
+        for (CellReference reference : references) {
+            long key = reference.key();
+            if (started.add(key)) {
+                if (order.contains(key)) {
+                    dirty.add(key);
+                }
+                stack.add(key);
+            }
+        }
+        markReachableDirty(stack);
+    }
+
+    /**
+     * Checks whether any cell is marked as dirty.
+     *
+     * @return {@code true} if there are dirty cells.
+     */
+    @Override
+    public boolean hasDirtyCells() {
+        return !dirty.isEmpty();
+    }
+
+    /**
+     * Removes the dirty mark from the specified cell and from all dirty cells it depends on.
+     *
+     * @param reference the reference to the cell that is about to be read.
+     * @return the cells to recalculate, in topological order, empty if the cell is not dirty.
+     */
+    @Override
+    public List<CellReference> takeDirtyCells(CellReference reference) {
+        long key = reference.key();
+        if (dirty.isEmpty() || !dirty.contains(key)) {
+            return List.of();
+        }
+        LongHashSet taken = new LongHashSet();
+        LongArrayList stack = new LongArrayList();
+        taken.add(key);
+        stack.add(key);
+        return takeDirtyPrecedents(stack, taken);
+    }
+
+    /**
+     * Removes the dirty mark from the specified cells and from all dirty cells they depend on.
+     *
+     * @param references the references to the cells that are about to be read.
+     * @return the cells to recalculate, in topological order, empty if none of the cells is dirty.
+     */
+    @Override
+    public List<CellReference> takeDirtyCells(Collection<CellReference> references) {
+        if (dirty.isEmpty()) {
+            return List.of();
+        }
+        LongHashSet taken = new LongHashSet();
+        LongArrayList stack = new LongArrayList();
+        for (CellReference reference : references) {
+            long key = reference.key();
+            if (dirty.contains(key) && taken.add(key)) {
+                stack.add(key);
+            }
+        }
+        return stack.isEmpty() ? List.of() : takeDirtyPrecedents(stack, taken);
+    }
+
+    /**
+     * Removes the dirty mark from the dirty cells of a range and from all dirty cells they depend on.
+     * All dirty cells are in the order, so they are found with its column index.
+     *
+     * @param range the range of cells that is about to be read.
+     * @return the cells to recalculate, in topological order, empty if no cell of the range is dirty.
+     */
+    @Override
+    public List<CellReference> takeDirtyCells(RangeExpression range) {
+        if (dirty.isEmpty()) {
+            return List.of();
+        }
+        LongArrayList inside = new LongArrayList();
+        order.collectInside(range.getFrom().row(), range.getFrom().column(), range.getTo().row(), range.getTo().column(), inside);
+        LongHashSet taken = new LongHashSet();
+        LongArrayList stack = new LongArrayList();
+        for (int i = 0; i < inside.size(); i++) {
+            long key = inside.get(i);
+            if (dirty.contains(key) && taken.add(key)) {
+                stack.add(key);
+            }
+        }
+        return stack.isEmpty() ? List.of() : takeDirtyPrecedents(stack, taken);
+    }
+
+    /**
+     * Retrieves all dirty cells without removing their marks.
+     *
+     * @return the dirty cells, in topological order.
+     */
+    @Override
+    public List<CellReference> getDirtyCells() {
+        return sortByPosition(dirty);
+    }
+
     /**
      * Retrieves a set of {@link CellReference} instances that have failed due to dependency issues, such as cycles.
      *
@@ -86,7 +365,12 @@ public class TopologicallySortedDependencyGraph implements DependencyGraph {
      */
     @Override
     public Set<CellReference> getFailedCellReferences() {
-        return failedCellReferences;
+        Set<CellReference> failed = new HashSet<>();
+        PrimitiveIterator.OfLong iterator = failedCellReferences.iterator();
+        while (iterator.hasNext()) {
+            failed.add(CellReference.of(iterator.nextLong()));
+        }
+        return failed;
     }
 
     /**
@@ -98,65 +382,347 @@ public class TopologicallySortedDependencyGraph implements DependencyGraph {
     }
 
     /**
-     * Performs a topological sort starting from the specified {@link CellReference}. This method is used internally
-     * to generate a sorted list of cells that should be updated. It also detects cyclic dependencies.
+     * Collects all cells reachable from the cells on the stack. As every cycle contains a pending dependency,
+     * a cycle is detected when a pending dependency is reached.
+     *
+     * @param stack the keys of the cells to start from, emptied by the search.
+     * @param affected the set to add the keys of the reached cells to.
+     * @throws DataDependencyException if a cyclic dependency is reached.
+     */
+    private void collectAffected(LongArrayList stack, LongHashSet affected) throws DataDependencyException {
+        LongArrayList dependents = new LongArrayList();
+        while (!stack.isEmpty()) {
+            long current = stack.removeLast();
+            dependents.clear();
+            collectNext(current, dependents);
+            for (int i = 0; i < dependents.size(); i++) {
+                long dependent = dependents.get(i);
+                if (isPending(current, dependent)) {
+                    updateFailedCellReferences(current, dependent);
+                    throw new DataDependencyException("Cycle detected");
+                }
+                if (affected.add(dependent)) {
+                    stack.add(dependent);
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks all cells reachable from the cells on the stack as dirty. As every dependent of a dirty cell
+     * is dirty, the search does not go past cells that are already dirty, so repeated edits of the same cell
+     * only cost as much as the cells that have been read since. While there are pending dependencies,
+     * all reachable cells are visited instead, so that cycles are detected the same way as by
+     * {@link #getUpdateList(CellReference)}.
+     *
+     * @param stack the keys of the cells to start from, emptied by the search.
+     * @throws DataDependencyException if a cyclic dependency is reached.
+     */
+    private void markReachableDirty(LongArrayList stack) throws DataDependencyException {
+        if (!pending.isEmpty()) {
+            LongHashSet affected = new LongHashSet();
+            collectAffected(stack, affected);
+            PrimitiveIterator.OfLong iterator = affected.iterator();
+            while (iterator.hasNext()) {
+                dirty.add(iterator.nextLong());
+            }
+            return;
+        }
+        LongArrayList dependents = new LongArrayList();
+        while (!stack.isEmpty()) {
+            long current = stack.removeLast();
+            dependents.clear();
+            collectNext(current, dependents);
+            for (int i = 0; i < dependents.size(); i++) {
+                long dependent = dependents.get(i);
+                if (dirty.add(dependent)) {
+                    stack.add(dependent);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the dirty cells that the cells on the stack depend on, directly or through ranges, and removes
+     * the dirty marks from all of them. Clean cells are not followed, as they only depend on clean cells.
+     *
+     * @param stack the keys of the dirty cells to start from, emptied by the search.
+     * @param taken the keys of the cells on the stack, extended with the collected cells.
+     * @return the collected cells and the cells on the stack, in topological order.
+     */
+    private List<CellReference> takeDirtyPrecedents(LongArrayList stack, LongHashSet taken) {
+        LongArrayList precedents = new LongArrayList();
+        while (!stack.isEmpty()) {
+            long current = stack.removeLast();
+            precedents.clear();
+            LongHashSet direct = previous.get(current);
+            if (direct != null) {
+                PrimitiveIterator.OfLong iterator = direct.iterator();
+                while (iterator.hasNext()) {
+                    precedents.add(iterator.nextLong());
+                }
+            }
+            for (RangeIndex.Rectangle rectangle : ranges.rectanglesOf(current)) {
+                order.collectInside(rectangle.fromRow(), rectangle.fromColumn(), rectangle.toRow(), rectangle.toColumn(), precedents);
+            }
+            for (int i = 0; i < precedents.size(); i++) {
+                long precedent = precedents.get(i);
+                if (dirty.contains(precedent) && taken.add(precedent)) {
+                    stack.add(precedent);
+                }
+            }
+        }
+        PrimitiveIterator.OfLong iterator = taken.iterator();
+        while (iterator.hasNext()) {
+            dirty.remove(iterator.nextLong());
+        }
+        return sortByPosition(taken);
+    }
+
+    /**
+     * Sorts cells by their positions in the maintained order. Cells that are not in the order go first.
+     *
+     * @param cells the keys of the cells to sort.
+     * @return the sorted cells.
+     */
+    private List<CellReference> sortByPosition(LongHashSet cells) {
+        List<CellReference> sorted = new ArrayList<>(cells.size());
+        int[] positions = new int[cells.size()];
+        int size = 0;
+        PrimitiveIterator.OfLong iterator = cells.iterator();
+        while (iterator.hasNext()) {
+            long current = iterator.nextLong();
+            int position = order.positionOf(current);
+            if (position < 0) {
+                sorted.add(CellReference.of(current));
+            } else {
+                positions[size++] = position;
+            }
+        }
+        Arrays.sort(positions, 0, size);
+        for (int i = 0; i < size; i++) {
+            sorted.add(CellReference.of(order.keyAt(positions[i])));
+        }
+        return sorted;
+    }
+
+    /**
+     * Places a cell into the order if it is not there yet. A cell that depends on no other cells is placed
+     * at the beginning, where all its dependents are already after it. Otherwise, it is placed at the end,
+     * and as it may lie inside ranges that other cells depend on, these dependencies are ordered.
+     *
+     * @param key the key of the cell.
+     */
+    private void addCell(long key) {
+        if (order.contains(key)) {
+            return;
+        }
+        if (!previous.containsKey(key) && !ranges.hasRectangles(key)) {
+            order.addFirst(key);
+            return;
+        }
+        order.addLast(key);
+        LongArrayList dependents = new LongArrayList();
+        ranges.collectDependents(key, dependents);
+        for (int i = 0; i < dependents.size(); i++) {
+            orderDependency(key, dependents.get(i));
+        }
+    }
+
+    /**
+     * Removes a cell from the order if it neither depends on other cells nor has any dependents.
      *
-     * @param current the current cell being processed.
-     * @param visited the set of cells that have already been processed.
-     * @param visiting the set of cells that are currently being visited.
-     * @param visitingStack the stack of cells that are currently being visited, used for cycle detection.
-     * @param sorted the list to which sorted cells are added.
-     * @throws DataDependencyException if a cyclic dependency is detected.
+     * @param key the key of the cell.
      */
-    private void topologicalSort(
-            CellReference current,
-            Set<CellReference> visited,
-            Set<CellReference> visiting,
-            Stack<CellReference> visitingStack,
-            List<CellReference> sorted
-    ) throws DataDependencyException {
-        if (visited.contains(current)) {
+    private void removeCellIfUnused(long key) {
+        if (previous.containsKey(key) || next.containsKey(key) || ranges.hasRectangles(key)) {
             return;
         }
-        visitingStack.push(current);
-        if (visiting.contains(current)) {
-            updateFailedCellReferences(visitingStack);
-            throw new DataDependencyException("Cycle detected");
+        LongArrayList dependents = new LongArrayList();
+        ranges.collectDependents(key, dependents);
+        if (dependents.isEmpty()) {
+            order.remove(key);
         }
+    }
 
-        visiting.add(current);
-        for (CellReference cellReference : getNext(current)) {
-            topologicalSort(cellReference, visited, visiting, visitingStack, sorted);
+    /**
+     * Reflects a dependency in the order, or marks it as pending if it closes a cycle.
+     *
+     * @param before the key of the cell that must be processed first.
+     * @param after the key of the cell that depends on {@code before}.
+     */
+    private void orderDependency(long before, long after) {
+        if (!reorder(before, after)) {
+            pending.computeIfAbsent(before, k -> new LongHashSet()).add(after);
         }
-        visiting.remove(current);
-        visitingStack.pop();
-        visited.add(current);
-        sorted.add(0, current);
     }
 
     /**
-     * Updates the set of failed cell references when a cycle is detected during topological sorting.
+     * Restores the order after a dependency of {@code after} on {@code before} has been added.
+     * If {@code after} is placed before {@code before}, the cells reachable from {@code after} that are placed
+     * no later than {@code before} are shifted right after it. The cost depends only on the number
+     * of cells between both positions.
      *
-     * @param visitingStack the stack of cells that are currently being visited.
+     * @param before the key of the cell that must be processed first.
+     * @param after the key of the cell that depends on {@code before}.
+     * @return {@code false} if {@code before} is reachable from {@code after}, i.e. the dependency closes a cycle.
+     */
+    private boolean reorder(long before, long after) {
+        int lower = order.positionOf(after);
+        int upper = order.positionOf(before);
+        if (upper < lower) {
+            return true;
+        }
+        LongHashSet reached = new LongHashSet();
+        LongArrayList stack = new LongArrayList();
+        LongArrayList dependents = new LongArrayList();
+        reached.add(after);
+        stack.add(after);
+        while (!stack.isEmpty()) {
+            long current = stack.removeLast();
+            dependents.clear();
+            collectNext(current, dependents);
+            for (int i = 0; i < dependents.size(); i++) {
+                long dependent = dependents.get(i);
+                if (isPending(current, dependent)) {
+                    continue;
+                }
+                if (dependent == before) {
+                    return false;
+                }
+                if (order.positionOf(dependent) <= upper && reached.add(dependent)) {
+                    stack.add(dependent);
+                }
+            }
+        }
+        order.shift(lower, upper, reached);
+        return true;
+    }
+
+    /**
+     * Removes all pending dependencies of the specified cell.
+     *
+     * @param after the key of the cell whose dependencies have been cleared.
+     */
+    private void removePendingDependencies(long after) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        LongArrayList emptied = new LongArrayList();
+        pending.forEach((before, dependents) -> {
+            dependents.remove(after);
+            if (dependents.isEmpty()) {
+                emptied.add(before);
+            }
+        });
+        for (int i = 0; i < emptied.size(); i++) {
+            pending.remove(emptied.get(i));
+        }
+    }
+
+    /**
+     * Tries to reflect pending dependencies in the order again, as clearing dependencies may have broken their cycles.
+     * Dependencies are retried one by one, so that the others stay pending and are not followed while searching.
      */
-    private void updateFailedCellReferences(Stack<CellReference> visitingStack) {
+    private void retryPendingDependencies() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        LongArrayList dependencies = new LongArrayList();
+        pending.forEach((before, dependents) -> {
+            PrimitiveIterator.OfLong iterator = dependents.iterator();
+            while (iterator.hasNext()) {
+                dependencies.add(before);
+                dependencies.add(iterator.nextLong());
+            }
+        });
+        for (int i = 0; i < dependencies.size(); i += 2) {
+            long before = dependencies.get(i);
+            long after = dependencies.get(i + 1);
+            LongHashSet dependents = pending.get(before);
+            dependents.remove(after);
+            if (dependents.isEmpty()) {
+                pending.remove(before);
+            }
+            orderDependency(before, after);
+        }
+    }
+
+    /**
+     * Checks whether the dependency of {@code after} on {@code before} is pending.
+     *
+     * @param before the key of the cell that must be processed first.
+     * @param after the key of the cell that depends on {@code before}.
+     * @return {@code true} if the dependency closes a cycle and is not reflected in the order.
+     */
+    private boolean isPending(long before, long after) {
+        if (pending.isEmpty()) {
+            return false;
+        }
+        LongHashSet dependents = pending.get(before);
+        return dependents != null && dependents.contains(after);
+    }
+
+    /**
+     * Updates the set of failed cell references when a pending dependency is reached. The cycle closed by
+     * the dependency is found by a depth-first search from {@code after} to {@code before} through
+     * the dependencies reflected in the order.
+     *
+     * @param before the key of the cell that {@code after} depends on.
+     * @param after the key of the cell that depends on {@code before}.
+     */
+    private void updateFailedCellReferences(long before, long after) {
         failedCellReferences.clear();
-        while (!visitingStack.isEmpty()) {
-            CellReference reference = visitingStack.pop();
-            if (failedCellReferences.contains(reference)) {
-                return;
+        int upper = order.positionOf(before);
+        LongHashSet visited = new LongHashSet();
+        LongArrayList visitingStack = new LongArrayList();
+        LongArrayList stack = new LongArrayList();
+        LongArrayList dependents = new LongArrayList();
+        stack.add(after);
+        while (!stack.isEmpty()) {
+            long current = stack.removeLast();
+            if (current < 0) {
+                visitingStack.removeLast();
+                continue;
+            }
+            if (!visited.add(current)) {
+                continue;
             }
-            failedCellReferences.add(reference);
+            visitingStack.add(current);
+            if (current == before) {
+                break;
+            }
+            stack.add(-1);
+            dependents.clear();
+            collectNext(current, dependents);
+            for (int i = 0; i < dependents.size(); i++) {
+                long dependent = dependents.get(i);
+                if (!isPending(current, dependent) && order.positionOf(dependent) <= upper) {
+                    stack.add(dependent);
+                }
+            }
+        }
+        for (int i = 0; i < visitingStack.size(); i++) {
+            failedCellReferences.add(visitingStack.get(i));
         }
+        failedCellReferences.add(before);
+        failedCellReferences.add(after);
     }
 
     /**
-     * Retrieves the set of cells that are directly dependent on the specified {@link CellReference}.
+     * Appends the cells that are dependent on the specified cell, either directly or through a range.
      *
-     * @param cellReference the reference to the cell whose dependents are to be retrieved.
-     * @return a set of {@link CellReference} instances that depend on the specified cell.
+     * @param key the key of the cell whose dependents are to be retrieved.
+     * @param dependents the list to append the keys of the dependent cells to.
      */
-    private Set<CellReference> getNext(CellReference cellReference) {
-        return next.getOrDefault(cellReference, Collections.emptySet());
+    private void collectNext(long key, LongArrayList dependents) {
+        LongHashSet direct = next.get(key);
+        if (direct != null) {
+            PrimitiveIterator.OfLong iterator = direct.iterator();
+            while (iterator.hasNext()) {
+                dependents.add(iterator.nextLong());
+            }
+        }
+        ranges.collectDependents(key, dependents);
     }
 }
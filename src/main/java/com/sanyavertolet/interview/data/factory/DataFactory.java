@@ -1,6 +1,7 @@
 package com.sanyavertolet.interview.data.factory;
 
 import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.math.CellReference;
 
 /**
  * Interface for creating {@link Data} instances based on a given cell text.
@@ -16,4 +17,43 @@ public interface DataFactory {
      * @return a {@link Data} instance corresponding to the provided cell text.
      */
     Data create(String cellText);
+
+    /**
+     * Creates a {@link Data} instance based on the provided cell text without evaluating its expression.
+     * The value of such data is {@code null} until {@link Data#recalculateValue} is called, which lets
+     * a batch of cells be evaluated once, after all of them are in place.
+     *
+     * @param cellText the text representation of the data to be created.
+     * @return a {@link Data} instance corresponding to the provided cell text.
+     */
+    Data parse(String cellText);
+
+    /**
+     * Creates a {@link Data} instance based on the provided text of the cell with the given reference.
+     * Knowing the cell lets formulas filled down or across share their expression tree,
+     * see {@link com.sanyavertolet.interview.math.expressions.AnchoredExpression}.
+     * <p>
+     * The default implementation ignores the cell and calls {@link #create(String)}.
+     *
+     * @param cellText the text representation of the data to be created.
+     * @param reference the reference of the cell.
+     * @return a {@link Data} instance corresponding to the provided cell text.
+     */
+    default Data create(String cellText, CellReference reference) {
+        return create(cellText);
+    }
+
+    /**
+     * Creates a {@link Data} instance based on the provided text of the cell with the given reference
+     * without evaluating its expression, see {@link #parse(String)} and {@link #create(String, CellReference)}.
+     * <p>
+     * The default implementation ignores the cell and calls {@link #parse(String)}.
+     *
+     * @param cellText the text representation of the data to be created.
+     * @param reference the reference of the cell.
+     * @return a {@link Data} instance corresponding to the provided cell text.
+     */
+    default Data parse(String cellText, CellReference reference) {
+        return parse(cellText);
+    }
 }
@@ -4,10 +4,12 @@ import com.sanyavertolet.interview.data.*;
 import com.sanyavertolet.interview.data.value.Value;
 import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
 import com.sanyavertolet.interview.exceptions.expressions.ExpressionParsingException;
+import com.sanyavertolet.interview.math.CellReference;
 import com.sanyavertolet.interview.math.expressions.Expression;
 import com.sanyavertolet.interview.math.expressions.evaluator.ExpressionEvaluator;
+import com.sanyavertolet.interview.parser.CachingExpressionParser;
 import com.sanyavertolet.interview.parser.ExpressionParser;
-import com.sanyavertolet.interview.parser.ShuntingYardParser;
+import com.sanyavertolet.interview.parser.PrattParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,6 +17,10 @@ import org.slf4j.LoggerFactory;
  * A simple implementation of the {@link DataFactory} interface that creates {@link Data} instances
  * based on the provided cell text. This class can parse and evaluate expressions starting with "="
  * or directly create value-based data for non-expression text.
+ * <p>
+ * Formulas are parsed through a {@link CachingExpressionParser}, so cells holding the same formula text
+ * share a single expression tree and the text is tokenized and parsed only once. When the cell is known,
+ * formulas of the same relative shape share a single tree as well, see {@link #create(String, CellReference)}.
  */
 public class SimpleDataFactory implements DataFactory {
     private final static Logger logger = LoggerFactory.getLogger(SimpleDataFactory.class);
@@ -22,12 +28,23 @@ public class SimpleDataFactory implements DataFactory {
     private final ExpressionEvaluator expressionEvaluator;
 
     /**
-     * Constructs a {@code SimpleDataFactory} with the specified {@link ExpressionEvaluator}.
+     * Constructs a {@code SimpleDataFactory} with the specified {@link ExpressionEvaluator}
+     * and a cached {@link PrattParser}.
      *
      * @param expressionEvaluator the evaluator used to evaluate parsed expressions.
      */
     public SimpleDataFactory(ExpressionEvaluator expressionEvaluator) {
-        this.expressionParser = new ShuntingYardParser();
+        this(expressionEvaluator, new CachingExpressionParser(new PrattParser()));
+    }
+
+    /**
+     * Constructs a {@code SimpleDataFactory} with the specified {@link ExpressionEvaluator} and {@link ExpressionParser}.
+     *
+     * @param expressionEvaluator the evaluator used to evaluate parsed expressions.
+     * @param expressionParser the parser used to parse formulas.
+     */
+    public SimpleDataFactory(ExpressionEvaluator expressionEvaluator, ExpressionParser expressionParser) {
+        this.expressionParser = expressionParser;
         this.expressionEvaluator = expressionEvaluator;
     }
 
@@ -39,15 +56,69 @@ public class SimpleDataFactory implements DataFactory {
      * @param cellText the text representation of the data to be created.
      * @return a {@link Data} instance corresponding to the provided cell text.
      */
-    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
     @Override
     public Data create(String cellText) {
+        return create(cellText, null, true);
+    }
+
+    /**
+     * Creates a {@link Data} instance based on the provided cell text. If the text starts with "=",
+     * it is treated as an expression, which is parsed but not evaluated. Otherwise, the text is treated
+     * as a simple value.
+     *
+     * @param cellText the text representation of the data to be created.
+     * @return a {@link Data} instance corresponding to the provided cell text.
+     */
+    @Override
+    public Data parse(String cellText) {
+        return create(cellText, null, false);
+    }
+
+    /**
+     * Creates a {@link Data} instance based on the provided text of the cell with the given reference,
+     * see {@link #create(String)}. The expression of a formula may be an
+     * {@link com.sanyavertolet.interview.math.expressions.AnchoredExpression} sharing its tree with other cells.
+     *
+     * @param cellText the text representation of the data to be created.
+     * @param reference the reference of the cell.
+     * @return a {@link Data} instance corresponding to the provided cell text.
+     */
+    @Override
+    public Data create(String cellText, CellReference reference) {
+        return create(cellText, reference, true);
+    }
+
+    /**
+     * Creates a {@link Data} instance based on the provided text of the cell with the given reference
+     * without evaluating its expression, see {@link #parse(String)}.
+     *
+     * @param cellText the text representation of the data to be created.
+     * @param reference the reference of the cell.
+     * @return a {@link Data} instance corresponding to the provided cell text.
+     */
+    @Override
+    public Data parse(String cellText, CellReference reference) {
+        return create(cellText, reference, false);
+    }
+
+    /**
+     * Creates a {@link Data} instance based on the provided cell text, evaluating its expression if requested.
+     *
+     * @param cellText the text representation of the data to be created.
+     * @param reference the reference of the cell, or {@code null} if it is not known.
+     * @param evaluate whether the parsed expression should be evaluated.
+     * @return a {@link Data} instance corresponding to the provided cell text.
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    private Data create(String cellText, CellReference reference, boolean evaluate) {
         Expression expression = null;
         Value value = null;
         if (cellText.startsWith("=")) {
             try {
-                expression = expressionParser.parse(cellText);
-                value = expressionEvaluator.evaluate(expression);
+                expression = reference == null ? expressionParser.parse(cellText) : expressionParser.parse(cellText, reference);
+                if (evaluate) {
+                    value = expressionEvaluator.evaluate(expression);
+                }
             } catch (ExpressionParsingException | ExpressionEvaluationException exception) {
                 logger.error(exception.getMessage());
             }
@@ -55,4 +55,44 @@ public interface DataManager {
      * Clears all data from the structure, effectively resetting it.
      */
     void clearData();
+
+    /**
+     * Starts a batch of changes. Cells set with {@link #setData(int, int, String)} until the matching
+     * {@link #commit()} are stored right away, but their values and the values of their dependents
+     * are computed only on commit. Batches can be nested, only the outermost commit takes effect.
+     */
+    void beginUpdate();
+
+    /**
+     * Finishes a batch of changes started by {@link #beginUpdate()}. When the outermost batch is committed,
+     * every affected cell is evaluated once and the table is notified of the change once.
+     *
+     * @throws IllegalStateException if no batch has been started.
+     */
+    void commit();
+
+    /**
+     * Recalculates some of the cells left dirty by edits in
+     * {@link com.sanyavertolet.interview.data.recalculation.RecalculationMode#LAZY} mode.
+     * Dirty cells are recalculated when they are read anyway, so this only brings forward the remaining work,
+     * e.g. when the application is idle.
+     *
+     * @param maxCells the number of cells to recalculate, may be slightly exceeded.
+     * @return {@code true} if dirty cells remain after this step.
+     */
+    boolean sweep(int maxCells);
+
+    /**
+     * Runs the given changes as a single batch, see {@link #beginUpdate()}.
+     *
+     * @param changes the changes to run, typically a sequence of {@link #setData(int, int, String)} calls.
+     */
+    default void batch(Runnable changes) {
+        beginUpdate();
+        try {
+            changes.run();
+        } finally {
+            commit();
+        }
+    }
 }
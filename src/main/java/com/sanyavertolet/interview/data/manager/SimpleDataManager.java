@@ -1,12 +1,21 @@
 package com.sanyavertolet.interview.data.manager;
 
 import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.accessor.AggregatingDataAccessor;
 import com.sanyavertolet.interview.data.accessor.ContainerBasedDataAccessor;
 import com.sanyavertolet.interview.data.accessor.DataAccessor;
+import com.sanyavertolet.interview.data.accessor.LazyDataAccessor;
+import com.sanyavertolet.interview.data.aggregate.AggregateCache;
 import com.sanyavertolet.interview.data.container.DataContainer;
+import com.sanyavertolet.interview.data.container.TiledDataContainer;
 import com.sanyavertolet.interview.data.factory.DataFactory;
 import com.sanyavertolet.interview.data.factory.SimpleDataFactory;
+import com.sanyavertolet.interview.data.recalculation.ForkJoinRecalculationStrategy;
+import com.sanyavertolet.interview.data.recalculation.RecalculationMode;
+import com.sanyavertolet.interview.data.recalculation.RecalculationStrategy;
+import com.sanyavertolet.interview.data.recalculation.SerialRecalculationStrategy;
 import com.sanyavertolet.interview.data.watcher.DataWatcher;
+import com.sanyavertolet.interview.data.value.Value;
 import com.sanyavertolet.interview.data.watcher.SimpleDataWatcher;
 import com.sanyavertolet.interview.exceptions.CellReferenceException;
 import com.sanyavertolet.interview.math.CellReference;
@@ -22,6 +31,15 @@ import java.util.function.BiConsumer;
  * A simple implementation of the {@link DataManager} interface that manages data in a table-like structure.
  * The {@code SimpleDataManager} uses a {@link DataContainer} for storing data, a {@link DataFactory} for
  * creating data instances, and a {@link DataWatcher} for monitoring and reacting to changes in the data.
+ * <p>
+ * Changes made inside a batch (see {@link #beginUpdate()}) are parsed but not evaluated when they are set.
+ * The {@link DataWatcher} evaluates them together with their dependents on commit, and a single
+ * {@code fireTableDataChanged} notification replaces the per-cell ones.
+ * <p>
+ * Aggregates of ranges ({@code SUM}, {@code COUNT} and {@code AVERAGE}) are read from an {@link AggregateCache},
+ * which is notified of every value stored into the container and of every value changed by the {@link DataWatcher},
+ * so an edit updates the cached aggregates instead of rescanning their ranges. Ranges within a single column
+ * are answered by the column index of the cache.
  */
 public class SimpleDataManager implements DataManager {
     private final static Logger logger = LoggerFactory.getLogger(SimpleDataManager.class);
@@ -29,8 +47,11 @@ public class SimpleDataManager implements DataManager {
     private final DataAccessor accessor;
     private final DataFactory dataFactory;
     private final DataWatcher dataWatcher;
+    private final AggregateCache aggregateCache;
     private final BiConsumer<Integer, Integer> fireTableCellUpdated;
     private final Runnable fireTableDataChanged;
+    private final RecalculationMode recalculationMode;
+    private int batchDepth;
 
     /**
      * Constructs a {@code SimpleDataManager} with the specified number of rows and columns.
@@ -46,22 +67,99 @@ public class SimpleDataManager implements DataManager {
             int columns,
             BiConsumer<Integer, Integer> fireTableCellUpdated,
             Runnable fireTableDataChanged
+    ) {
+        this(new TiledDataContainer(rows, columns), fireTableCellUpdated, fireTableDataChanged);
+    }
+
+    /**
+     * Constructs a {@code SimpleDataManager} on top of the given {@link DataContainer}, e.g. a
+     * {@link com.sanyavertolet.interview.data.container.MappedDataContainer} for sheets larger than the heap.
+     * Initializes the necessary components for data management, including data creation, access, and watching.
+     *
+     * @param container the container to store the data in.
+     * @param fireTableCellUpdated callback that is used to notify the table that the cell data is updated.
+     * @param fireTableDataChanged callback that is used to notify the table that all the table data is updated.
+     */
+    public SimpleDataManager(
+            DataContainer container,
+            BiConsumer<Integer, Integer> fireTableCellUpdated,
+            Runnable fireTableDataChanged
+    ) {
+        this(container, new SerialRecalculationStrategy(), fireTableCellUpdated, fireTableDataChanged);
+    }
+
+    /**
+     * Constructs a {@code SimpleDataManager} on top of the given {@link DataContainer} that recalculates
+     * dependent cells with the given {@link RecalculationStrategy}, e.g. a {@link ForkJoinRecalculationStrategy}
+     * for wide models. The container must then support concurrent reads.
+     *
+     * @param container the container to store the data in.
+     * @param recalculationStrategy the strategy used to recalculate dependent cells.
+     * @param fireTableCellUpdated callback that is used to notify the table that the cell data is updated.
+     * @param fireTableDataChanged callback that is used to notify the table that all the table data is updated.
+     */
+    public SimpleDataManager(
+            DataContainer container,
+            RecalculationStrategy recalculationStrategy,
+            BiConsumer<Integer, Integer> fireTableCellUpdated,
+            Runnable fireTableDataChanged
+    ) {
+        this(container, recalculationStrategy, RecalculationMode.EAGER, fireTableCellUpdated, fireTableDataChanged);
+    }
+
+    /**
+     * Constructs a {@code SimpleDataManager} on top of the given {@link DataContainer} that recalculates
+     * dependent cells with the given {@link RecalculationStrategy} in the given {@link RecalculationMode}.
+     * In {@link RecalculationMode#LAZY} mode, edits only mark dependent cells as dirty, and cells read with
+     * {@link #getData(int, int)} are recalculated on demand. The rest can be recalculated with {@link #sweep(int)}.
+     *
+     * @param container the container to store the data in.
+     * @param recalculationStrategy the strategy used to recalculate dependent cells.
+     * @param recalculationMode whether dependent cells are recalculated on edit or on read.
+     * @param fireTableCellUpdated callback that is used to notify the table that the cell data is updated.
+     * @param fireTableDataChanged callback that is used to notify the table that all the table data is updated.
+     */
+    public SimpleDataManager(
+            DataContainer container,
+            RecalculationStrategy recalculationStrategy,
+            RecalculationMode recalculationMode,
+            BiConsumer<Integer, Integer> fireTableCellUpdated,
+            Runnable fireTableDataChanged
     ) {
         this.fireTableCellUpdated = fireTableCellUpdated;
         this.fireTableDataChanged = fireTableDataChanged;
-        container = new DataContainer(rows, columns);
-        accessor = new ContainerBasedDataAccessor(container);
+        this.container = container;
+        this.recalculationMode = recalculationMode;
+        this.aggregateCache = new AggregateCache(AggregateCache.DEFAULT_CAPACITY, container.getRowCount());
+        DataAccessor containerAccessor = new ContainerBasedDataAccessor(container);
+        DataAccessor aggregatingAccessor = new AggregatingDataAccessor(containerAccessor, aggregateCache);
+        LazyDataAccessor lazyAccessor = null;
+        if (recalculationMode == RecalculationMode.LAZY) {
+            lazyAccessor = new LazyDataAccessor(aggregatingAccessor);
+            accessor = lazyAccessor;
+        } else {
+            accessor = aggregatingAccessor;
+        }
 
         ExpressionEvaluator expressionEvaluator = new SimpleExpressionEvaluator(accessor);
 
         dataFactory = new SimpleDataFactory(expressionEvaluator);
-        dataWatcher = new SimpleDataWatcher(accessor, expressionEvaluator, fireTableCellUpdated);
+        SimpleDataWatcher simpleDataWatcher = new SimpleDataWatcher(
+                containerAccessor, expressionEvaluator, recalculationStrategy, recalculationMode, fireTableCellUpdated
+        );
+        simpleDataWatcher.setCellValueListener(aggregateCache);
+        dataWatcher = simpleDataWatcher;
+        if (lazyAccessor != null) {
+            lazyAccessor.setDataWatcher(dataWatcher);
+        }
     }
 
     /**
      * Sets the data for a specified cell identified by its row and column indices.
      * The data is created using the {@link DataFactory} and stored in the underlying {@link DataContainer}.
-     * The {@link DataWatcher} is then notified of the update.
+     * The {@link DataWatcher} is then notified of the update. Inside a batch, the data is not evaluated
+     * and the table is not notified until the batch is committed. In {@link RecalculationMode#LAZY} mode,
+     * the whole table is notified, so that the visible cells are read and recalculated.
      *
      * @param row the row index of the cell.
      * @param column the column index of the cell.
@@ -71,14 +169,23 @@ public class SimpleDataManager implements DataManager {
     public void setData(int row, int column, String text) {
         CellReference reference = reference(row, column);
         if (text.isEmpty()) {
-            container.remove(reference);
+            Data previous = container.remove(reference);
+            aggregateCache.valueChanged(reference, valueOf(previous), null);
             dataWatcher.clear(reference);
         } else {
-            Data data = dataFactory.create(text);
-            container.put(reference, data);
+            Data data = batchDepth > 0 ? dataFactory.parse(text, reference) : dataFactory.create(text, reference);
+            Data previous = container.put(reference, data);
+            aggregateCache.valueChanged(reference, valueOf(previous), data.getValue());
             dataWatcher.update(data, reference);
         }
-        fireTableCellUpdated.accept(row, column);
+        if (batchDepth > 0) {
+            return;
+        }
+        if (recalculationMode == RecalculationMode.LAZY) {
+            fireTableDataChanged.run();
+        } else {
+            fireTableCellUpdated.accept(row, column);
+        }
     }
 
     /**
@@ -133,10 +240,59 @@ public class SimpleDataManager implements DataManager {
     public void clearData() {
         logger.info("Clearing data...");
         container.clearDataMap();
+        aggregateCache.clear();
         dataWatcher.clearAll();
         fireTableDataChanged.run();
     }
 
+    /**
+     * Starts a batch of changes. The outermost call starts a batch in the {@link DataWatcher}.
+     */
+    @Override
+    public void beginUpdate() {
+        if (batchDepth++ == 0) {
+            dataWatcher.beginUpdate();
+        }
+    }
+
+    /**
+     * Finishes a batch of changes. The outermost call commits the batch in the {@link DataWatcher},
+     * which evaluates every affected cell once, and then notifies the table that all the data is updated.
+     *
+     * @throws IllegalStateException if no batch has been started.
+     */
+    @Override
+    public void commit() {
+        if (batchDepth == 0) {
+            throw new IllegalStateException("No batch update has been started");
+        }
+        if (--batchDepth == 0) {
+            dataWatcher.commit();
+            fireTableDataChanged.run();
+        }
+    }
+
+    /**
+     * Recalculates some of the cells left dirty by lazy edits.
+     *
+     * @param maxCells the number of cells to recalculate, may be slightly exceeded.
+     * @return {@code true} if dirty cells remain after this step.
+     */
+    @Override
+    public boolean sweep(int maxCells) {
+        return dataWatcher.sweep(maxCells);
+    }
+
+    /**
+     * Returns the value of the data that was stored in a cell.
+     *
+     * @param data the data, {@code null} if the cell was empty.
+     * @return the value of the data, {@code null} if there is none.
+     */
+    private static Value valueOf(Data data) {
+        return data == null ? null : data.getValue();
+    }
+
     /**
      * Converts the specified row and column indices into a {@link CellReference}.
      * This method handles any exceptions that occur during the creation of the reference.
@@ -0,0 +1,128 @@
+package com.sanyavertolet.interview.data.recalculation;
+
+import com.sanyavertolet.interview.data.dependencies.DependencyGraph;
+import com.sanyavertolet.interview.math.CellReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of the {@link RecalculationStrategy} interface that recalculates independent cells
+ * concurrently on a {@link ForkJoinPool}.
+ * <p>
+ * The update list is split into dependency levels with {@link DependencyGraph#getUpdateLevels(List)}.
+ * Levels are processed one after another, and the cells of a level are split between the workers of the pool.
+ * As a cell only reads values of cells from earlier levels, which are completed before the level starts,
+ * the results are the same as with {@link SerialRecalculationStrategy}.
+ * <p>
+ * Levels smaller than the threshold are recalculated on the calling thread, as forking would cost more
+ * than it saves. Short update lists skip the level computation altogether.
+ */
+public class ForkJoinRecalculationStrategy implements RecalculationStrategy {
+    /**
+     * Default minimal number of cells in a level that is recalculated concurrently.
+     */
+    public static final int DEFAULT_THRESHOLD = 256;
+
+    private final static Logger logger = LoggerFactory.getLogger(ForkJoinRecalculationStrategy.class);
+    private final ForkJoinPool pool;
+    private final int threshold;
+    private final int granularity;
+
+    /**
+     * Constructs a {@code ForkJoinRecalculationStrategy} that runs on the given pool.
+     *
+     * @param pool      the pool to recalculate cells on.
+     * @param threshold the minimal number of cells in a level that is recalculated concurrently.
+     */
+    public ForkJoinRecalculationStrategy(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = Math.max(1, threshold);
+        this.granularity = Math.max(1, this.threshold / 4);
+    }
+
+    /**
+     * Constructs a {@code ForkJoinRecalculationStrategy} that runs on the common pool
+     * with the {@link #DEFAULT_THRESHOLD}.
+     */
+    public ForkJoinRecalculationStrategy() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Recalculates every cell of an update list, level by level, recalculating the cells of large levels
+     * concurrently.
+     *
+     * @param updateList      the cells to recalculate, in topological order.
+     * @param dependencyGraph the graph that produced the update list.
+     * @param recalculation   the action that recalculates a single cell.
+     */
+    @Override
+    public void recalculate(List<CellReference> updateList, DependencyGraph dependencyGraph, Consumer<CellReference> recalculation) {
+        if (updateList.size() < threshold) {
+            updateList.forEach(recalculation);
+            return;
+        }
+        List<List<CellReference>> levels = dependencyGraph.getUpdateLevels(updateList);
+        logger.debug("Recalculating {} cells in {} levels", updateList.size(), levels.size());
+        for (List<CellReference> level : levels) {
+            if (level.size() < threshold) {
+                level.forEach(recalculation);
+            } else {
+                pool.invoke(new LevelTask(level, 0, level.size(), granularity, recalculation));
+            }
+        }
+    }
+
+    /**
+     * A task that recalculates a slice of a level, splitting it in halves until it is small enough.
+     * It is never serialized: it only lives while the pool invokes it.
+     */
+    @SuppressWarnings("serial")
+    private static final class LevelTask extends RecursiveAction {
+        private final List<CellReference> level;
+        private final int from;
+        private final int to;
+        private final int granularity;
+        private final Consumer<CellReference> recalculation;
+
+        /**
+         * Constructs a {@code LevelTask} for the cells of a level in {@code [from, to)}.
+         *
+         * @param level         the cells of the level.
+         * @param from          the index of the first cell of the slice.
+         * @param to            the index after the last cell of the slice.
+         * @param granularity   the maximal number of cells recalculated without splitting the slice.
+         * @param recalculation the action that recalculates a single cell.
+         */
+        LevelTask(List<CellReference> level, int from, int to, int granularity, Consumer<CellReference> recalculation) {
+            this.level = level;
+            this.from = from;
+            this.to = to;
+            this.granularity = granularity;
+            this.recalculation = recalculation;
+        }
+
+        /**
+         * Recalculates the slice, or splits it in halves and recalculates them concurrently.
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= granularity) {
+                for (int i = from; i < to; i++) {
+                    recalculation.accept(level.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                    new LevelTask(level, from, middle, granularity, recalculation),
+                    new LevelTask(level, middle, to, granularity, recalculation)
+            );
+        }
+    }
+}
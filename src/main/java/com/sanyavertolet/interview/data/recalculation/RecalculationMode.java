@@ -0,0 +1,17 @@
+package com.sanyavertolet.interview.data.recalculation;
+
+/**
+ * Defines when the cells that depend on an edited cell are recalculated.
+ */
+public enum RecalculationMode {
+    /**
+     * All dependent cells are recalculated before the edit returns.
+     */
+    EAGER,
+
+    /**
+     * Dependent cells are only marked as dirty, and are recalculated when their values are read
+     * or when the remaining dirty cells are swept.
+     */
+    LAZY,
+}
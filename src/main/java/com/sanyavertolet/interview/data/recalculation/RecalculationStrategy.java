@@ -0,0 +1,25 @@
+package com.sanyavertolet.interview.data.recalculation;
+
+import com.sanyavertolet.interview.data.dependencies.DependencyGraph;
+import com.sanyavertolet.interview.math.CellReference;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Interface for strategies that recalculate the cells of an update list produced by a {@link DependencyGraph}.
+ * Implementations decide on which threads and in which order the cells are recalculated, but every cell
+ * must be recalculated after all the cells of the list it depends on, so the results do not depend on the strategy.
+ */
+public interface RecalculationStrategy {
+
+    /**
+     * Recalculates every cell of an update list exactly once and returns when all of them are recalculated.
+     *
+     * @param updateList      the cells to recalculate, in topological order.
+     * @param dependencyGraph the graph that produced the update list.
+     * @param recalculation   the action that recalculates a single cell. It may be called concurrently
+     *                        for cells that do not depend on each other.
+     */
+    void recalculate(List<CellReference> updateList, DependencyGraph dependencyGraph, Consumer<CellReference> recalculation);
+}
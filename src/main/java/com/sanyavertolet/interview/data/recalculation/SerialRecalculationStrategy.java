@@ -0,0 +1,26 @@
+package com.sanyavertolet.interview.data.recalculation;
+
+import com.sanyavertolet.interview.data.dependencies.DependencyGraph;
+import com.sanyavertolet.interview.math.CellReference;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of the {@link RecalculationStrategy} interface that recalculates cells one by one
+ * on the calling thread, following the order of the update list.
+ */
+public class SerialRecalculationStrategy implements RecalculationStrategy {
+
+    /**
+     * Recalculates every cell of an update list on the calling thread, in the order of the list.
+     *
+     * @param updateList      the cells to recalculate, in topological order.
+     * @param dependencyGraph the graph that produced the update list, not used by this strategy.
+     * @param recalculation   the action that recalculates a single cell.
+     */
+    @Override
+    public void recalculate(List<CellReference> updateList, DependencyGraph dependencyGraph, Consumer<CellReference> recalculation) {
+        updateList.forEach(recalculation);
+    }
+}
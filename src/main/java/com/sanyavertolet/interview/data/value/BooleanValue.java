@@ -3,25 +3,44 @@ package com.sanyavertolet.interview.data.value;
 import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
 import com.sanyavertolet.interview.exceptions.expressions.ValueCastException;
 
-import java.util.Objects;
-
 /**
  * A final class representing a boolean value in an expression. The {@code BooleanValue} class extends
  * the {@link Value} class and provides specific implementations for handling arithmetic operations,
  * comparisons, and conversions involving boolean values.
  */
 public final class BooleanValue extends Value {
-    private final Boolean value;
+    /**
+     * The canonical {@code BooleanValue} of {@code true}.
+     */
+    public static final BooleanValue TRUE = new BooleanValue(true);
+
+    /**
+     * The canonical {@code BooleanValue} of {@code false}.
+     */
+    public static final BooleanValue FALSE = new BooleanValue(false);
+
+    private final boolean value;
 
     /**
      * Constructs a {@code BooleanValue} with the specified boolean value.
+     * Prefer {@link #valueOf(boolean)}, which returns the canonical instances.
      *
      * @param value the boolean value to be represented by this {@code BooleanValue}.
      */
-    public BooleanValue(Boolean value) {
+    public BooleanValue(boolean value) {
         this.value = value;
     }
 
+    /**
+     * Returns the canonical {@code BooleanValue} for the given boolean.
+     *
+     * @param value the boolean value.
+     * @return {@link #TRUE} or {@link #FALSE}.
+     */
+    public static BooleanValue valueOf(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
     /**
      * Adds this boolean value to another {@link Value}. The boolean is first converted to an integer (1 for true, 0 for false),
      * and then the addition is performed. Supports addition with {@link BooleanValue}, {@link IntegerValue}, and {@link DoubleValue}.
@@ -33,9 +52,9 @@ public final class BooleanValue extends Value {
     @Override
     public Value plus(Value other) throws ValueCastException {
         if (other instanceof BooleanValue || other instanceof IntegerValue) {
-            return Value.of(asInteger() + other.asInteger());
+            return Value.of(intValue() + other.intValue());
         } else if (other instanceof DoubleValue) {
-            return Value.of(asDouble() + other.asDouble());
+            return Value.of(doubleValue() + other.doubleValue());
         }
         return super.plus(other);
     }
@@ -51,9 +70,9 @@ public final class BooleanValue extends Value {
     @Override
     public Value minus(Value other) throws ValueCastException {
         if (other instanceof BooleanValue || other instanceof IntegerValue) {
-            return Value.of(asInteger() - other.asInteger());
+            return Value.of(intValue() - other.intValue());
         } else if (other instanceof DoubleValue) {
-            return Value.of(asDouble() - other.asDouble());
+            return Value.of(doubleValue() - other.doubleValue());
         }
         return super.minus(other);
     }
@@ -69,9 +88,9 @@ public final class BooleanValue extends Value {
     @Override
     public Value multiply(Value other) throws ValueCastException {
         if (other instanceof BooleanValue || other instanceof IntegerValue) {
-            return Value.of(asInteger() * other.asInteger());
+            return Value.of(intValue() * other.intValue());
         } else if (other instanceof DoubleValue) {
-            return Value.of(asDouble() * other.asDouble());
+            return Value.of(doubleValue() * other.doubleValue());
         }
         return super.multiply(other);
     }
@@ -88,13 +107,13 @@ public final class BooleanValue extends Value {
      */
     @Override
     public Value divide(Value other) throws ExpressionEvaluationException {
-        if (other.asDouble().equals(0.0)) {
+        if (other.doubleValue() == 0.0) {
             throw new ExpressionEvaluationException("Division by zero");
         }
         if (other instanceof BooleanValue || other instanceof IntegerValue) {
-            return Value.of(asInteger() / other.asInteger());
+            return Value.of(intValue() / other.intValue());
         } else if (other instanceof DoubleValue) {
-            return Value.of(asDouble() / other.asDouble());
+            return Value.of(doubleValue() / other.doubleValue());
         }
         return super.divide(other);
     }
@@ -110,7 +129,7 @@ public final class BooleanValue extends Value {
     @Override
     public Value pow(Value other) throws ValueCastException {
         if (other instanceof IntegerValue || other instanceof DoubleValue || other instanceof BooleanValue) {
-            return Value.of(Math.pow(asDouble(), other.asDouble()));
+            return Value.of(Math.pow(doubleValue(), other.doubleValue()));
         }
         return super.pow(other);
     }
@@ -126,7 +145,7 @@ public final class BooleanValue extends Value {
     @Override
     public Value lt(Value other) throws ValueCastException {
         if (other instanceof IntegerValue || other instanceof DoubleValue || other instanceof BooleanValue) {
-            return Value.of(asDouble() < other.asDouble());
+            return Value.of(doubleValue() < other.doubleValue());
         }
         return super.lt(other);
     }
@@ -142,7 +161,7 @@ public final class BooleanValue extends Value {
     @Override
     public Value gt(Value other) throws ValueCastException {
         if (other instanceof IntegerValue || other instanceof DoubleValue) {
-            return Value.of(asDouble() > other.asDouble());
+            return Value.of(doubleValue() > other.doubleValue());
         }
         return super.gt(other);
     }
@@ -158,7 +177,7 @@ public final class BooleanValue extends Value {
     @Override
     public Value leq(Value other) throws ValueCastException {
         if (other instanceof IntegerValue || other instanceof DoubleValue || other instanceof BooleanValue) {
-            return Value.of(asDouble() <= other.asDouble());
+            return Value.of(doubleValue() <= other.doubleValue());
         }
         return super.leq(other);
     }
@@ -174,7 +193,7 @@ public final class BooleanValue extends Value {
     @Override
     public Value geq(Value other) throws ValueCastException {
         if (other instanceof IntegerValue || other instanceof DoubleValue || other instanceof BooleanValue) {
-            return Value.of(asDouble() >= other.asDouble());
+            return Value.of(doubleValue() >= other.doubleValue());
         }
         return super.geq(other);
     }
@@ -185,7 +204,7 @@ public final class BooleanValue extends Value {
      * @return the boolean value.
      */
     @Override
-    public Boolean asBoolean() {
+    public boolean booleanValue() {
         return value;
     }
 
@@ -195,7 +214,7 @@ public final class BooleanValue extends Value {
      * @return the double value.
      */
     @Override
-    public Double asDouble() {
+    public double doubleValue() {
         return value ? 1.0 : 0.0;
     }
 
@@ -205,7 +224,7 @@ public final class BooleanValue extends Value {
      * @return the integer value.
      */
     @Override
-    public Integer asInteger() {
+    public int intValue() {
         return value ? 1 : 0;
     }
 
@@ -216,7 +235,7 @@ public final class BooleanValue extends Value {
      */
     @Override
     public String toString() {
-        return value.toString();
+        return Boolean.toString(value);
     }
 
     /**
@@ -232,9 +251,9 @@ public final class BooleanValue extends Value {
             return true;
         }
         if (obj instanceof BooleanValue booleanValue) {
-            return asBoolean() == booleanValue.asBoolean();
+            return value == booleanValue.value;
         } else if (obj instanceof Boolean booleanClass) {
-            return asBoolean() == booleanClass;
+            return value == booleanClass;
         }
         return false;
     }
@@ -246,6 +265,6 @@ public final class BooleanValue extends Value {
      */
     @Override
     public int hashCode() {
-        return Objects.hashCode(value);
+        return Boolean.hashCode(value);
     }
 }
@@ -3,22 +3,20 @@ package com.sanyavertolet.interview.data.value;
 import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
 import com.sanyavertolet.interview.exceptions.expressions.ValueCastException;
 
-import java.util.Objects;
-
 /**
  * A final class representing a double value in an expression. The {@code DoubleValue} class extends
  * the {@link Value} class and provides specific implementations for handling arithmetic operations,
  * comparisons, and conversions involving double values.
  */
 public final class DoubleValue extends Value {
-    private final Double value;
+    private final double value;
 
     /**
      * Constructs a {@code DoubleValue} with the specified double value.
      *
      * @param value the double value to be represented by this {@code DoubleValue}.
      */
-    public DoubleValue(Double value) {
+    public DoubleValue(double value) {
         this.value = value;
     }
 
@@ -31,7 +29,7 @@ public final class DoubleValue extends Value {
      */
     @Override
     public Value plus(Value other) throws ValueCastException {
-        return Value.of(value + other.asDouble());
+        return Value.of(value + other.doubleValue());
     }
 
     /**
@@ -43,7 +41,7 @@ public final class DoubleValue extends Value {
      */
     @Override
     public Value minus(Value other) throws ValueCastException {
-        return Value.of(value - other.asDouble());
+        return Value.of(value - other.doubleValue());
     }
 
     /**
@@ -55,7 +53,7 @@ public final class DoubleValue extends Value {
      */
     @Override
     public Value multiply(Value other) throws ValueCastException {
-        return Value.of(value * other.asDouble());
+        return Value.of(value * other.doubleValue());
     }
 
     /**
@@ -69,10 +67,11 @@ public final class DoubleValue extends Value {
      */
     @Override
     public Value divide(Value other) throws ExpressionEvaluationException {
-        if (other.asDouble().equals(0.0)) {
+        double divisor = other.doubleValue();
+        if (divisor == 0.0) {
             throw new ExpressionEvaluationException("Division by zero");
         }
-        return Value.of(value / other.asDouble());
+        return Value.of(value / divisor);
     }
 
     /**
@@ -84,7 +83,7 @@ public final class DoubleValue extends Value {
      */
     @Override
     public Value pow(Value other) throws ValueCastException {
-        return Value.of(Math.pow(value, other.asDouble()));
+        return Value.of(Math.pow(value, other.doubleValue()));
     }
 
     /**
@@ -96,7 +95,7 @@ public final class DoubleValue extends Value {
      */
     @Override
     public Value lt(Value other) throws ValueCastException {
-        return Value.of(asDouble() < other.asDouble());
+        return Value.of(value < other.doubleValue());
     }
 
     /**
@@ -108,7 +107,7 @@ public final class DoubleValue extends Value {
      */
     @Override
     public Value gt(Value other) throws ValueCastException {
-        return Value.of(asDouble() > other.asDouble());
+        return Value.of(value > other.doubleValue());
     }
 
     /**
@@ -120,7 +119,7 @@ public final class DoubleValue extends Value {
      */
     @Override
     public Value leq(Value other) throws ValueCastException {
-        return Value.of(asDouble() <= other.asDouble());
+        return Value.of(value <= other.doubleValue());
     }
 
     /**
@@ -132,7 +131,7 @@ public final class DoubleValue extends Value {
      */
     @Override
     public Value geq(Value other) throws ValueCastException {
-        return Value.of(asDouble() >= other.asDouble());
+        return Value.of(value >= other.doubleValue());
     }
 
     /**
@@ -141,7 +140,7 @@ public final class DoubleValue extends Value {
      * @return the double value.
      */
     @Override
-    public Double asDouble() {
+    public double doubleValue() {
         return value;
     }
 
@@ -152,7 +151,7 @@ public final class DoubleValue extends Value {
      */
     @Override
     public String toString() {
-        return value.toString();
+        return Double.toString(value);
     }
 
     /**
@@ -168,24 +167,24 @@ public final class DoubleValue extends Value {
             return true;
         }
         if (obj instanceof IntegerValue integerValue) {
-            return asDouble().equals(integerValue.asDouble());
+            return Double.compare(value, integerValue.doubleValue()) == 0;
         } else if (obj instanceof DoubleValue doubleValue) {
-            return asDouble().equals(doubleValue.asDouble());
+            return Double.compare(value, doubleValue.value) == 0;
         } else if (obj instanceof Double doubleClass) {
-            return asDouble().equals(doubleClass);
+            return Double.compare(value, doubleClass) == 0;
         } else if (obj instanceof Integer integer) {
-            return asDouble().equals(integer.doubleValue());
+            return Double.compare(value, integer) == 0;
         }
         return false;
     }
 
     /**
-     * Returns the hash code for this {@code DoubleValue}.
+     * Returns the hash code for this {@code DoubleValue}. The hash code is the same as of an equal {@link IntegerValue}.
      *
      * @return the hash code of the double value.
      */
     @Override
     public int hashCode() {
-        return Objects.hashCode(value);
+        return Double.hashCode(value);
     }
 }
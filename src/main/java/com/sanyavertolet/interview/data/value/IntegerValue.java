@@ -3,25 +3,62 @@ package com.sanyavertolet.interview.data.value;
 import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
 import com.sanyavertolet.interview.exceptions.expressions.ValueCastException;
 
-import java.util.Objects;
-
 /**
  * A final class representing an integer value in an expression. The {@code IntegerValue} class extends
  * the {@link Value} class and provides specific implementations for handling arithmetic operations,
  * comparisons, and conversions involving integer values.
+ * <p>
+ * Instances for integers from {@value #CACHE_LOW} to {@value #CACHE_HIGH} are cached, see {@link #valueOf(int)}.
+ * An {@code IntegerValue} is equal to a {@link DoubleValue} holding the same number, so both hash their value
+ * as a {@code double}.
  */
 public final class IntegerValue extends Value {
-    private final Integer value;
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1024;
+    private static final IntegerValue[] cache = new IntegerValue[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < cache.length; i++) {
+            cache[i] = new IntegerValue(CACHE_LOW + i);
+        }
+    }
+
+    /**
+     * The cached {@code IntegerValue} of zero.
+     */
+    public static final IntegerValue ZERO = valueOf(0);
+
+    /**
+     * The cached {@code IntegerValue} of one.
+     */
+    public static final IntegerValue ONE = valueOf(1);
+
+    private final int value;
 
     /**
      * Constructs an {@code IntegerValue} with the specified integer value.
+     * Prefer {@link #valueOf(int)}, which returns cached instances for small integers.
      *
      * @param value the integer value to be represented by this {@code IntegerValue}.
      */
-    public IntegerValue(Integer value) {
+    public IntegerValue(int value) {
         this.value = value;
     }
 
+    /**
+     * Returns an {@code IntegerValue} for the given integer, a cached one if the integer
+     * is between {@value #CACHE_LOW} and {@value #CACHE_HIGH}.
+     *
+     * @param value the integer value.
+     * @return the {@code IntegerValue} representing the integer.
+     */
+    public static IntegerValue valueOf(int value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+            return cache[value - CACHE_LOW];
+        }
+        return new IntegerValue(value);
+    }
+
     /**
      * Adds this integer value to another {@link Value}. Supports addition with both {@link IntegerValue}
      * and {@link DoubleValue}.
@@ -33,9 +70,9 @@ public final class IntegerValue extends Value {
     @Override
     public Value plus(Value other) throws ValueCastException {
         if (other instanceof DoubleValue) {
-            return Value.of(value + other.asDouble());
+            return Value.of(value + other.doubleValue());
         }
-        return Value.of(value + other.asInteger());
+        return Value.of(value + other.intValue());
     }
 
     /**
@@ -49,9 +86,9 @@ public final class IntegerValue extends Value {
     @Override
     public Value minus(Value other) throws ValueCastException {
         if (other instanceof DoubleValue) {
-            return Value.of(value - other.asDouble());
+            return Value.of(value - other.doubleValue());
         }
-        return Value.of(value - other.asInteger());
+        return Value.of(value - other.intValue());
     }
 
     /**
@@ -65,9 +102,9 @@ public final class IntegerValue extends Value {
     @Override
     public Value multiply(Value other) throws ValueCastException {
         if (other instanceof DoubleValue) {
-            return Value.of(value * other.asDouble());
+            return Value.of(value * other.doubleValue());
         }
-        return Value.of(value * other.asInteger());
+        return Value.of(value * other.intValue());
     }
 
     /**
@@ -83,13 +120,14 @@ public final class IntegerValue extends Value {
      */
     @Override
     public Value divide(Value other) throws ExpressionEvaluationException {
-        if (other.asDouble().equals(0.0)) {
+        double divisor = other.doubleValue();
+        if (divisor == 0.0) {
             throw new ExpressionEvaluationException("Division by zero");
         }
-        if (other instanceof DoubleValue || asInteger() % other.asInteger() != 0) {
-            return Value.of(value / other.asDouble());
+        if (other instanceof DoubleValue || value % other.intValue() != 0) {
+            return Value.of(value / divisor);
         }
-        return Value.of(value / other.asInteger());
+        return Value.of(value / other.intValue());
     }
 
     /**
@@ -101,7 +139,7 @@ public final class IntegerValue extends Value {
      */
     @Override
     public Value pow(Value other) throws ValueCastException {
-        return Value.of(Math.pow(value, other.asDouble()));
+        return Value.of(Math.pow(value, other.doubleValue()));
     }
 
     /**
@@ -113,7 +151,7 @@ public final class IntegerValue extends Value {
      */
     @Override
     public Value lt(Value other) throws ValueCastException {
-        return Value.of(asDouble() < other.asDouble());
+        return Value.of(value < other.doubleValue());
     }
 
     /**
@@ -125,7 +163,7 @@ public final class IntegerValue extends Value {
      */
     @Override
     public Value gt(Value other) throws ValueCastException {
-        return Value.of(asDouble() > other.asDouble());
+        return Value.of(value > other.doubleValue());
     }
 
     /**
@@ -137,7 +175,7 @@ public final class IntegerValue extends Value {
      */
     @Override
     public Value leq(Value other) throws ValueCastException {
-        return Value.of(asDouble() <= other.asDouble());
+        return Value.of(value <= other.doubleValue());
     }
 
     /**
@@ -149,7 +187,7 @@ public final class IntegerValue extends Value {
      */
     @Override
     public Value geq(Value other) throws ValueCastException {
-        return Value.of(asDouble() >= other.asDouble());
+        return Value.of(value >= other.doubleValue());
     }
 
     /**
@@ -158,8 +196,8 @@ public final class IntegerValue extends Value {
      * @return the double value.
      */
     @Override
-    public Double asDouble() {
-        return value.doubleValue();
+    public double doubleValue() {
+        return value;
     }
 
     /**
@@ -168,7 +206,7 @@ public final class IntegerValue extends Value {
      * @return the integer value.
      */
     @Override
-    public Integer asInteger() {
+    public int intValue() {
         return value;
     }
 
@@ -179,7 +217,7 @@ public final class IntegerValue extends Value {
      */
     @Override
     public String toString() {
-        return value.toString();
+        return Integer.toString(value);
     }
 
     /**
@@ -195,24 +233,25 @@ public final class IntegerValue extends Value {
             return true;
         }
         if (obj instanceof IntegerValue integerValue) {
-            return asInteger().equals(integerValue.asInteger());
+            return value == integerValue.value;
         } else if (obj instanceof DoubleValue doubleValue) {
-            return asDouble().equals(doubleValue.asDouble());
+            return Double.compare(value, doubleValue.doubleValue()) == 0;
         } else if (obj instanceof Double doubleClass) {
-            return asDouble().equals(doubleClass);
+            return Double.compare(value, doubleClass) == 0;
         } else if (obj instanceof Integer integer) {
-            return asInteger().equals(integer);
+            return value == integer;
         }
         return false;
     }
 
     /**
-     * Returns the hash code for this {@code IntegerValue}.
+     * Returns the hash code for this {@code IntegerValue}. The value is hashed as a {@code double},
+     * so the hash code is the same as of an equal {@link DoubleValue}.
      *
      * @return the hash code of the integer value.
      */
     @Override
     public int hashCode() {
-        return Objects.hashCode(value);
+        return Double.hashCode(value);
     }
 }
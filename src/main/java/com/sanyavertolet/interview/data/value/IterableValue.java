@@ -45,7 +45,7 @@ public final class IterableValue extends Value {
     /**
      * Compares this {@code IterableValue} to another object for equality.
      * Returns {@code true} if the other object is also an {@code IterableValue} and contains the same
-     * sequence of {@link Value} instances.
+     * sequence of {@link Value} instances, or if it is a {@link RangeValue} whose cells hold that sequence.
      *
      * @param obj the object to compare with this {@code IterableValue}.
      * @return {@code true} if the specified object is equal to this {@code IterableValue}; {@code false} otherwise.
@@ -55,6 +55,9 @@ public final class IterableValue extends Value {
         if (this == obj) {
             return true;
         }
+        if (obj instanceof RangeValue rangeValue) {
+            return equals(rangeValue.toIterableValue());
+        }
         if (!(obj instanceof IterableValue iterableValue)) {
             return false;
         }
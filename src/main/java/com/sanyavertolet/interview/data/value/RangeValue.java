@@ -0,0 +1,110 @@
+package com.sanyavertolet.interview.data.value;
+
+import com.sanyavertolet.interview.data.accessor.DataAccessor;
+import com.sanyavertolet.interview.data.aggregate.RangeAggregate;
+import com.sanyavertolet.interview.data.container.RangeVisitor;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A final class representing a range of cells passed as an argument to a function. Unlike {@link IterableValue},
+ * the values of the cells are not collected: the range is read through a {@link DataAccessor} every time
+ * it is visited, see {@link #visitNonEmpty(RangeVisitor)}, so aggregating a range allocates nothing
+ * proportional to its size.
+ * <p>
+ * A {@code RangeValue} reflects the current contents of the cells, so it is never stored as a result,
+ * see {@link #toIterableValue()}.
+ */
+public final class RangeValue extends Value {
+    private final RangeExpression range;
+    private final DataAccessor dataAccessor;
+
+    /**
+     * Constructs a {@code RangeValue} for the given range.
+     *
+     * @param range the range of cells.
+     * @param dataAccessor the data accessor used to read the cells of the range.
+     */
+    public RangeValue(RangeExpression range, DataAccessor dataAccessor) {
+        this.range = range;
+        this.dataAccessor = dataAccessor;
+    }
+
+    /**
+     * Returns the range of cells represented by this {@code RangeValue}.
+     *
+     * @return the range expression.
+     */
+    public RangeExpression getRange() {
+        return range;
+    }
+
+    /**
+     * Passes every non-empty cell of the range to the visitor, in row-major order.
+     *
+     * @param visitor the visitor of the non-empty cells.
+     */
+    public void visitNonEmpty(RangeVisitor visitor) {
+        dataAccessor.visitNonEmpty(range, visitor);
+    }
+
+    /**
+     * Computes the sum and the count of the numbers of the range, see {@link DataAccessor#aggregate(RangeExpression)}.
+     *
+     * @return the aggregate of the range.
+     */
+    public RangeAggregate aggregate() {
+        return dataAccessor.aggregate(range);
+    }
+
+    /**
+     * Collects the values of the non-empty cells of the range into an {@link IterableValue}.
+     *
+     * @return the values of the range.
+     */
+    public IterableValue toIterableValue() {
+        List<Value> values = new ArrayList<>();
+        dataAccessor.forEachNonEmpty(range, data -> values.add(data.getValue()));
+        return new IterableValue(values);
+    }
+
+    /**
+     * Returns a string representation of the values of the range, the same as of {@link #toIterableValue()}.
+     *
+     * @return the string representation of this {@code RangeValue}.
+     */
+    @Override
+    public String toString() {
+        return toIterableValue().toString();
+    }
+
+    /**
+     * Compares the values of the range to another object. Returns {@code true} if the other object
+     * is a {@code RangeValue} or an {@link IterableValue} with the same sequence of values.
+     *
+     * @param obj the object to compare with this {@code RangeValue}.
+     * @return {@code true} if the specified object holds the same values; {@code false} otherwise.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof RangeValue rangeValue) {
+            return toIterableValue().equals(rangeValue.toIterableValue());
+        }
+        return obj instanceof IterableValue && toIterableValue().equals(obj);
+    }
+
+    /**
+     * Returns the hash code of the values of the range, the same as of {@link #toIterableValue()}.
+     *
+     * @return the hash code of this {@code RangeValue}.
+     */
+    @Override
+    public int hashCode() {
+        return toIterableValue().hashCode();
+    }
+}
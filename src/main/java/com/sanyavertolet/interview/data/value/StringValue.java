@@ -7,6 +7,11 @@ import java.util.Objects;
  * the {@link Value} class and provides specific implementations for handling string data.
  */
 public final class StringValue extends Value {
+    /**
+     * The shared {@code StringValue} of an empty string.
+     */
+    public static final StringValue EMPTY = new StringValue("");
+
     private final String value;
 
     /**
@@ -7,14 +7,20 @@ import com.sanyavertolet.interview.exceptions.expressions.ValueCastException;
  * An abstract sealed class representing a value that can be used in expressions and evaluated.
  * The {@code Value} class provides basic arithmetic and comparison operations, and it permits
  * specific subclasses such as {@link BooleanValue}, {@link DoubleValue}, {@link StringValue},
- * {@link IntegerValue}, and {@link IterableValue}.
+ * {@link IntegerValue}, {@link IterableValue} and {@link RangeValue}.
  * <p>
  * Subclasses of {@code Value} are expected to implement these operations where appropriate.
  * By default, most operations will throw a {@link ValueCastException} if they are not supported
  * by the specific type of value.
  * </p>
+ * <p>
+ * Numeric and boolean values hold primitives. Operations read their operands with the primitive accessors
+ * {@link #doubleValue()}, {@link #intValue()} and {@link #booleanValue()}, so the only object allocated
+ * by an operation is its result. The boxing {@code asDouble()}, {@code asInteger()} and {@code asBoolean()}
+ * are kept for callers outside the arithmetic path.
+ * </p>
  */
-public sealed abstract class Value permits BooleanValue, DoubleValue, StringValue, IntegerValue, IterableValue {
+public sealed abstract class Value permits BooleanValue, DoubleValue, StringValue, IntegerValue, IterableValue, RangeValue {
 
     /**
      * Adds this value to another value. By default, throws a {@link ValueCastException}.
@@ -146,74 +152,117 @@ public sealed abstract class Value permits BooleanValue, DoubleValue, StringValu
     }
 
     /**
-     * Returns the double representation of this value. By default, throws a {@link ValueCastException}.
+     * Returns the double representation of this value as a primitive. By default, throws a {@link ValueCastException}.
      *
      * @return the double representation of this value.
      * @throws ValueCastException if the conversion is not supported.
      */
-    public Double asDouble() throws ValueCastException {
+    public double doubleValue() throws ValueCastException {
         throw new ValueCastException(this, Double.class);
     }
 
     /**
-     * Returns the integer representation of this value. By default, throws a {@link ValueCastException}.
+     * Returns the integer representation of this value as a primitive. By default, throws a {@link ValueCastException}.
      *
      * @return the integer representation of this value.
      * @throws ValueCastException if the conversion is not supported.
      */
-    public Integer asInteger() throws ValueCastException {
+    public int intValue() throws ValueCastException {
         throw new ValueCastException(this, Integer.class);
     }
 
     /**
-     * Returns the boolean representation of this value. By default, throws a {@link ValueCastException}.
+     * Returns the integer representation of this value widened to a primitive {@code long}.
+     * By default, delegates to {@link #intValue()}.
+     *
+     * @return the integer representation of this value.
+     * @throws ValueCastException if the conversion is not supported.
+     */
+    public long longValue() throws ValueCastException {
+        return intValue();
+    }
+
+    /**
+     * Returns the boolean representation of this value as a primitive. By default, throws a {@link ValueCastException}.
      *
      * @return the boolean representation of this value.
      * @throws ValueCastException if the conversion is not supported.
      */
-    public Boolean asBoolean() throws ValueCastException {
+    public boolean booleanValue() throws ValueCastException {
         throw new ValueCastException(this, Boolean.class);
     }
 
     /**
-     * Creates a {@code Value} instance from a double. If the value is an integer, it returns an {@link IntegerValue};
-     * otherwise, it returns a {@link DoubleValue}.
+     * Returns the double representation of this value, boxing the result of {@link #doubleValue()}.
+     *
+     * @return the double representation of this value.
+     * @throws ValueCastException if the conversion is not supported.
+     */
+    public Double asDouble() throws ValueCastException {
+        return doubleValue();
+    }
+
+    /**
+     * Returns the integer representation of this value, boxing the result of {@link #intValue()}.
+     *
+     * @return the integer representation of this value.
+     * @throws ValueCastException if the conversion is not supported.
+     */
+    public Integer asInteger() throws ValueCastException {
+        return intValue();
+    }
+
+    /**
+     * Returns the boolean representation of this value, boxing the result of {@link #booleanValue()}.
+     *
+     * @return the boolean representation of this value.
+     * @throws ValueCastException if the conversion is not supported.
+     */
+    public Boolean asBoolean() throws ValueCastException {
+        return booleanValue();
+    }
+
+    /**
+     * Creates a {@code Value} instance from a double. If the value is an integer within the range of {@code int},
+     * it returns an {@link IntegerValue}; otherwise, it returns a {@link DoubleValue}.
      *
      * @param value the double value.
      * @return a {@code Value} instance representing the provided double value.
      */
-    public static Value of(Double value) {
-        return value.intValue() == value ? new IntegerValue(value.intValue()) : new DoubleValue(value);
+    public static Value of(double value) {
+        int intValue = (int) value;
+        return intValue == value ? IntegerValue.valueOf(intValue) : new DoubleValue(value);
     }
 
     /**
-     * Creates a {@code Value} instance from a string.
+     * Creates a {@code Value} instance from a string. An empty string is represented by {@link StringValue#EMPTY}.
      *
      * @param value the string value.
      * @return a {@code Value} instance representing the provided string value.
      */
     public static Value of(String value) {
-        return new StringValue(value);
+        return value != null && value.isEmpty() ? StringValue.EMPTY : new StringValue(value);
     }
 
     /**
-     * Creates a {@code Value} instance from a boolean.
+     * Creates a {@code Value} instance from a boolean, one of the canonical {@link BooleanValue#TRUE}
+     * and {@link BooleanValue#FALSE}.
      *
      * @param value the boolean value.
      * @return a {@code Value} instance representing the provided boolean value.
      */
-    public static Value of(Boolean value) {
-        return new BooleanValue(value);
+    public static Value of(boolean value) {
+        return BooleanValue.valueOf(value);
     }
 
     /**
-     * Creates a {@code Value} instance from an integer.
+     * Creates a {@code Value} instance from an integer. Small integers are cached, see {@link IntegerValue#valueOf(int)}.
      *
      * @param value the integer value.
      * @return a {@code Value} instance representing the provided integer value.
      */
-    public static Value of(Integer value) {
-        return new IntegerValue(value);
+    public static Value of(int value) {
+        return IntegerValue.valueOf(value);
     }
 
     /**
@@ -232,11 +281,11 @@ public sealed abstract class Value permits BooleanValue, DoubleValue, StringValu
         }
 
         try {
-            return Value.of(Integer.valueOf(valueText));
+            return Value.of(Integer.parseInt(valueText));
         } catch (NumberFormatException ignored) { }
 
         try {
-            return Value.of(Double.valueOf(valueText));
+            return Value.of(Double.parseDouble(valueText));
         } catch (NumberFormatException ignored) { }
 
         return Value.of(valueText);
@@ -0,0 +1,24 @@
+package com.sanyavertolet.interview.data.watcher;
+
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.math.CellReference;
+
+/**
+ * A listener of changes of cell values, e.g. {@link com.sanyavertolet.interview.data.aggregate.AggregateCache}.
+ * It is notified of every value that is stored into a cell, recalculated or marked as an error.
+ * <p>
+ * Cells may be recalculated concurrently, see {@link com.sanyavertolet.interview.data.recalculation.ForkJoinRecalculationStrategy},
+ * so implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface CellValueListener {
+
+    /**
+     * Called after the value of a cell has changed.
+     *
+     * @param reference the reference to the cell.
+     * @param previous the previous value of the cell, {@code null} if it was empty or an error.
+     * @param current the current value of the cell, {@code null} if it is empty or an error.
+     */
+    void valueChanged(CellReference reference, Value previous, Value current);
+}
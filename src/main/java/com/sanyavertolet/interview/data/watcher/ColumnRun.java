@@ -0,0 +1,193 @@
+package com.sanyavertolet.interview.data.watcher;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.accessor.DataAccessor;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.AnchoredExpression;
+import com.sanyavertolet.interview.math.expressions.Expression;
+import com.sanyavertolet.interview.math.expressions.evaluator.ColumnKernel;
+import com.sanyavertolet.interview.utils.collections.LongHashSet;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A run of cells in consecutive rows of a column that share the template of their formula, see {@link AnchoredExpression},
+ * and can be evaluated at once by a {@link ColumnKernel}. Runs are found in an update list by {@link #find},
+ * which only picks the cells whose inputs are not recalculated by the same update list, so a run can be evaluated
+ * before the rest of the list.
+ */
+final class ColumnRun {
+    /**
+     * The minimal number of cells in a run. Shorter runs are cheaper to evaluate cell by cell.
+     */
+    static final int MIN_LENGTH = 16;
+
+    private final ColumnKernel kernel;
+    private final int firstRowOffset;
+    private final int columnOffset;
+    private final List<Cell> cells;
+
+    /**
+     * Constructs a {@code ColumnRun}.
+     *
+     * @param kernel the compiled template of the run.
+     * @param columnOffset the column offset of the cells from the cell of the template.
+     * @param cells the cells of the run, in consecutive rows.
+     */
+    private ColumnRun(ColumnKernel kernel, int columnOffset, List<Cell> cells) {
+        this.kernel = kernel;
+        this.firstRowOffset = cells.get(0).rowOffset();
+        this.columnOffset = columnOffset;
+        this.cells = cells;
+    }
+
+    /**
+     * Finds the runs of at least {@link #MIN_LENGTH} cells among the cells of an update list.
+     * A cell may be a part of a run if it passes the filter, its formula compiles into a {@link ColumnKernel},
+     * and none of the cells it reads holds a formula that is in the update list.
+     * An update list shorter than {@link #MIN_LENGTH} cannot hold a run, so it is not scanned at all.
+     *
+     * @param updateList the cells to recalculate.
+     * @param dataAccessor the data accessor used to read the cells.
+     * @param filter the filter of the cells that need to be recalculated.
+     * @return the runs found.
+     */
+    static List<ColumnRun> find(List<CellReference> updateList, DataAccessor dataAccessor, Predicate<CellReference> filter) {
+        if (updateList.size() < MIN_LENGTH) {
+            return List.of();
+        }
+        LongHashSet pending = new LongHashSet();
+        Map<Column, List<Cell>> columns = new HashMap<>();
+        for (CellReference reference : updateList) {
+            Data data = dataAccessor.getData(reference);
+            Expression expression = data.getExpressionTree();
+            if (expression == null) {
+                continue;
+            }
+            pending.add(reference.key());
+            if (filter.test(reference)) {
+                Column column = expression instanceof AnchoredExpression anchoredExpression
+                        ? new Column(anchoredExpression.getTemplate(), anchoredExpression.getColumnOffset())
+                        : new Column(expression, 0);
+                int rowOffset = expression instanceof AnchoredExpression anchoredExpression ? anchoredExpression.getRowOffset() : 0;
+                columns.computeIfAbsent(column, key -> new ArrayList<>()).add(new Cell(reference, data, rowOffset));
+            }
+        }
+        List<ColumnRun> runs = new ArrayList<>();
+        for (Map.Entry<Column, List<Cell>> entry : columns.entrySet()) {
+            if (entry.getValue().size() >= MIN_LENGTH) {
+                addRuns(runs, entry.getKey(), entry.getValue(), pending);
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * Returns the references of the cells of this run, in consecutive rows.
+     *
+     * @return the references of the cells.
+     */
+    List<CellReference> getReferences() {
+        List<CellReference> references = new ArrayList<>(cells.size());
+        for (Cell cell : cells) {
+            references.add(cell.reference());
+        }
+        return references;
+    }
+
+    /**
+     * Returns the data of the cells of this run, in consecutive rows.
+     *
+     * @return the data of the cells.
+     */
+    List<Data> getData() {
+        List<Data> data = new ArrayList<>(cells.size());
+        for (Cell cell : cells) {
+            data.add(cell.data());
+        }
+        return data;
+    }
+
+    /**
+     * Evaluates the cells of this run with its {@link ColumnKernel}.
+     *
+     * @param dataAccessor the data accessor used to read the input cells.
+     * @return the values of the cells, {@code null} for the cells that have to be evaluated separately.
+     */
+    Value[] evaluate(DataAccessor dataAccessor) {
+        return kernel.evaluate(dataAccessor, firstRowOffset, columnOffset, cells.size());
+    }
+
+    /**
+     * Splits the cells of a column that share a template into runs of consecutive rows.
+     *
+     * @param runs the list to add the runs to.
+     * @param column the template and the column offset of the cells.
+     * @param cells the cells.
+     * @param pending the packed keys of the cells of the update list that hold formulas.
+     */
+    @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
+    private static void addRuns(List<ColumnRun> runs, Column column, List<Cell> cells, LongHashSet pending) {
+        ColumnKernel kernel = ColumnKernel.compile(column.template());
+        if (kernel == null) {
+            return;
+        }
+        List<Cell> independent = new ArrayList<>(cells.size());
+        for (Cell cell : cells) {
+            if (!readsPending(kernel, cell, column.columnOffset(), pending)) {
+                independent.add(cell);
+            }
+        }
+        independent.sort(Comparator.comparingInt(Cell::rowOffset));
+        int start = 0;
+        for (int end = 1; end <= independent.size(); end++) {
+            if (end == independent.size() || independent.get(end).rowOffset() != independent.get(end - 1).rowOffset() + 1) {
+                if (end - start >= MIN_LENGTH) {
+                    runs.add(new ColumnRun(kernel, column.columnOffset(), new ArrayList<>(independent.subList(start, end))));
+                }
+                start = end;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a cell reads any cell that holds a formula of the update list.
+     *
+     * @param kernel the compiled template of the cell.
+     * @param cell the cell.
+     * @param columnOffset the column offset of the cell from the cell of the template.
+     * @param pending the packed keys of the cells of the update list that hold formulas.
+     * @return {@code true} if the cell reads a cell that is recalculated by the update list.
+     */
+    private static boolean readsPending(ColumnKernel kernel, Cell cell, int columnOffset, LongHashSet pending) {
+        for (CellReference input : kernel.getInputs()) {
+            if (pending.contains(CellReference.key(input.row() + cell.rowOffset(), input.column() + columnOffset))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The template and the column offset shared by the cells of a column. Templates are compared by identity.
+     *
+     * @param template the shared expression tree.
+     * @param columnOffset the column offset of the cells from the cell of the template.
+     */
+    private record Column(Expression template, int columnOffset) { }
+
+    /**
+     * A cell that may be a part of a run.
+     *
+     * @param reference the reference to the cell.
+     * @param data the data of the cell.
+     * @param rowOffset the row offset of the cell from the cell of the template.
+     */
+    private record Cell(CellReference reference, Data data, int rowOffset) { }
+}
@@ -2,6 +2,7 @@ package com.sanyavertolet.interview.data.watcher;
 
 import com.sanyavertolet.interview.data.Data;
 import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
 
 /**
  * Interface for monitoring and responding to changes in data within a table or similar structure.
@@ -26,9 +27,50 @@ public interface DataWatcher {
     void clearAll();
 
     /**
-     * Clears tracked data for given reference in the data watcher.
+     * Clears tracked data for given reference in the data watcher and propagates the removal to the cells depending on it.
      *
      * @param reference reference to data to be cleared
      */
     void clear(CellReference reference);
+
+    /**
+     * Starts a batch of updates. Until {@link #commit()} is called, {@link #update(Data, CellReference)}
+     * and {@link #clear(CellReference)} only record the changed cells without recalculating anything.
+     *
+     * @throws IllegalStateException if a batch has already been started.
+     */
+    void beginUpdate();
+
+    /**
+     * Finishes a batch of updates started by {@link #beginUpdate()}. Every cell that was changed in the batch
+     * or depends on a changed cell is recalculated exactly once, in a valid order.
+     *
+     * @throws IllegalStateException if no batch has been started.
+     */
+    void commit();
+
+    /**
+     * Recalculates the specified cell and the cells it depends on if they are dirty, so that its value
+     * can be read. Only needed in {@link com.sanyavertolet.interview.data.recalculation.RecalculationMode#LAZY} mode.
+     *
+     * @param reference the reference to the cell that is about to be read.
+     */
+    void resolve(CellReference reference);
+
+    /**
+     * Recalculates the dirty cells of the specified range and the cells they depend on, so that the values
+     * of the range can be read. Only needed in {@link com.sanyavertolet.interview.data.recalculation.RecalculationMode#LAZY} mode.
+     *
+     * @param range the range of cells that is about to be read.
+     */
+    void resolve(RangeExpression range);
+
+    /**
+     * Recalculates some of the remaining dirty cells, so that the work left after lazy edits can be finished
+     * in small steps, e.g. when the application is idle.
+     *
+     * @param maxCells the number of cells to recalculate, may be slightly exceeded.
+     * @return {@code true} if dirty cells remain after this step.
+     */
+    boolean sweep(int maxCells);
 }
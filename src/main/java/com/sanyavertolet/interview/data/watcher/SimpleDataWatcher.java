@@ -4,21 +4,51 @@ import com.sanyavertolet.interview.data.Data;
 import com.sanyavertolet.interview.data.dependencies.DependencyGraph;
 import com.sanyavertolet.interview.data.dependencies.TopologicallySortedDependencyGraph;
 import com.sanyavertolet.interview.data.accessor.DataAccessor;
+import com.sanyavertolet.interview.data.recalculation.RecalculationMode;
+import com.sanyavertolet.interview.data.recalculation.RecalculationStrategy;
+import com.sanyavertolet.interview.data.recalculation.SerialRecalculationStrategy;
+import com.sanyavertolet.interview.data.value.Value;
 import com.sanyavertolet.interview.exceptions.data.DataDependencyException;
 import com.sanyavertolet.interview.exceptions.data.DataSelfReferenceException;
 import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.Expression;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
 import com.sanyavertolet.interview.math.expressions.evaluator.ExpressionEvaluator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * A simple implementation of the {@link DataWatcher} interface that monitors and manages dependencies
  * between cells in a table-like structure. The {@code SimpleDataWatcher} uses a {@link DependencyGraph}
  * to track cell dependencies and ensures that data is recalculated in the correct order when updates occur.
+ * <p>
+ * Updates made between {@link #beginUpdate()} and {@link #commit()} are collected, and the cells affected
+ * by any of them are recalculated once on commit. Such recalculations are not reported
+ * with {@code fireTableCellUpdated}, the caller is expected to refresh the whole table instead.
+ * <p>
+ * In {@link RecalculationMode#LAZY} mode, updates only mark the dependent cells as dirty in the {@link DependencyGraph}.
+ * They are recalculated by {@link #resolve(CellReference)} when they are read, see
+ * {@link com.sanyavertolet.interview.data.accessor.LazyDataAccessor}, or by {@link #sweep(int)}.
+ * Such recalculations are not reported with {@code fireTableCellUpdated} either.
+ * <p>
+ * In {@link RecalculationMode#EAGER} mode, recalculation stops early at cells whose values did not change:
+ * a cell of the update list is only evaluated if one of the cells it depends on got a different value,
+ * see {@link EarlyCutoff}. The number of evaluations avoided this way is reported by {@link #getSkippedRecalculationCount()}.
+ * Runs of cells in consecutive rows that share the template of a formula filled down a column, and whose inputs
+ * are not recalculated by the same update list, are evaluated first, a whole run at once, see {@link ColumnRun}.
+ * <p>
+ * Every value the watcher recalculates or marks as an error is reported to the {@link CellValueListener},
+ * if one is set with {@link #setCellValueListener(CellValueListener)}.
  */
 public class SimpleDataWatcher implements DataWatcher {
     private final static Logger logger = LoggerFactory.getLogger(SimpleDataWatcher.class);
@@ -26,24 +56,86 @@ public class SimpleDataWatcher implements DataWatcher {
     private final DataAccessor dataAccessor;
     private final ExpressionEvaluator expressionEvaluator;
     private final DependencyGraph dependencyGraph = new TopologicallySortedDependencyGraph();
+    private final RecalculationStrategy recalculationStrategy;
+    private final RecalculationMode recalculationMode;
+    private final Set<CellReference> changedCells = new LinkedHashSet<>();
+    private final Set<CellReference> selfReferencingCells = new HashSet<>();
+    private boolean updating;
+    private List<CellReference> sweepList = List.of();
+    private int sweepPosition;
+    private long skippedRecalculationCount;
+    private CellValueListener cellValueListener;
 
     /**
      * Constructs a {@code SimpleDataWatcher} with the specified {@link DataAccessor} and {@link ExpressionEvaluator}.
+     * Cells are recalculated serially on the calling thread.
      *
      * @param dataAccessor         the data accessor used to retrieve and update cell data.
      * @param expressionEvaluator  the evaluator used to recalculate cell values based on expressions.
      * @param fireTableCellUpdated callback that is used to update the table.
      */
     public SimpleDataWatcher(final DataAccessor dataAccessor, final ExpressionEvaluator expressionEvaluator, final BiConsumer<Integer, Integer> fireTableCellUpdated) {
+        this(dataAccessor, expressionEvaluator, new SerialRecalculationStrategy(), fireTableCellUpdated);
+    }
+
+    /**
+     * Constructs a {@code SimpleDataWatcher} with the specified {@link DataAccessor}, {@link ExpressionEvaluator}
+     * and {@link RecalculationStrategy}.
+     *
+     * @param dataAccessor          the data accessor used to retrieve and update cell data.
+     * @param expressionEvaluator   the evaluator used to recalculate cell values based on expressions.
+     * @param recalculationStrategy the strategy used to recalculate the cells of an update list.
+     * @param fireTableCellUpdated  callback that is used to update the table.
+     */
+    public SimpleDataWatcher(
+            final DataAccessor dataAccessor,
+            final ExpressionEvaluator expressionEvaluator,
+            final RecalculationStrategy recalculationStrategy,
+            final BiConsumer<Integer, Integer> fireTableCellUpdated
+    ) {
+        this(dataAccessor, expressionEvaluator, recalculationStrategy, RecalculationMode.EAGER, fireTableCellUpdated);
+    }
+
+    /**
+     * Constructs a {@code SimpleDataWatcher} with the specified {@link DataAccessor}, {@link ExpressionEvaluator},
+     * {@link RecalculationStrategy} and {@link RecalculationMode}. In {@link RecalculationMode#LAZY} mode,
+     * the evaluator should read through a {@link com.sanyavertolet.interview.data.accessor.LazyDataAccessor}
+     * attached to this watcher, while {@code dataAccessor} should read the data directly.
+     *
+     * @param dataAccessor          the data accessor used to retrieve and update cell data.
+     * @param expressionEvaluator   the evaluator used to recalculate cell values based on expressions.
+     * @param recalculationStrategy the strategy used to recalculate the cells of an update list.
+     * @param recalculationMode     whether dependent cells are recalculated on update or on read.
+     * @param fireTableCellUpdated  callback that is used to update the table.
+     */
+    public SimpleDataWatcher(
+            final DataAccessor dataAccessor,
+            final ExpressionEvaluator expressionEvaluator,
+            final RecalculationStrategy recalculationStrategy,
+            final RecalculationMode recalculationMode,
+            final BiConsumer<Integer, Integer> fireTableCellUpdated
+    ) {
         this.fireTableCellUpdated = fireTableCellUpdated;
         this.dataAccessor = dataAccessor;
         this.expressionEvaluator = expressionEvaluator;
+        this.recalculationStrategy = recalculationStrategy;
+        this.recalculationMode = recalculationMode;
+    }
+
+    /**
+     * Sets the listener that is notified whenever this watcher changes the value of a cell.
+     *
+     * @param cellValueListener the listener, or {@code null} to remove it.
+     */
+    public void setCellValueListener(CellValueListener cellValueListener) {
+        this.cellValueListener = cellValueListener;
     }
 
     /**
      * Updates the state of the data watcher with the new data and its corresponding cell reference.
      * This method clears existing dependencies for the updated cell, adds new dependencies if needed,
-     * and then recalculates the affected cells in the correct order.
+     * and then recalculates the affected cells in the correct order. Inside a batch, the recalculation is postponed
+     * until {@link #commit()}. In {@link RecalculationMode#LAZY} mode, the affected cells are only marked as dirty.
      *
      * @param data      the updated {@link Data} object.
      * @param reference the {@link CellReference} indicating the location of the updated data.
@@ -54,20 +146,31 @@ public class SimpleDataWatcher implements DataWatcher {
         dependencyGraph.clearDependencies(reference);
         dependencyGraph.clearFailedCellReferences();
 
+        if (updating) {
+            changedCells.add(reference);
+            selfReferencingCells.remove(reference);
+        }
+
+        boolean hasDependencies;
         try {
-            addNewDependenciesIfNeeded(data, reference);
+            hasDependencies = addNewDependenciesIfNeeded(data, reference);
         } catch (DataSelfReferenceException exception) {
             logger.error(exception.getMessage(), exception);
-            markCurrentAndNextCellsAsError(reference, data);
+            if (updating) {
+                markAsError(reference, data);
+                selfReferencingCells.add(reference);
+            } else {
+                markCurrentAndNextCellsAsError(reference, data);
+            }
             return;
         }
-
-        try {
-            recalculateInValidOrder(reference);
-        } catch (DataDependencyException e) {
-            logger.error(e.getMessage(), e);
-            markCyclicCellsAsError();
+        if (updating) {
+            if (recalculationMode == RecalculationMode.LAZY && !hasDependencies) {
+                recalculateCell(reference);
+            }
+            return;
         }
+        recalculateDependents(reference);
     }
 
     /**
@@ -78,48 +181,275 @@ public class SimpleDataWatcher implements DataWatcher {
     public void clearAll() {
         logger.debug("Clearing dependencies...");
         dependencyGraph.clearAll();
+        changedCells.clear();
+        selfReferencingCells.clear();
+        sweepList = List.of();
     }
 
     /**
-     * Clears all tracked dependencies and states in the data watcher.
-     * This method is typically called when all data in the structure is being reset or cleared.
+     * Clears tracked dependencies of the given cell and recalculates the cells depending on it,
+     * or, in {@link RecalculationMode#LAZY} mode, marks them as dirty. Inside a batch, the cell is only recorded
+     * as changed, so that the cells depending on it are recalculated on {@link #commit()}.
+     *
+     * @param reference reference to data to be cleared
      */
     @Override
     public void clear(CellReference reference) {
         dependencyGraph.clearDependencies(reference);
+        dependencyGraph.clearFailedCellReferences();
+        if (updating) {
+            changedCells.add(reference);
+            selfReferencingCells.remove(reference);
+            return;
+        }
+        recalculateDependents(reference);
+    }
+
+    /**
+     * Starts a batch of updates. Until {@link #commit()} is called, updates only register dependencies
+     * and record the changed cells.
+     *
+     * @throws IllegalStateException if a batch has already been started.
+     */
+    @Override
+    public void beginUpdate() {
+        if (updating) {
+            throw new IllegalStateException("Batch update has already been started");
+        }
+        updating = true;
+    }
+
+    /**
+     * Finishes a batch of updates. The cells changed in the batch and all the cells depending on them
+     * are collected into a single update list, so every cell is recalculated once, whatever the number
+     * of changed cells it depends on, or, in {@link RecalculationMode#LAZY} mode, marked as dirty.
+     * Self-referencing cells keep their error values. If the changed cells
+     * reach a cyclic dependency, they are recalculated one at a time instead, and the cells of the cycle are marked
+     * as errors.
+     *
+     * @throws IllegalStateException if no batch has been started.
+     */
+    @Override
+    public void commit() {
+        if (!updating) {
+            throw new IllegalStateException("No batch update has been started");
+        }
+        updating = false;
+        logger.debug("Committing {} changed cells", changedCells.size());
+        dependencyGraph.clearFailedCellReferences();
+        try {
+            if (recalculationMode == RecalculationMode.LAZY) {
+                dependencyGraph.markDirty(changedCells);
+            } else {
+                List<CellReference> updateList = dependencyGraph.getUpdateList(changedCells);
+                EarlyCutoff earlyCutoff = new EarlyCutoff(changedCells);
+                earlyCutoff.evaluateColumns(updateList);
+                recalculationStrategy.recalculate(updateList, dependencyGraph, earlyCutoff);
+                reportSkipped(updateList, earlyCutoff);
+            }
+        } catch (DataDependencyException e) {
+            logger.error(e.getMessage(), e);
+            recalculateOneByOne();
+        } finally {
+            changedCells.clear();
+            selfReferencingCells.clear();
+        }
+    }
+
+    /**
+     * Recalculates the specified cell and the dirty cells it depends on, if it is dirty.
+     *
+     * @param reference the reference to the cell that is about to be read.
+     */
+    @Override
+    public void resolve(CellReference reference) {
+        if (recalculationMode == RecalculationMode.LAZY && dependencyGraph.hasDirtyCells()) {
+            recalculate(dependencyGraph.takeDirtyCells(reference));
+        }
+    }
+
+    /**
+     * Recalculates the dirty cells of the specified range and the dirty cells they depend on.
+     *
+     * @param range the range of cells that is about to be read.
+     */
+    @Override
+    public void resolve(RangeExpression range) {
+        if (recalculationMode == RecalculationMode.LAZY && dependencyGraph.hasDirtyCells()) {
+            recalculate(dependencyGraph.takeDirtyCells(range));
+        }
+    }
+
+    /**
+     * Recalculates some of the remaining dirty cells in topological order. The dirty cells are listed once
+     * and the list is walked in slices over several calls; cells that have been recalculated in the meantime
+     * are skipped, and the list is rebuilt when it is exhausted while dirty cells remain.
+     *
+     * @param maxCells the number of cells to recalculate, may be exceeded by the dirty cells the last slice depends on.
+     * @return {@code true} if dirty cells remain after this step.
+     */
+    @Override
+    public boolean sweep(int maxCells) {
+        int swept = 0;
+        while (swept < maxCells && dependencyGraph.hasDirtyCells()) {
+            if (sweepPosition >= sweepList.size()) {
+                sweepList = dependencyGraph.getDirtyCells();
+                sweepPosition = 0;
+            }
+            int sliceEnd = (int) Math.min(sweepList.size(), (long) sweepPosition + maxCells - swept);
+            List<CellReference> updateList = dependencyGraph.takeDirtyCells(sweepList.subList(sweepPosition, sliceEnd));
+            sweepPosition = sliceEnd;
+            recalculate(updateList);
+            swept += updateList.size();
+        }
+        if (!dependencyGraph.hasDirtyCells()) {
+            sweepList = List.of();
+        }
+        return dependencyGraph.hasDirtyCells();
+    }
+
+    /**
+     * Retrieves the number of cells that were not evaluated since the cells they depend on kept their values,
+     * counted over the lifetime of this watcher.
+     *
+     * @return the number of skipped evaluations.
+     */
+    public long getSkippedRecalculationCount() {
+        return skippedRecalculationCount;
+    }
+
+    /**
+     * Recalculates the cells of an update list with the {@link RecalculationStrategy}.
+     *
+     * @param updateList the cells to recalculate, in topological order.
+     */
+    private void recalculate(List<CellReference> updateList) {
+        if (!updateList.isEmpty()) {
+            recalculationStrategy.recalculate(updateList, dependencyGraph, this::recalculateCell);
+        }
+    }
+
+    /**
+     * Recalculates the changed cells of a batch one at a time, as if they were updated outside of a batch.
+     * This is used when the merged update list cannot be built because of a cyclic dependency,
+     * so that the cells outside of the cycle still get their values.
+     */
+    private void recalculateOneByOne() {
+        for (CellReference reference : changedCells) {
+            recalculateChangedCell(reference);
+            dependencyGraph.clearFailedCellReferences();
+            try {
+                for (CellReference updateCellReference : dependencyGraph.getUpdateList(reference)) {
+                    recalculateChangedCell(updateCellReference);
+                }
+            } catch (DataDependencyException e) {
+                markCyclicCellsAsError();
+            }
+        }
+    }
+
+    /**
+     * Recalculates the value of a cell. This may be called concurrently for independent cells.
+     *
+     * @param reference the reference to the cell to recalculate.
+     */
+    private void recalculateCell(CellReference reference) {
+        logger.debug("Recalculating cell {}", reference);
+        Data data = dataAccessor.getData(reference);
+        Value previous = data.getValue();
+        data.recalculateValue(expressionEvaluator);
+        notifyValueChanged(reference, previous, data.getValue());
+    }
+
+    /**
+     * Recalculates a cell during a commit, unless it refers to itself and has already been marked as an error.
+     *
+     * @param reference the reference to the cell to recalculate.
+     */
+    private void recalculateChangedCell(CellReference reference) {
+        if (!selfReferencingCells.contains(reference)) {
+            recalculateCell(reference);
+        }
+    }
+
+    /**
+     * Propagates a change of a cell outside a batch: recalculates the cells depending on it,
+     * or, in {@link RecalculationMode#LAZY} mode, marks them as dirty. The cells of a cyclic dependency
+     * are marked as errors.
+     *
+     * @param reference the reference to the cell that was updated or cleared.
+     */
+    private void recalculateDependents(CellReference reference) {
+        try {
+            if (recalculationMode == RecalculationMode.LAZY) {
+                dependencyGraph.markDependentsDirty(reference);
+            } else {
+                recalculateInValidOrder(reference);
+            }
+        } catch (DataDependencyException e) {
+            logger.error(e.getMessage(), e);
+            markCyclicCellsAsError();
+        }
     }
 
     /**
      * Recalculates the values of cells in the correct order, starting from the specified cell reference.
+     * Column runs are evaluated first, the other cells are recalculated by the {@link RecalculationStrategy}, the table is notified afterwards
+     * on the calling thread.
      *
      * @param reference the reference to the cell that was updated.
      * @throws DataDependencyException if a cyclic dependency is detected during recalculation.
      */
     private void recalculateInValidOrder(CellReference reference) throws DataDependencyException {
         List<CellReference> updateList = dependencyGraph.getUpdateList(reference);
+        EarlyCutoff earlyCutoff = new EarlyCutoff(List.of(reference));
+        earlyCutoff.evaluateColumns(updateList);
+        recalculationStrategy.recalculate(updateList, dependencyGraph, earlyCutoff);
+        reportSkipped(updateList, earlyCutoff);
         for (CellReference updateCellReference : updateList) {
-            Data data = dataAccessor.getData(updateCellReference);
-            logger.debug("Recalculating cell {}", updateCellReference);
-            data.recalculateValue(expressionEvaluator);
-            fireTableCellUpdated.accept(updateCellReference.row(), updateCellReference.column());
+            if (earlyCutoff.hasChanged(updateCellReference)) {
+                fireTableCellUpdated.accept(updateCellReference.row(), updateCellReference.column());
+            }
         }
     }
 
+    /**
+     * Accounts for the cells of an update list that were skipped by an {@link EarlyCutoff}.
+     *
+     * @param updateList  the recalculated update list.
+     * @param earlyCutoff the early cutoff the update list was recalculated with.
+     */
+    private void reportSkipped(List<CellReference> updateList, EarlyCutoff earlyCutoff) {
+        long skipped = updateList.size() - earlyCutoff.getEvaluatedCount();
+        skippedRecalculationCount += skipped;
+        logger.debug("Evaluated {} of {} cells, skipped {} with unchanged inputs", earlyCutoff.getEvaluatedCount(), updateList.size(), skipped);
+    }
+
     /**
      * Adds new dependencies for the specified cell data if the data contains an expression.
+     * Ranges are registered as a whole, without expanding them into individual cells.
      *
      * @param cellData  the data for the cell.
      * @param reference the reference to the cell being updated.
+     * @return {@code true} if the cell depends on any other cells.
      * @throws DataSelfReferenceException if a self-referencing dependency is detected.
      */
-    private void addNewDependenciesIfNeeded(Data cellData, CellReference reference) throws DataSelfReferenceException {
+    private boolean addNewDependenciesIfNeeded(Data cellData, CellReference reference) throws DataSelfReferenceException {
         if (cellData.getExpressionTree() == null) {
-            return;
+            return false;
         }
         logger.debug("Adding new dependency for cell {}", reference);
-        for (CellReference before : cellData.getExpressionTree().getCellReferences()) {
+        Expression expression = cellData.getExpressionTree();
+        boolean hasDependencies = false;
+        for (CellReference before : expression.getDirectCellReferences()) {
             dependencyGraph.addDependency(before, reference);
+            hasDependencies = true;
         }
+        for (RangeExpression range : expression.getRangeExpressions()) {
+            dependencyGraph.addRangeDependency(range, reference);
+            hasDependencies = true;
+        }
+        return hasDependencies;
     }
 
     /**
@@ -128,7 +458,32 @@ public class SimpleDataWatcher implements DataWatcher {
      * @param reference the reference to the cell to be marked as an error.
      */
     private void markCellAsError(CellReference reference) {
-        dataAccessor.getData(reference).markAsError();
+        markAsError(reference, dataAccessor.getData(reference));
+    }
+
+    /**
+     * Marks the data of the specified cell as containing an error.
+     *
+     * @param reference the reference to the cell.
+     * @param data      the data of the cell.
+     */
+    private void markAsError(CellReference reference, Data data) {
+        Value previous = data.getValue();
+        data.markAsError();
+        notifyValueChanged(reference, previous, data.getValue());
+    }
+
+    /**
+     * Notifies the {@link CellValueListener}, if any, that the value of a cell has been replaced.
+     *
+     * @param reference the reference to the cell.
+     * @param previous  the value before the change.
+     * @param current   the value after the change.
+     */
+    private void notifyValueChanged(CellReference reference, Value previous, Value current) {
+        if (cellValueListener != null && previous != current) {
+            cellValueListener.valueChanged(reference, previous, current);
+        }
     }
 
     /**
@@ -138,7 +493,7 @@ public class SimpleDataWatcher implements DataWatcher {
      * @param currentData      the data for the current cell.
      */
     private void markCurrentAndNextCellsAsError(CellReference currentReference, Data currentData) {
-        currentData.markAsError();
+        markAsError(currentReference, currentData);
         try {
             for (CellReference cellReference : dependencyGraph.getUpdateList(currentReference)) {
                 markCellAsError(cellReference);
@@ -157,4 +512,135 @@ public class SimpleDataWatcher implements DataWatcher {
             markCellAsError(failedCellReference);
         }
     }
+
+    /**
+     * Recalculates the cells of an update list, skipping the cells none of whose inputs got a different value.
+     * This is the early cutoff of incremental build systems: a cell is needed once any cell it depends on has changed,
+     * and after evaluation it counts as changed only if its new value differs from the old one
+     * by type or by {@link Value#equals(Object)}. Error values are always treated as changed.
+     * <p>
+     * As the update list is in topological order, all the cells a cell depends on have been handled before it.
+     * The state is kept in concurrent sets, so the cutoff may be used by any {@link RecalculationStrategy}.
+     */
+    private final class EarlyCutoff implements Consumer<CellReference> {
+        private final Set<CellReference> forced = new HashSet<>();
+        private final Set<CellReference> needed = ConcurrentHashMap.newKeySet();
+        private final Set<CellReference> changed = ConcurrentHashMap.newKeySet();
+        private final Set<CellReference> evaluatedByColumn = new HashSet<>();
+        private final LongAdder evaluatedCount = new LongAdder();
+
+        /**
+         * Creates an early cutoff for the specified modified cells. The modified cells count as changed.
+         * If they are in the update list, they are recalculated unless they refer to themselves.
+         *
+         * @param modifiedCells the cells that were modified.
+         */
+        EarlyCutoff(Collection<CellReference> modifiedCells) {
+            for (CellReference reference : modifiedCells) {
+                forced.add(reference);
+                needed.add(reference);
+                markChanged(reference);
+            }
+        }
+
+        /**
+         * Recalculates the cell if any cell it depends on has changed and records whether its own value has changed.
+         *
+         * @param reference the reference to the cell to recalculate.
+         */
+        @Override
+        public void accept(CellReference reference) {
+            if (!needed.contains(reference) || evaluatedByColumn.contains(reference)) {
+                return;
+            }
+            evaluatedCount.increment();
+            if (selfReferencingCells.contains(reference)) {
+                return;
+            }
+            Data data = dataAccessor.getData(reference);
+            Value previous = data.getValue();
+            recalculateCell(reference);
+            if (forced.contains(reference) || isDifferent(previous, data.getValue())) {
+                markChanged(reference);
+            }
+        }
+
+        /**
+         * Evaluates the {@link ColumnRun}s of the needed cells of an update list before the update list is recalculated.
+         * The inputs of a run are not recalculated by the update list, so the needed cells are already known,
+         * and the cells of the run are skipped when the update list is recalculated. Cells that a run
+         * cannot evaluate, e.g. reading text, are recalculated one by one right away.
+         *
+         * @param updateList the cells to recalculate, in topological order.
+         */
+        void evaluateColumns(List<CellReference> updateList) {
+            List<ColumnRun> runs = ColumnRun.find(updateList, dataAccessor,
+                    reference -> needed.contains(reference) && !selfReferencingCells.contains(reference));
+            for (ColumnRun run : runs) {
+                Value[] values = run.evaluate(dataAccessor);
+                List<CellReference> references = run.getReferences();
+                List<Data> cells = run.getData();
+                for (int index = 0; index < values.length; index++) {
+                    CellReference reference = references.get(index);
+                    Data data = cells.get(index);
+                    Value previous = data.getValue();
+                    if (values[index] == null) {
+                        recalculateCell(reference);
+                    } else {
+                        data.setValue(values[index]);
+                        notifyValueChanged(reference, previous, values[index]);
+                    }
+                    evaluatedByColumn.add(reference);
+                    evaluatedCount.increment();
+                    if (forced.contains(reference) || isDifferent(previous, data.getValue())) {
+                        markChanged(reference);
+                    }
+                }
+            }
+            if (!runs.isEmpty()) {
+                logger.debug("Evaluated {} cells in {} column runs", evaluatedByColumn.size(), runs.size());
+            }
+        }
+
+        /**
+         * Checks whether the cell has been recalculated to a new value, or was modified.
+         *
+         * @param reference the reference to the cell.
+         * @return {@code true} if the cell has changed.
+         */
+        boolean hasChanged(CellReference reference) {
+            return changed.contains(reference);
+        }
+
+        /**
+         * Retrieves the number of cells that were recalculated.
+         *
+         * @return the number of evaluations.
+         */
+        long getEvaluatedCount() {
+            return evaluatedCount.sum();
+        }
+
+        /**
+         * Records that the cell has changed, so the cells depending on it are needed.
+         *
+         * @param reference the reference to the changed cell.
+         */
+        private void markChanged(CellReference reference) {
+            changed.add(reference);
+            needed.addAll(dependencyGraph.getDependents(reference));
+        }
+
+        /**
+         * Checks whether a recalculated value differs from the previous one. Values of different types are different,
+         * even if they are equal numerically, as they may produce different results further on.
+         *
+         * @param previous the value before recalculation.
+         * @param current  the value after recalculation.
+         * @return {@code true} if the value has changed or is an error.
+         */
+        private boolean isDifferent(Value previous, Value current) {
+            return previous == null || current == null || previous.getClass() != current.getClass() || !previous.equals(current);
+        }
+    }
 }
@@ -40,6 +40,7 @@ public class JacksonSerializationFileAdapter implements FileAdapter {
 
     /**
      * Loads data from the specified file in JSON format into the {@code DataManager}.
+     * All cells are set in a single batch, so each of them is evaluated once after the whole file is read.
      *
      * @param file the file from which data will be loaded.
      * @param manager the {@code DataManager} instance where the loaded data will be managed.
@@ -51,9 +52,11 @@ public class JacksonSerializationFileAdapter implements FileAdapter {
         TypeReference<List<CellReference.WithText>> typeRef = new TypeReference<>() {};
         try {
             List<CellReference.WithText> referencedDataList = objectMapper.readValue(file, typeRef);
-            for (CellReference.WithText referencedData : referencedDataList) {
-                manager.setData(referencedData.reference().row(), referencedData.reference().column(), referencedData.text());
-            }
+            manager.batch(() -> {
+                for (CellReference.WithText referencedData : referencedDataList) {
+                    manager.setData(referencedData.reference().row(), referencedData.reference().column(), referencedData.text());
+                }
+            });
         } catch (IOException exception) {
             throw new FileReadException("Could not read from file " + file.getAbsolutePath(), exception);
         }
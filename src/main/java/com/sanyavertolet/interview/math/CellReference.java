@@ -6,14 +6,32 @@ import com.sanyavertolet.interview.exceptions.CellReferenceException;
 import java.util.List;
 
 /**
- * A record representing a cell reference in a spreadsheet, which includes the row, column, and a string identifier.
+ * A class representing a cell reference in a spreadsheet, which includes the row, column, and a string identifier.
  * The {@code CellReference} class provides utilities to convert between coordinate-based references and identifier-based references.
- *
- * @param row        the zero-based row index of the cell.
- * @param column     the one-based column index of the cell (e.g., 1 for column A).
- * @param identifier the string identifier of the cell (e.g., "A1").
+ * <p>
+ * Internally a cell address travels as a packed {@code long} key (see {@link #key()}), and instances are handed out
+ * by the {@code of} factories from an interning table, so that hot paths do not allocate a new reference and a new
+ * identifier string for every lookup. The identifier is only built when it is first requested.
+ * Two references are equal if they point to the same cell, regardless of how their identifier was spelled.
  */
-public record CellReference(int row, int column, String identifier) {
+public final class CellReference {
+    private static final int CACHE_SIZE = 1 << 12;
+    private static final CellReference[] CACHE = new CellReference[CACHE_SIZE];
+
+    private final int row;
+    private final int column;
+    private String identifier;
+
+    /**
+     * Constructs a {@code CellReference} with the specified coordinates.
+     *
+     * @param row    the zero-based row index of the cell.
+     * @param column the one-based column index of the cell (e.g., 1 for column A).
+     */
+    private CellReference(int row, int column) {
+        this.row = row;
+        this.column = column;
+    }
 
     /**
      * Converts row and column indices into a cell identifier string (e.g., "A1").
@@ -79,7 +97,7 @@ public record CellReference(int row, int column, String identifier) {
      */
     public static CellReference of(String identifier) throws CellReferenceException {
         List<Integer> coordinates = identifierToCoordinates(identifier);
-        return new CellReference(coordinates.get(0), coordinates.get(1), identifier);
+        return intern(coordinates.get(0), coordinates.get(1));
     }
 
     /**
@@ -91,7 +109,158 @@ public record CellReference(int row, int column, String identifier) {
      * @throws CellReferenceException if the row or column index is invalid.
      */
     public static CellReference of(int row, int column) throws CellReferenceException {
-        return new CellReference(row, column, coordinatesToIdentifier(row, column));
+        if (row < 0 || column < 0) {
+            throw new CellReferenceException("Wrong cell coordinates: " + row + ", " + column);
+        }
+        return intern(row, column);
+    }
+
+    /**
+     * Creates a {@code CellReference} from a packed key previously obtained with {@link #key()}.
+     *
+     * @param key the packed key of the cell.
+     * @return a {@code CellReference} representing the cell.
+     * @throws IllegalArgumentException if the key does not encode valid coordinates.
+     */
+    public static CellReference of(long key) {
+        int row = rowOf(key);
+        int column = columnOf(key);
+        if (row < 0 || column < 0) {
+            throw new IllegalArgumentException("Wrong cell key: " + key);
+        }
+        return intern(row, column);
+    }
+
+    /**
+     * Packs row and column indices into a single {@code long} key.
+     *
+     * @param row    the zero-based row index.
+     * @param column the one-based column index.
+     * @return the packed key, {@code row << 32 | column}.
+     */
+    public static long key(int row, int column) {
+        return (long) row << 32 | column & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Extracts the row index from a packed key.
+     *
+     * @param key the packed key of the cell.
+     * @return the zero-based row index.
+     */
+    public static int rowOf(long key) {
+        return (int) (key >>> 32);
+    }
+
+    /**
+     * Extracts the column index from a packed key.
+     *
+     * @param key the packed key of the cell.
+     * @return the one-based column index.
+     */
+    public static int columnOf(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Returns the canonical instance for the given coordinates. The interning table is direct-mapped and bounded,
+     * so an instance may be evicted by a colliding cell; equality therefore never relies on identity.
+     * Races between threads are benign: all fields that define a reference are final.
+     *
+     * @param row    the zero-based row index.
+     * @param column the one-based column index.
+     * @return the {@code CellReference} for the given coordinates.
+     */
+    private static CellReference intern(int row, int column) {
+        int slot = slotOf(row, column);
+        CellReference cached = CACHE[slot];
+        if (cached != null && cached.row == row && cached.column == column) {
+            return cached;
+        }
+        CellReference reference = new CellReference(row, column);
+        CACHE[slot] = reference;
+        return reference;
+    }
+
+    /**
+     * Computes the slot of the interning table for the given coordinates.
+     *
+     * @param row    the zero-based row index.
+     * @param column the one-based column index.
+     * @return the slot index.
+     */
+    private static int slotOf(int row, int column) {
+        int hash = row * 0x9E3779B1 + column * 0x85EBCA77;
+        return (hash ^ hash >>> 16) & (CACHE_SIZE - 1);
+    }
+
+    /**
+     * Returns the zero-based row index of the cell.
+     *
+     * @return the row index.
+     */
+    public int row() {
+        return row;
+    }
+
+    /**
+     * Returns the one-based column index of the cell.
+     *
+     * @return the column index.
+     */
+    public int column() {
+        return column;
+    }
+
+    /**
+     * Returns the packed key of the cell, {@code row << 32 | column}.
+     *
+     * @return the packed key.
+     */
+    public long key() {
+        return key(row, column);
+    }
+
+    /**
+     * Returns the string identifier of the cell, building it on first access.
+     *
+     * @return the cell identifier string (e.g., "A1").
+     */
+    public String identifier() {
+        String result = identifier;
+        if (result == null) {
+            try {
+                result = coordinatesToIdentifier(row, column);
+            } catch (CellReferenceException exception) {
+                throw new IllegalStateException("Internal error: cell reference with invalid coordinates.", exception);
+            }
+            identifier = result;
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether this reference points to the same cell as the given object.
+     *
+     * @param other the object to compare with.
+     * @return {@code true} if {@code other} is a {@code CellReference} with the same coordinates.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        return other instanceof CellReference reference && row == reference.row && column == reference.column;
+    }
+
+    /**
+     * Returns a hash code derived from the coordinates of the cell.
+     *
+     * @return the hash code.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * row + column;
     }
 
     /**
@@ -101,7 +270,7 @@ public record CellReference(int row, int column, String identifier) {
      */
     @Override
     public String toString() {
-        return identifier;
+        return identifier();
     }
 
     /**
@@ -1,15 +1,22 @@
 package com.sanyavertolet.interview.math;
 
+import com.sanyavertolet.interview.data.value.RangeValue;
 import com.sanyavertolet.interview.data.value.Value;
 import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
 import com.sanyavertolet.interview.utils.FunctionUtils;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
 /**
  * An enum representing various built-in functions that can be evaluated in expressions.
  * Each function has a defined number of arguments and a specific implementation for its evaluation.
+ * <p>
+ * Most functions are strict: all their arguments are evaluated before the function is called.
+ * {@link #IF}, {@link #IFERROR}, {@link #AND} and {@link #OR} are non-strict, see {@link #isLazy()}:
+ * they receive their arguments as {@link Argument}s and evaluate only the ones they need, so the branch
+ * of {@code IF} that is not taken is never evaluated and {@code AND} and {@code OR} short-circuit.
  */
 public enum Function {
     /**
@@ -28,129 +35,129 @@ public enum Function {
      * Computes the result of raising the first argument (base) to the power of the second argument (exponent).
      * Requires two arguments: the base and the exponent.
      */
-    POW(2, args -> Value.of(Math.pow(args.get(0).asDouble(), args.get(1).asDouble()))),
+    POW(2, args -> Value.of(Math.pow(args.get(0).doubleValue(), args.get(1).doubleValue()))),
 
     /**
      * Calculates the sine of an angle given in radians.
      * Requires one argument: the angle in radians.
      */
-    SIN(1, args -> Value.of(Math.sin(args.get(0).asDouble()))),
+    SIN(1, args -> Value.of(Math.sin(args.get(0).doubleValue()))),
 
     /**
      * Calculates the cosine of an angle given in radians.
      * Requires one argument: the angle in radians.
      */
-    COS(1, args -> Value.of(Math.cos(args.get(0).asDouble()))),
+    COS(1, args -> Value.of(Math.cos(args.get(0).doubleValue()))),
 
     /**
      * Calculates the tangent of an angle given in radians.
      * Requires one argument: the angle in radians.
      */
-    TAN(1, args -> Value.of(Math.tan(args.get(0).asDouble()))),
+    TAN(1, args -> Value.of(Math.tan(args.get(0).doubleValue()))),
 
     /**
      * Calculates the cotangent of an angle given in radians, which is the reciprocal of the tangent.
      * Requires one argument: the angle in radians.
      */
-    CTG(1, args -> Value.of(1 / Math.tan(args.get(0).asDouble()))),
+    CTG(1, args -> Value.of(1 / Math.tan(args.get(0).doubleValue()))),
 
     /**
      * Computes the arcsine (inverse sine) of a value, returning the angle in radians.
      * Requires one argument: the value for which the arcsine is to be calculated.
      */
-    ASIN(1, args -> Value.of(Math.asin(args.get(0).asDouble()))),
+    ASIN(1, args -> Value.of(Math.asin(args.get(0).doubleValue()))),
 
     /**
      * Computes the arccosine (inverse cosine) of a value, returning the angle in radians.
      * Requires one argument: the value for which the arccosine is to be calculated.
      */
-    ACOS(1, args -> Value.of(Math.acos(args.get(0).asDouble()))),
+    ACOS(1, args -> Value.of(Math.acos(args.get(0).doubleValue()))),
 
     /**
      * Computes the arc-tangent (inverse tangent) of a value, returning the angle in radians.
      * Requires one argument: the value for which the arc-tangent is to be calculated.
      */
-    ATAN(1, args -> Value.of(Math.atan(args.get(0).asDouble()))),
+    ATAN(1, args -> Value.of(Math.atan(args.get(0).doubleValue()))),
 
     /**
      * Computes the natural logarithm (base e) of a value.
      * Requires one argument: the value for which the natural logarithm is to be calculated.
      */
-    LN(1, args -> Value.of(Math.log(args.get(0).asDouble()))),
+    LN(1, args -> Value.of(Math.log(args.get(0).doubleValue()))),
 
     /**
      * Computes the logarithm of a value with a specified base.
      * Requires two arguments: the value and the base for the logarithm calculation.
      * The base must be greater than 1.
      */
-    LOG(2, args -> Value.of(Math.log(args.get(1).asDouble()) / Math.log(args.get(0).asDouble()))),
+    LOG(2, args -> Value.of(Math.log(args.get(1).doubleValue()) / Math.log(args.get(0).doubleValue()))),
 
     /**
      * Computes the absolute value of a number.
      * Requires one argument: the value for which the absolute value is to be calculated.
      */
-    ABS(1, args -> Value.of(Math.abs(args.get(0).asDouble()))),
+    ABS(1, args -> Value.of(Math.abs(args.get(0).doubleValue()))),
 
     /**
      * Computes the cube root of a number.
      * Requires one argument: the value for which the cube root is to be calculated.
      */
-    CBRT(1, args -> Value.of(Math.cbrt(args.get(0).asDouble()))),
+    CBRT(1, args -> Value.of(Math.cbrt(args.get(0).doubleValue()))),
 
     /**
      * Computes the square root of a number.
      * Requires one argument: the value for which the square root is to be calculated.
      */
-    SQRT(1, args -> Value.of(Math.sqrt(args.get(0).asDouble()))),
+    SQRT(1, args -> Value.of(Math.sqrt(args.get(0).doubleValue()))),
 
     /**
      * Computes the minimum of two numbers.
      * Requires two arguments: the values to compare.
      */
-    MIN(2, args -> Value.of(Math.min(args.get(0).asDouble(), args.get(1).asDouble()))),
+    MIN(2, args -> Value.of(Math.min(args.get(0).doubleValue(), args.get(1).doubleValue()))),
 
     /**
      * Computes the maximum of two numbers.
      * Requires two arguments: the values to compare.
      */
-    MAX(2, args -> Value.of(Math.max(args.get(0).asDouble(), args.get(1).asDouble()))),
+    MAX(2, args -> Value.of(Math.max(args.get(0).doubleValue(), args.get(1).doubleValue()))),
 
     /**
      * Computes the smallest integer greater than or equal to a number.
      * Requires one argument: the value for which the ceiling is to be calculated.
      */
-    CEILING(1, args -> Value.of(Math.ceil(args.get(0).asDouble()))),
+    CEILING(1, args -> Value.of(Math.ceil(args.get(0).doubleValue()))),
 
     /**
      * Computes the largest integer less than or equal to a number.
      * Requires one argument: the value for which the floor is to be calculated.
      */
-    FLOOR(1, args -> Value.of(Math.floor(args.get(0).asDouble()))),
+    FLOOR(1, args -> Value.of(Math.floor(args.get(0).doubleValue()))),
 
     /**
      * Computes the remainder of the division of two integers.
      * Requires two arguments: the dividend and the divisor.
      * The divisor must not be zero.
      */
-    MOD(2, args -> Value.of(args.get(0).asInteger() % args.get(1).asInteger())),
+    MOD(2, args -> Value.of(args.get(0).intValue() % args.get(1).intValue())),
 
     /**
      * Computes AND for two booleans.
-     * Requires two boolean arguments.
+     * Requires two boolean arguments. The second one is not evaluated if the first one is {@code false}.
      */
-    AND(2, args -> Value.of(args.get(0).asBoolean() && args.get(1).asBoolean())),
+    AND(2, (LazyFunctionEvaluator) args -> Value.of(args.get(0).evaluate().booleanValue() && args.get(1).evaluate().booleanValue())),
 
     /**
      * Computes OR for two booleans.
-     * Requires two boolean arguments.
+     * Requires two boolean arguments. The second one is not evaluated if the first one is {@code true}.
      */
-    OR(2, args -> Value.of(args.get(0).asBoolean() || args.get(1).asBoolean())),
+    OR(2, (LazyFunctionEvaluator) args -> Value.of(args.get(0).evaluate().booleanValue() || args.get(1).evaluate().booleanValue())),
 
     /**
      * Computes NOT for boolean.
      * Requires a boolean arguments.
      */
-    NOT(1, args -> Value.of(!args.get(0).asBoolean())),
+    NOT(1, args -> Value.of(!args.get(0).booleanValue())),
 
     /**
      * Checks if a string contains a specified substring.
@@ -168,7 +175,7 @@ public enum Function {
      * Repeats a string a specified number of times.
      * Requires two arguments: the string to repeat and the number of times to repeat it.
      */
-    REPEAT(2, args -> Value.of(args.get(0).asString().repeat(args.get(1).asInteger()))),
+    REPEAT(2, args -> Value.of(args.get(0).asString().repeat(args.get(1).intValue()))),
 
     /**
      * Computes the length of a string.
@@ -203,14 +210,19 @@ public enum Function {
     /**
      * Returns one of two values based on a condition.
      * Requires three arguments: the condition, the value if true, and the value if false.
+     * Only the returned value is evaluated.
      */
-    IF(3, args -> args.get(0).asBoolean() ? args.get(1) : args.get(2)),
+    IF(3, (LazyFunctionEvaluator) args -> args.get(0).evaluate().booleanValue() ? args.get(1).evaluate() : args.get(2).evaluate()),
 
     /**
      * Returns one of two values based on whether an expression results in an error.
      * Requires two arguments: the expression to evaluate and the value to return if there is an error.
+     * The second argument is evaluated only if the first one results in an error.
      */
-    IFERROR(2, args -> args.get(0) != null ? args.get(0) : args.get(1)),
+    IFERROR(2, (LazyFunctionEvaluator) args -> {
+        Value value = args.get(0).evaluate();
+        return value != null ? value : args.get(1).evaluate();
+    }),
     ;
 
     private final Integer argumentsSize;
@@ -237,7 +249,19 @@ public enum Function {
     }
 
     /**
-     * Evaluates the function with the given arguments.
+     * Checks whether the function is non-strict, i.e. evaluates only the arguments it needs.
+     * Evaluators should call {@link #evaluateLazily(List)} for such functions.
+     *
+     * @return {@code true} if the function takes its arguments as {@link Argument}s.
+     */
+    public boolean isLazy() {
+        return functionEvaluator instanceof LazyFunctionEvaluator;
+    }
+
+    /**
+     * Evaluates the function with the given arguments. A {@link RangeValue} argument that is returned as is,
+     * e.g. by {@link #IFERROR}, is collected into an {@link com.sanyavertolet.interview.data.value.IterableValue},
+     * so the result does not change with the cells of the range.
      *
      * @param arguments the list of {@link Value} objects representing the function arguments.
      * @return the result of the function evaluation as a {@link Value}.
@@ -249,12 +273,55 @@ public enum Function {
             throw new ExpressionEvaluationException(name() + " should have exactly " + argumentsSize + " arguments");
         }
         try {
-            return functionEvaluator.invoke(arguments);
+            Value result = functionEvaluator.invoke(arguments);
+            return result instanceof RangeValue rangeValue ? rangeValue.toIterableValue() : result;
+        } catch (NullPointerException exception) {
+            throw new ExpressionEvaluationException("Could not evaluate expression as one of the arguments is null", exception);
+        }
+    }
+
+    /**
+     * Evaluates the function with the given unevaluated arguments. A non-strict function evaluates only
+     * the arguments it needs, a strict one evaluates all of them first, see {@link #evaluate(List)}.
+     *
+     * @param arguments the function arguments.
+     * @return the result of the function evaluation as a {@link Value}.
+     * @throws ExpressionEvaluationException if the number of arguments is incorrect or if an error occurs during evaluation.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingNPE")
+    public Value evaluateLazily(List<Argument> arguments) throws ExpressionEvaluationException {
+        if (arguments.size() != argumentsSize) {
+            throw new ExpressionEvaluationException(name() + " should have exactly " + argumentsSize + " arguments");
+        }
+        if (!(functionEvaluator instanceof LazyFunctionEvaluator lazyFunctionEvaluator)) {
+            List<Value> values = new ArrayList<>(arguments.size());
+            for (Argument argument : arguments) {
+                values.add(argument.evaluate());
+            }
+            return evaluate(values);
+        }
+        try {
+            Value result = lazyFunctionEvaluator.invokeLazily(arguments);
+            return result instanceof RangeValue rangeValue ? rangeValue.toIterableValue() : result;
         } catch (NullPointerException exception) {
             throw new ExpressionEvaluationException("Could not evaluate expression as one of the arguments is null", exception);
         }
     }
 
+    /**
+     * An unevaluated argument of a function.
+     */
+    @FunctionalInterface
+    public interface Argument {
+
+        /**
+         * Evaluates the argument.
+         *
+         * @return the value of the argument, {@code null} if it could not be evaluated.
+         */
+        Value evaluate();
+    }
+
     /**
      * A functional interface representing the logic for evaluating a function.
      */
@@ -262,6 +329,23 @@ public enum Function {
         Value invoke(List<Value> args) throws ExpressionEvaluationException;
     }
 
+    /**
+     * A functional interface representing the logic for evaluating a non-strict function.
+     * When called with evaluated arguments, it receives them as {@link Argument}s returning the values.
+     */
+    private interface LazyFunctionEvaluator extends FunctionEvaluator {
+        Value invokeLazily(List<Argument> args) throws ExpressionEvaluationException;
+
+        @Override
+        default Value invoke(List<Value> args) throws ExpressionEvaluationException {
+            List<Argument> arguments = new ArrayList<>(args.size());
+            for (Value value : args) {
+                arguments.add(() -> value);
+            }
+            return invokeLazily(arguments);
+        }
+    }
+
     /**
      * Returns a {@code Function} based on its name.
      *
@@ -0,0 +1,204 @@
+package com.sanyavertolet.interview.math.expressions;
+
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.exceptions.FunctionArgumentException;
+import com.sanyavertolet.interview.exceptions.expressions.RangeParsingException;
+import com.sanyavertolet.interview.math.CellReference;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a formula that has the same relative shape as a template formula of another cell, e.g. {@code =A2*2+B2}
+ * in {@code C2} for the template {@code =A1*2+B1} of {@code C1}. The template expression tree is shared by all such cells,
+ * and every {@code AnchoredExpression} only holds the offset of its cell from the cell of the template.
+ * All cell references of the template are shifted by this offset, see {@link RelativeFormula}.
+ * <p>
+ * Evaluators evaluate the template with a data accessor that shifts every reference it reads,
+ * see {@link com.sanyavertolet.interview.data.accessor.OffsetDataAccessor}, so the tree is never copied.
+ * The references reported for dependency tracking are shifted on every call.
+ */
+public class AnchoredExpression extends Expression {
+    private final Expression template;
+    private final int rowOffset;
+    private final int columnOffset;
+
+    /**
+     * Constructs an {@code AnchoredExpression} with the specified template and offset.
+     *
+     * @param template the shared expression tree, with the references of the template cell.
+     * @param rowOffset the number of rows to shift the references by.
+     * @param columnOffset the number of columns to shift the references by.
+     */
+    public AnchoredExpression(Expression template, int rowOffset, int columnOffset) {
+        this.template = template;
+        this.rowOffset = rowOffset;
+        this.columnOffset = columnOffset;
+    }
+
+    /**
+     * Returns the shared expression tree.
+     *
+     * @return the template expression.
+     */
+    public Expression getTemplate() {
+        return template;
+    }
+
+    /**
+     * Returns the number of rows the references of the template are shifted by.
+     *
+     * @return the row offset.
+     */
+    public int getRowOffset() {
+        return rowOffset;
+    }
+
+    /**
+     * Returns the number of columns the references of the template are shifted by.
+     *
+     * @return the column offset.
+     */
+    public int getColumnOffset() {
+        return columnOffset;
+    }
+
+    /**
+     * Builds a standalone expression tree with the shifted references. The tree is not cached.
+     *
+     * @return an expression equivalent to this one that does not share the template.
+     */
+    public Expression bind() {
+        return bind(template);
+    }
+
+    /**
+     * Returns a pretty-printed string representation of the expression with the shifted references.
+     *
+     * @param shift the number of dots to prepend for indentation.
+     * @return a formatted string representing the expression.
+     */
+    @Override
+    public String prettyPrint(int shift) {
+        return bind().prettyPrint(shift);
+    }
+
+    /**
+     * Returns the shifted cell references of the template.
+     *
+     * @return a list of cell references used in this expression.
+     */
+    @Override
+    public List<CellReference> getCellReferences() {
+        return shiftAll(template.getCellReferences());
+    }
+
+    /**
+     * Returns the shifted cell references of the template that are not a part of a range.
+     *
+     * @return a list of cell references used in this expression outside of ranges.
+     */
+    @Override
+    public List<CellReference> getDirectCellReferences() {
+        return shiftAll(template.getDirectCellReferences());
+    }
+
+    /**
+     * Returns the shifted ranges of the template.
+     *
+     * @return a list of ranges used in this expression.
+     */
+    @Override
+    public List<RangeExpression> getRangeExpressions() {
+        List<RangeExpression> ranges = new ArrayList<>();
+        for (RangeExpression range : template.getRangeExpressions()) {
+            ranges.add(shift(range, rowOffset, columnOffset));
+        }
+        return ranges;
+    }
+
+    /**
+     * Returns a string representation of the expression with the shifted references.
+     *
+     * @return the expression as a string.
+     */
+    @Override
+    public String toString() {
+        return bind().toString();
+    }
+
+    /**
+     * Shifts a cell reference by the given offset.
+     *
+     * @param reference the reference to shift.
+     * @param rowOffset the number of rows to shift by.
+     * @param columnOffset the number of columns to shift by.
+     * @return the shifted reference.
+     * @throws IllegalStateException if the shifted reference lies outside the sheet.
+     */
+    public static CellReference shift(CellReference reference, int rowOffset, int columnOffset) {
+        try {
+            return CellReference.of(reference.row() + rowOffset, reference.column() + columnOffset);
+        } catch (CellReferenceException exception) {
+            throw new IllegalStateException("Internal error: shifted reference lies outside the sheet.", exception);
+        }
+    }
+
+    /**
+     * Shifts a range by the given offset.
+     *
+     * @param range the range to shift.
+     * @param rowOffset the number of rows to shift by.
+     * @param columnOffset the number of columns to shift by.
+     * @return the shifted range.
+     * @throws IllegalStateException if the shifted range lies outside the sheet.
+     */
+    public static RangeExpression shift(RangeExpression range, int rowOffset, int columnOffset) {
+        try {
+            return new RangeExpression(shift(range.getFrom(), rowOffset, columnOffset), shift(range.getTo(), rowOffset, columnOffset));
+        } catch (RangeParsingException exception) {
+            throw new IllegalStateException("Internal error: shifted range is invalid.", exception);
+        }
+    }
+
+    /**
+     * Shifts every reference of the list by the offset of this expression.
+     *
+     * @param references the references of the template.
+     * @return a new list of shifted references.
+     */
+    private List<CellReference> shiftAll(List<CellReference> references) {
+        List<CellReference> shifted = new ArrayList<>(references.size());
+        for (CellReference reference : references) {
+            shifted.add(shift(reference, rowOffset, columnOffset));
+        }
+        return shifted;
+    }
+
+    /**
+     * Copies an expression tree of the template, shifting all of its references.
+     *
+     * @param expression a node of the template.
+     * @return the shifted copy of the node.
+     */
+    private Expression bind(Expression expression) {
+        if (expression instanceof CellReferenceExpression cellReferenceExpression) {
+            return new CellReferenceExpression(shift(cellReferenceExpression.getCellReference(), rowOffset, columnOffset));
+        } else if (expression instanceof RangeExpression rangeExpression) {
+            return shift(rangeExpression, rowOffset, columnOffset);
+        } else if (expression instanceof BinaryExpression binaryExpression) {
+            return new BinaryExpression(bind(binaryExpression.getLeft()), bind(binaryExpression.getRight()), binaryExpression.getOperator());
+        } else if (expression instanceof FunctionExpression functionExpression) {
+            List<Expression> arguments = new ArrayList<>(functionExpression.getArguments().size());
+            for (Expression argument : functionExpression.getArguments()) {
+                arguments.add(bind(argument));
+            }
+            try {
+                return new FunctionExpression(functionExpression.getFunction(), arguments);
+            } catch (FunctionArgumentException exception) {
+                throw new IllegalStateException("Internal error: template function has wrong arguments.", exception);
+            }
+        }
+        return expression;
+    }
+}
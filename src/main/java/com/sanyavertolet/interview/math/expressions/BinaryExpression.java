@@ -58,6 +58,30 @@ public class BinaryExpression extends Expression {
         return result;
     }
 
+    /**
+     * Returns a list of cell references that are found within the left and right sub-expressions outside of ranges.
+     *
+     * @return a list containing direct cell references from the left and right expressions.
+     */
+    @Override
+    public List<CellReference> getDirectCellReferences() {
+        List<CellReference> result = left.getDirectCellReferences();
+        result.addAll(right.getDirectCellReferences());
+        return result;
+    }
+
+    /**
+     * Returns a list of ranges that are found within the left and right sub-expressions.
+     *
+     * @return a list containing all ranges from the left and right expressions.
+     */
+    @Override
+    public List<RangeExpression> getRangeExpressions() {
+        List<RangeExpression> result = left.getRangeExpressions();
+        result.addAll(right.getRangeExpressions());
+        return result;
+    }
+
     /**
      * Returns the left-hand side expression of this binary expression.
      *
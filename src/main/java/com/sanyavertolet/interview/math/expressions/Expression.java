@@ -2,6 +2,7 @@ package com.sanyavertolet.interview.math.expressions;
 
 import com.sanyavertolet.interview.math.CellReference;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -27,4 +28,24 @@ public abstract class Expression {
      * @return a list of cell references used in this expression.
      */
     public abstract List<CellReference> getCellReferences();
+
+    /**
+     * Returns a list of {@link CellReference} objects that this expression refers to directly, i.e. not as a part of
+     * a {@link RangeExpression}. Together with {@link #getRangeExpressions()} it describes the same cells as
+     * {@link #getCellReferences()} without expanding ranges cell by cell.
+     *
+     * @return a list of cell references used in this expression outside of ranges.
+     */
+    public List<CellReference> getDirectCellReferences() {
+        return getCellReferences();
+    }
+
+    /**
+     * Returns a list of {@link RangeExpression} objects contained within this expression.
+     *
+     * @return a list of ranges used in this expression.
+     */
+    public List<RangeExpression> getRangeExpressions() {
+        return new ArrayList<>();
+    }
 }
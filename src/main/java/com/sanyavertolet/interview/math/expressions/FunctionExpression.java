@@ -47,6 +47,35 @@ public class FunctionExpression extends Expression {
         return cellReferences;
     }
 
+    /**
+     * Returns a list of {@link CellReference} objects within the arguments of this function expression
+     * that are not a part of a range.
+     *
+     * @return a list of direct cell references used in the function arguments.
+     */
+    @Override
+    public List<CellReference> getDirectCellReferences() {
+        List<CellReference> cellReferences = new ArrayList<>();
+        for (Expression argument : arguments) {
+            cellReferences.addAll(argument.getDirectCellReferences());
+        }
+        return cellReferences;
+    }
+
+    /**
+     * Returns a list of all {@link RangeExpression} objects within the arguments of this function expression.
+     *
+     * @return a list of ranges used in the function arguments.
+     */
+    @Override
+    public List<RangeExpression> getRangeExpressions() {
+        List<RangeExpression> ranges = new ArrayList<>();
+        for (Expression argument : arguments) {
+            ranges.addAll(argument.getRangeExpressions());
+        }
+        return ranges;
+    }
+
     /**
      * Returns a pretty-printed string representation of this function expression, with the specified indentation.
      *
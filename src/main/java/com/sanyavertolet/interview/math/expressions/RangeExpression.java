@@ -113,6 +113,39 @@ public class RangeExpression extends Expression {
         return cellReferences;
     }
 
+    /**
+     * Returns an empty list, as all the cells of a range are described by the range itself.
+     *
+     * @return an empty list of cell references.
+     */
+    @Override
+    public List<CellReference> getDirectCellReferences() {
+        return new ArrayList<>();
+    }
+
+    /**
+     * Returns a list containing this range.
+     *
+     * @return a list with this range as its only element.
+     */
+    @Override
+    public List<RangeExpression> getRangeExpressions() {
+        List<RangeExpression> ranges = new ArrayList<>();
+        ranges.add(this);
+        return ranges;
+    }
+
+    /**
+     * Checks whether the cell lies inside the range.
+     *
+     * @param cellReference the reference of the cell to check.
+     * @return {@code true} if the cell is inside the range; {@code false} otherwise.
+     */
+    public boolean contains(CellReference cellReference) {
+        return cellReference.row() >= startCell.row() && cellReference.row() <= endCell.row()
+                && cellReference.column() >= startCell.column() && cellReference.column() <= endCell.column();
+    }
+
     /**
      * Returns a string representation of the range, in the format "startCell:endCell".
      *
@@ -0,0 +1,119 @@
+package com.sanyavertolet.interview.math.expressions;
+
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.math.CellReference;
+
+/**
+ * Utility class that converts the text of a formula into its relative (R1C1) form: every cell reference
+ * is replaced with its offset from the cell holding the formula, e.g. {@code =A1*2+B1} in {@code C1}
+ * and {@code =A2*2+B2} in {@code C2} both become {@code =R[0]C[-2]*2+R[0]C[-1]}.
+ * Formulas with the same relative form differ only by the position of their cell, so they can share
+ * a single expression tree, see {@link AnchoredExpression}.
+ * <p>
+ * The text is scanned the same way the tokenizer splits it: string literals are kept as they are,
+ * a run of letters and digits followed by an opening parenthesis is a function name, and any other
+ * such run that is a valid cell identifier is a reference.
+ */
+final public class RelativeFormula {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private RelativeFormula() {}
+
+    /**
+     * Converts the formula into its relative form.
+     *
+     * @param formula the text of the formula.
+     * @param anchor the cell holding the formula.
+     * @return the relative form of the formula, or {@code null} if the formula cannot be converted unambiguously,
+     *         i.e. contains an unterminated string literal or a square bracket outside string literals.
+     */
+    @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
+    public static String normalize(String formula, CellReference anchor) {
+        StringBuilder relative = new StringBuilder(formula.length() + 16);
+        int length = formula.length();
+        int index = 0;
+        while (index < length) {
+            char symbol = formula.charAt(index);
+            if (symbol == '"') {
+                int end = formula.indexOf('"', index + 1);
+                if (end < 0) {
+                    return null;
+                }
+                relative.append(formula, index, end + 1);
+                index = end + 1;
+            } else if (symbol == '[' || symbol == ']') {
+                return null;
+            } else if (Character.isDigit(symbol)) {
+                int end = index;
+                while (end < length && (Character.isDigit(formula.charAt(end)) || formula.charAt(end) == '.')) {
+                    end++;
+                }
+                relative.append(formula, index, end);
+                index = end;
+            } else if (Character.isLetter(symbol)) {
+                int end = index;
+                while (end < length && Character.isLetterOrDigit(formula.charAt(end))) {
+                    end++;
+                }
+                appendWord(relative, formula.substring(index, end), isFunctionName(formula, end), anchor);
+                index = end;
+            } else {
+                relative.append(symbol);
+                index++;
+            }
+        }
+        return relative.toString();
+    }
+
+    /**
+     * Appends a run of letters and digits, replacing it with its offset from the anchor if it is a cell reference.
+     *
+     * @param relative the relative form being built.
+     * @param word the run of letters and digits.
+     * @param isFunctionName whether the run is followed by an opening parenthesis.
+     * @param anchor the cell holding the formula.
+     */
+    private static void appendWord(StringBuilder relative, String word, boolean isFunctionName, CellReference anchor) {
+        CellReference reference = isFunctionName ? null : toReference(word);
+        if (reference == null) {
+            relative.append(word);
+        } else {
+            relative.append("R[").append(reference.row() - anchor.row())
+                    .append("]C[").append(reference.column() - anchor.column()).append(']');
+        }
+    }
+
+    /**
+     * Converts a run of letters and digits into a cell reference.
+     *
+     * @param word the run of letters and digits.
+     * @return the cell reference, or {@code null} if the run is not a valid cell identifier.
+     */
+    private static CellReference toReference(String word) {
+        if (!Character.isDigit(word.charAt(word.length() - 1))) {
+            return null;
+        }
+        try {
+            return CellReference.of(word);
+        } catch (CellReferenceException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether the run of letters and digits ending at the given position is followed by an opening parenthesis.
+     *
+     * @param formula the text of the formula.
+     * @param end the position after the run.
+     * @return {@code true} if the run is a function name.
+     */
+    private static boolean isFunctionName(String formula, int end) {
+        int index = end;
+        while (index < formula.length() && formula.charAt(index) == ' ') {
+            index++;
+        }
+        return index < formula.length() && formula.charAt(index) == '(';
+    }
+}
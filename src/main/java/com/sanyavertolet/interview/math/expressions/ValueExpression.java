@@ -43,6 +43,16 @@ public class ValueExpression extends Expression {
         return new ValueExpression(Value.parse(value));
     }
 
+    /**
+     * Creates a {@code ValueExpression} containing an already parsed {@link Value}.
+     *
+     * @param value the value to be encapsulated by the expression.
+     * @return a new {@code ValueExpression} containing the value.
+     */
+    public static ValueExpression of(Value value) {
+        return new ValueExpression(value);
+    }
+
     /**
      * Returns the {@link Value} contained within this expression.
      *
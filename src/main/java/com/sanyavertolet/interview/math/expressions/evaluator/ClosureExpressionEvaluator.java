@@ -0,0 +1,227 @@
+package com.sanyavertolet.interview.math.expressions.evaluator;
+
+import com.sanyavertolet.interview.data.accessor.DataAccessor;
+import com.sanyavertolet.interview.data.accessor.OffsetDataAccessor;
+import com.sanyavertolet.interview.data.value.IterableValue;
+import com.sanyavertolet.interview.data.value.RangeValue;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.Function;
+import com.sanyavertolet.interview.math.expressions.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An implementation of the {@code ExpressionEvaluator} interface that converts an expression into a tree
+ * of closures, one per node, see {@link #compile(Expression)}. The type of every node, the operation
+ * of a {@link BinaryExpression} and the {@link Function} of a {@link FunctionExpression} are resolved once,
+ * when the closures are built, so an evaluation only calls the closures and the {@link Value} methods.
+ * The results are the same as with {@link SimpleExpressionEvaluator}.
+ * <p>
+ * Closures are meant to be cached by the caller, as {@link com.sanyavertolet.interview.data.Data} does;
+ * {@link #evaluate(Expression)} builds them anew on every call.
+ */
+public class ClosureExpressionEvaluator implements ExpressionEvaluator {
+    private final static Logger logger = LoggerFactory.getLogger(ClosureExpressionEvaluator.class);
+    private final DataAccessor dataAccessor;
+
+    /**
+     * Constructs a {@code ClosureExpressionEvaluator} with the given {@code DataAccessor}.
+     *
+     * @param dataAccessor the data accessor used to retrieve data for cell references.
+     */
+    public ClosureExpressionEvaluator(DataAccessor dataAccessor) {
+        this.dataAccessor = dataAccessor;
+    }
+
+    /**
+     * Evaluates the given expression by compiling it and evaluating the result once.
+     *
+     * @param expression the expression to evaluate.
+     * @return the result of the expression evaluation as a {@code Value}.
+     * @throws ExpressionEvaluationException if an error occurs during evaluation.
+     */
+    @Override
+    public Value evaluate(Expression expression) throws ExpressionEvaluationException {
+        return compile(expression).evaluate();
+    }
+
+    /**
+     * Evaluates the given expression and returns the resulting {@link Value}.
+     *
+     * @param expression the expression to be evaluated.
+     * @return the computed result of the expression as a {@link Value} or null if {@link ExpressionEvaluationException} was thrown.
+     */
+    @Override
+    public Value evaluateOrNull(Expression expression) {
+        try {
+            return evaluate(expression);
+        } catch (ExpressionEvaluationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Converts the given expression into a tree of closures. The closures of the nodes let unchecked exceptions
+     * through, the returned one reports any exception thrown during evaluation as an {@link ExpressionEvaluationException}.
+     *
+     * @param expression the expression to be compiled.
+     * @return the compiled expression.
+     */
+    @Override
+    public CompiledExpression compile(Expression expression) {
+        if (logger.isTraceEnabled()) {
+            logger.trace("Compiling expression: \n{}", expression.prettyPrint(0));
+        }
+        CompiledExpression closure = compileNode(expression);
+        return () -> {
+            try {
+                return closure.evaluate();
+            } catch (Exception exception) {
+                throw new ExpressionEvaluationException("Could not evaluate expression", exception);
+            }
+        };
+    }
+
+    /**
+     * Converts an expression node into a closure.
+     *
+     * @param expression the expression to convert.
+     * @return the closure that evaluates the expression.
+     */
+    private CompiledExpression compileNode(Expression expression) {
+        if (expression instanceof CellReferenceExpression cellReferenceExpression) {
+            CellReference cellReference = cellReferenceExpression.getCellReference();
+            return () -> dataAccessor.getValue(cellReference);
+        } else if (expression instanceof ValueExpression valueExpression) {
+            Value value = valueExpression.getValue();
+            return () -> value;
+        } else if (expression instanceof BinaryExpression binaryExpression) {
+            return compileNode(binaryExpression);
+        } else if (expression instanceof FunctionExpression functionExpression) {
+            return compileNode(functionExpression);
+        } else if (expression instanceof RangeExpression rangeExpression) {
+            return () -> evaluate(rangeExpression);
+        } else if (expression instanceof AnchoredExpression anchoredExpression) {
+            return new ClosureExpressionEvaluator(new OffsetDataAccessor(dataAccessor, anchoredExpression))
+                    .compileNode(anchoredExpression.getTemplate());
+        }
+        return () -> {
+            throw new ExpressionEvaluationException("Unknown expression: " + expression);
+        };
+    }
+
+    /**
+     * Converts a {@code BinaryExpression} into a closure. The operation is selected by the type of the operator.
+     *
+     * @param expression the binary expression to convert.
+     * @return the closure that evaluates the expression.
+     */
+    private CompiledExpression compileNode(BinaryExpression expression) {
+        CompiledExpression left = compileNode(expression.getLeft());
+        CompiledExpression right = compileNode(expression.getRight());
+        Operation operation = switch (expression.getOperator().getType()) {
+            case PLUS -> Value::plus;
+            case MINUS -> Value::minus;
+            case MULTIPLY -> Value::multiply;
+            case DIVIDE -> Value::divide;
+            case POWER -> Value::pow;
+            case EQ -> Value::eq;
+            case NEQ -> Value::neq;
+            case LT -> Value::lt;
+            case GT -> Value::gt;
+            case LEQ -> Value::leq;
+            case GEQ -> Value::geq;
+            default -> null;
+        };
+        if (operation == null) {
+            return () -> {
+                throw new ExpressionEvaluationException("Unknown operator type: " + expression.getOperator().getType());
+            };
+        }
+        return () -> operation.apply(left.evaluate(), right.evaluate());
+    }
+
+    /**
+     * Converts a {@code FunctionExpression} into a closure. An argument that fails to evaluate is passed as {@code null},
+     * a range argument is passed as a {@link RangeValue}. The arguments of a non-strict function
+     * (see {@link Function#isLazy()}) are passed as {@link Function.Argument}s, built once together with the closure.
+     *
+     * @param expression the function expression to convert.
+     * @return the closure that evaluates the expression.
+     */
+    private CompiledExpression compileNode(FunctionExpression expression) {
+        Function function = expression.getFunction();
+        CompiledExpression[] arguments = expression.getArguments().stream().map(this::compileArgument).toArray(CompiledExpression[]::new);
+        if (function.isLazy()) {
+            List<Function.Argument> lazyArguments = Arrays.stream(arguments).map(ClosureExpressionEvaluator::toArgument).toList();
+            return () -> function.evaluateLazily(lazyArguments);
+        }
+        return () -> {
+            List<Value> argumentValues = new ArrayList<>(arguments.length);
+            for (CompiledExpression argument : arguments) {
+                try {
+                    argumentValues.add(argument.evaluate());
+                } catch (Exception e) {
+                    argumentValues.add(null);
+                }
+            }
+            return function.evaluate(argumentValues);
+        };
+    }
+
+    /**
+     * Converts an argument of a function into a closure. A range is passed as a {@link RangeValue}, which is created once.
+     *
+     * @param expression the argument to convert.
+     * @return the closure that evaluates the argument.
+     */
+    private CompiledExpression compileArgument(Expression expression) {
+        if (expression instanceof RangeExpression rangeExpression) {
+            Value range = new RangeValue(rangeExpression, dataAccessor);
+            return () -> range;
+        }
+        return compileNode(expression);
+    }
+
+    /**
+     * Wraps the closure of an argument into a {@link Function.Argument} that evaluates to {@code null} if the closure fails.
+     *
+     * @param argument the closure of the argument.
+     * @return the argument of a non-strict function.
+     */
+    private static Function.Argument toArgument(CompiledExpression argument) {
+        return () -> {
+            try {
+                return argument.evaluate();
+            } catch (Exception e) {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Evaluates a {@code RangeExpression}. Empty cells of the range are skipped.
+     *
+     * @param expression the range expression to evaluate.
+     * @return the result of the range expression evaluation as an {@code IterableValue}.
+     */
+    private Value evaluate(RangeExpression expression) {
+        List<Value> values = new ArrayList<>();
+        dataAccessor.forEachNonEmpty(expression, data -> values.add(data.getValue()));
+        return new IterableValue(values);
+    }
+
+    /**
+     * An operation of a {@link BinaryExpression} on the values of its operands.
+     */
+    @FunctionalInterface
+    private interface Operation {
+        Value apply(Value left, Value right) throws ExpressionEvaluationException;
+    }
+}
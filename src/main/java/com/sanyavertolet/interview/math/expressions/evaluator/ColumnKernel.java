@@ -0,0 +1,358 @@
+package com.sanyavertolet.interview.math.expressions.evaluator;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.accessor.DataAccessor;
+import com.sanyavertolet.interview.data.container.RangeVisitor;
+import com.sanyavertolet.interview.data.value.DoubleValue;
+import com.sanyavertolet.interview.data.value.IntegerValue;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.exceptions.expressions.RangeParsingException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.AnchoredExpression;
+import com.sanyavertolet.interview.math.expressions.BinaryExpression;
+import com.sanyavertolet.interview.math.expressions.CellReferenceExpression;
+import com.sanyavertolet.interview.math.expressions.Expression;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
+import com.sanyavertolet.interview.math.expressions.ValueExpression;
+import com.sanyavertolet.interview.math.operators.NonFunctionOperator;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Evaluates the template of a formula filled down a column, see {@link AnchoredExpression}, for a whole run
+ * of consecutive rows at once. For {@code C1:C100000 = A1*B1, A2*B2, ...}, the columns {@code A} and {@code B}
+ * are read into {@code double} arrays, and the product is computed by a single loop over them
+ * instead of evaluating every cell separately.
+ * <p>
+ * Only templates of numbers, cell references and arithmetic operators are supported, see {@link #compile(Expression)}.
+ * Operators are applied with the semantics of {@link NumberOperations}: every operator is computed in {@code double}s
+ * by a plain loop without branches, which the JIT compiler is free to vectorize, and the few results
+ * that leave the range of {@code int} are recomputed with the exact operation, so integer overflow is reproduced.
+ * Rows whose inputs are not numbers, or that divide by zero, are not evaluated and are left to the regular evaluator.
+ */
+public final class ColumnKernel {
+    private final Node root;
+    private final List<CellReference> inputs;
+
+    /**
+     * Constructs a {@code ColumnKernel} from a compiled template.
+     *
+     * @param root the compiled template.
+     * @param inputs the cell references of the template.
+     */
+    private ColumnKernel(Node root, List<CellReference> inputs) {
+        this.root = root;
+        this.inputs = inputs;
+    }
+
+    /**
+     * Compiles a template into a kernel.
+     *
+     * @param template the shared expression tree of the column.
+     * @return the kernel, or {@code null} if the template contains anything but numbers, cell references
+     *         and arithmetic operators.
+     */
+    public static ColumnKernel compile(Expression template) {
+        Node root = compileNode(template);
+        return root == null ? null : new ColumnKernel(root, template.getCellReferences());
+    }
+
+    /**
+     * Returns the cell references of the template. Shifted by the offset of a cell, they are the cells its value depends on.
+     *
+     * @return the cell references of the template.
+     */
+    public List<CellReference> getInputs() {
+        return inputs;
+    }
+
+    /**
+     * Evaluates the template for a run of cells in consecutive rows of a column. The {@code i}-th cell of the run
+     * reads the cells of the template shifted by {@code firstRowOffset + i} rows and {@code columnOffset} columns.
+     *
+     * @param dataAccessor the data accessor used to read the input cells.
+     * @param firstRowOffset the row offset of the first cell of the run from the cell of the template.
+     * @param columnOffset the column offset of the cells of the run from the cell of the template.
+     * @param rows the number of cells in the run.
+     * @return the values of the cells of the run, {@code null} for the cells that have to be evaluated separately.
+     */
+    public Value[] evaluate(DataAccessor dataAccessor, int firstRowOffset, int columnOffset, int rows) {
+        boolean[] skipped = new boolean[rows];
+        double[] numbers = evaluate(root, dataAccessor, firstRowOffset, columnOffset, skipped);
+        Value[] values = new Value[rows];
+        for (int row = 0; row < rows; row++) {
+            if (!skipped[row]) {
+                values[row] = Value.of(numbers[row]);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Compiles a node of the template.
+     *
+     * @param expression the node of the template.
+     * @return the compiled node, or {@code null} if the node is not supported.
+     */
+    private static Node compileNode(Expression expression) {
+        if (expression instanceof ValueExpression valueExpression) {
+            Value value = valueExpression.getValue();
+            if (value instanceof IntegerValue || value instanceof DoubleValue) {
+                return new Constant(toDouble(value));
+            }
+        } else if (expression instanceof CellReferenceExpression cellReferenceExpression) {
+            return new Input(cellReferenceExpression.getCellReference());
+        } else if (expression instanceof BinaryExpression binaryExpression) {
+            NonFunctionOperator.Type type = binaryExpression.getOperator().getType();
+            if (!isArithmetic(type)) {
+                return null;
+            }
+            Node left = compileNode(binaryExpression.getLeft());
+            Node right = compileNode(binaryExpression.getRight());
+            if (left != null && right != null) {
+                return new Operation(type, left, right);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether an operator type is supported by kernels.
+     *
+     * @param type the operator type.
+     * @return {@code true} for {@code +}, {@code -}, {@code *}, {@code /} and {@code ^}.
+     */
+    private static boolean isArithmetic(NonFunctionOperator.Type type) {
+        return switch (type) {
+            case PLUS, MINUS, MULTIPLY, DIVIDE, POWER -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Evaluates a compiled node for every cell of a run.
+     *
+     * @param node the compiled node.
+     * @param dataAccessor the data accessor used to read the input cells.
+     * @param firstRowOffset the row offset of the first cell of the run.
+     * @param columnOffset the column offset of the cells of the run.
+     * @param skipped the flags of the cells that have to be evaluated separately, updated by this method.
+     * @return the values of the node, one per cell of the run.
+     */
+    private static double[] evaluate(Node node, DataAccessor dataAccessor, int firstRowOffset, int columnOffset, boolean[] skipped) {
+        if (node instanceof Constant constant) {
+            double[] numbers = new double[skipped.length];
+            Arrays.fill(numbers, constant.value());
+            return numbers;
+        } else if (node instanceof Input input) {
+            return read(input.reference(), dataAccessor, firstRowOffset, columnOffset, skipped);
+        }
+        Operation operation = (Operation) node;
+        double[] left = evaluate(operation.left(), dataAccessor, firstRowOffset, columnOffset, skipped);
+        double[] right = evaluate(operation.right(), dataAccessor, firstRowOffset, columnOffset, skipped);
+        return apply(operation.type(), left, right, skipped);
+    }
+
+    /**
+     * Reads the shifted cells of a reference of the template into an array. The cells form a single column,
+     * which is read with one {@link DataAccessor#visitNonEmpty(RangeExpression, RangeVisitor)}, so numeric literals
+     * are read from the primitive arrays of the container. As the visitor is not told the rows of the cells, the column
+     * is read again cell by cell if it has empty cells.
+     *
+     * @param reference the cell reference of the template.
+     * @param dataAccessor the data accessor used to read the cells.
+     * @param firstRowOffset the row offset of the first cell of the run.
+     * @param columnOffset the column offset of the cells of the run.
+     * @param skipped the flags of the cells that have to be evaluated separately, set for the cells that read
+     *                anything but a number.
+     * @return the numbers read, one per cell of the run.
+     */
+    private static double[] read(CellReference reference, DataAccessor dataAccessor, int firstRowOffset, int columnOffset, boolean[] skipped) {
+        int rows = skipped.length;
+        CellReference first = AnchoredExpression.shift(reference, firstRowOffset, columnOffset);
+        CellReference last = AnchoredExpression.shift(reference, firstRowOffset + rows - 1, columnOffset);
+        ColumnReader reader = new ColumnReader(rows);
+        try {
+            dataAccessor.visitNonEmpty(new RangeExpression(first, last), reader);
+        } catch (RangeParsingException exception) {
+            throw new IllegalStateException("Internal error: a column run should span several rows.", exception);
+        }
+        if (reader.count == rows) {
+            for (int row = 0; row < rows; row++) {
+                skipped[row] |= reader.notNumbers[row];
+            }
+            return reader.numbers;
+        }
+        double[] numbers = reader.numbers;
+        for (int row = 0; row < rows; row++) {
+            Value value = dataAccessor.getValue(AnchoredExpression.shift(reference, firstRowOffset + row, columnOffset));
+            if (value instanceof IntegerValue || value instanceof DoubleValue) {
+                numbers[row] = toDouble(value);
+            } else {
+                skipped[row] = true;
+            }
+        }
+        return numbers;
+    }
+
+    /**
+     * Applies an arithmetic operator to two arrays of operands, see {@link NumberOperations}.
+     *
+     * @param type the operator type.
+     * @param left the left operands.
+     * @param right the right operands.
+     * @param skipped the flags of the cells that have to be evaluated separately, set for the divisions by zero.
+     * @return the results.
+     */
+    private static double[] apply(NonFunctionOperator.Type type, double[] left, double[] right, boolean[] skipped) {
+        int rows = left.length;
+        double[] result = new double[rows];
+        switch (type) {
+            case PLUS -> {
+                for (int row = 0; row < rows; row++) {
+                    result[row] = left[row] + right[row] + 0.0;
+                }
+            }
+            case MINUS -> {
+                for (int row = 0; row < rows; row++) {
+                    result[row] = left[row] - right[row] + 0.0;
+                }
+            }
+            case MULTIPLY -> {
+                for (int row = 0; row < rows; row++) {
+                    result[row] = left[row] * right[row] + 0.0;
+                }
+            }
+            case DIVIDE -> {
+                for (int row = 0; row < rows; row++) {
+                    result[row] = left[row] / right[row] + 0.0;
+                }
+                for (int row = 0; row < rows; row++) {
+                    skipped[row] |= right[row] == 0.0;
+                }
+            }
+            case POWER -> {
+                for (int row = 0; row < rows; row++) {
+                    result[row] = NumberOperations.pow(left[row], right[row]);
+                }
+                return result;
+            }
+            default -> throw new IllegalStateException("Internal error: unsupported operator " + type + " in a column kernel.");
+        }
+        for (int row = 0; row < rows; row++) {
+            if ((result[row] > Integer.MAX_VALUE || result[row] < Integer.MIN_VALUE) && !skipped[row]) {
+                result[row] = exact(type, left[row], right[row]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Applies an arithmetic operator to a pair of operands with the exact semantics of {@link NumberOperations}.
+     * The plain {@code double} operation gives the same result unless both operands are integers
+     * and the result overflows {@code int}, so this is only needed for results outside the range of {@code int}.
+     *
+     * @param type the operator type, one of {@code +}, {@code -}, {@code *} and {@code /}.
+     * @param left the left operand.
+     * @param right the right operand, not zero for a division.
+     * @return the result.
+     */
+    private static double exact(NonFunctionOperator.Type type, double left, double right) {
+        return switch (type) {
+            case PLUS -> NumberOperations.plus(left, right);
+            case MINUS -> NumberOperations.minus(left, right);
+            case MULTIPLY -> NumberOperations.multiply(left, right);
+            case DIVIDE -> NumberOperations.quotient(left, right);
+            default -> throw new IllegalStateException("Internal error: unsupported operator " + type + " in a column kernel.");
+        };
+    }
+
+    /**
+     * Converts a numeric value to a {@code double}.
+     *
+     * @param value an {@link IntegerValue} or a {@link DoubleValue}.
+     * @return the number.
+     */
+    private static double toDouble(Value value) {
+        return value instanceof IntegerValue integerValue ? integerValue.intValue() : ((DoubleValue) value).doubleValue();
+    }
+
+    /**
+     * A compiled node of the template.
+     */
+    private interface Node { }
+
+    /**
+     * A number of the template.
+     *
+     * @param value the number.
+     */
+    private record Constant(double value) implements Node { }
+
+    /**
+     * A cell reference of the template.
+     *
+     * @param reference the reference, to be shifted by the offset of every cell of the run.
+     */
+    private record Input(CellReference reference) implements Node { }
+
+    /**
+     * An arithmetic operator of the template.
+     *
+     * @param type the operator type.
+     * @param left the left operand.
+     * @param right the right operand.
+     */
+    private record Operation(NonFunctionOperator.Type type, Node left, Node right) implements Node { }
+
+    /**
+     * A {@link RangeVisitor} that reads the cells of a column into an array, one element per visited cell.
+     */
+    private static final class ColumnReader implements RangeVisitor {
+        private final double[] numbers;
+        private final boolean[] notNumbers;
+        private int count;
+
+        /**
+         * Constructs a {@code ColumnReader} for a column of the given number of cells.
+         *
+         * @param rows the number of cells in the column.
+         */
+        ColumnReader(int rows) {
+            this.numbers = new double[rows];
+            this.notNumbers = new boolean[rows];
+        }
+
+        /**
+         * Stores the number of the next cell.
+         *
+         * @param number the value of the cell.
+         */
+        @Override
+        public void visitNumber(double number) {
+            if (count < numbers.length) {
+                numbers[count] = number;
+            }
+            count++;
+        }
+
+        /**
+         * Stores the value of the next cell if it is a number, or flags the cell otherwise.
+         *
+         * @param data the {@code Data} of the cell.
+         */
+        @Override
+        public void visitData(Data data) {
+            if (count < numbers.length) {
+                Value value = data.getValue();
+                if (value instanceof IntegerValue || value instanceof DoubleValue) {
+                    numbers[count] = toDouble(value);
+                } else {
+                    notNumbers[count] = true;
+                }
+            }
+            count++;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.sanyavertolet.interview.math.expressions.evaluator;
+
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
+import com.sanyavertolet.interview.math.expressions.Expression;
+
+/**
+ * An {@link Expression} prepared by an {@link ExpressionEvaluator} for repeated evaluation,
+ * see {@link ExpressionEvaluator#compile(Expression)}.
+ */
+@FunctionalInterface
+public interface CompiledExpression {
+    /**
+     * Evaluates the expression with the evaluator that compiled it.
+     *
+     * @return the computed result of the expression as a {@link Value}.
+     * @throws ExpressionEvaluationException if there is an error during evaluation.
+     */
+    Value evaluate() throws ExpressionEvaluationException;
+}
@@ -0,0 +1,452 @@
+package com.sanyavertolet.interview.math.expressions.evaluator;
+
+import com.sanyavertolet.interview.data.accessor.DataAccessor;
+import com.sanyavertolet.interview.data.accessor.OffsetDataAccessor;
+import com.sanyavertolet.interview.data.value.DoubleValue;
+import com.sanyavertolet.interview.data.value.IntegerValue;
+import com.sanyavertolet.interview.data.value.IterableValue;
+import com.sanyavertolet.interview.data.value.RangeValue;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.Function;
+import com.sanyavertolet.interview.math.expressions.*;
+import com.sanyavertolet.interview.math.operators.NonFunctionOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serial;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * An implementation of the {@code ExpressionEvaluator} interface that compiles expressions into trees
+ * of {@link MethodHandle}s before evaluating them. A compiled expression is a single handle that the JIT compiler
+ * can optimize as a whole, instead of walking the tree with {@code instanceof} checks on every evaluation.
+ * <p>
+ * Arithmetic and comparisons over numbers are compiled to primitive {@code double} operations with no intermediate
+ * {@link Value}s. The helpers reproduce the semantics of {@link IntegerValue} and {@link DoubleValue} exactly,
+ * including integer division and overflow. Cells are expected to hold numbers; if a cell turns out to hold any other
+ * value, the operation falls back to the {@link Value} methods, just like {@link SimpleExpressionEvaluator} does.
+ * <p>
+ * Compiled handles are cached per expression with weak keys, so they are dropped together with the expression
+ * when the formula of a cell changes. The handles are built from combinators of {@link MethodHandles},
+ * whose generated classes are hidden classes that the JVM unloads once they are no longer used.
+ * This evaluator is thread-safe as long as its {@link DataAccessor} is.
+ */
+public class CompilingExpressionEvaluator implements ExpressionEvaluator {
+    private final static Logger logger = LoggerFactory.getLogger(CompilingExpressionEvaluator.class);
+    private static final NotNumberException NOT_NUMBER = new NotNumberException();
+    private static final MethodHandle READ_VALUE;
+    private static final MethodHandle READ_NUMBER;
+    private static final MethodHandle EVALUATE_RANGE;
+    private static final MethodHandle EVALUATE_FUNCTION;
+    private static final MethodHandle EVALUATE_LAZY_FUNCTION;
+    private static final MethodHandle EVALUATE_FALLBACK;
+    private static final MethodHandle NUMBER_TO_VALUE;
+    private static final MethodHandle BOOLEAN_TO_VALUE;
+    private static final MethodHandle NULL_ON_EXCEPTION;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            READ_VALUE = lookup.findStatic(CompilingExpressionEvaluator.class, "readValue",
+                    MethodType.methodType(Value.class, DataAccessor.class, CellReference.class));
+            READ_NUMBER = lookup.findStatic(CompilingExpressionEvaluator.class, "readNumber",
+                    MethodType.methodType(double.class, DataAccessor.class, CellReference.class));
+            EVALUATE_RANGE = lookup.findStatic(CompilingExpressionEvaluator.class, "evaluateRange",
+                    MethodType.methodType(Value.class, DataAccessor.class, RangeExpression.class));
+            EVALUATE_FUNCTION = lookup.findStatic(CompilingExpressionEvaluator.class, "evaluateFunction",
+                    MethodType.methodType(Value.class, Function.class, Value[].class));
+            EVALUATE_LAZY_FUNCTION = lookup.findStatic(CompilingExpressionEvaluator.class, "evaluateLazyFunction",
+                    MethodType.methodType(Value.class, Function.class, List.class));
+            EVALUATE_FALLBACK = lookup.findVirtual(ExpressionEvaluator.class, "evaluate",
+                    MethodType.methodType(Value.class, Expression.class));
+            NUMBER_TO_VALUE = lookup.findStatic(CompilingExpressionEvaluator.class, "toValue",
+                    MethodType.methodType(Value.class, double.class));
+            BOOLEAN_TO_VALUE = lookup.findStatic(CompilingExpressionEvaluator.class, "toValue",
+                    MethodType.methodType(Value.class, boolean.class));
+            NULL_ON_EXCEPTION = MethodHandles.empty(MethodType.methodType(Value.class, Exception.class));
+        } catch (NoSuchMethodException | IllegalAccessException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    private final DataAccessor dataAccessor;
+    private final ExpressionEvaluator fallbackEvaluator;
+    private final Map<Expression, MethodHandle> compiledExpressions = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Constructs a {@code CompilingExpressionEvaluator} with the given {@code DataAccessor}.
+     *
+     * @param dataAccessor the data accessor used to retrieve data for cell references.
+     */
+    public CompilingExpressionEvaluator(DataAccessor dataAccessor) {
+        this.dataAccessor = dataAccessor;
+        this.fallbackEvaluator = new SimpleExpressionEvaluator(dataAccessor);
+    }
+
+    /**
+     * Evaluates the given expression, compiling it on first use. A {@link RangeExpression} on its own
+     * is not compiled, as its handle would keep the expression reachable from the cache.
+     *
+     * @param expression the expression to evaluate.
+     * @return the result of the expression evaluation as a {@code Value}.
+     * @throws ExpressionEvaluationException if an error occurs during evaluation.
+     */
+    @Override
+    public Value evaluate(Expression expression) throws ExpressionEvaluationException {
+        if (expression instanceof RangeExpression) {
+            return fallbackEvaluator.evaluate(expression);
+        }
+        MethodHandle handle = compiledExpressions.get(expression);
+        if (handle == null) {
+            handle = compileHandle(expression);
+            compiledExpressions.put(expression, handle);
+        }
+        return invoke(handle);
+    }
+
+    /**
+     * Evaluates the given expression and returns the resulting {@link Value}.
+     *
+     * @param expression the expression to be evaluated.
+     * @return the computed result of the expression as a {@link Value} or null if {@link ExpressionEvaluationException} was thrown.
+     */
+    @Override
+    public Value evaluateOrNull(Expression expression) {
+        try {
+            return evaluate(expression);
+        } catch (ExpressionEvaluationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Compiles the given expression into a handle that is invoked directly, without the cache lookup
+     * of {@link #evaluate(Expression)}.
+     *
+     * @param expression the expression to be compiled.
+     * @return the compiled expression.
+     */
+    @Override
+    public CompiledExpression compile(Expression expression) {
+        if (expression instanceof RangeExpression) {
+            return () -> fallbackEvaluator.evaluate(expression);
+        }
+        MethodHandle handle = compileHandle(expression);
+        return () -> invoke(handle);
+    }
+
+    /**
+     * Invokes a compiled handle.
+     *
+     * @param handle the handle of an expression.
+     * @return the result of the expression evaluation as a {@code Value}.
+     * @throws ExpressionEvaluationException if an error occurs during evaluation.
+     */
+    private static Value invoke(MethodHandle handle) throws ExpressionEvaluationException {
+        try {
+            return (Value) handle.invokeExact();
+        } catch (Error error) {
+            throw error;
+        } catch (Throwable exception) {
+            throw new ExpressionEvaluationException("Could not evaluate expression", exception);
+        }
+    }
+
+    /**
+     * Compiles an expression into a handle that takes no arguments and returns a {@link Value}.
+     * Expressions of unknown types are delegated to a {@link SimpleExpressionEvaluator}.
+     *
+     * @param expression the expression to compile.
+     * @return the compiled handle.
+     */
+    private MethodHandle compileHandle(Expression expression) {
+        logger.debug("Compiling expression {}", expression);
+        if (expression instanceof ValueExpression valueExpression) {
+            return MethodHandles.constant(Value.class, valueExpression.getValue());
+        } else if (expression instanceof CellReferenceExpression cellReferenceExpression) {
+            return MethodHandles.insertArguments(READ_VALUE, 0, dataAccessor, cellReferenceExpression.getCellReference());
+        } else if (expression instanceof RangeExpression rangeExpression) {
+            return MethodHandles.insertArguments(EVALUATE_RANGE, 0, dataAccessor, rangeExpression);
+        } else if (expression instanceof FunctionExpression functionExpression) {
+            return compile(functionExpression);
+        } else if (expression instanceof BinaryExpression binaryExpression) {
+            return compile(binaryExpression);
+        } else if (expression instanceof AnchoredExpression anchoredExpression) {
+            return new CompilingExpressionEvaluator(new OffsetDataAccessor(dataAccessor, anchoredExpression))
+                    .compileHandle(anchoredExpression.getTemplate());
+        }
+        return MethodHandles.insertArguments(EVALUATE_FALLBACK, 0, fallbackEvaluator, expression);
+    }
+
+    /**
+     * Compiles a {@code FunctionExpression}. Every argument is evaluated to {@code null} if it fails,
+     * and the values are collected into the argument list of the {@link Function}. A range argument
+     * is passed as a constant {@link RangeValue}. The arguments of a non-strict function
+     * (see {@link Function#isLazy()}) are passed as {@link Function.Argument}s that invoke their handles.
+     *
+     * @param expression the function expression to compile.
+     * @return the compiled handle.
+     */
+    private MethodHandle compile(FunctionExpression expression) {
+        List<Expression> arguments = expression.getArguments();
+        Function function = expression.getFunction();
+        if (function.isLazy()) {
+            List<Function.Argument> lazyArguments = arguments.stream()
+                    .map(this::compileArgument)
+                    .map(CompilingExpressionEvaluator::toArgument)
+                    .toList();
+            return MethodHandles.insertArguments(EVALUATE_LAZY_FUNCTION, 0, function, lazyArguments);
+        }
+        MethodHandle handle = MethodHandles.insertArguments(EVALUATE_FUNCTION, 0, function)
+                .asCollector(Value[].class, arguments.size());
+        for (int index = arguments.size() - 1; index >= 0; index--) {
+            handle = MethodHandles.collectArguments(handle, index, compileArgument(arguments.get(index)));
+        }
+        return handle;
+    }
+
+    /**
+     * Compiles an argument of a function into a handle that evaluates to {@code null} if it fails.
+     * A range is compiled to a constant {@link RangeValue}.
+     *
+     * @param expression the argument to compile.
+     * @return the compiled handle.
+     */
+    private MethodHandle compileArgument(Expression expression) {
+        return expression instanceof RangeExpression rangeExpression
+                ? MethodHandles.constant(Value.class, new RangeValue(rangeExpression, dataAccessor))
+                : MethodHandles.catchException(compileHandle(expression), Exception.class, NULL_ON_EXCEPTION);
+    }
+
+    /**
+     * Compiles a {@code BinaryExpression}. If both operands are numeric, the operation is compiled
+     * to {@code double} arithmetic, guarded by the generic version for the case when a cell does not hold a number.
+     *
+     * @param expression the binary expression to compile.
+     * @return the compiled handle.
+     */
+    private MethodHandle compile(BinaryExpression expression) {
+        MethodHandle generic = compileGeneric(expression);
+        MethodHandle left = compileNumber(expression.getLeft());
+        MethodHandle right = compileNumber(expression.getRight());
+        if (left == null || right == null) {
+            return generic;
+        }
+        MethodHandle operation = NumberOperations.of(expression.getOperator().getType());
+        if (operation == null) {
+            return generic;
+        }
+        MethodHandle toValue = operation.type().returnType() == boolean.class ? BOOLEAN_TO_VALUE : NUMBER_TO_VALUE;
+        MethodHandle number = MethodHandles.filterReturnValue(combine(operation, left, right), toValue);
+        return MethodHandles.catchException(number, NotNumberException.class,
+                MethodHandles.dropArguments(generic, 0, NotNumberException.class));
+    }
+
+    /**
+     * Compiles a {@code BinaryExpression} into a call of the corresponding {@link Value} method.
+     *
+     * @param expression the binary expression to compile.
+     * @return the compiled handle.
+     */
+    private MethodHandle compileGeneric(BinaryExpression expression) {
+        NonFunctionOperator operator = expression.getOperator();
+        String methodName = switch (operator.getType()) {
+            case PLUS -> "plus";
+            case MINUS -> "minus";
+            case MULTIPLY -> "multiply";
+            case DIVIDE -> "divide";
+            case POWER -> "pow";
+            case EQ -> "eq";
+            case NEQ -> "neq";
+            case LT -> "lt";
+            case GT -> "gt";
+            case LEQ -> "leq";
+            case GEQ -> "geq";
+            default -> null;
+        };
+        if (methodName == null) {
+            return MethodHandles.insertArguments(EVALUATE_FALLBACK, 0, fallbackEvaluator, expression);
+        }
+        try {
+            MethodHandle operation = MethodHandles.publicLookup()
+                    .findVirtual(Value.class, methodName, MethodType.methodType(Value.class, Value.class));
+            return combine(operation, compileHandle(expression.getLeft()), compileHandle(expression.getRight()));
+        } catch (NoSuchMethodException | IllegalAccessException exception) {
+            throw new IllegalStateException("Could not find operation " + methodName, exception);
+        }
+    }
+
+    /**
+     * Compiles an expression into a handle that takes no arguments and returns a {@code double},
+     * throwing {@link NotNumberException} if a cell it reads does not hold a number.
+     *
+     * @param expression the expression to compile.
+     * @return the compiled handle, or {@code null} if the expression is not numeric.
+     */
+    private MethodHandle compileNumber(Expression expression) {
+        if (expression instanceof ValueExpression valueExpression) {
+            Value value = valueExpression.getValue();
+            if (value instanceof IntegerValue || value instanceof DoubleValue) {
+                return MethodHandles.constant(double.class, toDouble(value));
+            }
+        } else if (expression instanceof CellReferenceExpression cellReferenceExpression) {
+            return MethodHandles.insertArguments(READ_NUMBER, 0, dataAccessor, cellReferenceExpression.getCellReference());
+        } else if (expression instanceof BinaryExpression binaryExpression) {
+            MethodHandle operation = NumberOperations.of(binaryExpression.getOperator().getType());
+            if (operation == null || operation.type().returnType() != double.class) {
+                return null;
+            }
+            MethodHandle left = compileNumber(binaryExpression.getLeft());
+            MethodHandle right = compileNumber(binaryExpression.getRight());
+            if (left != null && right != null) {
+                return combine(operation, left, right);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Feeds the results of two handles without arguments into a binary operation. The left operand is computed first.
+     *
+     * @param operation the operation that takes two arguments.
+     * @param left the handle that computes the left operand.
+     * @param right the handle that computes the right operand.
+     * @return the handle without arguments that computes the operation.
+     */
+    private static MethodHandle combine(MethodHandle operation, MethodHandle left, MethodHandle right) {
+        return MethodHandles.collectArguments(MethodHandles.collectArguments(operation, 1, right), 0, left);
+    }
+
+    /**
+     * Reads the value of a cell.
+     *
+     * @param dataAccessor the data accessor.
+     * @param reference the reference to the cell.
+     * @return the value of the cell.
+     */
+    private static Value readValue(DataAccessor dataAccessor, CellReference reference) {
+        return dataAccessor.getValue(reference);
+    }
+
+    /**
+     * Reads the value of a cell as a number.
+     *
+     * @param dataAccessor the data accessor.
+     * @param reference the reference to the cell.
+     * @return the value of the cell.
+     * @throws NotNumberException if the cell does not hold a number.
+     */
+    private static double readNumber(DataAccessor dataAccessor, CellReference reference) throws NotNumberException {
+        Value value = dataAccessor.getValue(reference);
+        if (value instanceof IntegerValue || value instanceof DoubleValue) {
+            return toDouble(value);
+        }
+        throw NOT_NUMBER;
+    }
+
+    /**
+     * Evaluates a range the same way as {@link SimpleExpressionEvaluator} does. Empty cells of the range are skipped.
+     *
+     * @param dataAccessor the data accessor.
+     * @param range the range expression.
+     * @return the values of the range as an {@code IterableValue}.
+     */
+    private static Value evaluateRange(DataAccessor dataAccessor, RangeExpression range) {
+        List<Value> values = new ArrayList<>();
+        dataAccessor.forEachNonEmpty(range, data -> values.add(data.getValue()));
+        return new IterableValue(values);
+    }
+
+    /**
+     * Evaluates a function on the values of its arguments.
+     *
+     * @param function the function.
+     * @param arguments the values of the arguments, {@code null} for failed ones.
+     * @return the result of the function.
+     * @throws ExpressionEvaluationException if the function cannot be evaluated.
+     */
+    private static Value evaluateFunction(Function function, Value[] arguments) throws ExpressionEvaluationException {
+        return function.evaluate(Arrays.asList(arguments));
+    }
+
+    /**
+     * Evaluates a non-strict function on its unevaluated arguments.
+     *
+     * @param function the function.
+     * @param arguments the arguments of the function.
+     * @return the result of the function.
+     * @throws ExpressionEvaluationException if the function cannot be evaluated.
+     */
+    private static Value evaluateLazyFunction(Function function, List<Function.Argument> arguments) throws ExpressionEvaluationException {
+        return function.evaluateLazily(arguments);
+    }
+
+    /**
+     * Wraps the handle of an argument into a {@link Function.Argument}.
+     *
+     * @param handle the handle of the argument, see {@link #compileArgument(Expression)}.
+     * @return the argument of a non-strict function.
+     */
+    private static Function.Argument toArgument(MethodHandle handle) {
+        return () -> {
+            try {
+                return (Value) handle.invokeExact();
+            } catch (Throwable exception) {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Converts a numeric value to {@code double}.
+     *
+     * @param value an {@link IntegerValue} or a {@link DoubleValue}.
+     * @return the number.
+     */
+    private static double toDouble(Value value) {
+        return value instanceof IntegerValue integerValue ? integerValue.intValue() : ((DoubleValue) value).doubleValue();
+    }
+
+    /**
+     * Converts a number to a {@link Value} with {@link Value#of(double)}.
+     *
+     * @param value the number.
+     * @return the value.
+     */
+    private static Value toValue(double value) {
+        return Value.of(value);
+    }
+
+    /**
+     * Converts a boolean to a {@link Value} with {@link Value#of(boolean)}.
+     *
+     * @param value the boolean.
+     * @return the value.
+     */
+    private static Value toValue(boolean value) {
+        return Value.of(value);
+    }
+
+    /**
+     * Thrown by compiled numeric code when a cell does not hold a number. A single instance without a stack trace
+     * is reused, as it only signals that the generic code should be used instead.
+     */
+    private static final class NotNumberException extends Exception {
+        @Serial
+        private static final long serialVersionUID = 42L;
+
+        NotNumberException() {
+            super("Cell does not hold a number", null, false, false);
+        }
+    }
+}
@@ -25,4 +25,16 @@ public interface ExpressionEvaluator {
      * @return the computed result of the expression as a {@link Value} or null if {@link ExpressionEvaluationException} was thrown.
      */
     Value evaluateOrNull(Expression expression);
+
+    /**
+     * Prepares the given expression for repeated evaluation. The result may be cached by the caller,
+     * e.g. by {@link com.sanyavertolet.interview.data.Data}, and evaluated with no further lookups.
+     * By default, the returned {@link CompiledExpression} simply calls {@link #evaluate(Expression)}.
+     *
+     * @param expression the expression to be compiled.
+     * @return the compiled expression.
+     */
+    default CompiledExpression compile(Expression expression) {
+        return () -> evaluate(expression);
+    }
 }
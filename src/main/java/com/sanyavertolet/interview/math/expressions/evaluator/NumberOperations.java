@@ -0,0 +1,195 @@
+package com.sanyavertolet.interview.math.expressions.evaluator;
+
+import com.sanyavertolet.interview.data.value.DoubleValue;
+import com.sanyavertolet.interview.data.value.IntegerValue;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
+import com.sanyavertolet.interview.math.operators.NonFunctionOperator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Operators of {@link NonFunctionOperator.Type} on primitive {@code double}s, used by {@link CompilingExpressionEvaluator}
+ * and {@link ColumnKernel}.
+ * <p>
+ * The operations reproduce {@link IntegerValue} and {@link DoubleValue} for operands that are results
+ * of {@link Value#of(double)}: a number is treated as an integer if it is a whole number within the range of {@code int}.
+ * Operations on two integers are done in {@code int} arithmetic, so they overflow the same way.
+ * Results are normalized the way {@link Value#of(double)} does it: negative zero becomes zero.
+ */
+final class NumberOperations {
+    private static final Map<NonFunctionOperator.Type, MethodHandle> operations = new EnumMap<>(NonFunctionOperator.Type.class);
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodType arithmetic = MethodType.methodType(double.class, double.class, double.class);
+        MethodType comparison = MethodType.methodType(boolean.class, double.class, double.class);
+        try {
+            operations.put(NonFunctionOperator.Type.PLUS, lookup.findStatic(NumberOperations.class, "plus", arithmetic));
+            operations.put(NonFunctionOperator.Type.MINUS, lookup.findStatic(NumberOperations.class, "minus", arithmetic));
+            operations.put(NonFunctionOperator.Type.MULTIPLY, lookup.findStatic(NumberOperations.class, "multiply", arithmetic));
+            operations.put(NonFunctionOperator.Type.DIVIDE, lookup.findStatic(NumberOperations.class, "divide", arithmetic));
+            operations.put(NonFunctionOperator.Type.POWER, lookup.findStatic(NumberOperations.class, "pow", arithmetic));
+            operations.put(NonFunctionOperator.Type.LT, lookup.findStatic(NumberOperations.class, "lt", comparison));
+            operations.put(NonFunctionOperator.Type.GT, lookup.findStatic(NumberOperations.class, "gt", comparison));
+            operations.put(NonFunctionOperator.Type.LEQ, lookup.findStatic(NumberOperations.class, "leq", comparison));
+            operations.put(NonFunctionOperator.Type.GEQ, lookup.findStatic(NumberOperations.class, "geq", comparison));
+        } catch (NoSuchMethodException | IllegalAccessException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    private NumberOperations() { }
+
+    /**
+     * Retrieves the operation for an operator type.
+     *
+     * @param type the type of the operator.
+     * @return a handle of type {@code (double, double) double} for arithmetic, {@code (double, double) boolean}
+     * for comparisons, or {@code null} if the operator has no numeric version.
+     */
+    static MethodHandle of(NonFunctionOperator.Type type) {
+        return operations.get(type);
+    }
+
+    /**
+     * Checks whether a number is represented by an {@link IntegerValue}, see {@link Value#of(double)}.
+     *
+     * @param value the number.
+     * @return {@code true} if the number is an integer.
+     */
+    static boolean isInteger(double value) {
+        return (int) value == value;
+    }
+
+    /**
+     * Adds two numbers, see {@link IntegerValue#plus(Value)} and {@link DoubleValue#plus(Value)}.
+     *
+     * @param left the left operand.
+     * @param right the right operand.
+     * @return the sum.
+     */
+    static double plus(double left, double right) {
+        if (isInteger(left) && isInteger(right)) {
+            return (int) left + (int) right;
+        }
+        return left + right + 0.0;
+    }
+
+    /**
+     * Subtracts two numbers, see {@link IntegerValue#minus(Value)} and {@link DoubleValue#minus(Value)}.
+     *
+     * @param left the left operand.
+     * @param right the right operand.
+     * @return the difference.
+     */
+    static double minus(double left, double right) {
+        if (isInteger(left) && isInteger(right)) {
+            return (int) left - (int) right;
+        }
+        return left - right + 0.0;
+    }
+
+    /**
+     * Multiplies two numbers, see {@link IntegerValue#multiply(Value)} and {@link DoubleValue#multiply(Value)}.
+     *
+     * @param left the left operand.
+     * @param right the right operand.
+     * @return the product.
+     */
+    static double multiply(double left, double right) {
+        if (isInteger(left) && isInteger(right)) {
+            return (int) left * (int) right;
+        }
+        return left * right + 0.0;
+    }
+
+    /**
+     * Divides two numbers, see {@link IntegerValue#divide(Value)} and {@link DoubleValue#divide(Value)}.
+     * Integers are divided in {@code int} arithmetic if the division has no remainder.
+     *
+     * @param left the dividend.
+     * @param right the divisor.
+     * @return the quotient.
+     * @throws ExpressionEvaluationException if the divisor is zero.
+     */
+    static double divide(double left, double right) throws ExpressionEvaluationException {
+        if (right == 0.0) {
+            throw new ExpressionEvaluationException("Division by zero");
+        }
+        return quotient(left, right);
+    }
+
+    /**
+     * Divides two numbers the same way as {@link #divide(double, double)}, for a divisor that is known not to be zero.
+     *
+     * @param left the dividend.
+     * @param right the divisor, not zero.
+     * @return the quotient.
+     */
+    static double quotient(double left, double right) {
+        if (isInteger(left) && isInteger(right) && (int) left % (int) right == 0) {
+            return (int) left / (int) right;
+        }
+        return left / right + 0.0;
+    }
+
+    /**
+     * Raises a number to a power, see {@link IntegerValue#pow(Value)} and {@link DoubleValue#pow(Value)}.
+     *
+     * @param left the base.
+     * @param right the exponent.
+     * @return the power.
+     */
+    static double pow(double left, double right) {
+        return Math.pow(left, right) + 0.0;
+    }
+
+    /**
+     * Compares two numbers with {@code <}.
+     *
+     * @param left the left operand.
+     * @param right the right operand.
+     * @return the result of the comparison.
+     */
+    static boolean lt(double left, double right) {
+        return left < right;
+    }
+
+    /**
+     * Compares two numbers with {@code >}.
+     *
+     * @param left the left operand.
+     * @param right the right operand.
+     * @return the result of the comparison.
+     */
+    static boolean gt(double left, double right) {
+        return left > right;
+    }
+
+    /**
+     * Compares two numbers with {@code <=}.
+     *
+     * @param left the left operand.
+     * @param right the right operand.
+     * @return the result of the comparison.
+     */
+    static boolean leq(double left, double right) {
+        return left <= right;
+    }
+
+    /**
+     * Compares two numbers with {@code >=}.
+     *
+     * @param left the left operand.
+     * @param right the right operand.
+     * @return the result of the comparison.
+     */
+    static boolean geq(double left, double right) {
+        return left >= right;
+    }
+}
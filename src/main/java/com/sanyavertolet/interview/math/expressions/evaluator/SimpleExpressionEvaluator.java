@@ -1,10 +1,13 @@
 package com.sanyavertolet.interview.math.expressions.evaluator;
 
 import com.sanyavertolet.interview.data.value.IterableValue;
+import com.sanyavertolet.interview.data.value.RangeValue;
 import com.sanyavertolet.interview.data.value.Value;
 import com.sanyavertolet.interview.data.accessor.DataAccessor;
+import com.sanyavertolet.interview.data.accessor.OffsetDataAccessor;
 import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
 import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.Function;
 import com.sanyavertolet.interview.math.expressions.*;
 import com.sanyavertolet.interview.math.operators.NonFunctionOperator;
 import org.slf4j.Logger;
@@ -58,22 +61,43 @@ public class SimpleExpressionEvaluator implements ExpressionEvaluator {
     }
 
     /**
-     * Evaluates a {@code FunctionExpression}.
+     * Evaluates a {@code FunctionExpression}. Range arguments are passed as {@link RangeValue}s,
+     * so aggregate functions read the cells of the range without collecting them. The arguments of
+     * a non-strict function (see {@link Function#isLazy()}) are passed unevaluated, and only the ones
+     * the function needs are evaluated.
      *
      * @param expression the function expression to evaluate.
      * @return the result of the function evaluation as a {@code Value}.
      * @throws ExpressionEvaluationException if an error occurs during evaluation.
      */
     private Value evaluate(FunctionExpression expression) throws ExpressionEvaluationException {
+        Function function = expression.getFunction();
+        if (function.isLazy()) {
+            List<Function.Argument> arguments = new ArrayList<>();
+            for (Expression argument : expression.getArguments()) {
+                arguments.add(() -> evaluateArgument(argument));
+            }
+            return function.evaluateLazily(arguments);
+        }
         List<Value> argumentValues = new ArrayList<>();
         for (Expression argument : expression.getArguments()) {
-            try {
-                argumentValues.add(evaluate(argument));
-            } catch (ExpressionEvaluationException e) {
-                argumentValues.add(null);
-            }
+            argumentValues.add(evaluateArgument(argument));
+        }
+        return function.evaluate(argumentValues);
+    }
+
+    /**
+     * Evaluates an argument of a function. A range is passed as a {@link RangeValue}.
+     *
+     * @param argument the argument to evaluate.
+     * @return the value of the argument, {@code null} if it could not be evaluated.
+     */
+    private Value evaluateArgument(Expression argument) {
+        try {
+            return argument instanceof RangeExpression range ? new RangeValue(range, dataAccessor) : evaluate(argument);
+        } catch (ExpressionEvaluationException e) {
+            return null;
         }
-        return expression.getFunction().evaluate(argumentValues);
     }
 
     /**
@@ -94,21 +118,30 @@ public class SimpleExpressionEvaluator implements ExpressionEvaluator {
      */
     private Value evaluate(CellReferenceExpression expression) {
         CellReference cellReference = expression.getCellReference();
-        return dataAccessor.getData(cellReference).getValue();
+        return dataAccessor.getValue(cellReference);
     }
 
     /**
-     * Evaluates a {@code RangeExpression}.
+     * Evaluates a {@code RangeExpression}. Empty cells of the range are skipped.
      *
      * @param expression the range expression to evaluate.
      * @return the result of the range expression evaluation as an {@code IterableValue}.
      */
     private Value evaluate(RangeExpression expression) {
-        return new IterableValue(expression.getCellReferences()
-                .stream()
-                .map(it -> dataAccessor.getData(it).getValue())
-                .toList()
-        );
+        List<Value> values = new ArrayList<>();
+        dataAccessor.forEachNonEmpty(expression, data -> values.add(data.getValue()));
+        return new IterableValue(values);
+    }
+
+    /**
+     * Evaluates an {@code AnchoredExpression} by evaluating its template with the references shifted to its cell.
+     *
+     * @param expression the anchored expression to evaluate.
+     * @return the result of the expression evaluation as a {@code Value}.
+     * @throws ExpressionEvaluationException if an error occurs during evaluation.
+     */
+    private Value evaluate(AnchoredExpression expression) throws ExpressionEvaluationException {
+        return new SimpleExpressionEvaluator(new OffsetDataAccessor(dataAccessor, expression)).evaluate(expression.getTemplate());
     }
 
     /**
@@ -132,6 +165,8 @@ public class SimpleExpressionEvaluator implements ExpressionEvaluator {
                 return evaluate(functionExpression);
             } else if (expression instanceof RangeExpression rangeExpression) {
                 return evaluate(rangeExpression);
+            } else if (expression instanceof AnchoredExpression anchoredExpression) {
+                return evaluate(anchoredExpression);
             }
         } catch (Exception e) {
             throw new ExpressionEvaluationException("Could not evaluate expression", e);
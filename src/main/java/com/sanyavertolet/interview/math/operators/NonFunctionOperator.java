@@ -1,15 +1,29 @@
 package com.sanyavertolet.interview.math.operators;
 
-import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Optional;
 
 /**
  * Represents a non-function operator used in expressions, such as arithmetic or comparison operators.
  * The {@code NonFunctionOperator} class extends the {@link Operator} class and provides additional
  * information about the operator's type, associativity, and precedence.
+ * <p>
+ * Operators are immutable, so a single shared instance per {@link Type} is kept in a static table,
+ * see {@link #of(Type)}, and parsers do not need to create a new operator for every operator token.
  */
 public class NonFunctionOperator extends Operator {
+    private static final Map<String, Type> typesBySymbol = new HashMap<>();
+    private static final Map<Type, NonFunctionOperator> operators = new EnumMap<>(Type.class);
+
+    static {
+        for (Type type : Type.values()) {
+            typesBySymbol.put(type.getSymbol(), type);
+            operators.put(type, new NonFunctionOperator(type));
+        }
+    }
+
     private final Type type;
 
     /**
@@ -157,11 +171,30 @@ public class NonFunctionOperator extends Operator {
      */
     public NonFunctionOperator(String symbol) {
         super(symbol);
-        Optional<Type> operator = Arrays.stream(Type.values()).filter(it -> it.getSymbol().equals(symbol)).findFirst();
-        if (operator.isEmpty()) {
+        type = typesBySymbol.get(symbol);
+        if (type == null) {
             throw new NoSuchElementException("Operator not found: " + symbol);
         }
-        type = operator.get();
+    }
+
+    /**
+     * Constructs a {@code NonFunctionOperator} of the provided type.
+     *
+     * @param type the type of the operator.
+     */
+    private NonFunctionOperator(Type type) {
+        super(type.getSymbol());
+        this.type = type;
+    }
+
+    /**
+     * Returns the shared operator of the provided type.
+     *
+     * @param type the type of the operator.
+     * @return the operator, the same instance for every call with the same type.
+     */
+    public static NonFunctionOperator of(Type type) {
+        return operators.get(type);
     }
 
     /**
@@ -0,0 +1,181 @@
+package com.sanyavertolet.interview.parser;
+
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionParsingException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.AnchoredExpression;
+import com.sanyavertolet.interview.math.expressions.Expression;
+import com.sanyavertolet.interview.math.expressions.RelativeFormula;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An {@link ExpressionParser} that caches the expressions parsed by another parser, keyed by the formula text
+ * with leading and trailing whitespace stripped. A formula repeated in many cells, such as {@code =SUM(B1:B500)}
+ * pasted into every summary cell, is tokenized and parsed only once, and all cells share the same tree.
+ * This is safe, as expressions are immutable, and it also lets evaluators that cache compiled expressions
+ * compile the shared tree once.
+ * <p>
+ * When the cell of a formula is known, see {@link #parse(String, CellReference)}, the formula is also cached
+ * under its relative form, see {@link RelativeFormula}. A formula filled down a column, such as {@code =A1*2+B1},
+ * {@code =A2*2+B2}, ..., is then parsed once, and every other cell gets an {@link AnchoredExpression}
+ * that shares the tree of the first one and only holds the offset of its cell.
+ * <p>
+ * At most {@code capacity} expressions are cached, the least recently used ones are evicted first.
+ * Formulas that fail to parse are not cached. All methods are synchronized, and the underlying parser
+ * is called while holding the lock, so it does not need to be thread-safe.
+ */
+public class CachingExpressionParser implements ExpressionParser {
+    private final static Logger logger = LoggerFactory.getLogger(CachingExpressionParser.class);
+
+    /**
+     * The default maximal number of cached expressions.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final ExpressionParser expressionParser;
+    private final Map<String, Template> templates;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Constructs a {@code CachingExpressionParser} caching at most {@link #DEFAULT_CAPACITY} expressions.
+     *
+     * @param expressionParser the parser to parse formulas that are not cached yet.
+     */
+    public CachingExpressionParser(ExpressionParser expressionParser) {
+        this(expressionParser, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a {@code CachingExpressionParser} caching at most the given number of expressions.
+     *
+     * @param expressionParser the parser to parse formulas that are not cached yet.
+     * @param capacity the maximal number of cached expressions.
+     */
+    public CachingExpressionParser(ExpressionParser expressionParser, int capacity) {
+        this.expressionParser = expressionParser;
+        this.templates = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached expression of the formula, parsing and caching it if it is not cached yet.
+     *
+     * @param expression the string representation of the expression to be parsed.
+     * @return an {@link Expression} object representing the parsed expression, shared by all callers.
+     * @throws ExpressionParsingException if the formula cannot be parsed.
+     */
+    @Override
+    public synchronized Expression parse(String expression) throws ExpressionParsingException {
+        String key = expression.strip();
+        Template template = templates.get(key);
+        if (template != null && template.anchor() == null) {
+            hitCount++;
+            return template.expression();
+        }
+        return parseMissing(key, null, null);
+    }
+
+    /**
+     * Returns the cached expression of the formula of the given cell. If the same text is cached, its expression
+     * is returned. Otherwise, if a formula with the same relative form is cached, an {@link AnchoredExpression}
+     * sharing its tree is returned. Otherwise, the formula is parsed and cached under both keys.
+     *
+     * @param expression the string representation of the expression to be parsed.
+     * @param anchor the reference of the cell holding the expression.
+     * @return an {@link Expression} object representing the parsed expression, sharing its tree with other cells.
+     * @throws ExpressionParsingException if the formula cannot be parsed.
+     */
+    @Override
+    public synchronized Expression parse(String expression, CellReference anchor) throws ExpressionParsingException {
+        String key = expression.strip();
+        Template template = templates.get(key);
+        if (template != null && template.anchor() == null) {
+            hitCount++;
+            return template.expression();
+        }
+        String relativeKey = RelativeFormula.normalize(key, anchor);
+        template = relativeKey == null ? null : templates.get(relativeKey);
+        if (template != null) {
+            hitCount++;
+            return template.anchorAt(anchor);
+        }
+        return parseMissing(key, relativeKey, anchor);
+    }
+
+    /**
+     * Drops all cached expressions.
+     */
+    public synchronized void clear() {
+        templates.clear();
+    }
+
+    /**
+     * Returns the number of formulas answered from the cache.
+     *
+     * @return the number of cache hits.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of formulas that had to be parsed, including the ones that failed to parse.
+     *
+     * @return the number of cache misses.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Parses a formula that is not cached and caches it under its text and, if given, under its relative form.
+     *
+     * @param key the stripped text of the formula.
+     * @param relativeKey the relative form of the formula, or {@code null} to cache it under its text only.
+     * @param anchor the reference of the cell holding the formula, or {@code null} if it is not known.
+     * @return the parsed expression.
+     * @throws ExpressionParsingException if the formula cannot be parsed.
+     */
+    private Expression parseMissing(String key, String relativeKey, CellReference anchor) throws ExpressionParsingException {
+        missCount++;
+        logger.trace("Cache miss for expression: {}", key);
+        Expression parsed = expressionParser.parse(key);
+        templates.put(key, new Template(parsed, null));
+        if (relativeKey != null && !relativeKey.equals(key)) {
+            templates.put(relativeKey, new Template(parsed, anchor));
+        }
+        return parsed;
+    }
+
+    /**
+     * A cached expression tree.
+     *
+     * @param expression the parsed expression.
+     * @param anchor the cell the expression was parsed for if it is cached under a relative form,
+     *               {@code null} if it is cached under its text and does not depend on the cell.
+     */
+    private record Template(Expression expression, CellReference anchor) {
+
+        /**
+         * Returns the expression of this template as seen from the given cell.
+         *
+         * @param reference the reference of the cell.
+         * @return the expression itself if it does not depend on the cell or the cell is the anchor,
+         *         an {@link AnchoredExpression} sharing its tree otherwise.
+         */
+        Expression anchorAt(CellReference reference) {
+            if (anchor == null || anchor.equals(reference)) {
+                return expression;
+            }
+            return new AnchoredExpression(expression, reference.row() - anchor.row(), reference.column() - anchor.column());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.sanyavertolet.interview.parser;
 
 import com.sanyavertolet.interview.exceptions.expressions.ExpressionParsingException;
+import com.sanyavertolet.interview.math.CellReference;
 import com.sanyavertolet.interview.math.expressions.Expression;
 
 /**
@@ -20,4 +21,20 @@ public interface ExpressionParser {
      * @throws ExpressionParsingException if an error occurs during parsing, such as invalid syntax or unrecognized tokens.
      */
     Expression parse(String expression) throws ExpressionParsingException;
+
+    /**
+     * Parses the given expression string of the cell with the given reference. Implementations may return
+     * an {@link com.sanyavertolet.interview.math.expressions.AnchoredExpression} that shares its tree with
+     * the formulas of other cells that have the same relative shape.
+     * <p>
+     * The default implementation ignores the cell and calls {@link #parse(String)}.
+     *
+     * @param expression the string representation of the expression to be parsed.
+     * @param anchor the reference of the cell holding the expression.
+     * @return an {@link Expression} object representing the parsed expression.
+     * @throws ExpressionParsingException if an error occurs during parsing, such as invalid syntax or unrecognized tokens.
+     */
+    default Expression parse(String expression, CellReference anchor) throws ExpressionParsingException {
+        return parse(expression);
+    }
 }
@@ -0,0 +1,266 @@
+package com.sanyavertolet.interview.parser;
+
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.exceptions.FunctionArgumentException;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionParsingException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.Function;
+import com.sanyavertolet.interview.math.expressions.*;
+import com.sanyavertolet.interview.math.operators.NonFunctionOperator;
+import com.sanyavertolet.interview.parser.tokenizer.CompactTokenizer;
+import com.sanyavertolet.interview.parser.tokenizer.Token;
+import com.sanyavertolet.interview.parser.tokenizer.TokenStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An implementation of the {@link ExpressionParser} interface that parses expressions in a single pass
+ * with a Pratt (precedence climbing) parser over the {@link TokenStream} of a {@link CompactTokenizer}.
+ * It builds the same trees as {@link ShuntingYardParser}: operators have the precedence and associativity
+ * of {@link NonFunctionOperator}, and a unary minus becomes a multiplication by {@code -1} that binds
+ * like {@code *}, e.g. {@code -2 ^ 2} is {@code -1 * (2 ^ 2)}.
+ * <p>
+ * Operators are taken from the shared table of {@link NonFunctionOperator#of(NonFunctionOperator.Type)},
+ * and the arguments of a function are collected until its closing parenthesis, so no look-ahead is needed.
+ * The parser keeps no state between calls, so a single instance may be shared by any number of threads.
+ */
+public class PrattParser implements ExpressionParser {
+    private final static Logger logger = LoggerFactory.getLogger(PrattParser.class);
+    private static final int MAX_SAFE_INTEGER_LENGTH = 10;
+    private static final NonFunctionOperator MULTIPLY = NonFunctionOperator.of(NonFunctionOperator.Type.MULTIPLY);
+    private final CompactTokenizer tokenizer = new CompactTokenizer();
+
+    /**
+     * Parses the given expression string into an {@link Expression} object.
+     *
+     * @param expression the string representation of the expression to be parsed.
+     * @return an {@link Expression} object representing the parsed expression.
+     * @throws ExpressionParsingException if an error occurs during parsing, such as invalid syntax or unrecognized tokens.
+     */
+    @Override
+    public Expression parse(String expression) throws ExpressionParsingException {
+        logger.debug("Parsing expression: {}", expression);
+        TokenStream tokens = tokenizer.scan(expression);
+        try {
+            return new Cursor(tokens).parseAll();
+        } catch (ExpressionParsingException exception) {
+            logger.trace(exception.getMessage());
+            throw exception;
+        } catch (FunctionArgumentException | CellReferenceException | IllegalArgumentException exception) {
+            logger.trace(exception.getMessage());
+            throw new ExpressionParsingException(exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * Returns the operator of an {@link Token.Type#OPERATOR} token.
+     *
+     * @param tokens the tokens.
+     * @param index the index of the operator token.
+     * @return the shared operator.
+     * @throws ExpressionParsingException if the token is not a known operator.
+     */
+    private static NonFunctionOperator operatorAt(TokenStream tokens, int index) throws ExpressionParsingException {
+        boolean single = tokens.length(index) == 1;
+        NonFunctionOperator.Type type = switch (tokens.charAt(index, 0)) {
+            case '+' -> NonFunctionOperator.Type.PLUS;
+            case '-' -> NonFunctionOperator.Type.MINUS;
+            case '*' -> NonFunctionOperator.Type.MULTIPLY;
+            case '/' -> NonFunctionOperator.Type.DIVIDE;
+            case '^' -> NonFunctionOperator.Type.POWER;
+            case '<' -> single ? NonFunctionOperator.Type.LT : NonFunctionOperator.Type.LEQ;
+            case '>' -> single ? NonFunctionOperator.Type.GT : NonFunctionOperator.Type.GEQ;
+            case '=' -> NonFunctionOperator.Type.EQ;
+            case '!' -> NonFunctionOperator.Type.NEQ;
+            default -> throw new ExpressionParsingException("Unknown operator: " + tokens.text(index));
+        };
+        return NonFunctionOperator.of(type);
+    }
+
+    /**
+     * Returns the value of a {@link Token.Type#NUMBER} token, which consists of digits and dots.
+     * It is the value {@link Value#parse(String)} would return, but the text is only parsed as an integer
+     * if it cannot overflow and only as a double if it has a dot, so that no exception is thrown for valid numbers.
+     *
+     * @param tokens the tokens.
+     * @param index the index of the number token.
+     * @return the value of the number.
+     */
+    private static Value numberAt(TokenStream tokens, int index) {
+        String text = tokens.text(index);
+        if (text.indexOf('.') < 0) {
+            return text.length() < MAX_SAFE_INTEGER_LENGTH ? Value.of(Integer.parseInt(text)) : Value.parse(text);
+        }
+        try {
+            return Value.of(Double.parseDouble(text));
+        } catch (NumberFormatException exception) {
+            return Value.parse(text);
+        }
+    }
+
+    /**
+     * The position of a single {@link #parse(String)} call in the token stream.
+     */
+    private static final class Cursor {
+        private final TokenStream tokens;
+        private int index;
+
+        /**
+         * Constructs a {@code Cursor} at the first token.
+         *
+         * @param tokens the tokens to parse.
+         */
+        Cursor(TokenStream tokens) {
+            this.tokens = tokens;
+        }
+
+        /**
+         * Parses all tokens into a single expression.
+         *
+         * @return the parsed expression.
+         * @throws ExpressionParsingException if the tokens do not form a single valid expression.
+         * @throws FunctionArgumentException if a function gets a wrong number of arguments.
+         * @throws CellReferenceException if a reference is not a valid cell identifier.
+         */
+        Expression parseAll() throws ExpressionParsingException, FunctionArgumentException, CellReferenceException {
+            Expression expression = parseExpression(0);
+            if (index < tokens.size()) {
+                throw new ExpressionParsingException("Could not build expression tree: unexpected " + tokens.toToken(index));
+            }
+            return expression;
+        }
+
+        /**
+         * Parses an operand followed by binary operators whose precedence is at least the given one.
+         * A left-associative operator parses its right operand with a higher minimal precedence, so that operators
+         * of the same precedence are grouped from the left, and a right-associative one with the same precedence.
+         *
+         * @param minPrecedence the minimal precedence of the operators to consume.
+         * @return the parsed expression.
+         * @throws ExpressionParsingException if the expression is not valid.
+         * @throws FunctionArgumentException if a function gets a wrong number of arguments.
+         * @throws CellReferenceException if a reference is not a valid cell identifier.
+         */
+        private Expression parseExpression(int minPrecedence) throws ExpressionParsingException, FunctionArgumentException, CellReferenceException {
+            Expression left = parseOperand();
+            while (index < tokens.size() && tokens.type(index) == Token.Type.OPERATOR) {
+                NonFunctionOperator operator = operatorAt(tokens, index);
+                int precedence = operator.getPrecedence();
+                if (precedence < minPrecedence) {
+                    break;
+                }
+                index++;
+                boolean leftAssociative = operator.getAssociativity() == NonFunctionOperator.Associativity.LEFT;
+                Expression right = parseExpression(leftAssociative ? precedence + 1 : precedence);
+                left = new BinaryExpression(left, right, operator);
+            }
+            return left;
+        }
+
+        /**
+         * Parses an operand: a number, a string, a cell reference, a range, a function call,
+         * an expression in parentheses or a negated operand.
+         *
+         * @return the parsed operand.
+         * @throws ExpressionParsingException if the operand is not valid.
+         * @throws FunctionArgumentException if a function gets a wrong number of arguments.
+         * @throws CellReferenceException if a reference is not a valid cell identifier.
+         */
+        private Expression parseOperand() throws ExpressionParsingException, FunctionArgumentException, CellReferenceException {
+            if (index >= tokens.size()) {
+                throw new ExpressionParsingException("Unexpected end of expression");
+            }
+            int current = index++;
+            return switch (tokens.type(current)) {
+                case NUMBER -> ValueExpression.of(numberAt(tokens, current));
+                case STRING -> new ValueExpression(tokens.text(current));
+                case REFERENCE -> isNext(Token.Type.OPEN_PARENTHESIS) ? parseFunction(current) : parseReference(current);
+                case OPEN_PARENTHESIS -> {
+                    Expression expression = parseExpression(0);
+                    expect(Token.Type.CLOSE_PARENTHESIS);
+                    yield expression;
+                }
+                case OPERATOR -> {
+                    if (!tokens.textEquals(current, "-")) {
+                        throw new ExpressionParsingException("Unexpected operator: " + tokens.text(current));
+                    }
+                    Expression operand = parseExpression(MULTIPLY.getPrecedence() + 1);
+                    yield new BinaryExpression(ValueExpression.parse("-1"), operand, MULTIPLY);
+                }
+                default -> throw new ExpressionParsingException("Unexpected token: " + tokens.toToken(current));
+            };
+        }
+
+        /**
+         * Parses a cell reference, or a range if the reference is followed by a colon.
+         *
+         * @param current the index of the reference token.
+         * @return the cell reference or range expression.
+         * @throws ExpressionParsingException if the range is not valid.
+         * @throws CellReferenceException if a reference is not a valid cell identifier.
+         */
+        private Expression parseReference(int current) throws ExpressionParsingException, CellReferenceException {
+            CellReference from = CellReference.of(tokens.text(current));
+            if (!isNext(Token.Type.COLON)) {
+                return new CellReferenceExpression(from);
+            }
+            index++;
+            expect(Token.Type.REFERENCE);
+            return new RangeExpression(from, CellReference.of(tokens.text(index - 1)));
+        }
+
+        /**
+         * Parses the arguments of a function up to its closing parenthesis.
+         *
+         * @param current the index of the function name token, followed by an opening parenthesis.
+         * @return the function expression.
+         * @throws ExpressionParsingException if the arguments are not valid.
+         * @throws FunctionArgumentException if the function gets a wrong number of arguments.
+         * @throws CellReferenceException if a reference is not a valid cell identifier.
+         */
+        private Expression parseFunction(int current) throws ExpressionParsingException, FunctionArgumentException, CellReferenceException {
+            Function function = Function.named(tokens.text(current));
+            index++;
+            List<Expression> arguments = new ArrayList<>();
+            if (isNext(Token.Type.CLOSE_PARENTHESIS)) {
+                index++;
+                return new FunctionExpression(function, arguments);
+            }
+            arguments.add(parseExpression(0));
+            while (isNext(Token.Type.COMMA)) {
+                index++;
+                arguments.add(parseExpression(0));
+            }
+            expect(Token.Type.CLOSE_PARENTHESIS);
+            return new FunctionExpression(function, arguments);
+        }
+
+        /**
+         * Checks whether the next token has the given type.
+         *
+         * @param type the type of the token.
+         * @return {@code true} if there is a next token and it has the given type.
+         */
+        private boolean isNext(Token.Type type) {
+            return index < tokens.size() && tokens.type(index) == type;
+        }
+
+        /**
+         * Consumes the next token, which must have the given type.
+         *
+         * @param type the expected type of the token.
+         * @throws ExpressionParsingException if the next token is missing or has another type.
+         */
+        private void expect(Token.Type type) throws ExpressionParsingException {
+            if (!isNext(type)) {
+                throw new ExpressionParsingException("Expected " + type + " but found "
+                        + (index < tokens.size() ? tokens.toToken(index) : "end of expression"));
+            }
+            index++;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.sanyavertolet.interview.parser.tokenizer;
+
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionParsingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * A {@link Tokenizer} that scans a {@link CharSequence} into a {@link TokenStream} without creating an object per token:
+ * the type, offset and length of every token are written into a single {@code int} array, and no text is copied.
+ * It recognizes the same tokens as {@link SimpleTokenizer}, and, like it, skips the first character of the input,
+ * which is the leading {@code =} of a formula.
+ * <p>
+ * The tokenizer keeps no state between calls, so a single instance may be shared by any number of threads.
+ */
+public class CompactTokenizer implements Tokenizer {
+    private final static Logger logger = LoggerFactory.getLogger(CompactTokenizer.class);
+    private static final int STRIDE = 3;
+
+    /**
+     * Tokenizes the given input string into a list of {@link Token} objects, see {@link #scan(CharSequence)}.
+     *
+     * @param input the input string to be tokenized.
+     * @return a list of tokens representing the parsed elements of the input string.
+     * @throws ExpressionParsingException if an error occurs during tokenization, such as invalid syntax.
+     */
+    @Override
+    public List<Token> tokenize(String input) throws ExpressionParsingException {
+        return scan(input).toTokens();
+    }
+
+    /**
+     * Scans the input into a {@link TokenStream}. Spaces between tokens are skipped.
+     *
+     * @param input the formula, starting with {@code =}.
+     * @return the tokens of the formula.
+     * @throws ExpressionParsingException if the input contains an unknown symbol or an unterminated string.
+     */
+    public TokenStream scan(CharSequence input) throws ExpressionParsingException {
+        logger.debug("Tokenizing {}", input);
+        int length = input.length();
+        int[] tokens = new int[Math.max(length - 1, 0) * STRIDE];
+        int size = 0;
+        int position = 1;
+        while (position < length) {
+            if (input.charAt(position) == ' ') {
+                position++;
+            } else {
+                position = scanToken(input, position, tokens, size);
+                size++;
+            }
+        }
+        TokenStream stream = new TokenStream(input, tokens, size);
+        if (logger.isTraceEnabled()) {
+            logger.trace("Tokenized {} into tokens {}", input, stream);
+        }
+        return stream;
+    }
+
+    /**
+     * Scans a single token.
+     *
+     * @param input the formula.
+     * @param position the position of the first character of the token.
+     * @param tokens the array to write the token to.
+     * @param index the index of the token.
+     * @return the position right after the token.
+     * @throws ExpressionParsingException if the token is not valid.
+     */
+    private static int scanToken(CharSequence input, int position, int[] tokens, int index) throws ExpressionParsingException {
+        char symbol = input.charAt(position);
+        return switch (symbol) {
+            case '(' -> put(tokens, index, Token.Type.OPEN_PARENTHESIS, position, 1);
+            case ')' -> put(tokens, index, Token.Type.CLOSE_PARENTHESIS, position, 1);
+            case ',' -> put(tokens, index, Token.Type.COMMA, position, 1);
+            case ':' -> put(tokens, index, Token.Type.COLON, position, 1);
+            case '+', '-', '*', '/', '^' -> put(tokens, index, Token.Type.OPERATOR, position, 1);
+            case '<', '>' -> put(tokens, index, Token.Type.OPERATOR, position, isFollowedByEquals(input, position) ? 2 : 1);
+            case '=', '!' -> {
+                if (!isFollowedByEquals(input, position)) {
+                    throw new ExpressionParsingException(position + 1 < input.length()
+                            ? "Unexpected symbol '" + input.charAt(position + 1) + "'"
+                            : "Unexpected end of expression after '" + symbol + "'");
+                }
+                yield put(tokens, index, Token.Type.OPERATOR, position, 2);
+            }
+            case '"' -> scanString(input, position, tokens, index);
+            default -> {
+                if (Character.isDigit(symbol)) {
+                    yield put(tokens, index, Token.Type.NUMBER, position, runLength(input, position, true));
+                } else if (Character.isLetter(symbol)) {
+                    yield put(tokens, index, Token.Type.REFERENCE, position, runLength(input, position, false));
+                }
+                throw new ExpressionParsingException("Syntax error at position: " + position);
+            }
+        };
+    }
+
+    /**
+     * Scans a string token. The token covers the characters between the quotes.
+     *
+     * @param input the formula.
+     * @param position the position of the opening quote.
+     * @param tokens the array to write the token to.
+     * @param index the index of the token.
+     * @return the position right after the closing quote.
+     * @throws ExpressionParsingException if the closing quote is missing.
+     */
+    private static int scanString(CharSequence input, int position, int[] tokens, int index) throws ExpressionParsingException {
+        int end = position + 1;
+        while (end < input.length() && input.charAt(end) != '"') {
+            end++;
+        }
+        if (end >= input.length()) {
+            throw new ExpressionParsingException("Could not parse string properly: closing \" is missing");
+        }
+        put(tokens, index, Token.Type.STRING, position + 1, end - position - 1);
+        return end + 1;
+    }
+
+    /**
+     * Measures a run of characters of a number, digits and decimal points, or of a reference, letters and digits.
+     *
+     * @param input the formula.
+     * @param position the position of the first character of the run.
+     * @param number {@code true} to measure a number, {@code false} to measure a reference.
+     * @return the length of the run.
+     */
+    private static int runLength(CharSequence input, int position, boolean number) {
+        int end = position;
+        while (end < input.length()) {
+            char symbol = input.charAt(end);
+            boolean matches = number ? Character.isDigit(symbol) || symbol == '.' : Character.isLetterOrDigit(symbol);
+            if (!matches) {
+                break;
+            }
+            end++;
+        }
+        return end - position;
+    }
+
+    /**
+     * Checks whether the character at the given position is followed by {@code =}.
+     *
+     * @param input the formula.
+     * @param position the position of the character.
+     * @return {@code true} if the next character is {@code =}.
+     */
+    private static boolean isFollowedByEquals(CharSequence input, int position) {
+        return position + 1 < input.length() && input.charAt(position + 1) == '=';
+    }
+
+    /**
+     * Writes a token into the array.
+     *
+     * @param tokens the array of tokens.
+     * @param index the index of the token.
+     * @param type the type of the token.
+     * @param offset the offset of the text of the token.
+     * @param length the length of the text of the token.
+     * @return the position right after the text of the token.
+     */
+    private static int put(int[] tokens, int index, Token.Type type, int offset, int length) {
+        tokens[index * STRIDE] = type.ordinal();
+        tokens[index * STRIDE + 1] = offset;
+        tokens[index * STRIDE + 2] = length;
+        return offset + length;
+    }
+}
@@ -0,0 +1,149 @@
+package com.sanyavertolet.interview.parser.tokenizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compact sequence of tokens produced by {@link CompactTokenizer}. Instead of a {@link Token} object per token,
+ * the stream keeps a single {@code int} array with three entries per token: the ordinal of its {@link Token.Type},
+ * and the offset and the length of its text in the input. The text of a token is only copied into a {@link String}
+ * when it is requested with {@link #text(int)}, and can be compared in place with {@link #textEquals(int, String)}.
+ * <p>
+ * The text of a {@link Token.Type#STRING} token does not include the quotes.
+ */
+public final class TokenStream {
+    private static final Token.Type[] TYPES = Token.Type.values();
+    private static final int STRIDE = 3;
+
+    private final CharSequence input;
+    private final int[] tokens;
+    private final int size;
+
+    /**
+     * Constructs a {@code TokenStream} over the tokens of the given input.
+     *
+     * @param input the tokenized input.
+     * @param tokens the type, offset and length of every token, in order.
+     * @param size the number of tokens.
+     */
+    TokenStream(CharSequence input, int[] tokens, int size) {
+        this.input = input;
+        this.tokens = tokens;
+        this.size = size;
+    }
+
+    /**
+     * Returns the number of tokens.
+     *
+     * @return the number of tokens.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the type of a token.
+     *
+     * @param index the index of the token.
+     * @return the type of the token.
+     */
+    public Token.Type type(int index) {
+        return TYPES[tokens[index * STRIDE]];
+    }
+
+    /**
+     * Returns the offset of the text of a token in the input.
+     *
+     * @param index the index of the token.
+     * @return the offset of the first character of the token.
+     */
+    public int offset(int index) {
+        return tokens[index * STRIDE + 1];
+    }
+
+    /**
+     * Returns the length of the text of a token.
+     *
+     * @param index the index of the token.
+     * @return the number of characters of the token.
+     */
+    public int length(int index) {
+        return tokens[index * STRIDE + 2];
+    }
+
+    /**
+     * Returns a character of the text of a token.
+     *
+     * @param index the index of the token.
+     * @param position the position of the character in the text of the token.
+     * @return the character.
+     */
+    public char charAt(int index, int position) {
+        return input.charAt(offset(index) + position);
+    }
+
+    /**
+     * Returns the text of a token. This copies the text into a new {@link String}.
+     *
+     * @param index the index of the token.
+     * @return the text of the token.
+     */
+    public String text(int index) {
+        int offset = offset(index);
+        return input.subSequence(offset, offset + length(index)).toString();
+    }
+
+    /**
+     * Compares the text of a token with a string without copying it.
+     *
+     * @param index the index of the token.
+     * @param text the string to compare with.
+     * @return {@code true} if the text of the token equals the string.
+     */
+    public boolean textEquals(int index, String text) {
+        int length = length(index);
+        if (length != text.length()) {
+            return false;
+        }
+        int offset = offset(index);
+        for (int position = 0; position < length; position++) {
+            if (input.charAt(offset + position) != text.charAt(position)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converts a token into a {@link Token}.
+     *
+     * @param index the index of the token.
+     * @return the token.
+     */
+    public Token toToken(int index) {
+        return new Token(type(index), text(index));
+    }
+
+    /**
+     * Converts all tokens into {@link Token}s, the way {@link Tokenizer#tokenize(String)} returns them.
+     *
+     * @return the list of tokens.
+     */
+    public List<Token> toTokens() {
+        List<Token> list = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            list.add(toToken(index));
+        }
+        return list;
+    }
+
+    /**
+     * Returns a string representation of the tokens, for logging.
+     *
+     * @return the tokens as a string.
+     */
+    @Override
+    public String toString() {
+        return toTokens().toString();
+    }
+}
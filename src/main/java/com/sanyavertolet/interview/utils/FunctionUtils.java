@@ -1,5 +1,6 @@
 package com.sanyavertolet.interview.utils;
 
+import com.sanyavertolet.interview.data.aggregate.RangeAggregate;
 import com.sanyavertolet.interview.data.value.*;
 import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
 
@@ -8,6 +9,11 @@ import java.util.List;
 /**
  * Utility class that provides logic for evaluating common functions, such as sum, count, and average,
  * on a range of numeric values.
+ * <p>
+ * A range is passed either as a {@link RangeValue}, whose cells are streamed from the container,
+ * or as an {@link IterableValue}. The numbers are accumulated into a {@link RangeAggregate}, which sums them
+ * as {@code double}s with compensation for rounding errors. The aggregate of a {@link RangeValue} may come
+ * from a cache that is kept up to date as cells change, see {@link com.sanyavertolet.interview.data.aggregate.AggregateCache}.
  */
 final public class FunctionUtils {
 
@@ -18,81 +24,59 @@ final public class FunctionUtils {
 
     /**
      * Calculates the sum of all numeric values within the provided list of arguments.
-     * The arguments must contain exactly one {@link IterableValue} representing a range of values.
+     * The arguments must contain exactly one {@link RangeValue} or {@link IterableValue} representing a range of values.
      *
-     * @param values the function arguments, which should contain one {@link IterableValue}.
+     * @param values the function arguments, which should contain one range.
      * @return the sum of all numeric values in the range as a {@link Value}.
-     * @throws ExpressionEvaluationException if the argument is not an {@link IterableValue}.
+     * @throws ExpressionEvaluationException if the argument is not a range.
      */
     public static Value sum(List<Value> values) throws ExpressionEvaluationException {
-        if (!(values.get(0) instanceof IterableValue iterableValue)) {
-            throw new ExpressionEvaluationException("SUM function should have only one valid range argument");
-        }
-        return sum(iterableValue);
-    }
-
-    /**
-     * Helper method that performs the sum calculation on an {@link IterableValue}.
-     *
-     * @param iterableValue the iterable value containing the numeric values to sum.
-     * @return the sum of all numeric values in the iterable as a {@link Value}.
-     * @throws ExpressionEvaluationException if an error occurs during the calculation.
-     */
-    private static Value sum(IterableValue iterableValue) throws ExpressionEvaluationException {
-        Value accumulator = new IntegerValue(0);
-        for (Value value : iterableValue.getValues()) {
-            if (value instanceof IntegerValue || value instanceof DoubleValue) {
-                accumulator = accumulator.plus(value);
-            }
-        }
-        return accumulator;
+        return Value.of(aggregate(values.get(0), "SUM").getSum());
     }
 
     /**
      * Counts the number of numeric values within the provided list of arguments.
-     * The arguments must contain exactly one {@link IterableValue} representing a range of values.
+     * The arguments must contain exactly one {@link RangeValue} or {@link IterableValue} representing a range of values.
      *
-     * @param values the function arguments, which should contain one {@link IterableValue}.
+     * @param values the function arguments, which should contain one range.
      * @return the count of all numeric values in the range as a {@link Value}.
-     * @throws ExpressionEvaluationException if the argument is not an {@link IterableValue}.
+     * @throws ExpressionEvaluationException if the argument is not a range.
      */
     public static Value count(List<Value> values) throws ExpressionEvaluationException {
-        if (!(values.get(0) instanceof IterableValue iterableValue)) {
-            throw new ExpressionEvaluationException("COUNT function should have only one valid range argument");
-        }
-        return count(iterableValue);
+        return Value.of(aggregate(values.get(0), "COUNT").getCount());
     }
 
     /**
-     * Helper method that performs the count calculation on an {@link IterableValue}.
+     * Calculates the average of all numeric values within the provided list of arguments.
+     * The arguments must contain exactly one {@link RangeValue} or {@link IterableValue} representing a range of values.
      *
-     * @param iterableValue the iterable value containing the numeric values to count.
-     * @return the count of all numeric values in the iterable as a {@link Value}.
+     * @param values the function arguments, which should contain one range.
+     * @return the average of all numeric values in the range as a {@link Value}.
+     * @throws ExpressionEvaluationException if the argument is not a range, or if it holds no numbers.
      */
-    private static Value count(IterableValue iterableValue) {
-        int counter = 0;
-        for (Value value : iterableValue.getValues()) {
-            if (value instanceof IntegerValue || value instanceof DoubleValue) {
-                counter += 1;
-            }
-        }
-        return Value.of(counter);
+    public static Value average(List<Value> values) throws ExpressionEvaluationException {
+        RangeAggregate aggregate = aggregate(values.get(0), "AVERAGE");
+        return Value.of(aggregate.getSum()).divide(Value.of(aggregate.getCount()));
     }
 
     /**
-     * Calculates the average of all numeric values within the provided list of arguments.
-     * The arguments must contain exactly one {@link IterableValue} representing a range of values.
+     * Computes the sum and the count of the numbers of a range.
      *
-     * @param values the function arguments, which should contain one {@link IterableValue}.
-     * @return the average of all numeric values in the range as a {@link Value}.
-     * @throws ExpressionEvaluationException if the argument is not an {@link IterableValue}.
+     * @param range the range argument of a function.
+     * @param functionName the name of the function, used in the error message.
+     * @return the aggregate of the range.
+     * @throws ExpressionEvaluationException if the argument is not a range.
      */
-    public static Value average(List<Value> values) throws ExpressionEvaluationException {
-        if (!(values.get(0) instanceof IterableValue iterableValue)) {
-            throw new ExpressionEvaluationException("AVERAGE function should have only one valid range argument");
+    private static RangeAggregate aggregate(Value range, String functionName) throws ExpressionEvaluationException {
+        if (range instanceof RangeValue rangeValue) {
+            return rangeValue.aggregate();
+        } else if (range instanceof IterableValue iterableValue) {
+            RangeAggregate aggregate = new RangeAggregate();
+            for (Value value : iterableValue.getValues()) {
+                aggregate.add(value);
+            }
+            return aggregate;
         }
-        Value sum = sum(iterableValue);
-        Value count = count(iterableValue);
-        return sum.divide(count);
+        throw new ExpressionEvaluationException(functionName + " function should have only one valid range argument");
     }
 }
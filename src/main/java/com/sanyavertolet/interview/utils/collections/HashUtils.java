@@ -0,0 +1,26 @@
+package com.sanyavertolet.interview.utils.collections;
+
+/**
+ * A utility class with hashing helpers shared by the primitive collections of this package.
+ * This class is not meant to be instantiated.
+ */
+final class HashUtils {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private HashUtils() {}
+
+    /**
+     * Spreads the bits of a {@code long} key into an {@code int} hash. Packed cell keys keep the row in the
+     * upper half and the column in the lower half, so both halves have to be mixed into the low bits
+     * that select a slot.
+     *
+     * @param key the key to hash.
+     * @return the mixed hash of the key.
+     */
+    static int mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32);
+    }
+}
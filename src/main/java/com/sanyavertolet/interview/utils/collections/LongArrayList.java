@@ -0,0 +1,84 @@
+package com.sanyavertolet.interview.utils.collections;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of primitive {@code long} values backed by a single array. It can be used both as a list
+ * and as a stack (see {@link #removeLast()}).
+ */
+public class LongArrayList {
+    private static final int MIN_CAPACITY = 8;
+    private long[] elements;
+    private int size;
+
+    /**
+     * Constructs an empty {@code LongArrayList}.
+     */
+    public LongArrayList() {
+        elements = new long[MIN_CAPACITY];
+    }
+
+    /**
+     * Appends a value to the end of the list.
+     *
+     * @param value the value to append.
+     */
+    public void add(long value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        elements[size++] = value;
+    }
+
+    /**
+     * Retrieves the value at the given index.
+     *
+     * @param index the index of the value.
+     * @return the value at the given index.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return elements[index];
+    }
+
+    /**
+     * Removes and returns the last value of the list.
+     *
+     * @return the removed value.
+     * @throws IndexOutOfBoundsException if the list is empty.
+     */
+    public long removeLast() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("List is empty");
+        }
+        return elements[--size];
+    }
+
+    /**
+     * Returns the number of values in the list.
+     *
+     * @return the size of the list.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the list is empty.
+     *
+     * @return {@code true} if the list contains no values.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all values from the list.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
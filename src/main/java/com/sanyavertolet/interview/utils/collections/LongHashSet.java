@@ -0,0 +1,227 @@
+package com.sanyavertolet.interview.utils.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * An open-addressing hash set of primitive {@code long} values. Unlike {@code HashSet<Long>} it does not box
+ * its elements and keeps them in a single flat array, which makes it suitable for packed cell keys
+ * (see {@link com.sanyavertolet.interview.math.CellReference#key()}).
+ * <p>
+ * Collisions are resolved with linear probing, removal uses backward shifting so no tombstones are left behind.
+ * The value {@code 0} is used to mark free slots, so its presence is tracked by a separate flag.
+ */
+public class LongHashSet {
+    private static final int MIN_CAPACITY = 8;
+    private long[] keys;
+    private boolean containsZero;
+    private int size;
+
+    /**
+     * Constructs an empty {@code LongHashSet}.
+     */
+    public LongHashSet() {
+        keys = new long[MIN_CAPACITY];
+    }
+
+    /**
+     * Adds a value to the set.
+     *
+     * @param value the value to add.
+     * @return {@code true} if the set did not already contain the value.
+     */
+    public boolean add(long value) {
+        if (value == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int mask = keys.length - 1;
+        int slot = HashUtils.mix(value) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == value) {
+                return false;
+            }
+            slot = slot + 1 & mask;
+        }
+        keys[slot] = value;
+        size++;
+        if (size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the set contains a value.
+     *
+     * @param value the value to look for.
+     * @return {@code true} if the set contains the value.
+     */
+    public boolean contains(long value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        int mask = keys.length - 1;
+        int slot = HashUtils.mix(value) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == value) {
+                return true;
+            }
+            slot = slot + 1 & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes a value from the set.
+     *
+     * @param value the value to remove.
+     * @return {@code true} if the set contained the value.
+     */
+    public boolean remove(long value) {
+        if (value == 0) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int mask = keys.length - 1;
+        int slot = HashUtils.mix(value) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == value) {
+                shiftKeys(slot);
+                size--;
+                return true;
+            }
+            slot = slot + 1 & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of values in the set.
+     *
+     * @return the size of the set.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the set is empty.
+     *
+     * @return {@code true} if the set contains no values.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all values from the set.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    /**
+     * Returns an iterator over the values of the set. The set must not be modified while iterating.
+     *
+     * @return a primitive iterator over the values of the set.
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            private int slot = containsZero ? -1 : advance(0);
+
+            private int advance(int from) {
+                int current = from;
+                while (current < keys.length && keys[current] == 0) {
+                    current++;
+                }
+                return current;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot < keys.length;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                long value = slot < 0 ? 0 : keys[slot];
+                slot = advance(slot + 1);
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Returns the values of the set as an array.
+     *
+     * @return a new array containing all the values of the set.
+     */
+    public long[] toArray() {
+        long[] result = new long[size];
+        int index = 0;
+        if (containsZero) {
+            result[index++] = 0;
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                result[index++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Closes the gap left by a removed key by moving back the keys of the same probe chain.
+     *
+     * @param freed the slot that has just been freed.
+     */
+    private void shiftKeys(int freed) {
+        int mask = keys.length - 1;
+        int gap = freed;
+        int slot = gap + 1 & mask;
+        while (keys[slot] != 0) {
+            int home = HashUtils.mix(keys[slot]) & mask;
+            if ((slot - home & mask) >= (slot - gap & mask)) {
+                keys[gap] = keys[slot];
+                gap = slot;
+            }
+            slot = slot + 1 & mask;
+        }
+        keys[gap] = 0;
+    }
+
+    /**
+     * Moves all keys into a new table of the given capacity.
+     *
+     * @param capacity the new capacity, must be a power of two.
+     */
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        keys = new long[capacity];
+        int mask = capacity - 1;
+        for (long key : oldKeys) {
+            if (key != 0) {
+                int slot = HashUtils.mix(key) & mask;
+                while (keys[slot] != 0) {
+                    slot = slot + 1 & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+}
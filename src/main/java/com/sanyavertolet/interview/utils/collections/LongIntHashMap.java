@@ -0,0 +1,204 @@
+package com.sanyavertolet.interview.utils.collections;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from primitive {@code long} keys to primitive {@code int} values.
+ * It is meant for assigning dense indices to packed cell keys (see
+ * {@link com.sanyavertolet.interview.math.CellReference#key()}), so that per-cell state can be kept in arrays
+ * and bitsets instead of hash sets.
+ * <p>
+ * Collisions are resolved with linear probing. Slots are chosen with {@link HashUtils.mix(long)}, so filling
+ * the map in the iteration order of a {@link LongHashSet} does not cluster. The key {@code 0} is used to mark free slots,
+ * so its mapping is kept in separate fields.
+ */
+public class LongIntHashMap {
+    private static final int MIN_CAPACITY = 8;
+    private long[] keys;
+    private int[] values;
+    private boolean containsZero;
+    private int zeroValue;
+    private int size;
+
+    /**
+     * Constructs an empty {@code LongIntHashMap}.
+     */
+    public LongIntHashMap() {
+        keys = new long[MIN_CAPACITY];
+        values = new int[MIN_CAPACITY];
+    }
+
+    /**
+     * Retrieves the value mapped to a key.
+     *
+     * @param key the key to look up.
+     * @param defaultValue the value to return if the key is not mapped.
+     * @return the mapped value, or {@code defaultValue} if there is none.
+     */
+    public int getOrDefault(long key, int defaultValue) {
+        if (key == 0) {
+            return containsZero ? zeroValue : defaultValue;
+        }
+        int mask = keys.length - 1;
+        int slot = HashUtils.mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = slot + 1 & mask;
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Checks whether the map contains a mapping for a key.
+     *
+     * @param key the key to look up.
+     * @return {@code true} if the key is mapped to a value.
+     */
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return containsZero;
+        }
+        int mask = keys.length - 1;
+        int slot = HashUtils.mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = slot + 1 & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Maps a key to a value, replacing the previous mapping if there is one.
+     *
+     * @param key the key to map.
+     * @param value the value to map the key to.
+     */
+    public void put(long key, int value) {
+        if (key == 0) {
+            if (!containsZero) {
+                containsZero = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int mask = keys.length - 1;
+        int slot = HashUtils.mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = slot + 1 & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    /**
+     * Removes the mapping for a key.
+     *
+     * @param key the key to remove.
+     * @return {@code true} if the key was mapped to a value.
+     */
+    public boolean remove(long key) {
+        if (key == 0) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int mask = keys.length - 1;
+        int slot = HashUtils.mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                shiftKeys(slot);
+                size--;
+                return true;
+            }
+            slot = slot + 1 & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of mappings in the map.
+     *
+     * @return the size of the map.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the map is empty.
+     *
+     * @return {@code true} if the map contains no mappings.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all mappings from the map.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    /**
+     * Closes the gap left by a removed key by moving back the entries of the same probe chain.
+     *
+     * @param freed the slot that has just been freed.
+     */
+    private void shiftKeys(int freed) {
+        int mask = keys.length - 1;
+        int gap = freed;
+        int slot = gap + 1 & mask;
+        while (keys[slot] != 0) {
+            int home = HashUtils.mix(keys[slot]) & mask;
+            if ((slot - home & mask) >= (slot - gap & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+            slot = slot + 1 & mask;
+        }
+        keys[gap] = 0;
+    }
+
+    /**
+     * Moves all entries into a new table of the given capacity.
+     *
+     * @param capacity the new capacity, must be a power of two.
+     */
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        int mask = capacity - 1;
+        for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+            if (oldKeys[oldSlot] != 0) {
+                int slot = HashUtils.mix(oldKeys[oldSlot]) & mask;
+                while (keys[slot] != 0) {
+                    slot = slot + 1 & mask;
+                }
+                keys[slot] = oldKeys[oldSlot];
+                values[slot] = oldValues[oldSlot];
+            }
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.sanyavertolet.interview.utils.collections;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * An open-addressing hash map from primitive {@code long} keys to objects. Unlike {@code HashMap<Long, V>}
+ * it does not box its keys and does not allocate a node per entry, which makes it suitable for maps keyed
+ * by packed cell keys (see {@link com.sanyavertolet.interview.math.CellReference#key()}).
+ * <p>
+ * Collisions are resolved with linear probing, removal uses backward shifting so no tombstones are left behind.
+ * The key {@code 0} is used to mark free slots, so its mapping is kept in a separate field.
+ * {@code null} values are not supported.
+ *
+ * @param <V> the type of mapped values.
+ */
+public class LongObjectHashMap<V> {
+    private static final int MIN_CAPACITY = 8;
+    private long[] keys;
+    private Object[] values;
+    private V zeroValue;
+    private int size;
+
+    /**
+     * Constructs an empty {@code LongObjectHashMap}.
+     */
+    public LongObjectHashMap() {
+        keys = new long[MIN_CAPACITY];
+        values = new Object[MIN_CAPACITY];
+    }
+
+    /**
+     * Retrieves the value mapped to a key.
+     *
+     * @param key the key to look up.
+     * @return the mapped value, or {@code null} if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == 0) {
+            return zeroValue;
+        }
+        int mask = keys.length - 1;
+        int slot = HashUtils.mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+            slot = slot + 1 & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the map contains a mapping for a key.
+     *
+     * @param key the key to look up.
+     * @return {@code true} if the key is mapped to a value.
+     */
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps a key to a value.
+     *
+     * @param key the key to map.
+     * @param value the value to map the key to, must not be {@code null}.
+     * @return the previously mapped value, or {@code null} if there was none.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (key == 0) {
+            V previous = zeroValue;
+            zeroValue = value;
+            if (previous == null) {
+                size++;
+            }
+            return previous;
+        }
+        int mask = keys.length - 1;
+        int slot = HashUtils.mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = slot + 1 & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the value mapped to a key, computing and storing it if there is none.
+     *
+     * @param key the key to look up.
+     * @param mappingFunction the function to compute a value for an absent key, must not return {@code null}.
+     * @return the existing or computed value.
+     */
+    public V computeIfAbsent(long key, LongFunction<V> mappingFunction) {
+        V value = get(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Removes the mapping for a key.
+     *
+     * @param key the key to remove.
+     * @return the removed value, or {@code null} if there was none.
+     */
+    @SuppressWarnings({"unchecked", "PMD.NullAssignment"})
+    public V remove(long key) {
+        if (key == 0) {
+            V previous = zeroValue;
+            if (previous != null) {
+                zeroValue = null;
+                size--;
+            }
+            return previous;
+        }
+        int mask = keys.length - 1;
+        int slot = HashUtils.mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                shiftKeys(slot);
+                size--;
+                return previous;
+            }
+            slot = slot + 1 & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of mappings in the map.
+     *
+     * @return the size of the map.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the map is empty.
+     *
+     * @return {@code true} if the map contains no mappings.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all mappings from the map.
+     */
+    @SuppressWarnings("PMD.NullAssignment")
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        zeroValue = null;
+        size = 0;
+    }
+
+    /**
+     * Performs an action for every mapping of the map. The map must not be modified while iterating.
+     *
+     * @param action the action to perform for each key and value.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(LongObjectConsumer<? super V> action) {
+        if (zeroValue != null) {
+            action.accept(0, zeroValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                action.accept(keys[slot], (V) values[slot]);
+            }
+        }
+    }
+
+    /**
+     * Closes the gap left by a removed key by moving back the entries of the same probe chain.
+     *
+     * @param freed the slot that has just been freed.
+     */
+    @SuppressWarnings("PMD.NullAssignment")
+    private void shiftKeys(int freed) {
+        int mask = keys.length - 1;
+        int gap = freed;
+        int slot = gap + 1 & mask;
+        while (keys[slot] != 0) {
+            int home = HashUtils.mix(keys[slot]) & mask;
+            if ((slot - home & mask) >= (slot - gap & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+            slot = slot + 1 & mask;
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+    }
+
+    /**
+     * Moves all entries into a new table of the given capacity.
+     *
+     * @param capacity the new capacity, must be a power of two.
+     */
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        int mask = capacity - 1;
+        for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+            if (oldKeys[oldSlot] != 0) {
+                int slot = HashUtils.mix(oldKeys[oldSlot]) & mask;
+                while (keys[slot] != 0) {
+                    slot = slot + 1 & mask;
+                }
+                keys[slot] = oldKeys[oldSlot];
+                values[slot] = oldValues[oldSlot];
+            }
+        }
+    }
+
+    /**
+     * A functional interface for actions taking a primitive {@code long} key and an object value.
+     *
+     * @param <V> the type of the value.
+     */
+    @FunctionalInterface
+    public interface LongObjectConsumer<V> {
+        /**
+         * Performs the action.
+         *
+         * @param key the key.
+         * @param value the value.
+         */
+        void accept(long key, V value);
+    }
+}
@@ -240,6 +240,28 @@ public class Expressions {
             return new FunctionExpression(Function.SUM, List.of(range));
         }
 
+        /**
+         * Creates a function expression representing counting the numbers of a range.
+         *
+         * @param range the range to count.
+         * @return a function expression representing the count of the range.
+         * @throws FunctionArgumentException if there is an issue creating the function expression.
+         */
+        public static Expression count(Expression range) throws FunctionArgumentException {
+            return new FunctionExpression(Function.COUNT, List.of(range));
+        }
+
+        /**
+         * Creates a function expression representing averaging a range.
+         *
+         * @param range the range to average.
+         * @return a function expression representing the average of the range.
+         * @throws FunctionArgumentException if there is an issue creating the function expression.
+         */
+        public static Expression average(Expression range) throws FunctionArgumentException {
+            return new FunctionExpression(Function.AVERAGE, List.of(range));
+        }
+
         /**
          * Creates a function expression representing concatenation of two expressions.
          *
@@ -276,6 +298,30 @@ public class Expressions {
         public static Expression ifErr(Expression expression, Expression valueIfError) throws FunctionArgumentException {
             return new FunctionExpression(Function.IFERROR, List.of(expression, valueIfError));
         }
+
+        /**
+         * Creates a function expression representing a logical AND.
+         *
+         * @param left  the first operand.
+         * @param right the second operand.
+         * @return a function expression representing a logical AND.
+         * @throws FunctionArgumentException if there is an issue creating the function expression.
+         */
+        public static Expression and(Expression left, Expression right) throws FunctionArgumentException {
+            return new FunctionExpression(Function.AND, List.of(left, right));
+        }
+
+        /**
+         * Creates a function expression representing a logical OR.
+         *
+         * @param left  the first operand.
+         * @param right the second operand.
+         * @return a function expression representing a logical OR.
+         * @throws FunctionArgumentException if there is an issue creating the function expression.
+         */
+        public static Expression or(Expression left, Expression right) throws FunctionArgumentException {
+            return new FunctionExpression(Function.OR, List.of(left, right));
+        }
     }
 
     /**
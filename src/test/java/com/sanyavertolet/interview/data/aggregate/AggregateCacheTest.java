@@ -0,0 +1,128 @@
+package com.sanyavertolet.interview.data.aggregate;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.accessor.ContainerBasedDataAccessor;
+import com.sanyavertolet.interview.data.accessor.DataAccessor;
+import com.sanyavertolet.interview.data.container.DataContainer;
+import com.sanyavertolet.interview.data.container.RangeVisitor;
+import com.sanyavertolet.interview.data.container.TiledDataContainer;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.exceptions.expressions.RangeParsingException;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static com.sanyavertolet.interview.CellReferences.*;
+
+public class AggregateCacheTest {
+    private final DataContainer container = new TiledDataContainer(10, 10);
+    private final DataAccessor accessor = new ContainerBasedDataAccessor(container);
+    private final AggregateCache cache = new AggregateCache(2);
+
+    @Test
+    void deltaWithoutRescanTest() throws RangeParsingException {
+        container.put(a1Ref, new Data("1", 1));
+        container.put(a2Ref, new Data("2.5", 2.5));
+        container.put(a3Ref, new Data("text"));
+        RangeExpression range = new RangeExpression(a1Ref, a3Ref);
+        Assertions.assertEquals(3.5, cache.get(range, accessor).getSum());
+
+        cache.valueChanged(a1Ref, Value.of(1), Value.of(4));
+        cache.valueChanged(a3Ref, Value.of("text"), Value.of(0.5));
+        cache.valueChanged(a2Ref, Value.of(2.5), null);
+        cache.valueChanged(b1Ref, null, Value.of(100));
+
+        RangeAggregate aggregate = cache.get(range, accessor);
+        Assertions.assertEquals(4.5, aggregate.getSum());
+        Assertions.assertEquals(2, aggregate.getCount());
+        Assertions.assertEquals(1L, cache.getScanCount());
+
+        cache.clear();
+        Assertions.assertEquals(3.5, cache.get(range, accessor).getSum());
+        Assertions.assertEquals(2L, cache.getScanCount());
+    }
+
+    @Test
+    void changeDuringScanTest() throws RangeParsingException {
+        container.put(a1Ref, new Data("1", 1));
+        container.put(a2Ref, new Data("2", 2));
+        boolean[] changed = { false };
+        DataAccessor changingAccessor = new ContainerBasedDataAccessor(container) {
+            @Override
+            public void visitNonEmpty(RangeExpression range, RangeVisitor visitor) {
+                super.visitNonEmpty(range, visitor);
+                if (!changed[0]) {
+                    changed[0] = true;
+                    container.put(a1Ref, new Data("5", 5));
+                    Thread writer = new Thread(() -> cache.valueChanged(a1Ref, Value.of(1), Value.of(5)));
+                    writer.start();
+                    try {
+                        writer.join(5000);
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    }
+                    Assertions.assertFalse(writer.isAlive());
+                }
+            }
+        };
+        RangeExpression range = new RangeExpression(a1Ref, a2Ref);
+
+        Assertions.assertEquals(7.0, cache.get(range, changingAccessor).getSum());
+        Assertions.assertEquals(2L, cache.getScanCount());
+
+        cache.valueChanged(a2Ref, Value.of(2), Value.of(3));
+        Assertions.assertEquals(8.0, cache.get(range, accessor).getSum());
+        Assertions.assertEquals(2L, cache.getScanCount());
+    }
+
+    @Test
+    void evictionTest() throws RangeParsingException {
+        container.put(a1Ref, new Data("1", 1));
+        RangeExpression first = new RangeExpression(a1Ref, a2Ref);
+        RangeExpression second = new RangeExpression(a1Ref, a3Ref);
+        RangeExpression third = new RangeExpression(a1Ref, b1Ref);
+        cache.get(first, accessor);
+        cache.get(second, accessor);
+        cache.get(first, accessor);
+        cache.get(third, accessor);
+        Assertions.assertEquals(3L, cache.getScanCount());
+
+        cache.valueChanged(a1Ref, Value.of(1), Value.of(2));
+        Assertions.assertEquals(2.0, cache.get(first, accessor).getSum());
+        Assertions.assertEquals(2.0, cache.get(third, accessor).getSum());
+        Assertions.assertEquals(3L, cache.getScanCount());
+        Assertions.assertEquals(1.0, cache.get(second, accessor).getSum());
+        Assertions.assertEquals(4L, cache.getScanCount());
+    }
+
+    @Test
+    void compensatedSumTest() {
+        RangeAggregate aggregate = new RangeAggregate();
+        aggregate.add(1e16);
+        aggregate.add(1);
+        aggregate.add(1);
+        Assertions.assertEquals(1e16 + 2, aggregate.getSum());
+        aggregate.remove(1e16);
+        Assertions.assertEquals(2.0, aggregate.getSum());
+        for (int i = 0; i < 10; i++) {
+            aggregate.add(0.1);
+        }
+        aggregate.remove(1);
+        aggregate.remove(1);
+        Assertions.assertEquals(1.0, aggregate.getSum());
+    }
+
+    @Test
+    void nonFiniteTest() {
+        RangeAggregate aggregate = new RangeAggregate();
+        aggregate.add(5);
+        aggregate.add(Double.POSITIVE_INFINITY);
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, aggregate.getSum());
+        aggregate.add(Double.NEGATIVE_INFINITY);
+        Assertions.assertTrue(Double.isNaN(aggregate.getSum()));
+        aggregate.remove(Double.POSITIVE_INFINITY);
+        aggregate.remove(Double.NEGATIVE_INFINITY);
+        Assertions.assertEquals(5.0, aggregate.getSum());
+        Assertions.assertEquals(1, aggregate.getCount());
+    }
+}
@@ -0,0 +1,69 @@
+package com.sanyavertolet.interview.data.aggregate;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.accessor.ContainerBasedDataAccessor;
+import com.sanyavertolet.interview.data.accessor.DataAccessor;
+import com.sanyavertolet.interview.data.container.DataContainer;
+import com.sanyavertolet.interview.data.container.TiledDataContainer;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.exceptions.expressions.RangeParsingException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class ColumnIndexTest {
+    private static final int ROWS = 1000;
+    private final DataContainer container = new TiledDataContainer(ROWS, 3);
+    private final DataAccessor accessor = new ContainerBasedDataAccessor(container);
+    private final ColumnIndex columnIndex = new ColumnIndex(ROWS);
+    private final Random random = new Random(42);
+
+    @Test
+    void coversTest() throws CellReferenceException, RangeParsingException {
+        Assertions.assertTrue(columnIndex.covers(range(0, 2, ColumnIndex.BLOCK_ROWS)));
+        Assertions.assertFalse(columnIndex.covers(range(0, 2, ColumnIndex.BLOCK_ROWS - 1)));
+        Assertions.assertFalse(columnIndex.covers(new RangeExpression(CellReference.of(0, 1), CellReference.of(ROWS - 1, 2))));
+    }
+
+    @Test
+    void matchesScanTest() throws CellReferenceException, RangeParsingException {
+        for (int row = 0; row < ROWS; row++) {
+            if (random.nextInt(4) != 0) {
+                container.put(CellReference.of(row, 2), random.nextBoolean() ? new Data("text") : new Data("n", random.nextInt(100)));
+            }
+        }
+        assertMatchesScan();
+        for (int i = 0; i < 200; i++) {
+            CellReference reference = CellReference.of(random.nextInt(ROWS), 2);
+            Data previous = container.get(reference);
+            Data current = new Data("n", random.nextInt(100) + 0.5);
+            container.put(reference, current);
+            columnIndex.valueChanged(reference, previous == null ? null : previous.getValue(), current.getValue());
+        }
+        assertMatchesScan();
+        columnIndex.clear();
+        container.clearDataMap();
+        Assertions.assertEquals(0, columnIndex.aggregate(range(0, 2, ROWS - 1), accessor).getCount());
+    }
+
+    private void assertMatchesScan() throws CellReferenceException, RangeParsingException {
+        for (int i = 0; i < 300; i++) {
+            int fromRow = random.nextInt(ROWS - ColumnIndex.BLOCK_ROWS);
+            int toRow = fromRow + ColumnIndex.BLOCK_ROWS + random.nextInt(ROWS - ColumnIndex.BLOCK_ROWS - fromRow);
+            RangeExpression range = range(fromRow, 2, toRow);
+            RangeAggregate expected = new RangeAggregate();
+            accessor.visitNonEmpty(range, expected);
+            RangeAggregate actual = columnIndex.aggregate(range, accessor);
+            Assertions.assertEquals(Value.of(expected.getSum()), Value.of(actual.getSum()));
+            Assertions.assertEquals(expected.getCount(), actual.getCount());
+        }
+    }
+
+    private static RangeExpression range(int fromRow, int column, int toRow) throws CellReferenceException, RangeParsingException {
+        return new RangeExpression(CellReference.of(fromRow, column), CellReference.of(toRow, column));
+    }
+}
@@ -0,0 +1,140 @@
+package com.sanyavertolet.interview.data.container;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.exceptions.expressions.RangeParsingException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.sanyavertolet.interview.CellReferences.*;
+
+public class MappedDataContainerTest {
+    private Path file;
+    private MappedDataContainer container;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("mapped-container-test", ".tiles");
+        container = new MappedDataContainer(10, 10, file, 2);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        container.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void valuesSurviveEvictionTest() throws CellReferenceException {
+        for (int row = 0; row < 20 * Tile.ROWS; row += 7) {
+            container.put(CellReference.of(row, 1), new Data(Integer.toString(row), row));
+            container.put(CellReference.of(row, 2), new Data("text" + row));
+        }
+        for (int row = 0; row < 20 * Tile.ROWS; row += 7) {
+            Data number = container.get(CellReference.of(row, 1));
+            Assertions.assertEquals(Integer.toString(row), number.getText());
+            Assertions.assertEquals(Value.of(row), number.getValue());
+            Assertions.assertEquals("text" + row, container.get(CellReference.of(row, 2)).getText());
+        }
+        Assertions.assertSame(Data.EMPTY, container.get(CellReference.of(1, 1)));
+    }
+
+    @Test
+    void getValueSurvivesEvictionTest() throws CellReferenceException {
+        for (int row = 0; row < 20 * Tile.ROWS; row += 7) {
+            container.put(CellReference.of(row, 1), new Data(row + ".5", row + 0.5));
+            container.put(CellReference.of(row, 2), new Data("text" + row));
+        }
+        for (int row = 0; row < 20 * Tile.ROWS; row += 7) {
+            Assertions.assertEquals(Value.of(row + 0.5), container.getValue(CellReference.of(row, 1)));
+            Assertions.assertEquals(Value.of("text" + row), container.getValue(CellReference.of(row, 2)));
+        }
+        Assertions.assertEquals(Data.EMPTY.getValue(), container.getValue(CellReference.of(1, 1)));
+    }
+
+    @Test
+    void putRemoveTest() {
+        Data text = new Data("text");
+        Assertions.assertNull(container.put(a1Ref, new Data("2.5", 2.5)));
+        Assertions.assertEquals("2.5", container.put(a1Ref, text).getText());
+        Assertions.assertSame(text, container.get(a1Ref));
+        Assertions.assertEquals(1, container.size());
+
+        Assertions.assertSame(text, container.remove(a1Ref));
+        Assertions.assertNull(container.remove(a1Ref));
+        Assertions.assertSame(Data.EMPTY, container.get(a1Ref));
+        Assertions.assertEquals(0, container.size());
+    }
+
+    @Test
+    void releasedSlotIsReusedEmptyTest() throws CellReferenceException {
+        CellReference first = CellReference.of(0, 1);
+        CellReference second = CellReference.of(10 * Tile.ROWS, 1);
+        container.put(first, new Data("1", 1));
+        container.remove(first);
+        container.put(second, new Data("2", 2));
+
+        Assertions.assertSame(Data.EMPTY, container.get(first));
+        Assertions.assertSame(Data.EMPTY, container.get(CellReference.of(10 * Tile.ROWS + 1, 1)));
+        Assertions.assertEquals("2", container.get(second).getText());
+    }
+
+    @Test
+    void forEachNonEmptyTest() throws CellReferenceException, RangeParsingException {
+        container.put(b2Ref, new Data("b2"));
+        container.put(a1Ref, new Data("1", 1));
+        container.put(c1Ref, new Data("c1"));
+        container.put(CellReference.of(5000, 2), new Data("far"));
+
+        List<String> visited = new ArrayList<>();
+        container.forEachNonEmpty(new RangeExpression(a1Ref, CellReference.of(9999, 3)), data -> visited.add(data.getText()));
+
+        Assertions.assertEquals(List.of("1", "c1", "b2", "far"), visited);
+    }
+
+    @Test
+    void exportDataMapTest() {
+        container.put(a1Ref, new Data("1", 1));
+        container.put(b2Ref, new Data("text"));
+
+        List<CellReference.WithText> exported = container.exportDataMap();
+
+        Assertions.assertEquals(2, exported.size());
+        Assertions.assertTrue(exported.contains(new CellReference.WithText(a1Ref, "1")));
+        Assertions.assertTrue(exported.contains(new CellReference.WithText(b2Ref, "text")));
+    }
+
+    @Test
+    void visitNonEmptyTest() throws CellReferenceException, RangeParsingException {
+        container.put(a1Ref, new Data("1", 1));
+        container.put(b1Ref, new Data("b1"));
+        container.put(a2Ref, new Data("2.5", 2.5));
+        container.put(CellReference.of(5000, 2), new Data("3", 3));
+
+        List<String> visited = new ArrayList<>();
+        container.visitNonEmpty(new RangeExpression(a1Ref, CellReference.of(9999, 3)), new RangeVisitor() {
+            @Override
+            public void visitNumber(double number) {
+                visited.add(Double.toString(number));
+            }
+
+            @Override
+            public void visitData(Data data) {
+                visited.add(data.getText());
+            }
+        });
+
+        Assertions.assertEquals(List.of("1.0", "b1", "2.5", "3.0"), visited);
+    }
+}
@@ -0,0 +1,186 @@
+package com.sanyavertolet.interview.data.container;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.value.DoubleValue;
+import com.sanyavertolet.interview.data.value.IntegerValue;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.exceptions.expressions.RangeParsingException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.sanyavertolet.interview.CellReferences.*;
+
+public class TiledDataContainerTest {
+    private final DataContainer container = new TiledDataContainer(10, 10);
+
+    @Test
+    void putAndGetTest() {
+        Data data = new Data("text");
+        Assertions.assertNull(container.put(a1Ref, data));
+        Assertions.assertSame(data, container.get(a1Ref));
+        Assertions.assertEquals(1, container.size());
+    }
+
+    @Test
+    void numericLiteralsAreMaterializedTest() {
+        container.put(a1Ref, new Data("4", 4));
+        container.put(a2Ref, new Data("2.5", 2.5));
+        container.put(a3Ref, new Data("2.0", Value.parse("2.0"), null));
+
+        Assertions.assertEquals("4", container.get(a1Ref).getText());
+        Assertions.assertEquals(Value.of(4), container.get(a1Ref).getValue());
+        Assertions.assertInstanceOf(IntegerValue.class, container.get(a1Ref).getValue());
+        Assertions.assertEquals("2.5", container.get(a2Ref).getText());
+        Assertions.assertInstanceOf(DoubleValue.class, container.get(a2Ref).getValue());
+        Assertions.assertEquals("2.0", container.get(a3Ref).getText());
+        Assertions.assertEquals(Value.of(2), container.get(a3Ref).getValue());
+        Assertions.assertEquals(3, container.size());
+    }
+
+    @Test
+    void getValueTest() {
+        Data text = new Data("text");
+        container.put(a1Ref, new Data("4", 4));
+        container.put(a2Ref, new Data("2.5", 2.5));
+        container.put(a3Ref, text);
+
+        Assertions.assertInstanceOf(IntegerValue.class, container.getValue(a1Ref));
+        Assertions.assertEquals(Value.of(4), container.getValue(a1Ref));
+        Assertions.assertInstanceOf(DoubleValue.class, container.getValue(a2Ref));
+        Assertions.assertEquals(Value.of(2.5), container.getValue(a2Ref));
+        Assertions.assertSame(text.getValue(), container.getValue(a3Ref));
+        Assertions.assertEquals(Data.EMPTY.getValue(), container.getValue(b2Ref));
+    }
+
+    @Test
+    void numericCellReplacedWithTextTest() {
+        container.put(a1Ref, new Data("4", 4));
+        Data text = new Data("text");
+        Data previous = container.put(a1Ref, text);
+        Assertions.assertEquals("4", previous.getText());
+        Assertions.assertSame(text, container.get(a1Ref));
+
+        previous = container.put(a1Ref, new Data("5", 5));
+        Assertions.assertSame(text, previous);
+        Assertions.assertEquals("5", container.get(a1Ref).getText());
+        Assertions.assertEquals(1, container.size());
+    }
+
+    @Test
+    void getMissingCellReturnsEmptyDataTest() {
+        Data data = container.get(b2Ref);
+        Assertions.assertEquals("", data.getText());
+        Assertions.assertNull(data.getExpressionTree());
+        Assertions.assertSame(Data.EMPTY, data);
+        Assertions.assertEquals(0, container.size());
+    }
+
+    @Test
+    void putReplacesPreviousDataTest() {
+        Data first = new Data("first");
+        Data second = new Data("second");
+        container.put(a1Ref, first);
+        Assertions.assertSame(first, container.put(a1Ref, second));
+        Assertions.assertSame(second, container.get(a1Ref));
+        Assertions.assertEquals(1, container.size());
+    }
+
+    @Test
+    void removeTest() {
+        container.put(a1Ref, new Data("4", 4));
+        Assertions.assertEquals("4", container.remove(a1Ref).getText());
+        Assertions.assertNull(container.remove(a1Ref));
+        Assertions.assertNull(container.remove(c3Ref));
+        Assertions.assertEquals(0, container.size());
+        Assertions.assertEquals("", container.get(a1Ref).getText());
+    }
+
+    @Test
+    void cellsOutsideInitialBoundsTest() throws CellReferenceException {
+        CellReference far = CellReference.of(100_000, 700);
+        Data data = new Data("far");
+        container.put(far, data);
+        Assertions.assertSame(data, container.get(far));
+        Assertions.assertEquals(100_000, container.getRowCount());
+        Assertions.assertEquals(700, container.getColumnCount());
+        Assertions.assertEquals("", container.get(CellReference.of(100_001, 700)).getText());
+    }
+
+    @Test
+    void cellsOnTileBordersTest() throws CellReferenceException {
+        CellReference lastInTile = CellReference.of(Tile.ROWS - 1, Tile.COLUMNS - 1);
+        CellReference firstInNextTile = CellReference.of(Tile.ROWS, Tile.COLUMNS);
+        container.put(lastInTile, new Data("1", 1));
+        container.put(firstInNextTile, new Data("2", 2));
+        Assertions.assertEquals("1", container.get(lastInTile).getText());
+        Assertions.assertEquals("2", container.get(firstInNextTile).getText());
+        Assertions.assertEquals(2, container.size());
+    }
+
+    @Test
+    void exportDataMapTest() throws CellReferenceException {
+        CellReference far = CellReference.of(1000, 40);
+        container.put(a1Ref, new Data("1", 1));
+        container.put(far, new Data("2", 2));
+
+        List<CellReference.WithText> exported = container.exportDataMap();
+
+        Assertions.assertEquals(2, exported.size());
+        Assertions.assertTrue(exported.contains(new CellReference.WithText(a1Ref, "1")));
+        Assertions.assertTrue(exported.contains(new CellReference.WithText(far, "2")));
+    }
+
+    @Test
+    void clearDataMapTest() {
+        container.put(a1Ref, new Data("1", 1));
+        container.put(b2Ref, new Data("2", 2));
+        container.clearDataMap();
+        Assertions.assertEquals(0, container.size());
+        Assertions.assertEquals("", container.get(a1Ref).getText());
+    }
+
+    @Test
+    void forEachNonEmptyTest() throws CellReferenceException, RangeParsingException {
+        CellReference farRow = CellReference.of(5000, 2);
+        CellReference outsideRange = CellReference.of(5001, 4);
+        container.put(b2Ref, new Data("b2"));
+        container.put(a1Ref, new Data("a1"));
+        container.put(c1Ref, new Data("c1"));
+        container.put(farRow, new Data("far"));
+        container.put(outsideRange, new Data("outside"));
+
+        List<String> visited = new ArrayList<>();
+        container.forEachNonEmpty(new RangeExpression(a1Ref, CellReference.of(9999, 3)), data -> visited.add(data.getText()));
+
+        Assertions.assertEquals(List.of("a1", "c1", "b2", "far"), visited);
+    }
+
+    @Test
+    void visitNonEmptyTest() throws CellReferenceException, RangeParsingException {
+        container.put(a1Ref, new Data("1", 1));
+        container.put(b1Ref, new Data("b1"));
+        container.put(a2Ref, new Data("2.5", 2.5));
+        container.put(CellReference.of(5000, 2), new Data("3", 3));
+
+        List<String> visited = new ArrayList<>();
+        container.visitNonEmpty(new RangeExpression(a1Ref, CellReference.of(9999, 3)), new RangeVisitor() {
+            @Override
+            public void visitNumber(double number) {
+                visited.add(Double.toString(number));
+            }
+
+            @Override
+            public void visitData(Data data) {
+                visited.add(data.getText());
+            }
+        });
+
+        Assertions.assertEquals(List.of("1.0", "b1", "2.5", "3.0"), visited);
+    }
+}
@@ -2,11 +2,15 @@ package com.sanyavertolet.interview.data.dependencies;
 
 import com.sanyavertolet.interview.AssertionUtils;
 import com.sanyavertolet.interview.exceptions.data.DataDependencyException;
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.exceptions.expressions.RangeParsingException;
 import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.RangeExpression;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Set;
 
 import static com.sanyavertolet.interview.CellReferences.*;
 
@@ -55,6 +59,79 @@ public class TopologicallySortedDependencyGraphTest {
         Assertions.assertEquals(c3Ref, updateList.get(1));
     }
 
+    @Test
+    void mergedUpdateListTest() throws DataDependencyException {
+        dependencyGraph.addDependency(a1Ref, c1Ref);
+        dependencyGraph.addDependency(b1Ref, c1Ref);
+        dependencyGraph.addDependency(c1Ref, a2Ref);
+        dependencyGraph.addDependency(b1Ref, a2Ref);
+
+        List<CellReference> updateList = dependencyGraph.getUpdateList(List.of(a2Ref, b1Ref, a1Ref, c3Ref));
+        Assertions.assertEquals(5, updateList.size());
+        Assertions.assertEquals(c3Ref, updateList.get(0));
+        Assertions.assertTrue(updateList.indexOf(a1Ref) < updateList.indexOf(c1Ref));
+        Assertions.assertTrue(updateList.indexOf(b1Ref) < updateList.indexOf(c1Ref));
+        Assertions.assertEquals(c1Ref, updateList.get(3));
+        Assertions.assertEquals(a2Ref, updateList.get(4));
+    }
+
+    @Test
+    void mergedCyclicUpdateListTest() throws DataDependencyException {
+        dependencyGraph.addDependency(a1Ref, b1Ref);
+        dependencyGraph.addDependency(b1Ref, c1Ref);
+        dependencyGraph.addDependency(c1Ref, b1Ref);
+        Assertions.assertThrows(DataDependencyException.class, () -> dependencyGraph.getUpdateList(List.of(a2Ref, a1Ref)));
+        Assertions.assertEquals(2, dependencyGraph.getFailedCellReferences().size());
+    }
+
+    @Test
+    void updateLevelsTest() throws DataDependencyException {
+        dependencyGraph.addDependency(a1Ref, b1Ref);
+        dependencyGraph.addDependency(a1Ref, b2Ref);
+        dependencyGraph.addDependency(b1Ref, c1Ref);
+        dependencyGraph.addDependency(b2Ref, c1Ref);
+        dependencyGraph.addDependency(a1Ref, c1Ref);
+        dependencyGraph.addDependency(c1Ref, c2Ref);
+        dependencyGraph.addDependency(a1Ref, c3Ref);
+
+        List<List<CellReference>> levels = dependencyGraph.getUpdateLevels(dependencyGraph.getUpdateList(a1Ref));
+        Assertions.assertEquals(3, levels.size());
+        Assertions.assertEquals(3, levels.get(0).size());
+        Assertions.assertTrue(levels.get(0).containsAll(List.of(b1Ref, b2Ref, c3Ref)));
+        Assertions.assertEquals(List.of(c1Ref), levels.get(1));
+        Assertions.assertEquals(List.of(c2Ref), levels.get(2));
+    }
+
+    @Test
+    void dirtyCellsTest() throws DataDependencyException, RangeParsingException {
+        dependencyGraph.addDependency(a1Ref, b1Ref);
+        dependencyGraph.addDependency(b1Ref, c1Ref);
+        dependencyGraph.addDependency(a2Ref, b2Ref);
+        dependencyGraph.addRangeDependency(new RangeExpression(b1Ref, b2Ref), c2Ref);
+
+        dependencyGraph.markDependentsDirty(a1Ref);
+        Assertions.assertEquals(3, dependencyGraph.getDirtyCells().size());
+        Assertions.assertEquals(List.of(b1Ref, c1Ref), dependencyGraph.takeDirtyCells(c1Ref));
+        Assertions.assertEquals(List.of(), dependencyGraph.takeDirtyCells(b1Ref));
+        Assertions.assertEquals(List.of(c2Ref), dependencyGraph.takeDirtyCells(c2Ref));
+        Assertions.assertFalse(dependencyGraph.hasDirtyCells());
+
+        dependencyGraph.markDirty(List.of(a2Ref, c3Ref));
+        Assertions.assertEquals(List.of(a2Ref, b2Ref), dependencyGraph.takeDirtyCells(new RangeExpression(a2Ref, b3Ref)));
+        Assertions.assertEquals(List.of(c2Ref), dependencyGraph.getDirtyCells());
+    }
+
+    @Test
+    void dependentsTest() throws DataDependencyException, RangeParsingException {
+        dependencyGraph.addDependency(a1Ref, b1Ref);
+        dependencyGraph.addDependency(b1Ref, c1Ref);
+        dependencyGraph.addRangeDependency(new RangeExpression(a1Ref, a2Ref), c2Ref);
+
+        Assertions.assertEquals(Set.of(b1Ref, c2Ref), Set.copyOf(dependencyGraph.getDependents(a1Ref)));
+        Assertions.assertEquals(List.of(c2Ref), dependencyGraph.getDependents(a2Ref));
+        Assertions.assertEquals(List.of(), dependencyGraph.getDependents(c1Ref));
+    }
+
     @Test
     void selfDependencyTest() {
         Assertions.assertThrows(DataDependencyException.class, () -> dependencyGraph.addDependency(a1Ref, a1Ref));
@@ -95,4 +172,96 @@ public class TopologicallySortedDependencyGraphTest {
         AssertionUtils.assertHappensBefore(b1Ref, a2Ref, updateList);
         AssertionUtils.assertHappensBefore(c1Ref, a2Ref, updateList);
     }
+
+    @Test
+    void rangeDependenciesTest() throws DataDependencyException, RangeParsingException {
+        dependencyGraph.addRangeDependency(new RangeExpression(a1Ref, b2Ref), c1Ref);
+        dependencyGraph.addDependency(c1Ref, c2Ref);
+
+        List<CellReference> updateList = dependencyGraph.getUpdateList(b2Ref);
+        Assertions.assertEquals(List.of(c1Ref, c2Ref), updateList);
+        Assertions.assertTrue(dependencyGraph.getUpdateList(a3Ref).isEmpty());
+        Assertions.assertTrue(dependencyGraph.getUpdateList(c2Ref).isEmpty());
+    }
+
+    @Test
+    void largeRangeDependenciesTest() throws DataDependencyException, CellReferenceException, RangeParsingException {
+        CellReference bottomRight = CellReference.of("Z100000");
+        CellReference formula = CellReference.of("AA1");
+        dependencyGraph.addRangeDependency(new RangeExpression(a1Ref, bottomRight), formula);
+
+        Assertions.assertEquals(List.of(formula), dependencyGraph.getUpdateList(CellReference.of("M50000")));
+        Assertions.assertEquals(List.of(formula), dependencyGraph.getUpdateList(bottomRight));
+        Assertions.assertTrue(dependencyGraph.getUpdateList(CellReference.of("Z100001")).isEmpty());
+
+        dependencyGraph.clearDependencies(formula);
+        Assertions.assertTrue(dependencyGraph.getUpdateList(CellReference.of("M50000")).isEmpty());
+    }
+
+    @Test
+    void rangeSelfDependencyTest() {
+        Assertions.assertThrows(
+                DataDependencyException.class,
+                () -> dependencyGraph.addRangeDependency(new RangeExpression(a1Ref, c3Ref), b2Ref)
+        );
+    }
+
+    @Test
+    void rangeCyclicDependenciesTest() throws DataDependencyException, RangeParsingException {
+        dependencyGraph.addRangeDependency(new RangeExpression(b1Ref, b3Ref), a1Ref);
+        dependencyGraph.addDependency(a1Ref, b2Ref);
+
+        Assertions.assertThrows(DataDependencyException.class, () -> dependencyGraph.getUpdateList(a1Ref));
+        Assertions.assertTrue(dependencyGraph.getFailedCellReferences().containsAll(List.of(a1Ref, b2Ref)));
+    }
+
+    @Test
+    void longChainDependenciesTest() throws DataDependencyException, CellReferenceException {
+        int length = 100_000;
+        for (int row = 1; row < length; row++) {
+            dependencyGraph.addDependency(CellReference.of(row - 1, 1), CellReference.of(row, 1));
+        }
+
+        List<CellReference> updateList = dependencyGraph.getUpdateList(a1Ref);
+        Assertions.assertEquals(length - 1, updateList.size());
+        for (int row = 1; row < length; row++) {
+            Assertions.assertEquals(row, updateList.get(row - 1).row());
+        }
+    }
+
+    @Test
+    void longCyclicChainDependenciesTest() throws DataDependencyException, CellReferenceException {
+        int length = 100_000;
+        for (int row = 1; row < length; row++) {
+            dependencyGraph.addDependency(CellReference.of(row - 1, 1), CellReference.of(row, 1));
+        }
+        dependencyGraph.addDependency(CellReference.of(length - 1, 1), a1Ref);
+
+        Assertions.assertThrows(DataDependencyException.class, () -> dependencyGraph.getUpdateList(a1Ref));
+        Assertions.assertEquals(length, dependencyGraph.getFailedCellReferences().size());
+    }
+
+    @Test
+    void brokenCyclicDependenciesTest() throws DataDependencyException {
+        dependencyGraph.addDependency(a1Ref, b1Ref);
+        dependencyGraph.addDependency(b1Ref, c1Ref);
+        dependencyGraph.addDependency(c1Ref, a1Ref);
+        Assertions.assertThrows(DataDependencyException.class, () -> dependencyGraph.getUpdateList(c1Ref));
+
+        dependencyGraph.clearDependencies(b1Ref);
+        Assertions.assertEquals(List.of(a1Ref), dependencyGraph.getUpdateList(c1Ref));
+        dependencyGraph.addDependency(a1Ref, b1Ref);
+        Assertions.assertThrows(DataDependencyException.class, () -> dependencyGraph.getUpdateList(c1Ref));
+    }
+
+    @Test
+    void reorderedDependenciesTest() throws DataDependencyException {
+        dependencyGraph.addDependency(c1Ref, c2Ref);
+        dependencyGraph.addDependency(b1Ref, b2Ref);
+        dependencyGraph.addDependency(a1Ref, a2Ref);
+        dependencyGraph.addDependency(a2Ref, b1Ref);
+        dependencyGraph.addDependency(b2Ref, c1Ref);
+
+        Assertions.assertEquals(List.of(a2Ref, b1Ref, b2Ref, c1Ref, c2Ref), dependencyGraph.getUpdateList(a1Ref));
+    }
 }
@@ -0,0 +1,209 @@
+package com.sanyavertolet.interview.data.manager;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.aggregate.RangeAggregate;
+import com.sanyavertolet.interview.data.container.TiledDataContainer;
+import com.sanyavertolet.interview.data.recalculation.RecalculationMode;
+import com.sanyavertolet.interview.data.recalculation.SerialRecalculationStrategy;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.exceptions.expressions.ValueCastException;
+import com.sanyavertolet.interview.math.expressions.AnchoredExpression;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SimpleDataManagerTest {
+    private static final int ROWS = 500;
+    private final DataManager eager = create(RecalculationMode.EAGER);
+    private final DataManager lazy = create(RecalculationMode.LAZY);
+
+    @Test
+    void lazyMatchesEagerTest() {
+        fill(eager);
+        fill(lazy);
+        for (String input : new String[] { "2", "-3.5", "abc", "=1/0", "7" }) {
+            eager.setData(0, 1, input);
+            lazy.setData(0, 1, input);
+            assertSameValues();
+        }
+    }
+
+    @Test
+    void lazyEditOnlyMarksDependentsTest() throws ValueCastException {
+        fill(lazy);
+        lazy.setData(0, 1, "2");
+        Assertions.assertTrue(lazy.sweep(0));
+        Assertions.assertEquals(4, lazy.getData(0, 2).getValue().asInteger());
+        Assertions.assertTrue(lazy.sweep(10));
+        Assertions.assertFalse(lazy.sweep(Integer.MAX_VALUE));
+        fill(eager);
+        eager.setData(0, 1, "2");
+        assertSameValues();
+    }
+
+    @Test
+    void lazyBatchTest() throws ValueCastException {
+        eager.batch(() -> fill(eager));
+        lazy.batch(() -> fill(lazy));
+        assertSameValues();
+        eager.batch(() -> {
+            eager.setData(1, 1, "=1 + 2");
+            eager.setData(0, 1, "5");
+        });
+        lazy.batch(() -> {
+            lazy.setData(1, 1, "=1 + 2");
+            lazy.setData(0, 1, "5");
+        });
+        assertSameValues();
+        Assertions.assertEquals(5 + 3 + 2 * 5 * ROWS, lazy.getData(0, 4).getValue().asInteger());
+    }
+
+    @Test
+    void lazyCyclicDependencyTest() {
+        fill(lazy);
+        lazy.setData(0, 1, "=C10");
+        Assertions.assertNull(lazy.getData(0, 1).getValue());
+        Assertions.assertNull(lazy.getData(9, 3).getValue());
+        lazy.setData(0, 1, "3");
+        fill(eager);
+        eager.setData(0, 1, "3");
+        assertSameValues();
+    }
+
+    @Test
+    void aggregateFollowsEditsTest() {
+        fill(eager);
+        fill(lazy);
+        String[] inputs = { "2", "0.5", "abc", "=1/0", "=A2 * 4", "-7.25", "TRUE", "3" };
+        for (int i = 0; i < inputs.length; i++) {
+            eager.setData(i % 3 + 1, 1, inputs[i]);
+            lazy.setData(i % 3 + 1, 1, inputs[i]);
+            Assertions.assertEquals(scanSum(eager), eager.getData(0, 4).getValue());
+            assertSameValues();
+        }
+        eager.clearData();
+        fill(eager);
+        Assertions.assertEquals(scanSum(eager), eager.getData(0, 4).getValue());
+    }
+
+    @Test
+    void runningTotalsTest() throws ValueCastException {
+        for (DataManager dataManager : new DataManager[] { eager, lazy }) {
+            dataManager.batch(() -> {
+                for (int row = 0; row < ROWS; row++) {
+                    dataManager.setData(row, 1, Integer.toString(row));
+                    dataManager.setData(row, 2, row == 0 ? "=A1" : "=SUM(A1:A" + (row + 1) + ")");
+                }
+            });
+            dataManager.setData(0, 1, "1000");
+            for (int row = 0; row < ROWS; row++) {
+                Assertions.assertEquals(1000 + row * (row + 1) / 2, dataManager.getData(row, 2).getValue().asInteger());
+            }
+        }
+    }
+
+    @Test
+    void untakenBranchDependencyTest() throws ValueCastException {
+        for (DataManager dataManager : new DataManager[] { eager, lazy }) {
+            dataManager.setData(5, 1, "1");
+            dataManager.setData(5, 2, "5");
+            dataManager.setData(5, 3, "=IF(A6 > 0, 0, B6 * 2 + SUM(B1:B5))");
+            dataManager.setData(0, 2, "100");
+            Assertions.assertEquals(0, dataManager.getData(5, 3).getValue().asInteger());
+            dataManager.setData(5, 1, "0");
+            Assertions.assertEquals(110, dataManager.getData(5, 3).getValue().asInteger());
+            dataManager.setData(5, 2, "7");
+            dataManager.setData(1, 2, "1");
+            Assertions.assertEquals(115, dataManager.getData(5, 3).getValue().asInteger());
+        }
+    }
+
+    @Test
+    void filledDownFormulasTest() throws ValueCastException {
+        for (DataManager dataManager : new DataManager[] { eager, lazy }) {
+            dataManager.batch(() -> {
+                for (int row = 0; row < ROWS; row++) {
+                    dataManager.setData(row, 1, Integer.toString(row));
+                    dataManager.setData(row, 2, Integer.toString(2 * row));
+                    dataManager.setData(row, 3, "=A" + (row + 1) + " * 2 + B" + (row + 1));
+                    dataManager.setData(row, 4, "=SUM(A" + (row + 1) + ":C" + (row + 1) + ")");
+                }
+            });
+            Assertions.assertInstanceOf(AnchoredExpression.class, dataManager.getData(ROWS - 1, 3).getExpressionTree());
+            dataManager.setData(10, 1, "100");
+            for (int row = 0; row < ROWS; row++) {
+                int a = row == 10 ? 100 : row;
+                Assertions.assertEquals(2 * a + 2 * row, dataManager.getData(row, 3).getValue().asInteger());
+                Assertions.assertEquals(3 * a + 4 * row, dataManager.getData(row, 4).getValue().asInteger());
+            }
+        }
+    }
+
+    @Test
+    void columnRunTest() {
+        assertColumnRunsMatchLazy(new String[] { "3", "0.5", "100000", "-7", "x", "0", "" });
+    }
+
+    @Test
+    void columnRunOverDenseInputsTest() {
+        assertColumnRunsMatchLazy(new String[] { "3", "0.5", "100000", "-7", "x", "0" });
+    }
+
+    private void assertColumnRunsMatchLazy(String[] inputs) {
+        for (int pass = 0; pass < 2; pass++) {
+            for (DataManager dataManager : new DataManager[] { eager, lazy }) {
+                int shift = pass;
+                dataManager.batch(() -> {
+                    for (int row = 0; row < ROWS; row++) {
+                        dataManager.setData(row, 1, inputs[(row + shift) % inputs.length]);
+                        dataManager.setData(row, 2, inputs[(row / 3 + shift) % inputs.length]);
+                        if (shift == 0) {
+                            dataManager.setData(row, 3, "=A" + (row + 1) + " * A" + (row + 1) + " / B" + (row + 1) + " - 1");
+                        }
+                    }
+                });
+            }
+            for (int row = 0; row < ROWS; row++) {
+                Value expected = lazy.getData(row, 3).getValue();
+                Value actual = eager.getData(row, 3).getValue();
+                Assertions.assertEquals(expected == null ? null : expected.getClass(), actual == null ? null : actual.getClass());
+                Assertions.assertEquals(expected, actual);
+            }
+        }
+    }
+
+    private static Value scanSum(DataManager dataManager) {
+        RangeAggregate aggregate = new RangeAggregate();
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 1; column <= 2; column++) {
+                Data data = dataManager.getData(row, column);
+                if (data != null) {
+                    aggregate.add(data.getValue());
+                }
+            }
+        }
+        return Value.of(aggregate.getSum());
+    }
+
+    private static DataManager create(RecalculationMode recalculationMode) {
+        return new SimpleDataManager(
+                new TiledDataContainer(ROWS, 4), new SerialRecalculationStrategy(), recalculationMode, (row, column) -> { }, () -> { }
+        );
+    }
+
+    private void fill(DataManager dataManager) {
+        dataManager.setData(0, 1, "1");
+        for (int row = 0; row < ROWS; row++) {
+            dataManager.setData(row, 2, "=A1 * 2");
+            dataManager.setData(row, 3, row == 0 ? "=B1" : "=C" + row + " + A1");
+        }
+        dataManager.setData(0, 4, "=SUM(A1:B" + ROWS + ")");
+    }
+
+    private void assertSameValues() {
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 1; column <= 4; column++) {
+                Assertions.assertEquals(eager.getData(row, column).getValue(), lazy.getData(row, column).getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.sanyavertolet.interview.data.recalculation;
+
+import com.sanyavertolet.interview.data.container.TiledDataContainer;
+import com.sanyavertolet.interview.data.manager.DataManager;
+import com.sanyavertolet.interview.data.manager.SimpleDataManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+public class ForkJoinRecalculationStrategyTest {
+    private static final int ROWS = 1000;
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final DataManager serial = new SimpleDataManager(
+            new TiledDataContainer(ROWS, 4), new SerialRecalculationStrategy(), (row, column) -> { }, () -> { }
+    );
+    private final DataManager parallel = new SimpleDataManager(
+            new TiledDataContainer(ROWS, 4), new ForkJoinRecalculationStrategy(pool, 8), (row, column) -> { }, () -> { }
+    );
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void sameAsSerialTest() {
+        fill(serial);
+        fill(parallel);
+        for (String input : new String[] { "2", "2.5", "-7", "abc", "=1/0", "3" }) {
+            serial.setData(0, 1, input);
+            parallel.setData(0, 1, input);
+            assertSameValues();
+        }
+    }
+
+    @Test
+    void sameAsSerialInBatchTest() {
+        serial.batch(() -> fill(serial));
+        parallel.batch(() -> fill(parallel));
+        assertSameValues();
+        Assertions.assertEquals(serial.getData(0, 4).getValue(), parallel.getData(0, 4).getValue());
+        Assertions.assertNotNull(parallel.getData(0, 4).getValue());
+    }
+
+    private void fill(DataManager dataManager) {
+        dataManager.setData(0, 1, "1");
+        for (int row = 0; row < ROWS; row++) {
+            dataManager.setData(row, 2, "=A1 * " + row);
+            dataManager.setData(row, 3, row == 0 ? "=B1" : "=C" + row + " + B" + (row + 1));
+        }
+        dataManager.setData(0, 4, "=SUM(B1:B" + ROWS + ") - C" + ROWS);
+    }
+
+    private void assertSameValues() {
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 1; column <= 4; column++) {
+                Assertions.assertEquals(serial.getData(row, column).getValue(), parallel.getData(row, column).getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.sanyavertolet.interview.data.value;
+
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ValueTest {
+    @Test
+    void canonicalBooleanTest() throws ExpressionEvaluationException {
+        Assertions.assertSame(BooleanValue.TRUE, Value.of(true));
+        Assertions.assertSame(BooleanValue.FALSE, Value.of(false));
+        Assertions.assertSame(BooleanValue.TRUE, Value.of(1).lt(Value.of(2.5)));
+        Assertions.assertSame(BooleanValue.FALSE, Value.of("a").eq(Value.of(1)));
+    }
+
+    @Test
+    void cachedIntegerTest() throws ExpressionEvaluationException {
+        Assertions.assertSame(IntegerValue.ZERO, Value.of(0));
+        Assertions.assertSame(IntegerValue.ZERO, Value.of(-0.0));
+        Assertions.assertSame(IntegerValue.ONE, Value.of(2).minus(Value.of(1)));
+        Assertions.assertSame(Value.of(-128), Value.parse("-128"));
+        Assertions.assertSame(Value.of(1024), Value.of(1024.0));
+        Assertions.assertEquals(Value.of(100_000), Value.of(100_000));
+        Assertions.assertNotSame(Value.of(100_000), Value.of(100_000));
+    }
+
+    @Test
+    void emptyStringTest() {
+        Assertions.assertSame(StringValue.EMPTY, Value.of(""));
+        Assertions.assertSame(StringValue.EMPTY, Value.parse(""));
+        Assertions.assertEquals(Value.of("abc"), Value.parse("abc"));
+    }
+
+    @Test
+    void numericEqualsHashCodeTest() {
+        for (int number : new int[] { 0, 1, -1, 2, 1024, 1025, Integer.MAX_VALUE, Integer.MIN_VALUE }) {
+            Value integerValue = Value.of(number);
+            Value doubleValue = new DoubleValue(number);
+            Assertions.assertEquals(integerValue, doubleValue);
+            Assertions.assertEquals(doubleValue, integerValue);
+            Assertions.assertEquals(integerValue.hashCode(), doubleValue.hashCode());
+        }
+        Assertions.assertNotEquals(Value.of(1), new DoubleValue(1.5));
+    }
+
+    @Test
+    void primitiveAccessorsTest() throws ExpressionEvaluationException {
+        Assertions.assertEquals(3.0, Value.of(3).doubleValue());
+        Assertions.assertEquals(3L, Value.of(3).longValue());
+        Assertions.assertEquals(2.5, Value.of(2.5).doubleValue());
+        Assertions.assertEquals(1, Value.of(true).intValue());
+        Assertions.assertTrue(Value.of(true).booleanValue());
+        Assertions.assertThrows(ExpressionEvaluationException.class, () -> Value.of(2.5).intValue());
+        Assertions.assertThrows(ExpressionEvaluationException.class, () -> Value.of("abc").doubleValue());
+    }
+}
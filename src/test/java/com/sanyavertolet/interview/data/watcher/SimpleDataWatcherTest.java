@@ -3,6 +3,7 @@ package com.sanyavertolet.interview.data.watcher;
 import com.sanyavertolet.interview.data.Data;
 import com.sanyavertolet.interview.data.accessor.DataAccessor;
 import com.sanyavertolet.interview.data.value.IntegerValue;
+import com.sanyavertolet.interview.exceptions.FunctionArgumentException;
 import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
 import com.sanyavertolet.interview.math.expressions.Expression;
 import com.sanyavertolet.interview.math.expressions.evaluator.ExpressionEvaluator;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import static com.sanyavertolet.interview.CellReferences.*;
 import static com.sanyavertolet.interview.Expressions.BinaryExpressions.*;
 import static com.sanyavertolet.interview.Expressions.Cells.cell;
+import static com.sanyavertolet.interview.Expressions.Functions.iff;
 import static com.sanyavertolet.interview.Expressions.Values.*;
 
 
@@ -30,7 +32,7 @@ public class SimpleDataWatcherTest {
         default -> null;
     };
     private final ExpressionEvaluator expressionEvaluator = new SimpleExpressionEvaluator(dataAccessor);
-    private final DataWatcher dataWatcher = new SimpleDataWatcher(dataAccessor, expressionEvaluator, (u, v) -> {});
+    private final SimpleDataWatcher dataWatcher = new SimpleDataWatcher(dataAccessor, expressionEvaluator, (u, v) -> {});
 
     @BeforeEach
     void setUp() throws ExpressionEvaluationException {
@@ -129,4 +131,111 @@ public class SimpleDataWatcherTest {
         Assertions.assertEquals(3 * a1.getValue().asInteger(), a3.getValue().asInteger());
         Assertions.assertEquals(a2.getValue().plus(a3.getValue()), a4.getValue());
     }
+
+    @Test
+    void clearThenUpstreamUpdateTest() throws ExpressionEvaluationException {
+        a2 = Data.EMPTY;
+        dataWatcher.clear(a2Ref);
+        Assertions.assertNull(a4.getValue());
+
+        a1 = new Data("4", 4);
+        dataWatcher.update(a1, a1Ref);
+        Assertions.assertEquals(12, a3.getValue().asInteger());
+        Assertions.assertNull(a4.getValue());
+    }
+
+    @Test
+    void batchUpdateTest() throws ExpressionEvaluationException {
+        Expression a2Expression = mul(three, cell(a1Ref));
+        Expression a4Expression = plus(cell(a2Ref), cell(a1Ref));
+        dataWatcher.beginUpdate();
+        a4 = new Data("=A2 + A1", null, a4Expression);
+        dataWatcher.update(a4, a4Ref);
+        a2 = new Data("=3 * A1", null, a2Expression);
+        dataWatcher.update(a2, a2Ref);
+        a1 = new Data("5", 5);
+        dataWatcher.update(a1, a1Ref);
+
+        Assertions.assertNull(a2.getValue());
+        Assertions.assertEquals(12, a3.getValue().asInteger());
+        dataWatcher.commit();
+
+        Assertions.assertEquals(15, a2.getValue().asInteger());
+        Assertions.assertEquals(15, a3.getValue().asInteger());
+        Assertions.assertEquals(20, a4.getValue().asInteger());
+    }
+
+    @Test
+    void batchCyclicDependencyTest() throws ExpressionEvaluationException {
+        Expression newA2Expression = cell(a4Ref);
+        dataWatcher.beginUpdate();
+        a2 = new Data("=A4", null, newA2Expression);
+        dataWatcher.update(a2, a2Ref);
+        a1 = new Data("5", 5);
+        dataWatcher.update(a1, a1Ref);
+        dataWatcher.commit();
+
+        Assertions.assertNull(a2.getValue());
+        Assertions.assertNull(a4.getValue());
+
+        Expression a2Expression = mul(two, cell(a1Ref));
+        dataWatcher.beginUpdate();
+        a2 = new Data("=2 * A1", null, a2Expression);
+        dataWatcher.update(a2, a2Ref);
+        dataWatcher.update(a1, a1Ref);
+        dataWatcher.commit();
+
+        Assertions.assertEquals(10, a2.getValue().asInteger());
+        Assertions.assertEquals(15, a3.getValue().asInteger());
+        Assertions.assertEquals(25, a4.getValue().asInteger());
+    }
+
+    @Test
+    void batchSelfDependencyTest() throws ExpressionEvaluationException {
+        Expression newA2Expression = cell(a2Ref);
+        dataWatcher.beginUpdate();
+        a2 = new Data("=A2", null, newA2Expression);
+        dataWatcher.update(a2, a2Ref);
+        dataWatcher.commit();
+
+        Assertions.assertNull(a2.getValue());
+        Assertions.assertEquals(12, a3.getValue().asInteger());
+        Assertions.assertNull(a4.getValue());
+    }
+
+    @Test
+    void earlyCutoffTest() throws ExpressionEvaluationException, FunctionArgumentException {
+        Expression a2Expression = iff(gt(cell(a1Ref), value("0")), one, value("0"));
+        Expression a3Expression = mul(three, cell(a2Ref));
+        a2 = new Data("=IF(A1 > 0, 1, 0)", expressionEvaluator.evaluate(a2Expression), a2Expression);
+        dataWatcher.update(a2, a2Ref);
+        a3 = new Data("=3 * A2", expressionEvaluator.evaluate(a3Expression), a3Expression);
+        dataWatcher.update(a3, a3Ref);
+        long skipped = dataWatcher.getSkippedRecalculationCount();
+
+        a1 = new Data("5", 5);
+        dataWatcher.update(a1, a1Ref);
+        Assertions.assertEquals(skipped + 2, dataWatcher.getSkippedRecalculationCount());
+        Assertions.assertEquals(4, a4.getValue().asInteger());
+
+        dataWatcher.beginUpdate();
+        a1 = new Data("6", 6);
+        dataWatcher.update(a1, a1Ref);
+        dataWatcher.commit();
+        Assertions.assertEquals(skipped + 4, dataWatcher.getSkippedRecalculationCount());
+
+        a1 = new Data("-1", -1);
+        dataWatcher.update(a1, a1Ref);
+        Assertions.assertEquals(skipped + 4, dataWatcher.getSkippedRecalculationCount());
+        Assertions.assertEquals(0, a2.getValue().asInteger());
+        Assertions.assertEquals(0, a3.getValue().asInteger());
+        Assertions.assertEquals(0, a4.getValue().asInteger());
+    }
+
+    @Test
+    void unbalancedBatchTest() {
+        Assertions.assertThrows(IllegalStateException.class, dataWatcher::commit);
+        dataWatcher.beginUpdate();
+        Assertions.assertThrows(IllegalStateException.class, dataWatcher::beginUpdate);
+    }
 }
@@ -95,4 +95,27 @@ public class CellReferenceTest {
     void nullIdentifierCellReferenceTest() {
         Assertions.assertThrows(CellReferenceException.class, () -> CellReference.of(null));
     }
+
+    @Test
+    void lowerCaseIdentifierCellReferenceTest() throws CellReferenceException {
+        CellReference lowerCase = CellReference.of("ab7");
+        CellReference upperCase = CellReference.of("AB7");
+        Assertions.assertEquals(upperCase, lowerCase);
+        Assertions.assertEquals(upperCase.hashCode(), lowerCase.hashCode());
+        Assertions.assertEquals("AB7", lowerCase.identifier());
+    }
+
+    @Test
+    void keyCellReferenceTest() throws CellReferenceException {
+        CellReference reference = CellReference.of(123_456, 789);
+        long key = reference.key();
+        Assertions.assertEquals(123_456, CellReference.rowOf(key));
+        Assertions.assertEquals(789, CellReference.columnOf(key));
+        Assertions.assertEquals(reference, CellReference.of(key));
+    }
+
+    @Test
+    void internedCellReferenceTest() throws CellReferenceException {
+        Assertions.assertSame(CellReference.of(6, 28), CellReference.of("AB7"));
+    }
 }
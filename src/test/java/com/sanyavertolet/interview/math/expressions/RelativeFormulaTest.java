@@ -0,0 +1,37 @@
+package com.sanyavertolet.interview.math.expressions;
+
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.math.CellReference;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RelativeFormulaTest {
+
+    @Test
+    void filledDownFormulasTest() throws CellReferenceException {
+        String first = RelativeFormula.normalize("=A1 * 2 + B1", CellReference.of("C1"));
+        String second = RelativeFormula.normalize("=A2 * 2 + B2", CellReference.of("C2"));
+
+        Assertions.assertEquals("=R[0]C[-2] * 2 + R[0]C[-1]", first);
+        Assertions.assertEquals(first, second);
+        Assertions.assertNotEquals(first, RelativeFormula.normalize("=A1 * 2 + B1", CellReference.of("C2")));
+    }
+
+    @Test
+    void functionsAndStringsTest() throws CellReferenceException {
+        CellReference anchor = CellReference.of("B2");
+
+        Assertions.assertEquals("=SUM(R[-1]C[-1]:R[8]C[-1])", RelativeFormula.normalize("=SUM(A1:A10)", anchor));
+        Assertions.assertEquals("=CONCAT(\"A1 [x]\", R[0]C[0])", RelativeFormula.normalize("=CONCAT(\"A1 [x]\", B2)", anchor));
+        Assertions.assertEquals("=LOG (2, 10.5) + R[1]C[1]", RelativeFormula.normalize("=LOG (2, 10.5) + c3", anchor));
+        Assertions.assertEquals("=PI() + ABC", RelativeFormula.normalize("=PI() + ABC", anchor));
+    }
+
+    @Test
+    void ambiguousFormulaTest() throws CellReferenceException {
+        CellReference anchor = CellReference.of("A1");
+
+        Assertions.assertNull(RelativeFormula.normalize("=R[0]C[0]", anchor));
+        Assertions.assertNull(RelativeFormula.normalize("=CONCAT(\"a, A1)", anchor));
+    }
+}
@@ -0,0 +1,52 @@
+package com.sanyavertolet.interview.math.expressions.evaluator;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.accessor.DataAccessor;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.Expression;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.sanyavertolet.interview.CellReferences.*;
+import static com.sanyavertolet.interview.Expressions.BinaryExpressions.*;
+import static com.sanyavertolet.interview.Expressions.Cells.cell;
+import static com.sanyavertolet.interview.Expressions.Values.*;
+
+public class ClosureExpressionEvaluatorTest extends SimpleExpressionEvaluatorTest {
+    @Override
+    protected ExpressionEvaluator createExpressionEvaluator(DataAccessor dataAccessor) {
+        return new ClosureExpressionEvaluator(dataAccessor);
+    }
+
+    @Test
+    void compiledOnceTest() {
+        Map<CellReference, Data> cells = new HashMap<>();
+        int[] compilations = new int[1];
+        ExpressionEvaluator evaluator = new ClosureExpressionEvaluator(reference -> cells.getOrDefault(reference, Data.EMPTY)) {
+            @Override
+            public CompiledExpression compile(Expression expression) {
+                compilations[0]++;
+                return super.compile(expression);
+            }
+        };
+        Expression expression = plus(mul(cell(a1Ref), two), one);
+        Data data = new Data("=A1 * 2 + 1", null, expression);
+
+        cells.put(a1Ref, new Data("3", 3));
+        data.recalculateValue(evaluator);
+        Assertions.assertEquals(Value.of(7), data.getValue());
+
+        cells.put(a1Ref, new Data("abc"));
+        data.recalculateValue(evaluator);
+        Assertions.assertNull(data.getValue());
+
+        cells.put(a1Ref, new Data("0.5", 0.5));
+        data.recalculateValue(evaluator);
+        Assertions.assertEquals(Value.of(2), data.getValue());
+        Assertions.assertEquals(1, compilations[0]);
+    }
+}
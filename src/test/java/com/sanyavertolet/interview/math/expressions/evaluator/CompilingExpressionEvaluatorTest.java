@@ -0,0 +1,97 @@
+package com.sanyavertolet.interview.math.expressions.evaluator;
+
+import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.accessor.DataAccessor;
+import com.sanyavertolet.interview.data.value.Value;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.BinaryExpression;
+import com.sanyavertolet.interview.math.expressions.Expression;
+import com.sanyavertolet.interview.math.operators.NonFunctionOperator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.sanyavertolet.interview.CellReferences.*;
+import static com.sanyavertolet.interview.Expressions.BinaryExpressions.*;
+import static com.sanyavertolet.interview.Expressions.Cells.cell;
+import static com.sanyavertolet.interview.Expressions.Values.*;
+
+public class CompilingExpressionEvaluatorTest extends SimpleExpressionEvaluatorTest {
+    private static final List<String> VALUES = List.of("0", "1", "2", "3", "-4", "7", "2.5", "0.1", "-0.5", "2147483647", "true", "abc");
+    private static final List<String> OPERATORS = List.of("+", "-", "*", "/", "^", "<", ">", "<=", ">=", "==", "!=");
+
+    private final Map<CellReference, Data> cells = new HashMap<>();
+    private final DataAccessor cellAccessor = reference -> cells.getOrDefault(reference, Data.EMPTY);
+    private final ExpressionEvaluator simpleEvaluator = new SimpleExpressionEvaluator(cellAccessor);
+    private final ExpressionEvaluator compilingEvaluator = new CompilingExpressionEvaluator(cellAccessor);
+
+    @Override
+    protected ExpressionEvaluator createExpressionEvaluator(DataAccessor dataAccessor) {
+        return new CompilingExpressionEvaluator(dataAccessor);
+    }
+
+    @Test
+    void matchesSimpleEvaluatorTest() {
+        Random random = new Random(42);
+        List<CellReference> references = List.of(a1Ref, a2Ref, b1Ref, b2Ref);
+        for (int i = 0; i < 2_000; i++) {
+            Expression expression = randomExpression(random, references, 4);
+            for (int j = 0; j < 4; j++) {
+                for (CellReference reference : references) {
+                    String text = VALUES.get(random.nextInt(VALUES.size()));
+                    cells.put(reference, new Data(text, Value.parse(text), null));
+                }
+                Value expected = simpleEvaluator.evaluateOrNull(expression);
+                Value actual = compilingEvaluator.evaluateOrNull(expression);
+                Assertions.assertEquals(expected, actual, expression.toString());
+                if (expected != null) {
+                    Assertions.assertEquals(expected.getClass(), actual.getClass(), expression.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    void integerOverflowTest() throws ExpressionEvaluationException {
+        cells.put(a1Ref, new Data("2147483647", Integer.MAX_VALUE));
+        Expression expression = plus(mul(cell(a1Ref), two), div(cell(a1Ref), value("-1")));
+
+        Assertions.assertEquals(simpleEvaluator.evaluate(expression), compilingEvaluator.evaluate(expression));
+    }
+
+    @Test
+    void nonNumericCellTest() throws ExpressionEvaluationException {
+        Expression expression = plus(mul(cell(a1Ref), two), one);
+        cells.put(a1Ref, new Data("3", 3));
+        Assertions.assertEquals(Value.of(7), compilingEvaluator.evaluate(expression));
+
+        cells.put(a1Ref, new Data("true", true));
+        Assertions.assertEquals(simpleEvaluator.evaluate(expression), compilingEvaluator.evaluate(expression));
+
+        cells.put(a1Ref, new Data("abc"));
+        Assertions.assertThrows(ExpressionEvaluationException.class, () -> compilingEvaluator.evaluate(expression));
+
+        cells.put(a1Ref, new Data("0.5", 0.5));
+        Assertions.assertEquals(Value.of(2), compilingEvaluator.evaluate(expression));
+    }
+
+    private Expression randomExpression(Random random, List<CellReference> references, int depth) {
+        if (depth == 0 || random.nextInt(4) == 0) {
+            if (random.nextBoolean()) {
+                return cell(references.get(random.nextInt(references.size())));
+            }
+            return value(VALUES.get(random.nextInt(VALUES.size())));
+        }
+        NonFunctionOperator operator = new NonFunctionOperator(OPERATORS.get(random.nextInt(OPERATORS.size())));
+        return new BinaryExpression(
+                randomExpression(random, references, depth - 1),
+                randomExpression(random, references, depth - 1),
+                operator
+        );
+    }
+}
@@ -1,19 +1,25 @@
 package com.sanyavertolet.interview.math.expressions.evaluator;
 
 import com.sanyavertolet.interview.data.Data;
+import com.sanyavertolet.interview.data.accessor.ContainerBasedDataAccessor;
 import com.sanyavertolet.interview.data.accessor.DataAccessor;
+import com.sanyavertolet.interview.data.container.DataContainer;
+import com.sanyavertolet.interview.data.container.TiledDataContainer;
+import com.sanyavertolet.interview.data.value.IterableValue;
 import com.sanyavertolet.interview.data.value.StringValue;
 import com.sanyavertolet.interview.data.value.Value;
 import com.sanyavertolet.interview.exceptions.*;
 import com.sanyavertolet.interview.exceptions.expressions.ExpressionEvaluationException;
 import com.sanyavertolet.interview.exceptions.expressions.RangeParsingException;
 import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.AnchoredExpression;
 import com.sanyavertolet.interview.math.expressions.Expression;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.sanyavertolet.interview.Expressions.BinaryExpressions.*;
 import static com.sanyavertolet.interview.Expressions.Cells.*;
@@ -38,10 +44,14 @@ public class SimpleExpressionEvaluatorTest {
         default -> new Data("");
     };
 
-    private final ExpressionEvaluator expressionEvaluator = new SimpleExpressionEvaluator(dataAccessor);
+    private final ExpressionEvaluator expressionEvaluator = createExpressionEvaluator(dataAccessor);
 
     public SimpleExpressionEvaluatorTest() { }
 
+    protected ExpressionEvaluator createExpressionEvaluator(DataAccessor dataAccessor) {
+        return new SimpleExpressionEvaluator(dataAccessor);
+    }
+
     @Test
     void dummyExpressionTest() throws ExpressionEvaluationException {
         Expression expression = plus(one, two);
@@ -258,6 +268,64 @@ public class SimpleExpressionEvaluatorTest {
         Assertions.assertEquals(expectedValue, actualValue);
     }
 
+    @Test
+    void rangeAggregatesOverContainerTest() throws ExpressionEvaluationException, FunctionArgumentException, CellReferenceException, RangeParsingException {
+        DataContainer container = new TiledDataContainer(10, 10);
+        container.put(CellReference.of("A1"), new Data("1", 1));
+        container.put(CellReference.of("A2"), new Data("2.5", 2.5));
+        container.put(CellReference.of("A3"), new Data("=A1 + 3", Value.of(4), plus(a1(), three)));
+        container.put(CellReference.of("A4"), new Data("text"));
+        container.put(CellReference.of("A900000"), new Data("2147483647", Integer.MAX_VALUE));
+        container.put(CellReference.of("B850000"), new Data("1", 1));
+        ExpressionEvaluator evaluator = createExpressionEvaluator(new ContainerBasedDataAccessor(container));
+        Expression range = range("A1", "A1000000");
+
+        Assertions.assertEquals(Value.of(1 + 2.5 + 4 + Integer.MAX_VALUE), evaluator.evaluate(sum(range)));
+        Assertions.assertEquals(Value.of(4), evaluator.evaluate(count(range)));
+        Assertions.assertEquals(Value.of(7.5 / 3), evaluator.evaluate(average(range("A1", "A3"))));
+        Assertions.assertEquals(Value.of(Integer.MAX_VALUE + 1.0), evaluator.evaluate(sum(range("A800000", "B900000"))));
+        Assertions.assertThrows(ExpressionEvaluationException.class, () -> evaluator.evaluate(average(range("C1", "C10"))));
+    }
+
+    @Test
+    void rangeResultIsCollectedTest() throws ExpressionEvaluationException, FunctionArgumentException, CellReferenceException, RangeParsingException {
+        Value value = expressionEvaluator.evaluate(ifErr(range("A1", "A2"), value("0")));
+
+        Assertions.assertInstanceOf(IterableValue.class, value);
+        Assertions.assertEquals("[1, 2]", value.toString());
+    }
+
+    @Test
+    void lazyArgumentsTest() throws ExpressionEvaluationException, FunctionArgumentException, CellReferenceException, RangeParsingException {
+        AtomicInteger reads = new AtomicInteger();
+        ExpressionEvaluator evaluator = createExpressionEvaluator(reference -> {
+            reads.incrementAndGet();
+            return dataAccessor.getData(reference);
+        });
+        Expression expensive = sum(range("A1", "Z1000"));
+        Expression error = plus(one, rawValue("error"));
+
+        Assertions.assertEquals(Value.of(1), evaluator.evaluate(iff(trueExpr, one, expensive)));
+        Assertions.assertEquals(Value.of(2), evaluator.evaluate(iff(falseExpr, expensive, two)));
+        Assertions.assertEquals(Value.of(false), evaluator.evaluate(and(falseExpr, error)));
+        Assertions.assertEquals(Value.of(true), evaluator.evaluate(or(trueExpr, error)));
+        Assertions.assertEquals(Value.of(3), evaluator.evaluate(ifErr(three, expensive)));
+        Assertions.assertEquals(0, reads.get());
+
+        Assertions.assertEquals(Value.of(true), evaluator.evaluate(and(trueExpr, lt(a1(), b1()))));
+        Assertions.assertThrows(ExpressionEvaluationException.class, () -> evaluator.evaluate(or(falseExpr, error)));
+        Assertions.assertEquals(Value.of(3), evaluator.evaluate(ifErr(error, three)));
+    }
+
+    @Test
+    void anchoredExpressionTest() throws ExpressionEvaluationException, FunctionArgumentException, CellReferenceException, RangeParsingException {
+        Expression template = plus(a1(), sum(range("A1", "B1")));
+
+        Assertions.assertEquals(Value.of(a1Val + a1Val + b1Val), expressionEvaluator.evaluate(template));
+        Assertions.assertEquals(Value.of(a2Val + a2Val + b2Val), expressionEvaluator.evaluate(new AnchoredExpression(template, 1, 0)));
+        Assertions.assertEquals(Value.of(b2Val), expressionEvaluator.evaluate(new AnchoredExpression(b1(), 1, 0)));
+    }
+
     @Test
     void missingCellExpressionTest() throws CellReferenceException {
         Expression expression = mul(two, c2());
@@ -0,0 +1,76 @@
+package com.sanyavertolet.interview.parser;
+
+import com.sanyavertolet.interview.AssertionUtils;
+import com.sanyavertolet.interview.exceptions.CellReferenceException;
+import com.sanyavertolet.interview.exceptions.FunctionArgumentException;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionParsingException;
+import com.sanyavertolet.interview.exceptions.expressions.RangeParsingException;
+import com.sanyavertolet.interview.math.CellReference;
+import com.sanyavertolet.interview.math.expressions.AnchoredExpression;
+import com.sanyavertolet.interview.math.expressions.Expression;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.sanyavertolet.interview.Expressions.BinaryExpressions.*;
+import static com.sanyavertolet.interview.Expressions.Cells.*;
+import static com.sanyavertolet.interview.Expressions.Functions.sum;
+import static com.sanyavertolet.interview.Expressions.Ranges.range;
+import static com.sanyavertolet.interview.Expressions.Values.two;
+
+public class CachingExpressionParserTest {
+    private final CachingExpressionParser parser = new CachingExpressionParser(new ShuntingYardParser(), 2);
+
+    @Test
+    void sharedExpressionTest() throws ExpressionParsingException, FunctionArgumentException, CellReferenceException, RangeParsingException {
+        Expression expression = parser.parse("=SUM(B1:B500)");
+
+        AssertionUtils.assertExpressionsEqual(sum(range("B1", "B500")), expression);
+        Assertions.assertSame(expression, parser.parse("=SUM(B1:B500)"));
+        Assertions.assertSame(expression, parser.parse("  =SUM(B1:B500) "));
+        Assertions.assertEquals(2L, parser.getHitCount());
+        Assertions.assertEquals(1L, parser.getMissCount());
+    }
+
+    @Test
+    void evictionTest() throws ExpressionParsingException {
+        Expression first = parser.parse("=1 + 2");
+        parser.parse("=A1");
+        parser.parse("=1 + 2");
+        parser.parse("=B2");
+
+        Assertions.assertEquals(3L, parser.getMissCount());
+        Assertions.assertSame(first, parser.parse("=1 + 2"));
+        parser.parse("=A1");
+        Assertions.assertEquals(4L, parser.getMissCount());
+    }
+
+    @Test
+    void parsingErrorIsNotCachedTest() {
+        Assertions.assertThrows(ExpressionParsingException.class, () -> parser.parse("=1 +"));
+        Assertions.assertThrows(ExpressionParsingException.class, () -> parser.parse("=1 +"));
+        Assertions.assertEquals(0L, parser.getHitCount());
+        Assertions.assertEquals(2L, parser.getMissCount());
+    }
+
+    @Test
+    void filledDownFormulasTest() throws ExpressionParsingException, CellReferenceException {
+        CachingExpressionParser templateParser = new CachingExpressionParser(new ShuntingYardParser());
+        Expression first = templateParser.parse("=A1 * 2 + B1", CellReference.of("C1"));
+        Expression second = templateParser.parse("=B2 * 2 + C2", CellReference.of("D2"));
+
+        AnchoredExpression anchored = Assertions.assertInstanceOf(AnchoredExpression.class, second);
+        Assertions.assertSame(first, anchored.getTemplate());
+        Assertions.assertEquals(1, anchored.getRowOffset());
+        Assertions.assertEquals(1, anchored.getColumnOffset());
+        AssertionUtils.assertExpressionsEqual(plus(mul(cell(CellReference.of("B2")), two), c2()), anchored.bind());
+        Assertions.assertEquals(List.of(b2(), c2()).toString(), second.getDirectCellReferences().toString());
+
+        Assertions.assertSame(first, templateParser.parse("=A1 * 2 + B1", CellReference.of("C5")));
+        Assertions.assertSame(first, templateParser.parse("=A1 * 2 + B1", CellReference.of("C1")));
+        Assertions.assertFalse(templateParser.parse("=A3 * 2 + B2", CellReference.of("C3")) instanceof AnchoredExpression);
+        Assertions.assertEquals(3L, templateParser.getHitCount());
+        Assertions.assertEquals(2L, templateParser.getMissCount());
+    }
+}
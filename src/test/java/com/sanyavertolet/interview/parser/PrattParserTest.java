@@ -0,0 +1,52 @@
+package com.sanyavertolet.interview.parser;
+
+import com.sanyavertolet.interview.AssertionUtils;
+import com.sanyavertolet.interview.exceptions.FunctionArgumentException;
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionParsingException;
+import com.sanyavertolet.interview.math.expressions.Expression;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static com.sanyavertolet.interview.Expressions.BinaryExpressions.*;
+import static com.sanyavertolet.interview.Expressions.Functions.powF;
+import static com.sanyavertolet.interview.Expressions.Values.*;
+
+public class PrattParserTest extends ShuntingYardParserTest {
+    private final PrattParser prattParser = new PrattParser();
+
+    @Override
+    protected ExpressionParser createParser() {
+        return new PrattParser();
+    }
+
+    @Test
+    void sameTreesAsShuntingYardTest() throws ExpressionParsingException {
+        ShuntingYardParser shuntingYardParser = new ShuntingYardParser();
+        String[] expressions = {
+                "=1 - 2 - 3 + 4",
+                "=2 ^ 3 ^ 2",
+                "=-2 ^ 2 * 3 - -4",
+                "=2 * -3 + 1",
+                "=A1 * 2 + B2 / (C3 - 1) >= SUM(A1:B2) * -1",
+                "=IF(A1 > 0, SUM(A1:A10), CONCAT(\"a\", \"b\")) == 1 != 0",
+                "=1 < 2 < 3",
+                "=2.5 * 1234567890123 + 123456789",
+        };
+        for (String expression : expressions) {
+            AssertionUtils.assertExpressionsEqual(shuntingYardParser.parse(expression), prattParser.parse(expression));
+        }
+    }
+
+    @Test
+    void negativeArgumentTest() throws ExpressionParsingException, FunctionArgumentException {
+        Expression expectedExpression = powF(two, minus(three));
+        AssertionUtils.assertExpressionsEqual(expectedExpression, prattParser.parse("=POW(2, -3)"));
+    }
+
+    @Test
+    void emptyExpressionTest() {
+        Assertions.assertThrows(ExpressionParsingException.class, () -> prattParser.parse("="));
+        Assertions.assertThrows(ExpressionParsingException.class, () -> prattParser.parse("=A1:"));
+        Assertions.assertThrows(ExpressionParsingException.class, () -> prattParser.parse("=()"));
+    }
+}
@@ -16,7 +16,11 @@ import static com.sanyavertolet.interview.Expressions.Values.*;
 
 @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
 public class ShuntingYardParserTest {
-    private final ShuntingYardParser parser = new ShuntingYardParser();
+    private final ExpressionParser parser = createParser();
+
+    protected ExpressionParser createParser() {
+        return new ShuntingYardParser();
+    }
 
     @Test
     void dummyExpressionTest() throws ExpressionParsingException {
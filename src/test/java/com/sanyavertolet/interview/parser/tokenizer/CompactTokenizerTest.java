@@ -0,0 +1,61 @@
+package com.sanyavertolet.interview.parser.tokenizer;
+
+import com.sanyavertolet.interview.exceptions.expressions.ExpressionParsingException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class CompactTokenizerTest {
+    private final CompactTokenizer compactTokenizer = new CompactTokenizer();
+
+    @Test
+    void sameTokensAsSimpleTokenizerTest() throws ExpressionParsingException {
+        String[] expressions = {
+                "=2 + 2",
+                "=3.0 * (4 - 3.0) / (2 ^ 2)",
+                "=pow(-2, 5) + (3 * E()) / (A1 - 7)",
+                "=sum(A1:F4) * (42 + B2)",
+                "=A1 + \"A1\"",
+                "=CONCAT(\"\", \"a b\")",
+                "=A1 <= 2 == B1 >= 3 != C1 < D1",
+                "=",
+        };
+        for (String expression : expressions) {
+            Assertions.assertIterableEquals(new SimpleTokenizer().tokenize(expression), compactTokenizer.tokenize(expression));
+        }
+    }
+
+    @Test
+    void tokenStreamTest() throws ExpressionParsingException {
+        TokenStream tokens = compactTokenizer.scan("=SUM(A1:B2) >= \"x\"");
+        Assertions.assertEquals(8, tokens.size());
+        Assertions.assertEquals(Token.Type.REFERENCE, tokens.type(0));
+        Assertions.assertTrue(tokens.textEquals(0, "SUM"));
+        Assertions.assertFalse(tokens.textEquals(0, "SU"));
+        Assertions.assertEquals(Token.Type.COLON, tokens.type(3));
+        Assertions.assertEquals(7, tokens.offset(3));
+        Assertions.assertEquals(Token.Type.OPERATOR, tokens.type(6));
+        Assertions.assertEquals(2, tokens.length(6));
+        Assertions.assertEquals('=', tokens.charAt(6, 1));
+        Assertions.assertEquals(Token.Type.STRING, tokens.type(7));
+        Assertions.assertEquals("x", tokens.text(7));
+    }
+
+    @Test
+    void trailingSpacesTest() throws ExpressionParsingException {
+        Assertions.assertIterableEquals(
+                List.of(new Token(Token.Type.REFERENCE, "A1"), new Token(Token.Type.OPERATOR, "*"), new Token(Token.Type.NUMBER, "2")),
+                compactTokenizer.tokenize("= A1*2  ")
+        );
+    }
+
+    @Test
+    void invalidExpressionTokenizerTest() {
+        Assertions.assertThrows(ExpressionParsingException.class, () -> compactTokenizer.scan("=A1 + \"A1"));
+        Assertions.assertThrows(ExpressionParsingException.class, () -> compactTokenizer.scan("=2 & 3"));
+        Assertions.assertThrows(ExpressionParsingException.class, () -> compactTokenizer.scan("=PI() .3"));
+        Assertions.assertThrows(ExpressionParsingException.class, () -> compactTokenizer.scan("=2 = 3"));
+        Assertions.assertThrows(ExpressionParsingException.class, () -> compactTokenizer.scan("=2 !"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.sanyavertolet.interview.utils.collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+public class LongHashSetTest {
+    private final LongHashSet set = new LongHashSet();
+
+    @Test
+    void addContainsRemoveTest() {
+        Assertions.assertTrue(set.add(42L));
+        Assertions.assertFalse(set.add(42L));
+        Assertions.assertTrue(set.contains(42L));
+        Assertions.assertEquals(1, set.size());
+        Assertions.assertTrue(set.remove(42L));
+        Assertions.assertFalse(set.remove(42L));
+        Assertions.assertFalse(set.contains(42L));
+        Assertions.assertTrue(set.isEmpty());
+    }
+
+    @Test
+    void zeroValueTest() {
+        Assertions.assertFalse(set.contains(0L));
+        Assertions.assertTrue(set.add(0L));
+        Assertions.assertTrue(set.contains(0L));
+        Assertions.assertEquals(1, set.size());
+        Assertions.assertArrayEquals(new long[] {0L}, set.toArray());
+        Assertions.assertTrue(set.remove(0L));
+        Assertions.assertTrue(set.isEmpty());
+    }
+
+    @Test
+    void matchesHashSetTest() {
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long value = (long) random.nextInt(64) << 32 | random.nextInt(64);
+            if (random.nextBoolean()) {
+                Assertions.assertEquals(expected.add(value), set.add(value));
+            } else {
+                Assertions.assertEquals(expected.remove(value), set.remove(value));
+            }
+        }
+        Assertions.assertEquals(expected.size(), set.size());
+        for (Long value : expected) {
+            Assertions.assertTrue(set.contains(value));
+        }
+
+        Set<Long> iterated = new HashSet<>();
+        PrimitiveIterator.OfLong iterator = set.iterator();
+        while (iterator.hasNext()) {
+            iterated.add(iterator.nextLong());
+        }
+        Assertions.assertEquals(expected, iterated);
+
+        long[] array = set.toArray();
+        Arrays.sort(array);
+        Assertions.assertArrayEquals(expected.stream().mapToLong(Long::longValue).sorted().toArray(), array);
+    }
+}
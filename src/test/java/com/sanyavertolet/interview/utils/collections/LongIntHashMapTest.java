@@ -0,0 +1,55 @@
+package com.sanyavertolet.interview.utils.collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class LongIntHashMapTest {
+    private final LongIntHashMap map = new LongIntHashMap();
+
+    @Test
+    void putGetTest() {
+        Assertions.assertEquals(-1, map.getOrDefault(7L, -1));
+        map.put(7L, 1);
+        map.put(7L, 2);
+        map.put(0L, 3);
+        Assertions.assertEquals(2, map.getOrDefault(7L, -1));
+        Assertions.assertEquals(3, map.getOrDefault(0L, -1));
+        Assertions.assertTrue(map.containsKey(0L));
+        Assertions.assertEquals(2, map.size());
+        map.clear();
+        Assertions.assertFalse(map.containsKey(7L));
+        Assertions.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void denseIndicesTest() {
+        for (int i = 0; i < 10_000; i++) {
+            map.put((long) i << 32 | i % 7, i);
+        }
+        Assertions.assertEquals(10_000, map.size());
+        for (int i = 0; i < 10_000; i++) {
+            Assertions.assertEquals(i, map.getOrDefault((long) i << 32 | i % 7, -1));
+        }
+    }
+
+    @Test
+    void matchesHashMapTest() {
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long key = (long) random.nextInt(64) << 32 | random.nextInt(64);
+            if (random.nextBoolean()) {
+                expected.put(key, i);
+                map.put(key, i);
+            } else {
+                Assertions.assertEquals(expected.remove(key) != null, map.remove(key));
+            }
+        }
+        Assertions.assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> Assertions.assertEquals(value.intValue(), map.getOrDefault(key, -1)));
+    }
+}
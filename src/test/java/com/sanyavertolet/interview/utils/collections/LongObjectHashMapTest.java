@@ -0,0 +1,50 @@
+package com.sanyavertolet.interview.utils.collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class LongObjectHashMapTest {
+    private final LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+    @Test
+    void putGetRemoveTest() {
+        Assertions.assertNull(map.put(7L, "seven"));
+        Assertions.assertEquals("seven", map.put(7L, "SEVEN"));
+        Assertions.assertEquals("SEVEN", map.get(7L));
+        Assertions.assertTrue(map.containsKey(7L));
+        Assertions.assertEquals(1, map.size());
+        Assertions.assertEquals("SEVEN", map.remove(7L));
+        Assertions.assertNull(map.get(7L));
+        Assertions.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void computeIfAbsentTest() {
+        Assertions.assertEquals("1", map.computeIfAbsent(1L, Long::toString));
+        Assertions.assertEquals("1", map.computeIfAbsent(1L, key -> "other"));
+        Assertions.assertEquals("0", map.computeIfAbsent(0L, Long::toString));
+        Assertions.assertEquals(2, map.size());
+    }
+
+    @Test
+    void matchesHashMapTest() {
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long key = (long) random.nextInt(64) << 32 | random.nextInt(64);
+            if (random.nextBoolean()) {
+                Assertions.assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+            } else {
+                Assertions.assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+        Assertions.assertEquals(expected.size(), map.size());
+        Map<Long, String> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        Assertions.assertEquals(expected, iterated);
+    }
+}